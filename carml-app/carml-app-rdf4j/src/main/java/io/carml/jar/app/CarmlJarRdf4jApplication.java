@@ -1,14 +1,24 @@
 package io.carml.jar.app;
 
+import io.carml.jar.runner.CarmlLauncher;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 
+/**
+ * Runs the commands through the {@link CarmlLauncher}, which wires the components without a Spring
+ * context. The Spring application is started instead when the {@code carml.launcher} system property
+ * is set to {@code spring}.
+ */
 @SpringBootApplication
 @ComponentScan("io.carml.jar")
 public class CarmlJarRdf4jApplication {
 
   public static void main(String... args) {
-    System.exit(SpringApplication.exit(SpringApplication.run(CarmlJarRdf4jApplication.class, args)));
+    if (CarmlLauncher.isSpringRequested()) {
+      System.exit(SpringApplication.exit(SpringApplication.run(CarmlJarRdf4jApplication.class, args)));
+    }
+
+    System.exit(CarmlLauncher.run(args));
   }
 }
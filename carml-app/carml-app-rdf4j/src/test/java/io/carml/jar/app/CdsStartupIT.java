@@ -0,0 +1,146 @@
+package io.carml.jar.app;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the time to the first output statement of the plain jar built by the {@code cds} profile,
+ * started through the launcher with its class data sharing archive and started without it. Both use
+ * the JDK that created the archive, since any other JVM ignores it.<br>
+ * <br>
+ * The speedup is logged, and checked against the minimum of the {@code cds.min.speedup} property, which
+ * the {@code cds} profile sets to 2, so the archive must at least halve the time to the first
+ * statement. Since wall-clock times vary between machines, the minimum can be lowered, or left empty
+ * to skip the check.
+ */
+class CdsStartupIT {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int RUNS = 3;
+
+  @TempDir
+  private Path tmpDir;
+
+  private Path launcher;
+
+  private Path jar;
+
+  private String javaHome;
+
+  private List<String> mapArgs;
+
+  @BeforeEach
+  void beforeEach() {
+    assumeTrue(System.getProperty("carml.cds.launcher") != null, "Not built with the cds profile.");
+    launcher = Path.of(System.getProperty("carml.cds.launcher"));
+    jar = Path.of(System.getProperty("carml.cds.jar"));
+    javaHome = System.getProperty("carml.cds.java.home");
+    var training = Path.of(System.getProperty("carml.cds.training"));
+    mapArgs = List.of("map", "-m", training.resolve("mapping.rml.ttl")
+        .toString(), "-rsl", training.toString());
+  }
+
+  @Test
+  void givenCdsLauncher_whenMap_thenLoadClassesFromArchive() throws Exception {
+    // Given
+    var classLoadLog = tmpDir.resolve("class-load.log");
+    var javaOpts = String.format("-Xlog:class+load=info:file=%s", classLoadLog);
+
+    // When
+    timeToFirstStatement(concat(List.of("sh", launcher.toString()), mapArgs), javaOpts);
+
+    // Then
+    // classes from the dynamic archive of the launcher are logged as loaded from the top layer
+    assertThat(Files.readString(classLoadLog), containsString("source: shared objects file (top)"));
+  }
+
+  @Test
+  void givenPlainJarWithAndWithoutArchive_whenMap_thenReportSpeedup() throws Exception {
+    // Given
+    var java = Path.of(javaHome, "bin", "java")
+        .toString();
+
+    // When
+    var cdsMillis = fastestFirstStatement(concat(List.of("sh", launcher.toString()), mapArgs));
+    var plainMillis = fastestFirstStatement(concat(List.of(java, "-jar", jar.toString()), mapArgs));
+
+    // Then
+    var speedup = (double) plainMillis / Math.max(cdsMillis, 1);
+    LOG.info("Fastest time to first statement of {} runs: with archive {} ms, without archive {} ms, speedup {}.", RUNS,
+        cdsMillis, plainMillis, String.format("%.2f", speedup));
+
+    var minSpeedup = System.getProperty("carml.cds.min.speedup", "");
+    if (!minSpeedup.isBlank()) {
+      assertThat(speedup, greaterThanOrEqualTo(Double.parseDouble(minSpeedup)));
+    }
+  }
+
+  private static List<String> concat(List<String> command, List<String> args) {
+    var result = new ArrayList<>(command);
+    result.addAll(args);
+    return result;
+  }
+
+  private long fastestFirstStatement(List<String> command) throws IOException, InterruptedException {
+    var fastest = Long.MAX_VALUE;
+    for (var i = 0; i < RUNS; i++) {
+      fastest = Math.min(fastest, timeToFirstStatement(command, null));
+    }
+
+    return fastest;
+  }
+
+  private long timeToFirstStatement(List<String> command, String javaOpts) throws IOException, InterruptedException {
+    var processBuilder = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT);
+    // pin the launcher to the JDK that created the archive
+    Map<String, String> environment = processBuilder.environment();
+    environment.put("JAVA_HOME", javaHome);
+    if (javaOpts == null) {
+      environment.remove("JAVA_OPTS");
+    } else {
+      environment.put("JAVA_OPTS", javaOpts);
+    }
+
+    var start = System.nanoTime();
+    var process = processBuilder.start();
+
+    var firstStatement = -1L;
+    try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (firstStatement < 0 && line.startsWith("<")) {
+          firstStatement = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+      }
+    }
+    if (!process.waitFor(2, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      throw new IllegalStateException(String.format("Timed out running %s", command));
+    }
+
+    assertThat(process.exitValue(), is(0));
+    assertThat(firstStatement >= 0, is(true));
+
+    return firstStatement;
+  }
+}
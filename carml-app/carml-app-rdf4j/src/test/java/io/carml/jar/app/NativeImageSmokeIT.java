@@ -0,0 +1,103 @@
+package io.carml.jar.app;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs the same small mapping with the native executable and the JVM jar, built by the {@code native}
+ * profile, and compares their output and the wall-clock time of a run, which is dominated by startup.
+ */
+class NativeImageSmokeIT {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int RUNS = 3;
+
+  private static final String MAPPING = """
+      @prefix rr: <http://www.w3.org/ns/r2rml#>.
+      @prefix rml: <http://semweb.mmlab.be/ns/rml#>.
+      @prefix ex: <http://example.org/>.
+      @prefix ql: <http://semweb.mmlab.be/ns/ql#>.
+      @prefix carml: <http://carml.taxonic.com/carml/>.
+
+      <#MakeTriplesMap>
+        rml:logicalSource [
+          rml:source [ a carml:Stream ] ;
+          rml:referenceFormulation ql:CSV ;
+        ] ;
+        rr:subjectMap [
+          rr:template "http://example.org/car-make/{make}" ;
+          rr:class ex:Make ;
+        ] ;
+      .
+      """;
+
+  @TempDir
+  private Path tmpDir;
+
+  private record Run(List<String> output, long millis) {}
+
+  @Test
+  void givenNativeImageAndJar_whenMap_thenSameOutputWithFasterStartup() throws Exception {
+    // Given
+    assumeTrue(System.getProperty("carml.native.image") != null, "Not built with the native profile.");
+    var nativeImage = Path.of(System.getProperty("carml.native.image"));
+    var jar = Path.of(System.getProperty("carml.jvm.jar"));
+    var java = Path.of(System.getProperty("java.home"), "bin", "java");
+    var mapping = Files.writeString(tmpDir.resolve("mapping.rml.ttl"), MAPPING);
+    var input = Files.writeString(tmpDir.resolve("cars.csv"), String.format("id,make%n1,Toyota%n2,Mercedes%n"));
+    var mapArgs = List.of("map", "-m", mapping.toString(), "-i", input.toString(), "-o");
+
+    // When
+    var nativeRun = fastestRun(concat(List.of(nativeImage.toString()), mapArgs), "native.nq");
+    var jvmRun = fastestRun(concat(List.of(java.toString(), "-jar", jar.toString()), mapArgs), "jvm.nq");
+
+    // Then
+    LOG.info("Fastest of {} runs: native executable {} ms, JVM jar {} ms.", RUNS, nativeRun.millis(),
+        jvmRun.millis());
+    assertThat(nativeRun.output(), hasSize(2));
+    assertThat(nativeRun.output(), is(jvmRun.output()));
+    assertThat(nativeRun.millis(), lessThan(jvmRun.millis()));
+  }
+
+  private static List<String> concat(List<String> command, List<String> args) {
+    var result = new ArrayList<>(command);
+    result.addAll(args);
+    return result;
+  }
+
+  private Run fastestRun(List<String> command, String outputName) throws IOException, InterruptedException {
+    var output = tmpDir.resolve(outputName);
+    var fastest = Long.MAX_VALUE;
+    for (var i = 0; i < RUNS; i++) {
+      var start = System.nanoTime();
+      var process = new ProcessBuilder(concat(command, List.of(output.toString()))).inheritIO()
+          .start();
+      if (!process.waitFor(2, TimeUnit.MINUTES)) {
+        process.destroyForcibly();
+        throw new IllegalStateException(String.format("Timed out running %s", command));
+      }
+      fastest = Math.min(fastest, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      assertThat(process.exitValue(), is(0));
+    }
+
+    return new Run(Files.readAllLines(output)
+        .stream()
+        .sorted()
+        .toList(), fastest);
+  }
+}
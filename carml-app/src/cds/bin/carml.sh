@@ -0,0 +1,8 @@
+#!/bin/sh
+# Runs @app.name@ with the class data sharing archive created when it was built. The java of JAVA_HOME,
+# or else the one on the PATH, is used. A JVM other than the one that created the archive ignores it,
+# without failing, so point JAVA_HOME at that JDK.
+dir=$(cd "$(dirname "$0")" && pwd)
+java="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+exec "$java" -XX:SharedArchiveFile="$dir/@app.name@.jsa" -Xshare:auto $JAVA_OPTS -jar "$dir/@cds.jar@" "$@"
@@ -0,0 +1,225 @@
+package io.carml.jar.benchmark;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * Generates the fixed datasets the benchmarks run on. All data is derived from record numbers only,
+ * so every run of a benchmark processes exactly the same input.
+ */
+final class BenchmarkData {
+
+  static final String EX = "http://example.com/";
+
+  static final Map<String, String> NAMESPACES = Map.of("ex", EX, "rdfs", RDFS.NAMESPACE, "xsd", XSD.NAMESPACE);
+
+  private static final String[] CITIES = {"Amsterdam", "Rotterdam", "Utrecht", "Eindhoven", "Groningen"};
+
+  private static final String MAPPING_RESOURCE = "/io/carml/jar/benchmark/people-%s.rml.ttl";
+
+  private BenchmarkData() {}
+
+  /**
+   * Generates the statements describing {@code count / 6} people, six statements per person.
+   *
+   * @param count The number of statements.
+   * @return the {@link List} of {@link Statement}s.
+   */
+  static List<Statement> generateStatements(int count) {
+    var statements = new ArrayList<Statement>(count);
+    for (int i = 0; statements.size() < count; i++) {
+      var person = iri(EX, "person/" + i);
+      var personStatements = List.of( //
+          statement(person, RDF.TYPE, iri(EX, "Person"), null), //
+          statement(person, RDFS.LABEL, literal("Person " + i, "en"), null), //
+          statement(person, iri(EX, "name"), literal(name(i)), null), //
+          statement(person, iri(EX, "age"), literal(age(i)), null), //
+          statement(person, iri(EX, "city"), city(i), null), //
+          statement(person, iri(EX, "knows"), iri(EX, "person/" + (i * 7 + 3) % (count / 6 + 1)), null));
+      personStatements.stream()
+          .limit(count - (long) statements.size())
+          .forEach(statements::add);
+    }
+
+    return statements;
+  }
+
+  private static String name(int record) {
+    return "Name \"" + record + "\"";
+  }
+
+  private static int age(int record) {
+    return 18 + record % 80;
+  }
+
+  private static IRI city(int record) {
+    return iri(EX, "city/" + CITIES[record % CITIES.length]);
+  }
+
+  /**
+   * Writes a source file for the people mapping of the given source type, and the mapping itself,
+   * to {@code directory}.
+   *
+   * @param directory The directory to write to.
+   * @param sourceType The source type: {@code csv}, {@code json} or {@code xml}.
+   * @param records The number of people in the source.
+   * @return the {@link Path} of the mapping file.
+   */
+  static Path writePeopleSource(Path directory, String sourceType, int records) {
+    var sourcePath = directory.resolve("people." + sourceType);
+
+    try (var writer = Files.newBufferedWriter(sourcePath, StandardCharsets.UTF_8)) {
+      switch (sourceType) {
+        case "csv":
+          writeCsv(writer, records);
+          break;
+        case "json":
+          writeJson(writer, records);
+          break;
+        case "xml":
+          writeXml(writer, records);
+          break;
+        default:
+          throw new IllegalArgumentException(String.format("Unsupported source type %s", sourceType));
+      }
+
+      var mappingPath = directory.resolve(String.format("people-%s.rml.ttl", sourceType));
+      try (var mapping = BenchmarkData.class.getResourceAsStream(String.format(MAPPING_RESOURCE, sourceType))) {
+        Files.copy(mapping, mappingPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      return mappingPath;
+    } catch (IOException ioException) {
+      throw new UncheckedIOException(ioException);
+    }
+  }
+
+  /**
+   * Rewrites the people mapping at {@code mappingPath} to read its source from a stream, that is,
+   * from stdin or the {@code --input} file of the {@code map} command.
+   *
+   * @param mappingPath The {@link Path} of the mapping file written by {@link #writePeopleSource}.
+   * @param sourceType The source type: {@code csv}, {@code json} or {@code xml}.
+   */
+  static void toStreamSource(Path mappingPath, String sourceType) {
+    try {
+      var mapping = Files.readString(mappingPath)
+          .replace(String.format("rml:source \"people.%s\"", sourceType), "rml:source [ a carml:Stream ]");
+      Files.writeString(mappingPath, "@prefix carml: <http://carml.taxonic.com/carml/> .\n" + mapping);
+    } catch (IOException ioException) {
+      throw new UncheckedIOException(ioException);
+    }
+  }
+
+  private static void writeCsv(BufferedWriter writer, int records) throws IOException {
+    writer.write("id,name,age,city");
+    writer.newLine();
+    for (int i = 0; i < records; i++) {
+      writer.write(String.format("%d,\"%s\",%d,%s", i, name(i).replace("\"", "\"\""), age(i), CITIES[i % 5]));
+      writer.newLine();
+    }
+  }
+
+  private static void writeJson(BufferedWriter writer, int records) throws IOException {
+    writer.write("{\"people\":[");
+    for (int i = 0; i < records; i++) {
+      writer.write(String.format("%s{\"id\":%d,\"name\":\"%s\",\"age\":%d,\"city\":\"%s\"}", i > 0 ? "," : "", i,
+          name(i).replace("\"", "\\\""), age(i), CITIES[i % 5]));
+      writer.newLine();
+    }
+    writer.write("]}");
+  }
+
+  private static void writeXml(BufferedWriter writer, int records) throws IOException {
+    writer.write("<people>");
+    writer.newLine();
+    for (int i = 0; i < records; i++) {
+      writer.write(String.format("<person><id>%d</id><name>%s</name><age>%d</age><city>%s</city></person>", i,
+          name(i).replace("\"", "&quot;"), age(i), CITIES[i % 5]));
+      writer.newLine();
+    }
+    writer.write("</people>");
+  }
+
+  /**
+   * Writes {@code files} mapping files of {@code triplesMapsPerFile} triples maps each to
+   * {@code directory}.
+   *
+   * @param directory The directory to write to.
+   * @param files The number of mapping files.
+   * @param triplesMapsPerFile The number of triples maps per file.
+   */
+  static void writeMappingFiles(Path directory, int files, int triplesMapsPerFile) {
+    for (int file = 0; file < files; file++) {
+      var mappingPath = directory.resolve(String.format("mapping-%04d.rml.ttl", file));
+      try (var writer = Files.newBufferedWriter(mappingPath, StandardCharsets.UTF_8)) {
+        writer.write("@prefix rr: <http://www.w3.org/ns/r2rml#> .\n");
+        writer.write("@prefix rml: <http://semweb.mmlab.be/ns/rml#> .\n");
+        writer.write("@prefix ql: <http://semweb.mmlab.be/ns/ql#> .\n");
+        writer.write("@prefix ex: <http://example.com/> .\n\n");
+        for (int map = 0; map < triplesMapsPerFile; map++) {
+          writer.write(triplesMap(file * triplesMapsPerFile + map));
+        }
+      } catch (IOException ioException) {
+        throw new UncheckedIOException(ioException);
+      }
+    }
+  }
+
+  private static String triplesMap(int number) {
+    return String.format("""
+        ex:TriplesMap%1$d
+          rml:logicalSource [
+            rml:source "source-%2$d.csv" ;
+            rml:referenceFormulation ql:CSV
+          ] ;
+          rr:subjectMap [
+            rr:template "http://example.com/thing%1$d/{id}" ;
+            rr:class ex:Thing%1$d
+          ] ;
+          rr:predicateObjectMap [
+            rr:predicate ex:name ;
+            rr:objectMap [ rml:reference "name" ]
+          ] ;
+          rr:predicateObjectMap [
+            rr:predicate ex:related ;
+            rr:objectMap [ rr:parentTriplesMap ex:TriplesMap%3$d ]
+          ] .
+
+        """, number, number % 10, number / 2);
+  }
+
+  static void deleteRecursively(Path directory) {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder())
+          .forEach(path -> {
+            try {
+              Files.delete(path);
+            } catch (IOException ioException) {
+              throw new UncheckedIOException(ioException);
+            }
+          });
+    } catch (IOException ioException) {
+      throw new UncheckedIOException(ioException);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package io.carml.jar.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so the results report allocation rate and GC
+ * counts next to throughput. Accepts the regular JMH command line options, for example a benchmark
+ * name pattern to run a subset, or {@code -rf json -rff results.json} to store the results.
+ */
+public final class CarmlBenchmarks {
+
+  private CarmlBenchmarks() {}
+
+  public static void main(String... args) throws CommandLineOptionException, RunnerException {
+    var options = new OptionsBuilder().parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    new Runner(options).run();
+  }
+}
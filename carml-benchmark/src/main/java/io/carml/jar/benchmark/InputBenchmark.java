@@ -0,0 +1,120 @@
+package io.carml.jar.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.CarmlCommand;
+import io.carml.jar.runner.CarmlMapCommand;
+import io.carml.jar.runner.CarmlRunnerFactory;
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.jar.runner.metrics.MetricsReporter;
+import io.carml.jar.runner.option.LoggingOptions;
+import io.carml.jar.runner.option.Rdf4jOutputRdfFormatProvider;
+import io.carml.jar.runner.output.Rdf4jOutputHandler;
+import io.carml.jar.runner.output.SplitOutputWriter;
+import io.carml.jar.runner.prefix.DefaultNamespacePrefixMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import picocli.CommandLine;
+
+/**
+ * Measures the records per second of {@code map} command runs over a generated CSV, JSON or XML stream
+ * source, either piped into stdin by a {@code cat} process, or read from a memory-mapped file with
+ * {@code --input}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(InputBenchmark.RECORD_COUNT)
+public class InputBenchmark {
+
+  static final int RECORD_COUNT = 100_000;
+
+  @Param({"csv", "json", "xml"})
+  public String sourceType;
+
+  @Param({"pipe", "mmap"})
+  public String input;
+
+  private Path workDirectory;
+
+  private Path sourcePath;
+
+  private CommandLine commandLine;
+
+  private String[] args;
+
+  private InputStream stdin;
+
+  @Setup
+  public void setUp() throws IOException {
+    workDirectory = Files.createTempDirectory("carml-benchmark-input");
+    var mappingPath = BenchmarkData.writePeopleSource(workDirectory, sourceType, RECORD_COUNT);
+    BenchmarkData.toStreamSource(mappingPath, sourceType);
+    sourcePath = workDirectory.resolve("people." + sourceType);
+
+    var objectMapper = new ObjectMapper();
+    var outputHandler = new Rdf4jOutputHandler();
+    var namespacePrefixMapper = new DefaultNamespacePrefixMapper(objectMapper, new YAMLMapper());
+    var mapCommand = new CarmlMapCommand(new Rdf4jModelLoader(), outputHandler,
+        new SplitOutputWriter(outputHandler, objectMapper), new MetricsReporter(objectMapper), namespacePrefixMapper,
+        List.of());
+    var carmlRunnerFactory = new CarmlRunnerFactory(new Rdf4jOutputRdfFormatProvider().rdfFormats());
+
+    commandLine = new CommandLine(new CarmlCommand(), carmlRunnerFactory)
+        .setExecutionStrategy(LoggingOptions::executionStrategy)
+        .addSubcommand("map", mapCommand);
+
+    var outputPath = workDirectory.resolve("output.nq")
+        .toString();
+    args = input.equals("mmap")
+        ? new String[] {"map", "-m", mappingPath.toString(), "-i", sourcePath.toString(), "-o", outputPath}
+        : new String[] {"map", "-m", mappingPath.toString(), "-o", outputPath};
+    stdin = System.in;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setIn(stdin);
+    BenchmarkData.deleteRecursively(workDirectory);
+  }
+
+  @Benchmark
+  public int map() throws IOException, InterruptedException {
+    Process cat = null;
+    if (input.equals("pipe")) {
+      cat = new ProcessBuilder("cat", sourcePath.toString()).redirectError(ProcessBuilder.Redirect.DISCARD)
+          .start();
+      System.setIn(cat.getInputStream());
+    }
+
+    var exitCode = commandLine.execute(args);
+    if (cat != null) {
+      cat.waitFor();
+    }
+    if (exitCode != CommandLine.ExitCode.OK) {
+      throw new IllegalStateException(String.format("Map command exited with code %d", exitCode));
+    }
+
+    return exitCode;
+  }
+}
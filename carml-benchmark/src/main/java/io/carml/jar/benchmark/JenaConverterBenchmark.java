@@ -0,0 +1,48 @@
+package io.carml.jar.benchmark;
+
+import io.carml.util.jena.JenaConverters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.rdf4j.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the statements per second converted to Jena quads, the conversion every statement goes
+ * through before the Jena output handler writes it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(JenaConverterBenchmark.STATEMENT_COUNT)
+public class JenaConverterBenchmark {
+
+  static final int STATEMENT_COUNT = 60_000;
+
+  private List<Statement> statements;
+
+  @Setup
+  public void setUp() {
+    statements = BenchmarkData.generateStatements(STATEMENT_COUNT);
+  }
+
+  @Benchmark
+  public void toQuad(Blackhole blackhole) {
+    for (var statement : statements) {
+      blackhole.consume(JenaConverters.toQuad(statement));
+    }
+  }
+}
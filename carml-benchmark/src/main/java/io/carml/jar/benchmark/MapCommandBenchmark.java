@@ -0,0 +1,94 @@
+package io.carml.jar.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.CarmlCommand;
+import io.carml.jar.runner.CarmlMapCommand;
+import io.carml.jar.runner.CarmlRunnerFactory;
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.jar.runner.metrics.MetricsReporter;
+import io.carml.jar.runner.option.LoggingOptions;
+import io.carml.jar.runner.option.Rdf4jOutputRdfFormatProvider;
+import io.carml.jar.runner.output.Rdf4jOutputHandler;
+import io.carml.jar.runner.output.SplitOutputWriter;
+import io.carml.jar.runner.prefix.DefaultNamespacePrefixMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import picocli.CommandLine;
+
+/**
+ * Measures the records per second of complete {@code map} command runs over a generated CSV, JSON or
+ * XML source, from loading the mapping up to writing N-Quads to a file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(MapCommandBenchmark.RECORD_COUNT)
+public class MapCommandBenchmark {
+
+  static final int RECORD_COUNT = 20_000;
+
+  @Param({"csv", "json", "xml"})
+  public String sourceType;
+
+  private Path workDirectory;
+
+  private CommandLine commandLine;
+
+  private String[] args;
+
+  @Setup
+  public void setUp() throws IOException {
+    workDirectory = Files.createTempDirectory("carml-benchmark-map");
+    var mappingPath = BenchmarkData.writePeopleSource(workDirectory, sourceType, RECORD_COUNT);
+
+    var objectMapper = new ObjectMapper();
+    var outputHandler = new Rdf4jOutputHandler();
+    var namespacePrefixMapper = new DefaultNamespacePrefixMapper(objectMapper, new YAMLMapper());
+    var mapCommand = new CarmlMapCommand(new Rdf4jModelLoader(), outputHandler,
+        new SplitOutputWriter(outputHandler, objectMapper), new MetricsReporter(objectMapper), namespacePrefixMapper,
+        List.of());
+    var carmlRunnerFactory = new CarmlRunnerFactory(new Rdf4jOutputRdfFormatProvider().rdfFormats());
+
+    commandLine = new CommandLine(new CarmlCommand(), carmlRunnerFactory)
+        .setExecutionStrategy(LoggingOptions::executionStrategy)
+        .addSubcommand("map", mapCommand);
+    args = new String[] {"map", "-m", mappingPath.toString(), "-rsl", workDirectory.toString(), "-o",
+        workDirectory.resolve("output.nq")
+            .toString()};
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkData.deleteRecursively(workDirectory);
+  }
+
+  @Benchmark
+  public int map() {
+    var exitCode = commandLine.execute(args);
+    if (exitCode != CommandLine.ExitCode.OK) {
+      throw new IllegalStateException(String.format("Map command exited with code %d", exitCode));
+    }
+
+    return exitCode;
+  }
+}
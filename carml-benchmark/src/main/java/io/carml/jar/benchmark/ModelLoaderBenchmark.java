@@ -0,0 +1,58 @@
+package io.carml.jar.benchmark;
+
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.rdf4j.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading a directory of mapping files with {@link Rdf4jModelLoader}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelLoaderBenchmark {
+
+  private static final int TRIPLES_MAPS_PER_FILE = 20;
+
+  @Param({"10", "100", "500"})
+  public int mappingFiles;
+
+  private final Rdf4jModelLoader modelLoader = new Rdf4jModelLoader();
+
+  private Path mappingDirectory;
+
+  @Setup
+  public void setUp() throws IOException {
+    mappingDirectory = Files.createTempDirectory("carml-benchmark-mapping");
+    BenchmarkData.writeMappingFiles(mappingDirectory, mappingFiles, TRIPLES_MAPS_PER_FILE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkData.deleteRecursively(mappingDirectory);
+  }
+
+  @Benchmark
+  public Model loadModel() {
+    return modelLoader.loadModel(List.of(mappingDirectory), null);
+  }
+}
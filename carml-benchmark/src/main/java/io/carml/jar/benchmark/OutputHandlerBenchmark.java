@@ -0,0 +1,71 @@
+package io.carml.jar.benchmark;
+
+import io.carml.jar.runner.output.JenaOutputHandler;
+import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.Rdf4jOutputHandler;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.rdf4j.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures the statements per second the {@link OutputHandler}s serialize, for each output format,
+ * both streaming and pretty. Output is discarded, so the numbers exclude I/O.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(OutputHandlerBenchmark.STATEMENT_COUNT)
+public class OutputHandlerBenchmark {
+
+  static final int STATEMENT_COUNT = 60_000;
+
+  /**
+   * The output handler and format, as {@code <handler>:<format>}.
+   */
+  @Param({"rdf4j:nq", "rdf4j:nt", "rdf4j:ttl", "rdf4j:trig", "rdf4j:brf", "jena:nq", "jena:nt", "jena:ttl",
+      "jena:trig", "jena:rt", "jena:rpb"})
+  public String handlerFormat;
+
+  private OutputHandler outputHandler;
+
+  private String format;
+
+  private List<Statement> statements;
+
+  @Setup
+  public void setUp() {
+    var separator = handlerFormat.indexOf(':');
+    outputHandler = handlerFormat.startsWith("jena") ? new JenaOutputHandler() : new Rdf4jOutputHandler();
+    format = handlerFormat.substring(separator + 1);
+    statements = BenchmarkData.generateStatements(STATEMENT_COUNT);
+  }
+
+  @Benchmark
+  public long outputStreaming() {
+    return outputHandler.outputStreaming(Flux.fromIterable(statements), format, BenchmarkData.NAMESPACES,
+        OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public long outputPretty() {
+    return outputHandler.outputPretty(Flux.fromIterable(statements), format, BenchmarkData.NAMESPACES,
+        OutputStream.nullOutputStream());
+  }
+}
@@ -0,0 +1,91 @@
+package io.carml.jar.benchmark;
+
+import io.carml.jar.runner.CarmlLauncher;
+import io.carml.jar.runner.output.Rdf4jOutputProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Measures the time of a single small {@code map} run in a fresh JVM, started through the
+ * {@link CarmlLauncher} and through a Spring application like the one of the apps. Every fork runs
+ * the command once without warmup, so the result is dominated by class loading and wiring of the
+ * components rather than by the mapping.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  static final int RECORD_COUNT = 10;
+
+  private Path workDirectory;
+
+  private String[] args;
+
+  /**
+   * The Spring application of the RDF4J app. The Jena output module is also on the benchmark class
+   * path, so its components are excluded from the scan.
+   */
+  @SpringBootApplication
+  @ComponentScan(basePackages = "io.carml.jar.runner",
+      excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*\\.Jena.*"))
+  static class SpringStartupApplication {}
+
+  @Setup
+  public void setUp() throws IOException {
+    workDirectory = Files.createTempDirectory("carml-benchmark-startup");
+    var mappingPath = BenchmarkData.writePeopleSource(workDirectory, "csv", RECORD_COUNT);
+    args = new String[] {"map", "-m", mappingPath.toString(), "-rsl", workDirectory.toString(), "-o",
+        workDirectory.resolve("output.nq")
+            .toString()};
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkData.deleteRecursively(workDirectory);
+  }
+
+  @Benchmark
+  public int launcher() {
+    return checkExitCode(CarmlLauncher.run(new Rdf4jOutputProvider(), args));
+  }
+
+  @Benchmark
+  public int spring() {
+    var context = new SpringApplicationBuilder(SpringStartupApplication.class).bannerMode(Banner.Mode.OFF)
+        .lazyInitialization(true)
+        .run(args);
+
+    return checkExitCode(SpringApplication.exit(context));
+  }
+
+  private static int checkExitCode(int exitCode) {
+    if (exitCode != 0) {
+      throw new IllegalStateException(String.format("Map command exited with code %d", exitCode));
+    }
+
+    return exitCode;
+  }
+}
@@ -10,7 +10,9 @@ public final class JenaLangs {
   private JenaLangs() {}
 
   private static final Set<Lang> GRAPH_LANGS =
-      Set.of(Lang.JSONLD, Lang.JSONLD11, Lang.TRIG, Lang.N3, Lang.NQUADS, Lang.TRIX);
+      Set.of(Lang.JSONLD, Lang.JSONLD11, Lang.TRIG, Lang.N3, Lang.NQUADS, Lang.TRIX, Lang.RDFTHRIFT, Lang.RDFPROTO);
+
+  private static final Set<Lang> BINARY_LANGS = Set.of(Lang.RDFTHRIFT, Lang.RDFPROTO);
 
   public static Lang determineLang(String rdfFormat) {
     var lang = RDFLanguages.fileExtToLang(rdfFormat);
@@ -24,4 +26,8 @@ public final class JenaLangs {
   public static boolean supportsGraphs(Lang lang) {
     return GRAPH_LANGS.contains(lang);
   }
+
+  public static boolean isBinary(Lang lang) {
+    return BINARY_LANGS.contains(lang);
+  }
 }
@@ -0,0 +1,171 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.util.jena.JenaConverters;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+import org.apache.jena.atlas.io.IndentedLineBuffer;
+import org.apache.jena.atlas.lib.CharSpace;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.riot.out.NodeFormatter;
+import org.apache.jena.riot.out.NodeFormatterNT;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * {@link StatementWriter} for N-Triples and N-Quads that writes the same bytes as the Jena streaming
+ * writers, with less work per statement.<br>
+ * <br>
+ * The encoded bytes of predicates, classes and graph names are kept in an {@link EncodedTermCache}.
+ * Other IRIs, and literals without a language tag that consist of ASCII characters needing no
+ * escaping, are copied straight into a {@link LineBuffer}. All other terms, including blank nodes, are
+ * encoded by the {@link NodeFormatterNT} the Jena writers use.
+ */
+final class JenaLineWriter implements StatementWriter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final byte[] LINE_END = " .\n".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] DATATYPE_SEPARATOR = "^^".getBytes(StandardCharsets.US_ASCII);
+
+  private static final String XSD_STRING = XSDDatatype.XSDstring.getURI();
+
+  // characters the N-Triples formatter never escapes in an IRI
+  private static final boolean[] IRI_CHARACTERS = LineBuffer.asciiTable(character -> character > 0x20
+      && character < 0x7f && "<>\"{}|^`\\".indexOf(character) < 0);
+
+  // characters the N-Triples formatter never escapes in a literal label
+  private static final boolean[] LABEL_CHARACTERS = LineBuffer.asciiTable(character -> character >= 0x20
+      && character < 0x7f && character != '"' && character != '\\');
+
+  private final LineBuffer lineBuffer;
+
+  private final boolean quads;
+
+  private final EncodedTermCache<Node> termCache;
+
+  private final NodeFormatter nodeFormatter = new NodeFormatterNT(CharSpace.UTF8);
+
+  private final IndentedLineBuffer encodeBuffer = new IndentedLineBuffer();
+
+  /**
+   * @param outputStream The {@link OutputStream}.
+   * @param quads Whether to write N-Quads, otherwise N-Triples.
+   */
+  JenaLineWriter(OutputStream outputStream, boolean quads) {
+    this.lineBuffer = new LineBuffer(outputStream);
+    this.quads = quads;
+    this.termCache = new EncodedTermCache<>();
+  }
+
+  @Override
+  public void write(@NonNull Statement statement) {
+    var quad = JenaConverters.toQuad(statement);
+    var predicate = quad.getPredicate();
+
+    writeNode(quad.getSubject());
+    lineBuffer.write(' ');
+    writeCached(predicate);
+    lineBuffer.write(' ');
+    if (RDF.Nodes.type.equals(predicate)) {
+      writeCached(quad.getObject());
+    } else {
+      writeNode(quad.getObject());
+    }
+
+    var graph = quad.getGraph();
+    if (quads && graph != null && !Quad.isDefaultGraph(graph)) {
+      lineBuffer.write(' ');
+      writeCached(graph);
+    }
+    lineBuffer.write(LINE_END);
+
+    try {
+      lineBuffer.endLine();
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while writing output.", ioException);
+    }
+  }
+
+  private void writeCached(Node node) {
+    lineBuffer.write(termCache.get(node, this::encode));
+  }
+
+  private void writeNode(Node node) {
+    var written = false;
+    if (node.isURI()) {
+      written = writeIri(node.getURI());
+    } else if (node.isLiteral()) {
+      written = writeLiteral(node);
+    }
+
+    if (!written) {
+      lineBuffer.write(encode(node));
+    }
+  }
+
+  private boolean writeIri(String iri) {
+    var mark = lineBuffer.position();
+    lineBuffer.write('<');
+    if (!lineBuffer.writeAscii(iri, IRI_CHARACTERS)) {
+      lineBuffer.reset(mark);
+      return false;
+    }
+    lineBuffer.write('>');
+
+    return true;
+  }
+
+  private boolean writeLiteral(Node literal) {
+    // language tagged literals are left to the formatter
+    if (!literal.getLiteralLanguage()
+        .isEmpty()) {
+      return false;
+    }
+
+    var mark = lineBuffer.position();
+    lineBuffer.write('"');
+    if (!lineBuffer.writeAscii(literal.getLiteralLexicalForm(), LABEL_CHARACTERS)) {
+      lineBuffer.reset(mark);
+      return false;
+    }
+    lineBuffer.write('"');
+
+    var datatype = literal.getLiteralDatatypeURI();
+    if (!XSD_STRING.equals(datatype)) {
+      lineBuffer.write(DATATYPE_SEPARATOR);
+      if (!writeIri(datatype)) {
+        lineBuffer.reset(mark);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private byte[] encode(Node node) {
+    encodeBuffer.clear();
+    nodeFormatter.format(encodeBuffer, node);
+
+    return encodeBuffer.asString()
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    try {
+      lineBuffer.flush();
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while writing output.", ioException);
+    }
+
+    LOG.debug("Encoded term cache hits: {}, misses: {}.", termCache::getHits, termCache::getMisses);
+  }
+}
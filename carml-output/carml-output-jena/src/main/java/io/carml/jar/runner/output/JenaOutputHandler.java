@@ -1,23 +1,29 @@
 package io.carml.jar.runner.output;
 
 import static io.carml.jar.runner.format.JenaLangs.determineLang;
+import static io.carml.jar.runner.format.JenaLangs.isBinary;
 import static io.carml.jar.runner.format.JenaLangs.supportsGraphs;
 import static io.carml.util.jena.JenaCollectors.toDatasetGraph;
 
-import io.carml.jar.runner.format.JenaLangs;
+import io.carml.jar.runner.CarmlJarException;
 import io.carml.util.jena.JenaConverters;
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDF;
 import org.apache.jena.riot.system.StreamRDFWriter;
 import org.eclipse.rdf4j.model.Statement;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
 @Component
+@ImportRuntimeHints(JenaRuntimeHints.class)
 public class JenaOutputHandler implements OutputHandler {
 
   private static final Set<String> STREAMING_FORMAT = Set.of("nt", "nq");
@@ -60,7 +66,8 @@ public class JenaOutputHandler implements OutputHandler {
 
   /**
    * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
-   * referenced RDF format in a streaming fashion.
+   * referenced RDF format in a streaming fashion. N-Triples and N-Quads are written by a
+   * {@link JenaLineWriter}.
    *
    * @param statementFlux The {@link Flux} of {@link Statement}s.
    * @param rdfFormat The RDF format reference.
@@ -72,6 +79,16 @@ public class JenaOutputHandler implements OutputHandler {
   public long outputStreaming(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
       @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
     var counter = new AtomicLong();
+    if (STREAMING_FORMAT.contains(rdfFormat)) {
+      var lineWriter = createLineWriter(rdfFormat, outputStream);
+      statementFlux.doOnNext(lineWriter::write)
+          .doOnNext(statement -> counter.getAndIncrement())
+          .blockLast();
+      lineWriter.close();
+
+      return counter.get();
+    }
+
     var lang = determineLang(rdfFormat);
     var streamRdf = StreamRDFWriter.getWriterStream(outputStream, lang);
     streamRdf.start();
@@ -87,9 +104,51 @@ public class JenaOutputHandler implements OutputHandler {
     return counter.get();
   }
 
+  /**
+   * Open a {@link StatementWriter} that writes statements to the provided {@link OutputStream} as RDF
+   * in the referenced RDF format using a streaming {@link StreamRDF} writer, or a
+   * {@link JenaLineWriter} for N-Triples and N-Quads.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @return the {@link StatementWriter}.
+   */
+  @Override
+  public StatementWriter openStreamingWriter(@NonNull String rdfFormat, @NonNull Map<String, String> namespaces,
+      @NonNull OutputStream outputStream) {
+    if (STREAMING_FORMAT.contains(rdfFormat)) {
+      return createLineWriter(rdfFormat, outputStream);
+    }
+
+    var streamRdf = StreamRDFWriter.getWriterStream(outputStream, determineLang(rdfFormat));
+    streamRdf.start();
+    namespaces.forEach(streamRdf::prefix);
+
+    return new JenaStatementWriter(streamRdf);
+  }
+
+  /**
+   * Determines whether a {@link StatementWriter} can be opened for the RDF format reference, which is
+   * the case for every streamable format.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @param pretty The {@code boolean} value.
+   * @return {@code boolean} value indicating support for statement writers.
+   */
+  @Override
+  public boolean isStreamingWriterSupported(@NonNull String rdfFormat, boolean pretty) {
+    return isFormatStreamable(rdfFormat, pretty);
+  }
+
+  private static JenaLineWriter createLineWriter(String rdfFormat, OutputStream outputStream) {
+    return new JenaLineWriter(outputStream, "nq".equals(rdfFormat));
+  }
+
   /**
    * Determines whether the RDF format reference is streamable taking into account the value of
-   * {@code pretty}.
+   * {@code pretty}. The binary formats RDF Thrift and RDF Protobuf are always streamable, since pretty
+   * printing does not apply to them.
    *
    * @param rdfFormat The RDF format reference.
    * @param pretty The {@code boolean} value.
@@ -97,7 +156,74 @@ public class JenaOutputHandler implements OutputHandler {
    */
   @Override
   public boolean isFormatStreamable(@NonNull String rdfFormat, boolean pretty) {
-    return STREAMING_FORMAT.contains(rdfFormat)
-        || (!pretty && StreamRDFWriter.registered(JenaLangs.determineLang(rdfFormat)));
+    if (STREAMING_FORMAT.contains(rdfFormat)) {
+      return true;
+    }
+
+    var lang = determineLang(rdfFormat);
+    return isBinary(lang) || (!pretty && StreamRDFWriter.registered(lang));
+  }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
+   * referenced line-based RDF format, serializing batches of statements on {@code writerThreads}
+   * threads.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param rdfFormat The RDF format reference.
+   * @param outputStream The {@link OutputStream}.
+   * @param writerThreads The number of serialization threads.
+   * @param ordered Whether the statement order must be preserved in the output.
+   * @return the number of statements written.
+   */
+  @Override
+  public long outputParallel(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+      @NonNull OutputStream outputStream, int writerThreads, boolean ordered) {
+    if (!isFormatParallelizable(rdfFormat)) {
+      throw new CarmlJarException(String.format("Format `%s` cannot be serialized in parallel.", rdfFormat));
+    }
+
+    return ParallelLineSerializer.serialize(statementFlux, statements -> encode(statements, rdfFormat), outputStream,
+        writerThreads, ordered);
+  }
+
+  private static byte[] encode(List<Statement> statements, String rdfFormat) {
+    var chunk = new ByteArrayOutputStream(statements.size() * 128);
+    var lineWriter = createLineWriter(rdfFormat, chunk);
+    statements.forEach(lineWriter::write);
+    lineWriter.close();
+
+    return chunk.toByteArray();
+  }
+
+  /**
+   * Determines whether the RDF format reference can be serialized in parallel. This is the case for
+   * the line-based formats N-Triples and N-Quads.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @return {@code boolean} value indicating parallelizability.
+   */
+  @Override
+  public boolean isFormatParallelizable(@NonNull String rdfFormat) {
+    return STREAMING_FORMAT.contains(rdfFormat);
+  }
+
+  private static class JenaStatementWriter implements StatementWriter {
+
+    private final StreamRDF streamRdf;
+
+    JenaStatementWriter(StreamRDF streamRdf) {
+      this.streamRdf = streamRdf;
+    }
+
+    @Override
+    public void write(@NonNull Statement statement) {
+      streamRdf.quad(JenaConverters.toQuad(statement));
+    }
+
+    @Override
+    public void close() {
+      streamRdf.finish();
+    }
   }
 }
@@ -0,0 +1,21 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.option.JenaOutputRdfFormatProvider;
+import java.util.Set;
+
+/**
+ * Provides the {@link JenaOutputHandler} and its RDF formats to the launcher that runs without a
+ * Spring context.
+ */
+public class JenaOutputProvider implements OutputProvider {
+
+  @Override
+  public OutputHandler getOutputHandler() {
+    return new JenaOutputHandler();
+  }
+
+  @Override
+  public Set<String> getRdfFormats() {
+    return new JenaOutputRdfFormatProvider().rdfFormats();
+  }
+}
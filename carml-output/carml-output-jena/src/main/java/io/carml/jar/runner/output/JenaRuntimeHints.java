@@ -0,0 +1,31 @@
+package io.carml.jar.runner.output;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import org.apache.jena.sys.JenaSubsystemLifecycle;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the reflection and resource metadata a GraalVM native image needs for Jena output.<br>
+ * <br>
+ * Jena initializes its subsystems, such as the RIOT readers and writers, through
+ * {@link JenaSubsystemLifecycle} service registrations, and reads its version properties from the
+ * classpath.
+ */
+public class JenaRuntimeHints implements RuntimeHintsRegistrar {
+
+  static final List<String> RESOURCE_PATTERNS = List.of("META-INF/services/org.apache.jena.*",
+      "org/apache/jena/jena-properties.xml", "org/apache/jena/arq/arq-properties.xml");
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    ServiceLoader.load(JenaSubsystemLifecycle.class, classLoader)
+        .stream()
+        .forEach(provider -> hints.reflection()
+            .registerType(provider.type(), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+    RESOURCE_PATTERNS.forEach(hints.resources()::registerPattern);
+  }
+}
@@ -1,6 +1,7 @@
 package io.carml.jar.runner.format;
 
 import static io.carml.jar.runner.format.JenaLangs.determineLang;
+import static io.carml.jar.runner.format.JenaLangs.isBinary;
 import static io.carml.jar.runner.format.JenaLangs.supportsGraphs;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -19,7 +20,7 @@ class JenaLangsTest {
   static Stream<Arguments> rdfFormatLangArgs() {
     return Stream.of(//
         Arguments.of("ttl", Lang.TURTLE), Arguments.of("nq", Lang.NQUADS), Arguments.of("nt", Lang.NTRIPLES),
-        Arguments.of("n3", Lang.N3));
+        Arguments.of("n3", Lang.N3), Arguments.of("rt", Lang.RDFTHRIFT), Arguments.of("rpb", Lang.RDFPROTO));
   }
 
   @ParameterizedTest
@@ -48,7 +49,8 @@ class JenaLangsTest {
   static Stream<Arguments> langSupportsGraphsArgs() {
     return Stream.of(//
         Arguments.of(Lang.TURTLE, false), //
-        Arguments.of(Lang.TRIG, true));
+        Arguments.of(Lang.TRIG, true), //
+        Arguments.of(Lang.RDFTHRIFT, true));
   }
 
   @ParameterizedTest
@@ -61,4 +63,22 @@ class JenaLangsTest {
     // Then
     assertThat(supportsGraphs, is(expectedSupportsGraphs));
   }
+
+  static Stream<Arguments> langIsBinaryArgs() {
+    return Stream.of(//
+        Arguments.of(Lang.NQUADS, false), //
+        Arguments.of(Lang.RDFTHRIFT, true), //
+        Arguments.of(Lang.RDFPROTO, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("langIsBinaryArgs")
+  void givenLang_whenIsBinary_thenReturnExpectedIsBinary(Lang lang, boolean expectedIsBinary) {
+    // Given
+    // When
+    var binary = isBinary(lang);
+
+    // Then
+    assertThat(binary, is(expectedIsBinary));
+  }
 }
@@ -0,0 +1,86 @@
+package io.carml.jar.runner.output;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.carml.util.jena.JenaConverters;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.junit.jupiter.api.Test;
+
+class JenaLineWriterTest {
+
+  private static final String EX = "http://example.com/";
+
+  private static final List<Statement> TRIPLES = List.of( //
+      statement(iri(EX, "a"), RDF.TYPE, iri(EX, "Thing"), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("plain"), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("explicit string", XSD.STRING), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("\u0178 unicode \u2713", "en-GB"), null), //
+      statement(iri(EX, "a"), RDFS.COMMENT, literal("quote \" backslash \\ tab \t newline \n return \r"), null), //
+      statement(iri(EX, "a"), iri(EX, "count"), literal(42), null), //
+      statement(iri(EX, "\u00fc/\u00fcn\u00efcode"), iri(EX, "p"), iri("urn:x:y"), null), //
+      statement(bnode("b1"), iri(EX, "p"), bnode("1starts-with_digit"), null), //
+      statement(bnode("with-dash"), iri(EX, "p"), literal("x", iri(EX, "custom")), null));
+
+  private static final List<Statement> QUADS = List.of( //
+      statement(iri(EX, "a"), RDF.TYPE, iri(EX, "Thing"), iri(EX, "graph")), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("plain"), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("tagged", "nl"), iri(EX, "graph")), //
+      statement(bnode("b1"), iri(EX, "p"), literal(1.5), bnode("graphNode")));
+
+  @Test
+  void givenTriples_whenWriteNt_thenOutputEqualsJenaWriter() {
+    // Given
+    var expected = writeWithJena(TRIPLES, Lang.NTRIPLES);
+    var actual = new ByteArrayOutputStream();
+
+    // When
+    var lineWriter = new JenaLineWriter(actual, false);
+    TRIPLES.forEach(lineWriter::write);
+    lineWriter.close();
+
+    // Then
+    assertThat(actual.toByteArray(), is(expected));
+  }
+
+  @Test
+  void givenQuads_whenWriteNq_thenOutputEqualsJenaWriter() {
+    // Given
+    var statements = new ArrayList<>(TRIPLES);
+    statements.addAll(QUADS);
+    var expected = writeWithJena(statements, Lang.NQUADS);
+    var actual = new ByteArrayOutputStream();
+
+    // When
+    var lineWriter = new JenaLineWriter(actual, true);
+    statements.forEach(lineWriter::write);
+    lineWriter.close();
+
+    // Then
+    assertThat(actual.toByteArray(), is(expected));
+  }
+
+  private static byte[] writeWithJena(List<Statement> statements, Lang lang) {
+    var outputStream = new ByteArrayOutputStream();
+    var streamRdf = StreamRDFWriter.getWriterStream(outputStream, lang);
+    streamRdf.start();
+    statements.stream()
+        .map(JenaConverters::toQuad)
+        .forEach(streamRdf::quad);
+    streamRdf.finish();
+
+    return outputStream.toByteArray();
+  }
+}
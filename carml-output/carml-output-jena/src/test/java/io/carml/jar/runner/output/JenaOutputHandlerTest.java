@@ -4,9 +4,15 @@ import static io.carml.jar.runner.format.RdfFormat.nq;
 import static io.carml.jar.runner.format.RdfFormat.ttl;
 import static org.eclipse.rdf4j.model.util.Statements.statement;
 import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.carml.jar.runner.CarmlJarException;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
@@ -14,18 +20,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import reactor.core.publisher.Flux;
 
 class JenaOutputHandlerTest {
 
+  private static final Map<String, String> NAMESPACES =
+      Map.of("res", "http://example.com/resource/", "graph", "http://example.com/graph/", "rdfs", RDFS.NAMESPACE);
+
   private final JenaOutputHandler jenaOutputHandler = new JenaOutputHandler();
 
   private ByteArrayOutputStream outContent;
@@ -108,12 +122,92 @@ class JenaOutputHandlerTest {
     assertThat(StringUtils.countMatches(outContent.toString(), "_:b6    a       _:b7 ."), is(1));
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"rt", "rpb"})
+  void givenStatementsAndBinaryFormat_whenOutputStreaming_thenOutputParsableBinaryRdf(String rdfFormat) {
+    // Given
+    var statementFlux = Flux.fromIterable(generateIriStatements(1000));
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var nrOfStatements = jenaOutputHandler.outputStreaming(statementFlux, rdfFormat, NAMESPACES, outputStream);
+
+    // Then
+    assertThat(nrOfStatements, is(1000L));
+    var datasetGraph = DatasetGraphFactory.create();
+    RDFParser.source(new ByteArrayInputStream(outputStream.toByteArray()))
+        .lang(rdfFormat.equals("rt") ? Lang.RDFTHRIFT : Lang.RDFPROTO)
+        .parse(datasetGraph);
+    assertThat(datasetGraph.stream()
+        .count(), is(1000L));
+    assertThat(datasetGraph.size(), is(3L));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"rt", "rpb"})
+  void givenStatementsWithNamespaces_whenOutputStreamingBinary_thenOutputSmallerThanNq(String rdfFormat) {
+    // Given
+    var statements = generateIriStatements(1000);
+    var nqOutputStream = new ByteArrayOutputStream();
+    var binaryOutputStream = new ByteArrayOutputStream();
+
+    // When
+    jenaOutputHandler.outputStreaming(Flux.fromIterable(statements), nq.name(), NAMESPACES, nqOutputStream);
+    jenaOutputHandler.outputStreaming(Flux.fromIterable(statements), rdfFormat, NAMESPACES, binaryOutputStream);
+
+    // Then
+    assertThat(binaryOutputStream.size(), lessThan(nqOutputStream.size()));
+  }
+
+  @Test
+  void givenStatementsAndNqFormat_whenOutputParallelOrdered_thenOutputEqualsStreamingOutput() {
+    // Given
+    var streamingOutput = new ByteArrayOutputStream();
+    jenaOutputHandler.outputStreaming(generateStatementsFor("foo", 5000), nq.name(), Map.of(), streamingOutput);
+
+    // When
+    var nrOfStatements =
+        jenaOutputHandler.outputParallel(generateStatementsFor("foo", 5000), nq.name(), System.out, 4, true);
+
+    // Then
+    assertThat(nrOfStatements, is(5000L));
+    assertThat(outContent.toString(), is(streamingOutput.toString()));
+  }
+
+  @Test
+  void givenStatementsAndNqFormat_whenOutputParallelUnordered_thenOutputAllStatements() {
+    // Given
+    var statementFlux = generateStatementsFor("foo", 5000);
+
+    // When
+    var nrOfStatements = jenaOutputHandler.outputParallel(statementFlux, nq.name(), System.out, 4, false);
+
+    // Then
+    assertThat(nrOfStatements, is(5000L));
+    assertThat(StringUtils.countMatches(outContent.toString(), RDF.TYPE.stringValue()), is(5000));
+  }
+
+  @Test
+  void givenTtlFormat_whenOutputParallel_thenThrowException() {
+    // Given
+    var statementFlux = generateStatementsFor("foo", 5);
+
+    // When
+    var carmlJarException = assertThrows(CarmlJarException.class,
+        () -> jenaOutputHandler.outputParallel(statementFlux, ttl.name(), System.out, 4, false));
+
+    // Then
+    assertThat(carmlJarException.getMessage(), is("Format `ttl` cannot be serialized in parallel."));
+  }
+
   static Stream<Arguments> formatStreamableArgs() {
     return Stream.of(//
         Arguments.of("ttl", true, false), //
         Arguments.of("nq", false, true), //
         Arguments.of("nq", true, true), //
-        Arguments.of("pbrdf", false, true));
+        Arguments.of("pbrdf", false, true), //
+        Arguments.of("rt", true, true), //
+        Arguments.of("rpb", true, true));
   }
 
   @ParameterizedTest
@@ -137,6 +231,17 @@ class JenaOutputHandlerTest {
     return Flux.fromIterable(statements);
   }
 
+  private static List<Statement> generateIriStatements(int amount) {
+    List<Statement> statements = new ArrayList<>();
+    for (int i = 0; i < amount; i++) {
+      var subject = iri("http://example.com/resource/" + i / 10);
+      statements.add(statement(subject, RDFS.LABEL, literal("label " + i),
+          iri("http://example.com/graph/" + i % 3)));
+    }
+
+    return statements;
+  }
+
   private static Statement generateStatementFor(String id, int number) {
     return statement(bnode(String.format("sub-%s-%s", id, number)), RDF.TYPE,
         bnode(String.format("obj-%s-%s", id, number)), null);
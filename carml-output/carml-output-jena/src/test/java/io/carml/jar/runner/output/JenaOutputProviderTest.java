@@ -0,0 +1,42 @@
+package io.carml.jar.runner.output;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import org.junit.jupiter.api.Test;
+
+class JenaOutputProviderTest {
+
+  @Test
+  void givenServiceRegistration_whenLoadOutputProviders_thenFindJenaOutputProvider() {
+    // Given
+    var serviceLoader = ServiceLoader.load(OutputProvider.class);
+
+    // When
+    var outputProviderNames = serviceLoader.stream()
+        .map(Provider::type)
+        .map(Class::getName)
+        .toList();
+
+    // Then
+    assertThat(outputProviderNames, contains(JenaOutputProvider.class.getName()));
+  }
+
+  @Test
+  void givenProvider_whenGetOutputHandlerAndRdfFormats_thenReturnJenaOutputHandlerAndFormats() {
+    // Given
+    var outputProvider = new JenaOutputProvider();
+
+    // When
+    var outputHandler = outputProvider.getOutputHandler();
+    var rdfFormats = outputProvider.getRdfFormats();
+
+    // Then
+    assertThat(outputHandler, instanceOf(JenaOutputHandler.class));
+    assertThat(rdfFormats, hasItems("nq", "ttl"));
+  }
+}
@@ -0,0 +1,31 @@
+package io.carml.jar.runner.output;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.apache.jena.riot.system.InitRIOT;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class JenaRuntimeHintsTest {
+
+  @Test
+  void givenRegistrar_whenRegisterHints_thenRegisterJenaSubsystemsAndServiceFiles() {
+    // Given
+    var hints = new RuntimeHints();
+
+    // When
+    new JenaRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+    // Then
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(InitRIOT.class)
+        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.resource()
+        .forResource("META-INF/services/org.apache.jena.sys.JenaSubsystemLifecycle")
+        .test(hints), is(true));
+  }
+}
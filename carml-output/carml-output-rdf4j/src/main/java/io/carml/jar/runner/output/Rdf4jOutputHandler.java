@@ -1,6 +1,7 @@
 package io.carml.jar.runner.output;
 
 import static io.carml.jar.runner.format.Rdf4JFormats.determineRdfFormat;
+import static io.carml.jar.runner.format.RdfFormat.brf;
 import static io.carml.jar.runner.format.RdfFormat.n3;
 import static io.carml.jar.runner.format.RdfFormat.nq;
 import static io.carml.jar.runner.format.RdfFormat.nt;
@@ -11,17 +12,21 @@ import static io.carml.jar.runner.format.RdfFormat.ttl;
 import static io.carml.jar.runner.format.RdfFormat.ttls;
 
 import io.carml.jar.runner.CarmlJarException;
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.util.ModelCollector;
+import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.WriterConfig;
+import org.eclipse.rdf4j.rio.binary.BinaryRDFWriterSettings;
 import org.eclipse.rdf4j.rio.helpers.BasicWriterSettings;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
@@ -30,11 +35,21 @@ import reactor.util.annotation.NonNull;
 @Component
 public class Rdf4jOutputHandler implements OutputHandler {
 
-  private static final Set<String> STREAMING_FORMAT = Set.of(nt.name(), nq.name());
+  private static final Set<String> STREAMING_FORMAT = Set.of(nt.name(), nq.name(), brf.name());
+
+  private static final Set<String> LINE_BASED_FORMAT = Set.of(nt.name(), nq.name());
 
   private static final Set<String> POTENTIALLY_STREAMING_FORMAT =
       Set.of(ttl.name(), ttls.name(), trig.name(), trigs.name(), n3.name(), trix.name());
 
+  /**
+   * The number of statements the binary RDF writer buffers to find values that occur more than once.
+   * Such values are written once into the value dictionary of the output and referenced by id
+   * afterwards. The RDF4J default of 8192 statements finds few repetitions in mapping output, where
+   * the statements of one subject tend to be spread out.
+   */
+  static final int BINARY_BUFFER_SIZE = 65_536;
+
   /**
    * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
    * referenced RDF Format in a pretty fashion.<br>
@@ -67,7 +82,8 @@ public class Rdf4jOutputHandler implements OutputHandler {
    * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
    * referenced RDF format in a streaming fashion.<br>
    * <br>
-   * The output written to the {@link OutputStream} on a statement by statement basis.
+   * The output written to the {@link OutputStream} on a statement by statement basis. N-Triples and
+   * N-Quads are written by an {@link Rdf4jLineWriter}.
    *
    * @param statementFlux The {@link Flux} of {@link Statement}s.
    * @param format The RDF format reference.
@@ -78,8 +94,18 @@ public class Rdf4jOutputHandler implements OutputHandler {
   @Override
   public long outputStreaming(@NonNull Flux<Statement> statementFlux, @NonNull String format,
       @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
-    RDFWriter rdfWriter = Rio.createWriter(determineRdfFormat(format), outputStream);
     AtomicLong counter = new AtomicLong();
+    if (LINE_BASED_FORMAT.contains(format)) {
+      var lineWriter = createLineWriter(format, outputStream);
+      statementFlux.doOnNext(lineWriter::write)
+          .doOnNext(statement -> counter.getAndIncrement())
+          .blockLast();
+      lineWriter.close();
+
+      return counter.get();
+    }
+
+    RDFWriter rdfWriter = createStreamingWriter(determineRdfFormat(format), outputStream);
 
     try {
       rdfWriter.startRDF();
@@ -97,9 +123,66 @@ public class Rdf4jOutputHandler implements OutputHandler {
     return counter.get();
   }
 
+  /**
+   * Open a {@link StatementWriter} that writes statements to the provided {@link OutputStream} as RDF
+   * in the referenced RDF format using a streaming {@link RDFWriter}, or an {@link Rdf4jLineWriter}
+   * for N-Triples and N-Quads.
+   *
+   * @param format The RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @return the {@link StatementWriter}.
+   */
+  @Override
+  public StatementWriter openStreamingWriter(@NonNull String format, @NonNull Map<String, String> namespaces,
+      @NonNull OutputStream outputStream) {
+    if (LINE_BASED_FORMAT.contains(format)) {
+      return createLineWriter(format, outputStream);
+    }
+
+    RDFWriter rdfWriter = createStreamingWriter(determineRdfFormat(format), outputStream);
+
+    try {
+      rdfWriter.startRDF();
+      namespaces.forEach(rdfWriter::handleNamespace);
+    } catch (RDFHandlerException rdfHandlerException) {
+      throw new CarmlJarException("Exception occurred while writing output.", rdfHandlerException);
+    }
+
+    return new Rdf4jStatementWriter(rdfWriter);
+  }
+
+  /**
+   * Determines whether a {@link StatementWriter} can be opened for the RDF format reference, which is
+   * the case for every streamable format.
+   *
+   * @param format The RDF format reference.
+   * @param pretty The {@code boolean} value.
+   * @return {@code boolean} value indicating support for statement writers.
+   */
+  @Override
+  public boolean isStreamingWriterSupported(@NonNull String format, boolean pretty) {
+    return isFormatStreamable(format, pretty);
+  }
+
+  private static Rdf4jLineWriter createLineWriter(String format, OutputStream outputStream) {
+    return new Rdf4jLineWriter(outputStream, nq.name()
+        .equals(format));
+  }
+
+  private static RDFWriter createStreamingWriter(RDFFormat rdfFormat, OutputStream outputStream) {
+    RDFWriter rdfWriter = Rio.createWriter(rdfFormat, outputStream);
+    if (rdfFormat.equals(RDFFormat.BINARY)) {
+      rdfWriter.getWriterConfig()
+          .set(BinaryRDFWriterSettings.BUFFER_SIZE, BINARY_BUFFER_SIZE);
+    }
+
+    return rdfWriter;
+  }
+
   /**
    * Determines whether the RDF format reference is streamable taking into account the value of
-   * {@code pretty}.
+   * {@code pretty}. Binary RDF is always streamable, since pretty printing does not apply to it.
    *
    * @param format The RDF format reference.
    * @param pretty The {@code boolean} value.
@@ -109,4 +192,75 @@ public class Rdf4jOutputHandler implements OutputHandler {
   public boolean isFormatStreamable(@NonNull String format, boolean pretty) {
     return STREAMING_FORMAT.contains(format) || (!pretty && POTENTIALLY_STREAMING_FORMAT.contains(format));
   }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
+   * referenced line-based RDF format, serializing batches of statements on {@code writerThreads}
+   * threads.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param format The RDF format reference.
+   * @param outputStream The {@link OutputStream}.
+   * @param writerThreads The number of serialization threads.
+   * @param ordered Whether the statement order must be preserved in the output.
+   * @return the number of statements written.
+   */
+  @Override
+  public long outputParallel(@NonNull Flux<Statement> statementFlux, @NonNull String format,
+      @NonNull OutputStream outputStream, int writerThreads, boolean ordered) {
+    if (!isFormatParallelizable(format)) {
+      throw new CarmlJarException(String.format("Format `%s` cannot be serialized in parallel.", format));
+    }
+
+    return ParallelLineSerializer.serialize(statementFlux, statements -> encode(statements, format), outputStream,
+        writerThreads, ordered);
+  }
+
+  private static byte[] encode(List<Statement> statements, String format) {
+    var chunk = new ByteArrayOutputStream(statements.size() * 128);
+    var lineWriter = createLineWriter(format, chunk);
+    statements.forEach(lineWriter::write);
+    lineWriter.close();
+
+    return chunk.toByteArray();
+  }
+
+  /**
+   * Determines whether the RDF format reference can be serialized in parallel. This is the case for
+   * the line-based formats N-Triples and N-Quads.
+   *
+   * @param format The RDF format reference.
+   * @return {@code boolean} value indicating parallelizability.
+   */
+  @Override
+  public boolean isFormatParallelizable(@NonNull String format) {
+    return LINE_BASED_FORMAT.contains(format);
+  }
+
+  private static class Rdf4jStatementWriter implements StatementWriter {
+
+    private final RDFWriter rdfWriter;
+
+    Rdf4jStatementWriter(RDFWriter rdfWriter) {
+      this.rdfWriter = rdfWriter;
+    }
+
+    @Override
+    public void write(@NonNull Statement statement) {
+      try {
+        rdfWriter.handleStatement(statement);
+      } catch (RDFHandlerException rdfHandlerException) {
+        throw new CarmlJarException("Exception occurred while writing output.", rdfHandlerException);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        rdfWriter.endRDF();
+      } catch (RDFHandlerException rdfHandlerException) {
+        throw new CarmlJarException("Exception occurred while writing output.", rdfHandlerException);
+      }
+    }
+  }
 }
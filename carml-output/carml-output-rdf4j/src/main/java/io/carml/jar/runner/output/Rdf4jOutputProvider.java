@@ -0,0 +1,21 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.option.Rdf4jOutputRdfFormatProvider;
+import java.util.Set;
+
+/**
+ * Provides the {@link Rdf4jOutputHandler} and its RDF formats to the launcher that runs without a
+ * Spring context.
+ */
+public class Rdf4jOutputProvider implements OutputProvider {
+
+  @Override
+  public OutputHandler getOutputHandler() {
+    return new Rdf4jOutputHandler();
+  }
+
+  @Override
+  public Set<String> getRdfFormats() {
+    return new Rdf4jOutputRdfFormatProvider().rdfFormats();
+  }
+}
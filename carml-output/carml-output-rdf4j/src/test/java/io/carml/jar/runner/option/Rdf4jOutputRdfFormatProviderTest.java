@@ -1,7 +1,7 @@
 package io.carml.jar.runner.option;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +16,6 @@ class Rdf4jOutputRdfFormatProviderTest {
     var rdfFormats = rdf4jOutputRdfFormatProvider.rdfFormats();
 
     // Then
-    assertThat(rdfFormats, hasItem("nq"));
+    assertThat(rdfFormats, hasItems("nq", "brf"));
   }
 }
@@ -0,0 +1,73 @@
+package io.carml.jar.runner.output;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Rdf4jLineWriterTest {
+
+  private static final String EX = "http://example.com/";
+
+  private static final List<Statement> STATEMENTS = List.of( //
+      statement(iri(EX, "a"), RDF.TYPE, iri(EX, "Thing"), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("plain"), iri(EX, "graph")), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("explicit string", XSD.STRING), null), //
+      statement(iri(EX, "a"), RDFS.LABEL, literal("\u0178 unicode \u2713", "en-GB"), iri(EX, "graph")), //
+      statement(iri(EX, "a"), RDFS.COMMENT, literal("quote \" backslash \\ tab \t newline \n return \r"), null), //
+      statement(iri(EX, "a"), RDFS.COMMENT, literal("control \u0001 delete \u007f"), null), //
+      statement(iri(EX, "a"), iri(EX, "count"), literal(42), null), //
+      statement(iri(EX, "a"), iri(EX, "lang"), literal("tagged", "NL"), null), //
+      statement(iri(EX, "\u00fc/\u00fcn\u00efcode"), iri(EX, "p"), iri(EX, "with space"), null), //
+      statement(iri(EX, "a?q={x}&y=<z>"), iri(EX, "p"), iri("urn:x:y"), null), //
+      statement(bnode("b1"), iri(EX, "p"), bnode("1starts-with_digit"), bnode("graphNode")), //
+      statement(bnode("with-dash"), iri(EX, "p"), literal("x", iri(EX, "custom")), iri(EX, "graph")));
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void givenStatements_whenWrite_thenOutputEqualsRdf4jWriter(boolean quads) {
+    // Given
+    var expected = new ByteArrayOutputStream();
+    Rio.write(STATEMENTS, expected, quads ? RDFFormat.NQUADS : RDFFormat.NTRIPLES);
+    var actual = new ByteArrayOutputStream();
+
+    // When
+    var lineWriter = new Rdf4jLineWriter(actual, quads);
+    STATEMENTS.forEach(lineWriter::write);
+    lineWriter.close();
+
+    // Then
+    assertThat(actual.toString(), is(expected.toString()));
+    assertThat(actual.toByteArray(), is(expected.toByteArray()));
+  }
+
+  @Test
+  void givenCacheSmallerThanTerms_whenWrite_thenOutputEqualsRdf4jWriter() {
+    // Given
+    var expected = new ByteArrayOutputStream();
+    Rio.write(STATEMENTS, expected, RDFFormat.NQUADS);
+    var actual = new ByteArrayOutputStream();
+
+    // When
+    var lineWriter = new Rdf4jLineWriter(actual, true, 2);
+    STATEMENTS.forEach(lineWriter::write);
+    lineWriter.close();
+
+    // Then
+    assertThat(actual.toByteArray(), is(expected.toByteArray()));
+  }
+}
@@ -1,13 +1,21 @@
 package io.carml.jar.runner.output;
 
+import static io.carml.jar.runner.format.RdfFormat.brf;
 import static io.carml.jar.runner.format.RdfFormat.nq;
 import static io.carml.jar.runner.format.RdfFormat.ttl;
 import static org.eclipse.rdf4j.model.util.Statements.statement;
 import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.carml.jar.runner.CarmlJarException;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +23,11 @@ import java.util.Map;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.util.Models;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -108,12 +120,85 @@ class Rdf4jOutputHandlerTest {
     assertThat(StringUtils.countMatches(outContent.toString(), "_:sub-bar-3 a _:obj-bar-3 ."), is(1));
   }
 
+  @Test
+  void givenStatementsAndBrfFormat_whenOutputStreaming_thenOutputParsableBinaryRdf() throws IOException {
+    // Given
+    var statements = generateIriStatements(1000);
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var nrOfStatements =
+        rdf4jOutputHandler.outputStreaming(Flux.fromIterable(statements), brf.name(), Map.of(), outputStream);
+
+    // Then
+    assertThat(nrOfStatements, is(1000L));
+    var model = Rio.parse(new ByteArrayInputStream(outputStream.toByteArray()), "", RDFFormat.BINARY);
+    assertThat(Models.isomorphic(model, statements), is(true));
+  }
+
+  @Test
+  void givenStatementsWithRepeatedIris_whenOutputStreamingBrf_thenOutputSmallerThanNq() {
+    // Given
+    var statements = generateIriStatements(1000);
+    var nqOutputStream = new ByteArrayOutputStream();
+    var brfOutputStream = new ByteArrayOutputStream();
+
+    // When
+    rdf4jOutputHandler.outputStreaming(Flux.fromIterable(statements), nq.name(), Map.of(), nqOutputStream);
+    rdf4jOutputHandler.outputStreaming(Flux.fromIterable(statements), brf.name(), Map.of(), brfOutputStream);
+
+    // Then
+    assertThat(brfOutputStream.size(), lessThan(nqOutputStream.size()));
+  }
+
+  @Test
+  void givenStatementsAndNqFormat_whenOutputParallelOrdered_thenOutputEqualsStreamingOutput() {
+    // Given
+    var streamingOutput = new ByteArrayOutputStream();
+    rdf4jOutputHandler.outputStreaming(generateStatementsFor("foo", 5000), nq.name(), Map.of(), streamingOutput);
+
+    // When
+    var nrOfStatements =
+        rdf4jOutputHandler.outputParallel(generateStatementsFor("foo", 5000), nq.name(), System.out, 4, true);
+
+    // Then
+    assertThat(nrOfStatements, is(5000L));
+    assertThat(outContent.toString(), is(streamingOutput.toString()));
+  }
+
+  @Test
+  void givenStatementsAndNqFormat_whenOutputParallelUnordered_thenOutputAllStatements() {
+    // Given
+    var statementFlux = generateStatementsFor("foo", 5000);
+
+    // When
+    var nrOfStatements = rdf4jOutputHandler.outputParallel(statementFlux, nq.name(), System.out, 4, false);
+
+    // Then
+    assertThat(nrOfStatements, is(5000L));
+    assertThat(StringUtils.countMatches(outContent.toString(), RDF.TYPE.stringValue()), is(5000));
+  }
+
+  @Test
+  void givenTtlFormat_whenOutputParallel_thenThrowException() {
+    // Given
+    var statementFlux = generateStatementsFor("foo", 5);
+
+    // When
+    var carmlJarException = assertThrows(CarmlJarException.class,
+        () -> rdf4jOutputHandler.outputParallel(statementFlux, ttl.name(), System.out, 4, false));
+
+    // Then
+    assertThat(carmlJarException.getMessage(), is("Format `ttl` cannot be serialized in parallel."));
+  }
+
   static Stream<Arguments> formatStreamableArgs() {
     return Stream.of(//
         Arguments.of("ttl", true, false), //
         Arguments.of("nq", false, true), //
         Arguments.of("nq", true, true), //
-        Arguments.of("trigs", false, true));
+        Arguments.of("trigs", false, true), //
+        Arguments.of("brf", true, true));
   }
 
   @ParameterizedTest
@@ -137,6 +222,17 @@ class Rdf4jOutputHandlerTest {
     return Flux.fromIterable(statements);
   }
 
+  private static List<Statement> generateIriStatements(int amount) {
+    List<Statement> statements = new ArrayList<>();
+    for (int i = 0; i < amount; i++) {
+      var subject = iri("http://example.com/resource/" + i / 10);
+      statements.add(statement(subject, RDFS.LABEL, literal("label " + i),
+          iri("http://example.com/graph/" + i % 3)));
+    }
+
+    return statements;
+  }
+
   private static Statement generateStatementFor(String id, int number) {
     return statement(bnode(String.format("sub-%s-%s", id, number)), RDF.TYPE,
         bnode(String.format("obj-%s-%s", id, number)), null);
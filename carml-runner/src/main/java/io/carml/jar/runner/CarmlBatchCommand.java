@@ -0,0 +1,178 @@
+package io.carml.jar.runner;
+
+import static picocli.CommandLine.ExitCode.OK;
+import static picocli.CommandLine.ExitCode.SOFTWARE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.batch.BatchJob;
+import io.carml.jar.runner.batch.BatchJobResult;
+import io.carml.jar.runner.batch.BatchManifest;
+import io.carml.jar.runner.input.ModelLoader;
+import io.carml.jar.runner.input.SharedModelLoader;
+import io.carml.jar.runner.metrics.MetricsReporter;
+import io.carml.jar.runner.option.LoggingOptions;
+import io.carml.jar.runner.option.OptionOrder;
+import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.SplitOutputWriter;
+import io.carml.jar.runner.prefix.NamespacePrefixMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+@Component
+@Command(name = "batch", sortOptions = false, sortSynopsis = false, mixinStandardHelpOptions = true,
+    description = "Run the mapping jobs of a YAML or JSON manifest in one JVM.")
+public class CarmlBatchCommand implements Callable<Integer> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ModelLoader modelLoader;
+
+  private final OutputHandler outputHandler;
+
+  private final SplitOutputWriter splitOutputWriter;
+
+  private final MetricsReporter metricsReporter;
+
+  private final NamespacePrefixMapper namespacePrefixMapper;
+
+  private final List<RmlMapperConfigurer> rmlMapperConfigurers;
+
+  private final CarmlRunnerFactory carmlRunnerFactory;
+
+  private final ObjectMapper objectMapper;
+
+  private final YAMLMapper yamlMapper;
+
+  @Mixin
+  private LoggingOptions loggingOptions;
+
+  @Parameters(index = "0", paramLabel = "manifest",
+      description = {"YAML or JSON manifest of the jobs to run. Files ending in .json are read as JSON.",
+          "Relative paths in the manifest are resolved against the directory of the manifest."})
+  private Path manifestPath;
+
+  @Option(names = {"--concurrency"}, order = OptionOrder.CONCURRENCY_ORDER,
+      description = {"Maximum number of jobs running at the same time. Overrides the concurrency in the manifest.",
+          "If neither is specified, one per available processor."})
+  private Optional<Integer> concurrency;
+
+  @Option(names = {"--summary"}, order = OptionOrder.SUMMARY_ORDER,
+      description = "Write the summary of the jobs as JSON to this file.")
+  private Optional<Path> summaryPath;
+
+  public CarmlBatchCommand(ModelLoader modelLoader, OutputHandler outputHandler, SplitOutputWriter splitOutputWriter,
+      MetricsReporter metricsReporter, NamespacePrefixMapper namespacePrefixMapper,
+      List<RmlMapperConfigurer> rmlMapperConfigurers, CarmlRunnerFactory carmlRunnerFactory, ObjectMapper objectMapper,
+      YAMLMapper yamlMapper) {
+    this.modelLoader = modelLoader;
+    this.outputHandler = outputHandler;
+    this.splitOutputWriter = splitOutputWriter;
+    this.metricsReporter = metricsReporter;
+    this.namespacePrefixMapper = namespacePrefixMapper;
+    this.rmlMapperConfigurers = rmlMapperConfigurers;
+    this.carmlRunnerFactory = carmlRunnerFactory;
+    this.objectMapper = objectMapper;
+    this.yamlMapper = yamlMapper;
+  }
+
+  @Override
+  public Integer call() throws IOException {
+    var manifest = BatchManifest.read(manifestPath, objectMapper, yamlMapper);
+    var baseDirectory = manifestPath.toAbsolutePath()
+        .getParent();
+    var jobThreads = concurrency.or(() -> Optional.ofNullable(manifest.concurrency()))
+        .orElseGet(() -> Runtime.getRuntime()
+            .availableProcessors());
+    LOG.info("Running {} jobs from {}, {} at a time ...", manifest.jobs()
+        .size(), manifestPath, jobThreads);
+
+    // jobs with the same mapping files share a single parse of the mapping
+    var sharedModelLoader = new SharedModelLoader(modelLoader);
+    var threadCounter = new AtomicInteger();
+    var executor = Executors.newFixedThreadPool(jobThreads, runnable -> {
+      var thread = new Thread(runnable, "carml-batch-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    List<BatchJobResult> results;
+    try {
+      var futures = new ArrayList<CompletableFuture<BatchJobResult>>();
+      for (var i = 0; i < manifest.jobs()
+          .size(); i++) {
+        var job = manifest.jobs()
+            .get(i);
+        var name = job.name() != null ? job.name() : "job-" + (i + 1);
+        futures.add(CompletableFuture.supplyAsync(() -> runJob(name, job, baseDirectory, sharedModelLoader), executor));
+      }
+      results = futures.stream()
+          .map(CompletableFuture::join)
+          .toList();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    LOG.info("Loaded {} distinct mappings for {} jobs.", sharedModelLoader.size(), results.size());
+    printSummary(results);
+    if (summaryPath.isPresent()) {
+      objectMapper.writerWithDefaultPrettyPrinter()
+          .writeValue(summaryPath.get()
+              .toFile(), results);
+    }
+
+    return results.stream()
+        .allMatch(BatchJobResult::isSuccess) ? OK : SOFTWARE;
+  }
+
+  private BatchJobResult runJob(String name, BatchJob job, Path baseDirectory, ModelLoader sharedModelLoader) {
+    var args = job.toArgs(baseDirectory);
+    LOG.debug("Starting job {} with arguments {} ...", name, args);
+
+    var mapCommand = new CarmlMapCommand(sharedModelLoader, outputHandler, splitOutputWriter, metricsReporter,
+        namespacePrefixMapper, rmlMapperConfigurers);
+    var start = System.nanoTime();
+    var exitCode = new CommandLine(mapCommand, carmlRunnerFactory).execute(args.toArray(String[]::new));
+    var durationSeconds = (System.nanoTime() - start) / 1e9;
+
+    var result = new BatchJobResult(name, exitCode, durationSeconds, mapCommand.getWrittenStatements());
+    if (result.isSuccess()) {
+      LOG.info("Job {} wrote {} statements in {} seconds.", name, result.statements(), durationSeconds);
+    } else {
+      LOG.error("Job {} failed with exit code {}.", name, exitCode);
+    }
+
+    return result;
+  }
+
+  @SuppressWarnings("java:S106")
+  private static void printSummary(List<BatchJobResult> results) {
+    var nameWidth = Math.max(4, results.stream()
+        .mapToInt(result -> result.name()
+            .length())
+        .max()
+        .orElse(0));
+    var format = "%-" + nameWidth + "s  %-6s  %10s  %12s%n";
+
+    var out = System.out;
+    out.printf(format, "job", "status", "seconds", "statements");
+    results.forEach(result -> out.printf(format, result.name(), result.isSuccess() ? "ok" : "failed",
+        String.format("%.3f", result.durationSeconds()), result.statements()));
+  }
+}
@@ -0,0 +1,130 @@
+package io.carml.jar.runner;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.jar.runner.metrics.MetricsReporter;
+import io.carml.jar.runner.output.OutputProvider;
+import io.carml.jar.runner.output.SplitOutputWriter;
+import io.carml.jar.runner.prefix.DefaultNamespacePrefixMapper;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the CARML commands without starting a Spring context. The components are wired directly, the
+ * {@link OutputProvider} of the output module on the class path and any {@link RmlMapperConfigurer}s
+ * are found through a {@link ServiceLoader}. The commands, their output and their exit codes are the
+ * same as those of a Spring application scanning {@code io.carml.jar}, but the startup skips the
+ * class path scanning, bean definition processing and auto-configuration of Spring Boot.<br>
+ * <br>
+ * Setting the system property {@value #LAUNCHER_PROPERTY} to {@value #SPRING_LAUNCHER} tells the
+ * applications to start their Spring context instead, for example to wire {@link RmlMapperConfigurer}
+ * components.
+ */
+public final class CarmlLauncher {
+
+  public static final String LAUNCHER_PROPERTY = "carml.launcher";
+
+  public static final String SPRING_LAUNCHER = "spring";
+
+  private CarmlLauncher() {}
+
+  /**
+   * Returns whether the Spring context is requested through the {@value #LAUNCHER_PROPERTY} system
+   * property.
+   *
+   * @return {@code true} if the application should start its Spring context.
+   */
+  public static boolean isSpringRequested() {
+    return SPRING_LAUNCHER.equals(System.getProperty(LAUNCHER_PROPERTY));
+  }
+
+  /**
+   * Runs the commands with the single {@link OutputProvider} registered on the class path.
+   *
+   * @param args The command line arguments.
+   * @return the exit code.
+   */
+  public static int run(String... args) {
+    return run(loadOutputProvider(), args);
+  }
+
+  /**
+   * Runs the commands with the provided {@link OutputProvider}.
+   *
+   * @param outputProvider The {@link OutputProvider}.
+   * @param args The command line arguments.
+   * @return the exit code.
+   */
+  public static int run(OutputProvider outputProvider, String... args) {
+    var carmlRunner = createRunner(outputProvider);
+    carmlRunner.run(args);
+    return carmlRunner.getExitCode();
+  }
+
+  static CarmlRunner createRunner(OutputProvider outputProvider) {
+    var objectMapper = createObjectMapper();
+    var yamlMapper = new YAMLMapper();
+    var outputHandler = outputProvider.getOutputHandler();
+    var rdfFormats = outputProvider.getRdfFormats();
+    var modelLoader = new Rdf4jModelLoader();
+    var splitOutputWriter = new SplitOutputWriter(outputHandler, objectMapper);
+    var metricsReporter = new MetricsReporter(objectMapper);
+    var namespacePrefixMapper = new DefaultNamespacePrefixMapper(objectMapper, yamlMapper);
+    var rmlMapperConfigurers = loadRmlMapperConfigurers();
+    var carmlRunnerFactory = new CarmlRunnerFactory(rdfFormats);
+
+    var carmlMapCommand = new CarmlMapCommand(modelLoader, outputHandler, splitOutputWriter, metricsReporter,
+        namespacePrefixMapper, rmlMapperConfigurers);
+    var carmlServeCommand = new CarmlServeCommand(modelLoader, outputHandler, rmlMapperConfigurers, rdfFormats);
+    var carmlBatchCommand = new CarmlBatchCommand(modelLoader, outputHandler, splitOutputWriter, metricsReporter,
+        namespacePrefixMapper, rmlMapperConfigurers, carmlRunnerFactory, objectMapper, yamlMapper);
+
+    return new CarmlRunner(carmlRunnerFactory, new CarmlCommand(), carmlMapCommand, carmlServeCommand,
+        carmlBatchCommand);
+  }
+
+  /**
+   * Creates an {@link ObjectMapper} configured like the one Spring Boot auto-configures, so reports,
+   * manifests and prefix files are read and written the same way.
+   */
+  static ObjectMapper createObjectMapper() {
+    return JsonMapper.builder()
+        .findAndAddModules()
+        .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .build();
+  }
+
+  static OutputProvider loadOutputProvider() {
+    var outputProviders = ServiceLoader.load(OutputProvider.class)
+        .stream()
+        .map(Provider::get)
+        .toList();
+
+    if (outputProviders.size() != 1) {
+      throw new CarmlJarException(String.format("Expected exactly one output provider on the class path, but found %s",
+          outputProviders.stream()
+              .map(outputProvider -> outputProvider.getClass()
+                  .getName())
+              .collect(Collectors.joining(", ", "[", "]"))));
+    }
+
+    return outputProviders.get(0);
+  }
+
+  private static List<RmlMapperConfigurer> loadRmlMapperConfigurers() {
+    return ServiceLoader.load(RmlMapperConfigurer.class)
+        .stream()
+        .map(Provider::get)
+        .toList();
+  }
+}
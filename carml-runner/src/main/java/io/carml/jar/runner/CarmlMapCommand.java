@@ -4,14 +4,37 @@ import static picocli.CommandLine.ExitCode.OK;
 import static picocli.CommandLine.ExitCode.USAGE;
 
 import io.carml.engine.rdf.RdfRmlMapper;
+import io.carml.jar.runner.dedup.DeduplicationMode;
+import io.carml.jar.runner.dedup.StatementDeduplicator;
+import io.carml.jar.runner.format.RdfFormat;
+import io.carml.jar.runner.incremental.IncrementalState;
+import io.carml.jar.runner.input.FilePathResolver;
+import io.carml.jar.runner.input.MappedFileInputStream;
+import io.carml.jar.runner.input.MappingCache;
 import io.carml.jar.runner.input.ModelLoader;
+import io.carml.jar.runner.input.RecordChunkReader;
+import io.carml.jar.runner.input.RecordFormat;
+import io.carml.jar.runner.metrics.MetricsFormat;
+import io.carml.jar.runner.metrics.MetricsReporter;
+import io.carml.jar.runner.metrics.RunMetrics;
+import io.carml.jar.runner.option.ByteSizeConverter;
 import io.carml.jar.runner.option.LoggingOptions;
 import io.carml.jar.runner.option.MappingFileOptions;
+import io.carml.jar.runner.option.MetricsOptions;
 import io.carml.jar.runner.option.OptionOrder;
 import io.carml.jar.runner.option.OutputOptions;
+import io.carml.jar.runner.output.CompressionFormat;
+import io.carml.jar.runner.output.CountingOutputStream;
 import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.ParallelCompressingOutputStream;
+import io.carml.jar.runner.output.SplitOutputWriter;
+import io.carml.jar.runner.output.SplitOutputWriter.SplitTarget;
+import io.carml.jar.runner.output.WriterQueue;
+import io.carml.jar.runner.partition.TriplesMapPartitioner;
 import io.carml.jar.runner.prefix.NamespacePrefixMapper;
+import io.carml.jar.runner.prefix.PrefixInferrer;
 import io.carml.jar.runner.prefix.PrefixMappingException;
+import io.carml.jar.runner.watch.ChangeWatcher;
 import io.carml.logicalsourceresolver.CsvResolver;
 import io.carml.logicalsourceresolver.JsonPathResolver;
 import io.carml.logicalsourceresolver.XPathResolver;
@@ -22,15 +45,26 @@ import io.carml.util.RmlMappingLoader;
 import io.carml.util.RmlNamespaces;
 import io.carml.vocab.Rdf;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.rdf4j.model.Model;
@@ -43,6 +77,7 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 @Component
@@ -51,16 +86,50 @@ public class CarmlMapCommand implements Callable<Integer> {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  private static final String PREFIX_RESOLUTION_PHASE = "prefix_resolution";
+
+  private static final String MAPPING_LOAD_PHASE = "mapping_load";
+
+  private static final String MAPPER_BUILD_PHASE = "mapper_build";
+
+  private static final String MAPPING_PHASE = "mapping";
+
+  private static final String SERIALIZATION_PHASE = "serialization";
+
+  private static final Duration WATCH_DEBOUNCE = Duration.ofMillis(300);
+
+  private static final String PREFIX_INDEX_DIRECTORY = "prefix";
+
+  private static final Set<String> LINE_BASED_FORMATS = Set.of(RdfFormat.nt.name(), RdfFormat.nq.name());
+
   private final ModelLoader modelLoader;
 
   private final OutputHandler outputHandler;
 
+  private final SplitOutputWriter splitOutputWriter;
+
+  private final MetricsReporter metricsReporter;
+
   private final NamespacePrefixMapper namespacePrefixMapper;
 
   private final List<RmlMapperConfigurer> rmlMapperConfigurers;
 
   private Map<String, String> namespaces;
 
+  private RunMetrics runMetrics;
+
+  private long writtenStatements;
+
+  private IncrementalState incrementalState;
+
+  private final Map<Set<TriplesMap>, RdfRmlMapper> watchMappers = new HashMap<>();
+
+  private String watchMappingKey;
+
+  private Set<TriplesMap> watchMapping;
+
+  private Path watchStateDirectory;
+
   @Mixin
   private LoggingOptions loggingOptions;
 
@@ -70,6 +139,9 @@ public class CarmlMapCommand implements Callable<Integer> {
   @Mixin
   private OutputOptions outputOptions;
 
+  @Mixin
+  private MetricsOptions metricsOptions;
+
   @Option(names = {"-M", "-pm", "--prefix-mapping"}, order = OptionOrder.PREFIX_MAPPING_ORDER,
       description = {"File or directory path(s) containing prefix mappings.",
           "Files must be JSON or YAML files containing a map of prefix declarations.",
@@ -83,42 +155,368 @@ public class CarmlMapCommand implements Callable<Integer> {
       "Multiple declarations can be separated by ','. For example: ex=http://example.com/,foo,bar"})
   private final List<String> prefixDeclarations = new ArrayList<>();
 
-  public CarmlMapCommand(ModelLoader modelLoader, OutputHandler outputHandler,
-      NamespacePrefixMapper namespacePrefixMapper, List<RmlMapperConfigurer> rmlMapperConfigurers) {
+  @Option(names = {"--dedup"}, arity = "0..1", fallbackValue = "exact", order = OptionOrder.DEDUP_ORDER,
+      description = {"Drop duplicate statements before output.",
+          "exact: exact deduplication, spilling to disk when the memory budget is exceeded (default).",
+          "approximate: Bloom filter based deduplication, which may drop a small fraction of unique statements."})
+  private DeduplicationMode deduplicationMode;
+
+  @Option(names = {"--dedup-memory"}, order = OptionOrder.DEDUP_MEMORY_ORDER, defaultValue = "256m",
+      converter = ByteSizeConverter.class,
+      description = {"Memory budget for deduplication, for example 512m or 2g. Default: ${DEFAULT-VALUE}."})
+  private long deduplicationMemory;
+
+  @Option(names = {"-i", "--input"}, order = OptionOrder.INPUT_ORDER, paramLabel = "path",
+      description = {"File to read the stream source from, instead of stdin.",
+          "Regular files are memory-mapped, other files are read with a large read-ahead buffer."})
+  private Optional<Path> inputPath;
+
+  @Option(names = {"--parallelism"}, order = OptionOrder.PARALLELISM_ORDER, defaultValue = "1",
+      description = {"Number of independent groups of triples maps to map concurrently. Default: ${DEFAULT-VALUE}.",
+          "Triples maps that join with each other, or that read the stream source, are always mapped together."})
+  private int parallelism;
+
+  @Option(names = {"--chunk-size"}, order = OptionOrder.CHUNK_SIZE_ORDER, paramLabel = "records",
+      description = {"Split a CSV or line-delimited JSON stream source into chunks of this number of records, and map",
+          "the chunks concurrently. Uses --parallelism threads, or one thread per available processor."})
+  private Optional<Integer> chunkSize;
+
+  @Option(names = {"--incremental"}, order = OptionOrder.INCREMENTAL_ORDER, paramLabel = "directory",
+      description = {"Keep the source fingerprints and output of each group of triples maps in this directory, and",
+          "only re-map the groups whose source files changed since the previous run."})
+  private Optional<Path> incrementalDirectory;
+
+  @Option(names = {"--delta-removed"}, order = OptionOrder.DELTA_REMOVED_ORDER, paramLabel = "path",
+      description = {"With --incremental, only output the statements added since the previous run, and write the",
+          "statements removed since the previous run to this path."})
+  private Optional<Path> deltaRemovedPath;
+
+  @Option(names = {"--watch"}, order = OptionOrder.WATCH_ORDER, description = {
+      "Keep running, and map again whenever the mapping files, the relative source location or the input change.",
+      "Unchanged mappings and the output of unchanged sources are reused."})
+  private boolean watch;
+
+  @Option(names = {"--auto-prefixes"}, arity = "0..1", fallbackValue = "10", order = OptionOrder.AUTO_PREFIXES_ORDER,
+      paramLabel = "count", description = {
+          "Declare prefixes for up to this number of namespaces used most in the output (default: 10). The namespaces",
+          "are counted in a sample of the first statements, and get their prefix.cc prefix where there is one.",
+          "Prefixes declared with -p take precedence."})
+  private Integer autoPrefixes;
+
+  @Option(names = {"--auto-prefixes-sample"}, order = OptionOrder.AUTO_PREFIXES_SAMPLE_ORDER, defaultValue = "10000",
+      paramLabel = "statements",
+      description = {"Number of statements sampled by --auto-prefixes. Default: ${DEFAULT-VALUE}."})
+  private int autoPrefixesSample;
+
+  public CarmlMapCommand(ModelLoader modelLoader, OutputHandler outputHandler, SplitOutputWriter splitOutputWriter,
+      MetricsReporter metricsReporter, NamespacePrefixMapper namespacePrefixMapper,
+      List<RmlMapperConfigurer> rmlMapperConfigurers) {
     this.modelLoader = modelLoader;
     this.outputHandler = outputHandler;
+    this.splitOutputWriter = splitOutputWriter;
+    this.metricsReporter = metricsReporter;
     this.namespacePrefixMapper = namespacePrefixMapper;
     this.rmlMapperConfigurers = rmlMapperConfigurers;
   }
 
   @Override
   public Integer call() {
+    var exitCode = run();
+    if (!watch || exitCode != OK) {
+      return exitCode;
+    }
+
+    return watch();
+  }
+
+  private int run() {
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
+    runMetrics = new RunMetrics();
+    var success = false;
 
     try {
-      namespaces = namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, prefixMappings);
-    } catch (PrefixMappingException prefixMappingException) {
-      LOG.error("{}", prefixMappingException.getMessage(), prefixMappingException);
-      return USAGE;
+      if (outputOptions.isSplit() && outputOptions.getOutputPath()
+          .flatMap(this::determineCompression)
+          .isPresent()) {
+        LOG.error("Splitting output into parts cannot be combined with compression. Remove --compress, or the "
+            + "compression extension of the output path.");
+        return USAGE;
+      }
+
+      runMetrics.startPhase(PREFIX_RESOLUTION_PHASE);
+      try {
+        namespaces = namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, prefixMappings,
+            mappingFileOptions.getMappingCache()
+                .map(cacheDirectory -> cacheDirectory.resolve(PREFIX_INDEX_DIRECTORY)));
+      } catch (PrefixMappingException prefixMappingException) {
+        LOG.error("{}", prefixMappingException.getMessage(), prefixMappingException);
+        return USAGE;
+      }
+
+      var statements = runMetrics.startPhaseOnComplete(mapStatements(), SERIALIZATION_PHASE);
+      runMetrics.startPhase(MAPPING_PHASE);
+      writtenStatements = deduplicationMode != null ? handleDeduplicatedOutput(statements) : handleOutput(statements);
+      if (incrementalState != null) {
+        finishIncremental();
+      }
+
+      stopWatch.stop();
+      LOG.info("Finished processing.");
+      LOG.info("Generated {} statements.", writtenStatements);
+      LOG.info("Processing took: {} seconds,{}{}", stopWatch::getTotalTimeSeconds, System::lineSeparator,
+          stopWatch::prettyPrint);
+
+      success = true;
+      return OK;
+    } finally {
+      writeMetrics(success);
     }
+  }
 
-    var rmlMapper = prepareMapper();
-    var statements = map(rmlMapper);
-    var nrOfStatements = handleOutput(statements);
+  private int watch() {
+    var relativeSourceLocation = mappingFileOptions.getGroup()
+        .getRelativeSourceLocation();
+    if (inputPath.isEmpty() && watchMapping.stream()
+        .anyMatch(TriplesMapPartitioner::readsStream)) {
+      LOG.warn("The mapping reads stdin, which is consumed by the first run. Use --input to watch a stream source.");
+    }
 
-    stopWatch.stop();
-    LOG.info("Finished processing.");
-    LOG.info("Generated {} statements.", nrOfStatements);
-    LOG.info("Processing took: {} seconds,{}{}", stopWatch::getTotalTimeSeconds, System::lineSeparator,
-        stopWatch::prettyPrint);
+    var watchedPaths = new ArrayList<>(mappingFileOptions.getGroup()
+        .getMappingFiles());
+    relativeSourceLocation.ifPresent(watchedPaths::add);
+    inputPath.ifPresent(watchedPaths::add);
+    var ignoredPaths = Stream.of(outputOptions.getOutputPath(), metricsOptions.getMetricsPath(), incrementalDirectory,
+        deltaRemovedPath, Optional.ofNullable(watchStateDirectory))
+        .flatMap(Optional::stream)
+        .toList();
+    // the parts and manifest of split output are written next to the output path
+    Predicate<Path> ignoredFiles = path -> outputOptions.isSplit() && outputOptions.getOutputPath()
+        .map(outputPath -> SplitTarget.forOutputPath(outputPath, outputOptions.getOutputRdfFormat())
+            .isOutputFile(path))
+        .orElse(false);
+
+    try (var changeWatcher = new ChangeWatcher(watchedPaths, ignoredPaths, ignoredFiles, WATCH_DEBOUNCE)) {
+      LOG.info("Watching {} for changes ...", changeWatcher.getWatchedDirectories());
+      while (!Thread.currentThread()
+          .isInterrupted()) {
+        var changes = changeWatcher.awaitChanges();
+        LOG.info("Detected changes to {}, mapping again ...", changes);
+        try {
+          run();
+        } catch (RuntimeException exception) {
+          LOG.error("Exception occurred while mapping: {}", exception.getMessage(), exception);
+        }
+      }
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while watching for changes.", ioException);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread()
+          .interrupt();
+    } finally {
+      deleteWatchState();
+    }
 
     return OK;
   }
 
-  private RdfRmlMapper prepareMapper() {
+  private Optional<Path> incrementalStateDirectory() {
+    if (incrementalDirectory.isPresent() || !watch) {
+      return incrementalDirectory;
+    }
+
+    if (watchStateDirectory == null) {
+      try {
+        watchStateDirectory = Files.createTempDirectory("carml-watch");
+      } catch (IOException ioException) {
+        throw new CarmlJarException("Exception occurred while creating watch state directory.", ioException);
+      }
+    }
+
+    return Optional.of(watchStateDirectory);
+  }
+
+  private void deleteWatchState() {
+    if (watchStateDirectory == null) {
+      return;
+    }
+
+    try (Stream<Path> paths = Files.walk(watchStateDirectory)) {
+      for (var path : paths.sorted(Comparator.reverseOrder())
+          .toList()) {
+        Files.deleteIfExists(path);
+      }
+    } catch (IOException ioException) {
+      LOG.warn("Could not delete watch state directory {}: {}", watchStateDirectory, ioException.getMessage());
+    }
+  }
+
+  /**
+   * Returns the number of statements written by the last run of this command.
+   *
+   * @return the number of statements.
+   */
+  long getWrittenStatements() {
+    return writtenStatements;
+  }
+
+  private void writeMetrics(boolean success) {
+    var report = runMetrics.finish(success);
+
+    metricsOptions.getMetricsPath()
+        .ifPresent(metricsPath -> metricsReporter.write(report, metricsPath, metricsOptions.getMetricsFormat()
+            .orElseGet(() -> MetricsFormat.fromPath(metricsPath))));
+  }
+
+  private void finishIncremental() {
+    deltaRemovedPath.ifPresent(removedPath -> {
+      var removedStatements = outputWithPath(removedPath, incrementalState.removedStatements(),
+          outputOptions.getOutputRdfFormat(), outputOptions.isPretty());
+      LOG.info("Wrote {} removed statements to {}.", removedStatements, removedPath);
+    });
+
+    incrementalState.commit();
+  }
+
+  private Flux<Statement> mapStatements() {
     var mapping = loadMapping();
+    runMetrics.startPhase(MAPPER_BUILD_PHASE);
+    logMapping(mapping);
+
+    incrementalState = incrementalStateDirectory()
+        .map(directory -> new IncrementalState(directory, incrementalSettings(), deltaRemovedPath.isPresent(),
+            outputOptions.getSpillRunSize()))
+        .orElse(null);
+    if (incrementalState == null && deltaRemovedPath.isPresent()) {
+      LOG.warn("Ignoring --delta-removed, since it requires --incremental.");
+    }
+
+    if (parallelism <= 1 && chunkSize.isEmpty() && incrementalState == null) {
+      return map(prepareMapper(mapping));
+    }
+
+    var groups = TriplesMapPartitioner.partition(mapping);
+    LOG.debug("Partitioned {} triples maps into {} independent groups, mapping up to {} groups concurrently.",
+        mapping.size(), groups.size(), parallelism);
+    LOG.info("Grouping triples maps that share a logical source saves {} source passes.",
+        () -> TriplesMapPartitioner.countSavedSourcePasses(mapping));
+
+    var groupMappings = new ArrayList<Flux<Statement>>();
+    for (var i = 0; i < groups.size(); i++) {
+      var group = groups.get(i);
+      var groupNumber = i + 1;
+      LOG.debug("Group {}: {}", () -> groupNumber, () -> group.stream()
+          .map(TriplesMap::getId)
+          .toList());
+
+      var groupMapping = incrementalState != null ? mapGroupIncrementally(group, groupNumber)
+          : mapGroup(group, groupNumber);
+      groupMappings.add(metricsOptions.isMetrics() ? runMetrics.countGroupStatements(group.stream()
+          .map(TriplesMap::getId)
+          .sorted()
+          .collect(Collectors.joining(" ")), groupMapping) : groupMapping);
+    }
+
+    if (groupMappings.size() == 1) {
+      return groupMappings.get(0);
+    }
+
+    var concurrency = Math.min(Math.max(parallelism, 1), groups.size());
+    return Flux.using(() -> Schedulers.newBoundedElastic(concurrency, Integer.MAX_VALUE, "carml-mapper", 60, true),
+        scheduler -> Flux.fromIterable(groupMappings)
+            .flatMap(groupMapping -> groupMapping.subscribeOn(scheduler), concurrency),
+        Scheduler::dispose);
+  }
+
+  private Flux<Statement> mapGroup(Set<TriplesMap> group, int groupNumber) {
+    var rmlMapper = prepareMapper(group);
+    var readsStream = group.stream()
+        .anyMatch(TriplesMapPartitioner::readsStream);
+    var recordFormat = readsStream ? determineRecordFormat(group) : Optional.<RecordFormat>empty();
+
+    return Flux.defer(() -> {
+      LOG.debug("Starting group {} on thread {}.", () -> groupNumber, () -> Thread.currentThread()
+          .getName());
+      if (!readsStream) {
+        return rmlMapper.map();
+      }
+      return recordFormat.map(format -> mapChunked(rmlMapper, format))
+          .orElseGet(() -> map(rmlMapper));
+    });
+  }
+
+  private Flux<Statement> mapGroupIncrementally(Set<TriplesMap> group, int groupNumber) {
+    var groupKey = IncrementalState.groupKey(group);
+    var fingerprint = IncrementalState.fingerprint(group, mappingFileOptions.getGroup()
+        .getRelativeSourceLocation());
+
+    if (incrementalState.isUnchanged(groupKey, fingerprint)) {
+      LOG.debug("Group {} is unchanged since the previous run.", groupNumber);
+      return incrementalState.reuse(groupKey);
+    }
+
+    return incrementalState.record(groupKey, fingerprint, mapGroup(group, groupNumber));
+  }
+
+  private String incrementalSettings() {
+    var group = mappingFileOptions.getGroup();
+    var mappingKey =
+        MappingCache.key(FilePathResolver.resolveFilePaths(group.getMappingFiles()), group.getMappingFileRdfFormat());
+
+    return mappingKey + outputOptions.getBaseIri()
+        .map(baseIri -> " " + baseIri.stringValue())
+        .orElse("");
+  }
+
+  private Optional<RecordFormat> determineRecordFormat(Set<TriplesMap> group) {
+    if (chunkSize.isEmpty()) {
+      return Optional.empty();
+    }
+
+    if (group.stream()
+        .anyMatch(triplesMap -> !TriplesMapPartitioner.readsStream(triplesMap)
+            || TriplesMapPartitioner.hasParentTriplesMap(triplesMap))) {
+      LOG.warn("Not chunking the stream source, since it is joined with other triples maps.");
+      return Optional.empty();
+    }
+
+    var referenceFormulations = group.stream()
+        .map(triplesMap -> triplesMap.getLogicalSource()
+            .getReferenceFormulation())
+        .collect(Collectors.toSet());
+    if (referenceFormulations.equals(Set.of(Rdf.Ql.Csv))) {
+      return Optional.of(RecordFormat.csv);
+    }
+    if (referenceFormulations.equals(Set.of(Rdf.Ql.JsonPath))) {
+      return Optional.of(RecordFormat.ndjson);
+    }
+
+    LOG.warn("Not chunking the stream source, since chunking is only supported for CSV and JSONPath sources.");
+    return Optional.empty();
+  }
 
+  private Flux<Statement> mapChunked(RdfRmlMapper rmlMapper, RecordFormat recordFormat) {
+    var size = chunkSize.orElseThrow();
+    var workers = parallelism > 1 ? parallelism
+        : Runtime.getRuntime()
+            .availableProcessors();
+    LOG.debug("Mapping {} stream source in chunks of {} records on {} threads ...", recordFormat, size, workers);
+
+    Function<List<byte[]>, Flux<Statement>> mapChunk = documents -> Flux.fromIterable(documents)
+        .concatMap(document -> rmlMapper.map(new ByteArrayInputStream(document)));
+
+    return Flux.using(() -> Schedulers.newBoundedElastic(workers, Integer.MAX_VALUE, "carml-chunk-mapper", 60, true),
+        scheduler -> readInput(inputStream -> {
+          var chunks = RecordChunkReader.read(inputStream, recordFormat, size);
+          return outputOptions.isOrderedOutput()
+              ? chunks.flatMapSequential(chunk -> mapChunk.apply(chunk)
+                  .subscribeOn(scheduler), workers)
+              : chunks.flatMap(chunk -> mapChunk.apply(chunk)
+                  .subscribeOn(scheduler), workers);
+        }), Scheduler::dispose);
+  }
+
+  private void logMapping(Set<TriplesMap> mapping) {
     if (LOG.isDebugEnabled()) {
       var mappingModel = mapping.stream()
           .map(Resource::asRdf)
@@ -132,7 +530,18 @@ public class CarmlMapCommand implements Callable<Integer> {
       LOG.debug("{}{}", System.lineSeparator(),
           ModelSerializer.serializeAsRdf(mappingModel, RDFFormat.TURTLE, ModelSerializer.SIMPLE_WRITER_CONFIG, n -> n));
     }
+  }
+
+  private RdfRmlMapper prepareMapper(Set<TriplesMap> mapping) {
+    if (watch) {
+      // the triples maps are reused as long as the mapping is unchanged, and so are their mappers
+      return watchMappers.computeIfAbsent(mapping, this::buildMapper);
+    }
+
+    return buildMapper(mapping);
+  }
 
+  private RdfRmlMapper buildMapper(Set<TriplesMap> mapping) {
     var mapperBuilder = RdfRmlMapper.builder()
         .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
         .setLogicalSourceResolver(Rdf.Ql.JsonPath, JsonPathResolver::getInstance)
@@ -160,35 +569,130 @@ public class CarmlMapCommand implements Callable<Integer> {
         .getMappingFiles();
 
     LOG.info("Loading mapping from paths {} ...", () -> paths);
+    runMetrics.startPhase(MAPPING_LOAD_PHASE);
 
     var mappingFormat = mappingFileOptions.getGroup()
         .getMappingFileRdfFormat();
 
-    var mappingModel = modelLoader.loadModel(paths, mappingFormat);
+    var mappingKey = watch ? MappingCache.key(FilePathResolver.resolveFilePaths(paths), mappingFormat) : null;
+    if (mappingKey != null && mappingKey.equals(watchMappingKey)) {
+      LOG.info("Mapping is unchanged, reusing the loaded mapping.");
+      return watchMapping;
+    }
+
+    var mappingModel = mappingFileOptions.getMappingCache()
+        .map(cacheDirectory -> new MappingCache(cacheDirectory, mappingFileOptions.getMappingCacheSize()))
+        .map(mappingCache -> mappingCache.load(paths, mappingFormat, modelLoader))
+        .orElseGet(() -> modelLoader.loadModel(paths, mappingFormat));
 
-    return RmlMappingLoader.build()
+    var mapping = RmlMappingLoader.build()
         .load(mappingModel);
+    if (watch) {
+      watchMappingKey = mappingKey;
+      watchMapping = mapping;
+      watchMappers.clear();
+    }
+
+    return mapping;
   }
 
   private Flux<Statement> map(RdfRmlMapper rmlMapper) {
-    return rmlMapper.map(System.in);
+    return readInput(rmlMapper::map);
+  }
+
+  private <T> Flux<T> readInput(Function<InputStream, Flux<T>> reader) {
+    return inputPath.map(path -> Flux.using(() -> MappedFileInputStream.open(path), reader,
+        CarmlMapCommand::closeInput))
+        .orElseGet(() -> reader.apply(System.in));
+  }
+
+  private static void closeInput(InputStream inputStream) {
+    try {
+      inputStream.close();
+    } catch (IOException ioException) {
+      LOG.warn("Exception occurred while closing input: {}", ioException.getMessage());
+    }
   }
 
+  private long handleDeduplicatedOutput(Flux<Statement> statements) {
+    LOG.debug("Deduplicating statements using {} deduplication ...", deduplicationMode);
+
+    try (var deduplicator = StatementDeduplicator.create(deduplicationMode, deduplicationMemory)) {
+      var nrOfStatements = handleOutput(statements.filter(deduplicator::isFirstOccurrence));
+      LOG.info("Dropped {} duplicate statements.", deduplicator.getDuplicateCount());
+
+      return nrOfStatements;
+    }
+  }
 
   private long handleOutput(Flux<Statement> statements) {
     var rdfFormat = outputOptions.getOutputRdfFormat();
-    var pretty = outputOptions.isPretty();
 
-    var outputStatements = outputOptions.getLimit()
+    var limitedStatements = outputOptions.getLimit()
         .map(statements::take)
         .orElse(statements);
+    if (autoPrefixes == null) {
+      return output(limitedStatements, rdfFormat);
+    }
+    if (LINE_BASED_FORMATS.contains(rdfFormat)) {
+      LOG.debug("Not inferring prefixes for {} output, which does not use prefixes.", rdfFormat);
+      return output(limitedStatements, rdfFormat);
+    }
+
+    // writers declare prefixes before the first statement, so the sample is taken before the output is set up, and
+    // the subscription is cancelled however setting up or writing the output ends
+    try (var statementStream = limitedStatements.toStream()) {
+      return output(inferPrefixes(statementStream), rdfFormat);
+    }
+  }
+
+  private long output(Flux<Statement> statements, String rdfFormat) {
+    var pretty = outputOptions.isPretty();
+    var outputStatements = metricsOptions.isMetrics() ? runMetrics.countStatements(statements) : statements;
 
     return outputOptions.getOutputPath()
         .map(outputPath -> outputWithPath(outputPath, outputStatements, rdfFormat, pretty))
         .orElseGet(() -> outputWithoutPath(outputStatements, rdfFormat, pretty));
   }
 
+  /**
+   * Infers prefixes from a sample of the first statements and adds them to the namespaces, before any
+   * output is written. The sampled statements are replayed, followed by the remaining statements of the
+   * stream, which can only be written once.
+   */
+  private Flux<Statement> inferPrefixes(Stream<Statement> statementStream) {
+    var prefixInferrer = new PrefixInferrer(namespacePrefixMapper, autoPrefixes);
+    var iterator = statementStream.iterator();
+    var sample = new ArrayList<Statement>();
+    while (sample.size() < autoPrefixesSample && iterator.hasNext()) {
+      var statement = iterator.next();
+      prefixInferrer.count(statement);
+      sample.add(statement);
+    }
+
+    var declaredPrefixCount = namespaces.size();
+    namespaces = prefixInferrer.inferPrefixes(namespaces);
+    LOG.info("Inferred {} prefixes from a sample of {} statements.", namespaces.size() - declaredPrefixCount,
+        sample.size());
+    LOG.debug("Output prefixes: {}", namespaces);
+
+    // the remaining statements are taken from a blocking iterator, so they are requested on a thread that may block
+    var remainderSubscribed = new AtomicBoolean();
+    var remainder = Flux.defer(() -> remainderSubscribed.compareAndSet(false, true) ? Flux.fromIterable(() -> iterator)
+        : Flux.<Statement>error(new IllegalStateException("The statements after the prefix sample can only be "
+            + "written once.")))
+        .subscribeOn(Schedulers.boundedElastic());
+
+    return Flux.concat(Flux.fromIterable(sample), remainder);
+  }
+
   private long outputWithPath(Path outputPath, Flux<Statement> statements, String rdfFormat, boolean pretty) {
+    if (outputOptions.isSplit()) {
+      return outputSplit(outputPath, statements, rdfFormat, pretty);
+    }
+
+    var compression = determineCompression(outputPath);
+
     if (!Files.isDirectory(outputPath)) {
       try {
         Files.createDirectories(outputPath.getParent());
@@ -196,29 +700,172 @@ public class CarmlMapCommand implements Callable<Integer> {
         throw new CarmlJarException(String.format("Error creating directory %s", outputPath), ioException);
       }
     } else {
-      outputPath = outputPath.resolve("output");
+      outputPath = outputPath.resolve(compression.map(format -> "output" + format.getExtension())
+          .orElse("output"));
     }
+
+    if (compression.isPresent()) {
+      return outputCompressed(outputPath, statements, rdfFormat, pretty, compression.get());
+    }
+
     LOG.info("Writing output to {} ...", outputPath);
-    try (var outputStream = new BufferedOutputStream(Files.newOutputStream(outputPath))) {
+    CountingOutputStream countingOutputStream;
+    try {
+      countingOutputStream = new CountingOutputStream(Files.newOutputStream(outputPath));
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Error writing to output path %s", outputPath), ioException);
+    }
+
+    try (var outputStream = new BufferedOutputStream(countingOutputStream)) {
       return outputRdf(statements, rdfFormat, namespaces, outputStream, pretty);
     } catch (IOException ioException) {
       throw new CarmlJarException(String.format("Error writing to output path %s", outputPath), ioException);
+    } finally {
+      runMetrics.addBytesWritten(countingOutputStream.getCount());
     }
   }
 
+  private Optional<CompressionFormat> determineCompression(Path outputPath) {
+    return outputOptions.getCompression()
+        .or(() -> CompressionFormat.fromPath(outputPath));
+  }
+
+  private long outputCompressed(Path outputPath, Flux<Statement> statements, String rdfFormat, boolean pretty,
+      CompressionFormat compression) {
+    var threads = outputOptions.getCompressionThreads()
+        .orElseGet(() -> Runtime.getRuntime()
+            .availableProcessors());
+    LOG.info("Writing {} compressed output to {} using {} compression thread(s) ...", compression, outputPath,
+        threads);
+
+    ParallelCompressingOutputStream compressingOutputStream;
+    try {
+      compressingOutputStream =
+          new ParallelCompressingOutputStream(Files.newOutputStream(outputPath), compression, threads);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Error writing to output path %s", outputPath), ioException);
+    }
+
+    long nrOfStatements;
+    try (compressingOutputStream) {
+      nrOfStatements = outputRdf(statements, rdfFormat, namespaces, compressingOutputStream, pretty);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Error writing to output path %s", outputPath), ioException);
+    }
+
+    var uncompressedBytes = compressingOutputStream.getUncompressedBytes();
+    var compressedBytes = compressingOutputStream.getCompressedBytes();
+    runMetrics.addBytesWritten(compressedBytes);
+    var seconds = Math.max(compressingOutputStream.getDuration()
+        .toMillis(), 1) / 1000.0;
+    LOG.info("Compressed {} bytes to {} bytes, ratio {}, throughput {} MB/s.", uncompressedBytes, compressedBytes,
+        String.format("%.2f", compressedBytes == 0 ? 0.0 : (double) uncompressedBytes / compressedBytes),
+        String.format("%.1f", uncompressedBytes / 1_000_000.0 / seconds));
+
+    return nrOfStatements;
+  }
+
+  private long outputSplit(Path outputPath, Flux<Statement> statements, String rdfFormat, boolean pretty) {
+    if (!outputHandler.isFormatStreamable(rdfFormat, pretty)) {
+      throw new CarmlJarException(
+          String.format("Output in format `%s` cannot be split, since it is not streamable.", rdfFormat));
+    }
+
+    if (!outputHandler.isStreamingWriterSupported(rdfFormat, pretty)) {
+      throw new CarmlJarException(String.format(
+          "Output in format `%s` cannot be split, since the output handler cannot write it statement by statement.",
+          rdfFormat));
+    }
+
+    if (!Files.isDirectory(outputPath)) {
+      try {
+        Files.createDirectories(outputPath.toAbsolutePath()
+            .getParent());
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Error creating directory %s", outputPath), ioException);
+      }
+    }
+
+    var target = SplitTarget.forOutputPath(outputPath, rdfFormat);
+    // parts for a directory target are written concurrently, parts for a file target in sequence
+    var writers = Files.isDirectory(outputPath) ? splitWriterCount() : 1;
+    LOG.info("Writing output parts to {} using {} writer(s) ...", target.directory(), writers);
+
+    var splitResult = splitOutputWriter.write(timeWriter(statements), rdfFormat, namespaces, target,
+        outputOptions.getSplitCount()
+            .orElse(Long.MAX_VALUE),
+        outputOptions.getSplitSize()
+            .orElse(Long.MAX_VALUE),
+        writers);
+    runMetrics.addBytesWritten(splitResult.bytes());
+
+    return splitResult.statements();
+  }
+
+  private int splitWriterCount() {
+    var writerThreads = outputOptions.getWriterThreads();
+    return writerThreads > 1 ? writerThreads
+        : Runtime.getRuntime()
+            .availableProcessors();
+  }
+
   @SuppressWarnings("java:S106")
   private long outputWithoutPath(Flux<Statement> statements, String rdfFormat, boolean pretty) {
+    if (outputOptions.isSplit()) {
+      throw new CarmlJarException("Splitting output into parts requires an output path.");
+    }
+
     LOG.info("No output file specified. Outputting to console ...{}", System::lineSeparator);
-    return outputRdf(statements, rdfFormat, namespaces, System.out, pretty);
+    if (!metricsOptions.isMetrics()) {
+      return outputRdf(statements, rdfFormat, namespaces, System.out, pretty);
+    }
+
+    var countingOutputStream = new CountingOutputStream(System.out);
+    try {
+      return outputRdf(statements, rdfFormat, namespaces, countingOutputStream, pretty);
+    } finally {
+      runMetrics.addBytesWritten(countingOutputStream.getCount());
+    }
   }
 
   private long outputRdf(Flux<Statement> statements, String rdfFormat, Map<String, String> namespaces,
       OutputStream outputStream, boolean pretty) {
-    if (outputHandler.isFormatStreamable(rdfFormat, pretty)) {
-      return outputHandler.outputStreaming(statements.publishOn(Schedulers.boundedElastic()), rdfFormat, namespaces,
-          outputStream);
+    var writerThreads = outputOptions.getWriterThreads();
+    if (writerThreads > 1 && outputHandler.isFormatParallelizable(rdfFormat)) {
+      return outputHandler.outputParallel(timeWriter(statements), rdfFormat, outputStream, writerThreads,
+          outputOptions.isOrderedOutput());
+    }
+
+    if (outputHandler.isStreamingWriterSupported(rdfFormat, pretty) && outputOptions.getWriterQueue()
+        .isPresent()) {
+      return outputQueued(timeWriter(statements), rdfFormat, namespaces, outputStream, outputOptions.getWriterQueue()
+          .get());
+    } else if (outputHandler.isFormatStreamable(rdfFormat, pretty)) {
+      return outputHandler.outputStreaming(timeWriter(statements.publishOn(Schedulers.boundedElastic())), rdfFormat,
+          namespaces, outputStream);
+    } else if (outputOptions.isPrettySpill() && outputHandler.isFormatSpillable(rdfFormat)) {
+      return outputHandler.outputPrettySpilling(timeWriter(statements), rdfFormat, namespaces, outputStream,
+          outputOptions.getSpillRunSize());
     } else {
-      return outputHandler.outputPretty(statements, rdfFormat, namespaces, outputStream);
+      return outputHandler.outputPretty(timeWriter(statements), rdfFormat, namespaces, outputStream);
+    }
+  }
+
+  private Flux<Statement> timeWriter(Flux<Statement> statements) {
+    return metricsOptions.isMetrics() ? runMetrics.timeWriter(statements) : statements;
+  }
+
+  private long outputQueued(Flux<Statement> statements, String rdfFormat, Map<String, String> namespaces,
+      OutputStream outputStream, int capacity) {
+    var writerQueue = new WriterQueue(capacity, outputOptions.getWriterWaitStrategy());
+    try {
+      return outputHandler.outputQueued(statements, rdfFormat, namespaces, outputStream, writerQueue);
+    } finally {
+      var stats = writerQueue.getStats();
+      runMetrics.setWriterQueueStats(stats);
+      LOG.info("Writer queue: max depth {} of {} batches, mapping stalled {}s, writer waited {}s.", stats.maxDepth(),
+          stats.capacity(), String.format("%.3f", stats.producerStallSeconds()),
+          String.format("%.3f", stats.writerWaitSeconds()));
     }
   }
 }
@@ -3,10 +3,12 @@ package io.carml.jar.runner;
 import io.carml.jar.runner.option.LoggingOptions;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine;
 
 @Component
+@ImportRuntimeHints(CarmlRuntimeHints.class)
 public class CarmlRunner implements CommandLineRunner, ExitCodeGenerator {
 
   private final CarmlRunnerFactory carmlRunnerFactory;
@@ -15,20 +17,28 @@ public class CarmlRunner implements CommandLineRunner, ExitCodeGenerator {
 
   private final CarmlMapCommand carmlMapCommand;
 
+  private final CarmlServeCommand carmlServeCommand;
+
+  private final CarmlBatchCommand carmlBatchCommand;
+
   private int exitCode;
 
   public CarmlRunner(CarmlRunnerFactory carmlRunnerFactory, CarmlCommand carmlCommand,
-      CarmlMapCommand carmlMapCommand) {
+      CarmlMapCommand carmlMapCommand, CarmlServeCommand carmlServeCommand, CarmlBatchCommand carmlBatchCommand) {
     this.carmlRunnerFactory = carmlRunnerFactory;
     this.carmlCommand = carmlCommand;
     this.carmlMapCommand = carmlMapCommand;
+    this.carmlServeCommand = carmlServeCommand;
+    this.carmlBatchCommand = carmlBatchCommand;
   }
 
   @Override
   public void run(String... args) {
     var commandLine =
         new CommandLine(carmlCommand, carmlRunnerFactory).setExecutionStrategy(LoggingOptions::executionStrategy)
-            .addSubcommand("map", carmlMapCommand);
+            .addSubcommand("map", carmlMapCommand)
+            .addSubcommand("serve", carmlServeCommand)
+            .addSubcommand("batch", carmlBatchCommand);
 
     exitCode = commandLine.execute(args);
   }
@@ -0,0 +1,93 @@
+package io.carml.jar.runner;
+
+import io.carml.jar.runner.batch.BatchJob;
+import io.carml.jar.runner.batch.BatchJobResult;
+import io.carml.jar.runner.batch.BatchManifest;
+import io.carml.jar.runner.dedup.DeduplicationMode;
+import io.carml.jar.runner.format.RdfFormat;
+import io.carml.jar.runner.metrics.MetricsFormat;
+import io.carml.jar.runner.metrics.MetricsReport;
+import io.carml.jar.runner.option.ByteSizeConverter;
+import io.carml.jar.runner.option.IriConverter;
+import io.carml.jar.runner.option.LoggingOptions;
+import io.carml.jar.runner.option.MappingFileOptions;
+import io.carml.jar.runner.option.MetricsOptions;
+import io.carml.jar.runner.option.OutputOptions;
+import io.carml.jar.runner.option.OutputRdfFormats;
+import io.carml.jar.runner.output.CompressionFormat;
+import io.carml.jar.runner.output.WaitStrategy;
+import io.carml.logicalsourceresolver.CsvResolver;
+import io.carml.logicalsourceresolver.JsonPathResolver;
+import io.carml.logicalsourceresolver.XPathResolver;
+import io.github.classgraph.ClassGraph;
+import java.util.List;
+import java.util.ServiceLoader;
+import org.eclipse.rdf4j.rio.RDFParserFactory;
+import org.eclipse.rdf4j.rio.RDFWriterFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Registers the reflection and resource metadata a GraalVM native image of the runner needs beyond
+ * what Spring AOT processing detects for the beans.<br>
+ * <br>
+ * Picocli reads and sets the annotated fields of the commands and their option classes reflectively,
+ * and Jackson does the same for the batch manifest and the reports. The CARML mapping loader
+ * instantiates the mapping model classes reflectively, and RDF4J Rio finds its parsers and writers
+ * through service registrations. The hints are registered at build time, so the model classes and
+ * Rio services are found on the build classpath instead of scanning the classpath at startup.
+ */
+public class CarmlRuntimeHints implements RuntimeHintsRegistrar {
+
+  static final String CARML_MODEL_PACKAGE = "io.carml.model.impl";
+
+  static final List<Class<?>> PICOCLI_TYPES = List.of(CarmlCommand.class, CarmlMapCommand.class,
+      CarmlServeCommand.class, CarmlBatchCommand.class, OutputOptions.class, MappingFileOptions.class,
+      MappingFileOptions.Group.class, LoggingOptions.class, MetricsOptions.class, ByteSizeConverter.class,
+      IriConverter.class, OutputRdfFormats.class);
+
+  static final List<Class<?>> ENUM_TYPES = List.of(RdfFormat.class, DeduplicationMode.class, CompressionFormat.class,
+      MetricsFormat.class, WaitStrategy.class);
+
+  static final List<Class<?>> JSON_TYPES =
+      List.of(BatchManifest.class, BatchJob.class, BatchJobResult.class, MetricsReport.class);
+
+  static final List<Class<?>> RESOLVER_TYPES = List.of(CsvResolver.class, JsonPathResolver.class, XPathResolver.class);
+
+  static final List<String> RESOURCE_PATTERNS = List.of("prefix/prefix.cc.index", "prefix/prefix.cc.namespaces.index",
+      "log4j2.xml", "META-INF/services/org.eclipse.rdf4j.rio.*");
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    var reflection = hints.reflection();
+
+    PICOCLI_TYPES.forEach(type -> reflection.registerType(type, MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+    ENUM_TYPES.forEach(type -> reflection.registerType(type, MemberCategory.PUBLIC_FIELDS,
+        MemberCategory.INVOKE_PUBLIC_METHODS));
+    JSON_TYPES.forEach(type -> reflection.registerType(type, MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+    RESOLVER_TYPES.forEach(type -> reflection.registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+    try (var scanResult = new ClassGraph().overrideClassLoaders(classLoader)
+        .acceptPackages(CARML_MODEL_PACKAGE)
+        .enableClassInfo()
+        .scan()) {
+      scanResult.getAllStandardClasses()
+          .getNames()
+          .forEach(name -> reflection.registerType(TypeReference.of(name), MemberCategory.DECLARED_FIELDS,
+              MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+    }
+
+    ServiceLoader.load(RDFParserFactory.class, classLoader)
+        .stream()
+        .forEach(provider -> reflection.registerType(provider.type(), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+    ServiceLoader.load(RDFWriterFactory.class, classLoader)
+        .stream()
+        .forEach(provider -> reflection.registerType(provider.type(), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+    RESOURCE_PATTERNS.forEach(hints.resources()::registerPattern);
+  }
+}
@@ -0,0 +1,101 @@
+package io.carml.jar.runner;
+
+import static picocli.CommandLine.ExitCode.OK;
+
+import io.carml.jar.runner.input.ModelLoader;
+import io.carml.jar.runner.option.LoggingOptions;
+import io.carml.jar.runner.option.OptionOrder;
+import io.carml.jar.runner.option.OutputRdfFormats;
+import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.server.MappingServer;
+import io.carml.jar.runner.server.ServerSettings;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Component
+@Command(name = "serve", sortOptions = false, sortSynopsis = false, mixinStandardHelpOptions = true,
+    description = "Serve mappings over HTTP, keeping the JVM and built mappers warm between requests.")
+public class CarmlServeCommand implements Callable<Integer> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ModelLoader modelLoader;
+
+  private final OutputHandler outputHandler;
+
+  private final List<RmlMapperConfigurer> rmlMapperConfigurers;
+
+  private final Set<String> rdfFormats;
+
+  @Mixin
+  private LoggingOptions loggingOptions;
+
+  @Option(names = {"-m", "--mapping-dir"}, order = OptionOrder.MAPPING_ORDER, required = true,
+      description = {"Directory containing the mapping files. A mapping id is the path of a mapping file relative",
+          "to this directory."})
+  private Path mappingDirectory;
+
+  @Option(names = {"-F", "-of", "--outformat"}, completionCandidates = OutputRdfFormats.class, defaultValue = "nq",
+      order = OptionOrder.OUT_FORMAT_ORDER,
+      description = {"Output RDF format used when a request does not specify one. Default: ${DEFAULT-VALUE}.",
+          "Supported values are ${COMPLETION-CANDIDATES}"})
+  private String outputRdfFormat;
+
+  @Option(names = {"--host"}, order = OptionOrder.HOST_ORDER, defaultValue = "127.0.0.1",
+      description = "Host name or address to listen on. Default: ${DEFAULT-VALUE}.")
+  private String host;
+
+  @Option(names = {"--port"}, order = OptionOrder.PORT_ORDER, defaultValue = "8080",
+      description = "Port to listen on. Default: ${DEFAULT-VALUE}.")
+  private int port;
+
+  @Option(names = {"--max-concurrent-requests"}, order = OptionOrder.MAX_CONCURRENT_REQUESTS_ORDER,
+      description = {"Maximum number of requests mapped at the same time. Further requests wait their turn.",
+          "If not specified, one per available processor."})
+  private Optional<Integer> maxConcurrentRequests;
+
+  @Option(names = {"--mapper-cache-size"}, order = OptionOrder.MAPPER_CACHE_SIZE_ORDER, defaultValue = "16",
+      description = "Maximum number of built mappers kept in memory. Default: ${DEFAULT-VALUE}.")
+  private int mapperCacheSize;
+
+  public CarmlServeCommand(ModelLoader modelLoader, OutputHandler outputHandler,
+      List<RmlMapperConfigurer> rmlMapperConfigurers, Set<String> rdfFormats) {
+    this.modelLoader = modelLoader;
+    this.outputHandler = outputHandler;
+    this.rmlMapperConfigurers = rmlMapperConfigurers;
+    this.rdfFormats = rdfFormats;
+  }
+
+  @Override
+  public Integer call() throws IOException {
+    var requestThreads = maxConcurrentRequests.orElseGet(() -> Runtime.getRuntime()
+        .availableProcessors());
+    var settings =
+        new ServerSettings(host, port, mappingDirectory, requestThreads, mapperCacheSize, outputRdfFormat, Map.of());
+
+    try (var mappingServer =
+        new MappingServer(modelLoader, outputHandler, rmlMapperConfigurers, rdfFormats, settings)) {
+      mappingServer.start();
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(mappingServer::close, "carml-server-shutdown"));
+      mappingServer.awaitClose();
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread()
+          .interrupt();
+      LOG.info("Interrupted, stopping server.");
+    }
+
+    return OK;
+  }
+}
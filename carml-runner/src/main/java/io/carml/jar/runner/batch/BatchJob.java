@@ -0,0 +1,64 @@
+package io.carml.jar.runner.batch;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mapping job in a {@link BatchManifest}. The fields correspond to the options of the {@code map}
+ * command, relative paths are resolved against the directory of the manifest.
+ *
+ * @param name The name of the job, used in the summary.
+ * @param mapping The mapping file and directory paths ({@code -m}).
+ * @param mappingFormat The mapping file RDF format ({@code -f}), or {@code null}.
+ * @param relativeSourceLocation The relative source location ({@code -rsl}), or {@code null}.
+ * @param input The file to read the stream source from ({@code -i}), or {@code null}.
+ * @param output The output path ({@code -o}).
+ * @param outputFormat The output RDF format ({@code -of}), or {@code null}.
+ * @param pretty Whether to pretty print the output ({@code -P}), or {@code null}.
+ * @param baseIri The base IRI ({@code -b}), or {@code null}.
+ * @param limit The statement limit ({@code -l}), or {@code null}.
+ * @param options Further {@code map} command arguments, or {@code null}.
+ */
+public record BatchJob(String name, List<String> mapping, String mappingFormat, String relativeSourceLocation,
+    String input, String output, String outputFormat, Boolean pretty, String baseIri, Long limit,
+    List<String> options) {
+
+  /**
+   * Creates the {@code map} command arguments of this job.
+   *
+   * @param baseDirectory The directory to resolve relative paths against.
+   * @return the {@link List} of arguments.
+   */
+  public List<String> toArgs(Path baseDirectory) {
+    var args = new ArrayList<String>();
+    mapping.forEach(path -> add(args, "-m", resolve(baseDirectory, path)));
+    add(args, "-f", mappingFormat);
+    add(args, "-rsl", resolve(baseDirectory, relativeSourceLocation));
+    add(args, "-i", resolve(baseDirectory, input));
+    add(args, "-o", resolve(baseDirectory, output));
+    add(args, "-of", outputFormat);
+    if (Boolean.TRUE.equals(pretty)) {
+      args.add("-P");
+    }
+    add(args, "-b", baseIri);
+    add(args, "-l", limit != null ? limit.toString() : null);
+    if (options != null) {
+      args.addAll(options);
+    }
+
+    return args;
+  }
+
+  private static void add(List<String> args, String option, String value) {
+    if (value != null) {
+      args.add(option);
+      args.add(value);
+    }
+  }
+
+  private static String resolve(Path baseDirectory, String path) {
+    return path != null ? baseDirectory.resolve(path)
+        .toString() : null;
+  }
+}
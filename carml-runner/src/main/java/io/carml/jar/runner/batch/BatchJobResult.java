@@ -0,0 +1,16 @@
+package io.carml.jar.runner.batch;
+
+/**
+ * The outcome of a {@link BatchJob}.
+ *
+ * @param name The name of the job.
+ * @param exitCode The exit code of the {@code map} command.
+ * @param durationSeconds The duration of the job.
+ * @param statements The number of statements written.
+ */
+public record BatchJobResult(String name, int exitCode, double durationSeconds, long statements) {
+
+  public boolean isSuccess() {
+    return exitCode == 0;
+  }
+}
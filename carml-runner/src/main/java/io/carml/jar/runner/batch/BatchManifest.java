@@ -0,0 +1,54 @@
+package io.carml.jar.runner.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.CarmlJarException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A manifest of mapping jobs, read from a YAML or JSON file.
+ *
+ * @param concurrency The maximum number of jobs running at the same time, or {@code null}.
+ * @param jobs The {@link List} of {@link BatchJob}s.
+ */
+public record BatchManifest(Integer concurrency, List<BatchJob> jobs) {
+
+  /**
+   * Reads a manifest. Files ending in {@code .json} are read as JSON, all other files as YAML.
+   *
+   * @param manifestPath The manifest {@link Path}.
+   * @param objectMapper The {@link ObjectMapper} to read JSON with.
+   * @param yamlMapper The {@link YAMLMapper} to read YAML with.
+   * @return the {@link BatchManifest}.
+   */
+  public static BatchManifest read(Path manifestPath, ObjectMapper objectMapper, YAMLMapper yamlMapper) {
+    var mapper = manifestPath.getFileName()
+        .toString()
+        .endsWith(".json") ? objectMapper : yamlMapper;
+
+    BatchManifest manifest;
+    try {
+      manifest = mapper.readValue(manifestPath.toFile(), BatchManifest.class);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Exception occurred while reading manifest %s", manifestPath),
+          ioException);
+    }
+
+    var jobs = manifest.jobs();
+    if (jobs == null || jobs.isEmpty()) {
+      throw new CarmlJarException(String.format("Manifest %s contains no jobs.", manifestPath));
+    }
+    for (var i = 0; i < jobs.size(); i++) {
+      var job = jobs.get(i);
+      if (job.mapping() == null || job.mapping()
+          .isEmpty() || job.output() == null) {
+        throw new CarmlJarException(
+            String.format("Job %d in manifest %s must specify a mapping and an output.", i + 1, manifestPath));
+      }
+    }
+
+    return manifest;
+  }
+}
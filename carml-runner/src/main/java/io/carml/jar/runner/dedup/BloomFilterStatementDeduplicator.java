@@ -0,0 +1,69 @@
+package io.carml.jar.runner.dedup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Approximate {@link StatementDeduplicator} backed by a Bloom filter sized to the memory budget.<br>
+ * <br>
+ * The filter never lets a duplicate through, but may falsely classify a statement as a duplicate.
+ * With 7 hash functions the false positive rate stays below 1% as long as the filter has at least 10
+ * bits available per distinct statement, i.e. up to roughly {@code memoryBudget * 0.8} distinct
+ * statements.
+ */
+class BloomFilterStatementDeduplicator implements StatementDeduplicator {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int NR_OF_HASH_FUNCTIONS = 7;
+
+  private final long[] bits;
+
+  private final long nrOfBits;
+
+  private final long[] fingerprint = new long[2];
+
+  private long duplicateCount;
+
+  BloomFilterStatementDeduplicator(long memoryBudget) {
+    var nrOfWords = (int) Math.min(Math.max(memoryBudget / Long.BYTES, 1), Integer.MAX_VALUE - 8);
+    this.bits = new long[nrOfWords];
+    this.nrOfBits = (long) nrOfWords * Long.SIZE;
+    LOG.debug("Created Bloom filter of {} bits for approximate deduplication.", nrOfBits);
+  }
+
+  @Override
+  public boolean isFirstOccurrence(Statement statement) {
+    StatementHasher.hash(statement, fingerprint);
+    var hash1 = fingerprint[0];
+    var hash2 = fingerprint[1];
+
+    var added = false;
+    for (int i = 0; i < NR_OF_HASH_FUNCTIONS; i++) {
+      var bitIndex = Math.floorMod(hash1 + i * hash2, nrOfBits);
+      var wordIndex = (int) (bitIndex >>> 6);
+      var mask = 1L << bitIndex;
+      if ((bits[wordIndex] & mask) == 0) {
+        bits[wordIndex] |= mask;
+        added = true;
+      }
+    }
+
+    if (!added) {
+      duplicateCount++;
+    }
+
+    return added;
+  }
+
+  @Override
+  public long getDuplicateCount() {
+    return duplicateCount;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+}
@@ -0,0 +1,6 @@
+package io.carml.jar.runner.dedup;
+
+@SuppressWarnings("java:S115")
+public enum DeduplicationMode {
+  exact, approximate
+}
@@ -0,0 +1,58 @@
+package io.carml.jar.runner.dedup;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Frees direct and memory-mapped {@link ByteBuffer}s once they are no longer used. Their memory is
+ * otherwise only released when the garbage collector gets to them, which for a few large buffers on
+ * a mostly idle heap can be long after they were replaced.<br>
+ * <br>
+ * Buffers are freed with {@code sun.misc.Unsafe#invokeCleaner}. Where that is not available, freeing
+ * is left to the garbage collector.
+ */
+public final class DirectBuffers {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final Object UNSAFE;
+
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      var unsafeClass = Class.forName("sun.misc.Unsafe");
+      var theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException exception) {
+      LOG.debug("Direct buffers are freed by the garbage collector: {}", exception.getMessage());
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  private DirectBuffers() {}
+
+  /**
+   * Frees the memory of the given buffer. The buffer must not be used afterwards.
+   *
+   * @param buffer The {@link ByteBuffer}, which is ignored unless it is direct.
+   */
+  public static void free(ByteBuffer buffer) {
+    if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect()) {
+      return;
+    }
+
+    try {
+      INVOKE_CLEANER.invoke(UNSAFE, buffer);
+    } catch (ReflectiveOperationException | RuntimeException exception) {
+      LOG.debug("Could not free direct buffer: {}", exception.getMessage());
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package io.carml.jar.runner.dedup;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Exact {@link StatementDeduplicator} backed by an open addressing hash set of 128-bit statement
+ * fingerprints.<br>
+ * <br>
+ * The set is kept off-heap. While the set fits in the memory budget it is held in direct buffers.
+ * Once it outgrows the budget it is moved to a memory-mapped temporary file, leaving it to the OS to
+ * page it to disk. Heap use does not depend on the number of statements.<br>
+ * <br>
+ * The budget covers the peak while the set grows, when both the old set and the new set of twice its
+ * capacity are held: the new set is only held in memory when the two together, 1.5 times the new
+ * set, fit in the budget. The buffers of a replaced or closed set are freed right away with
+ * {@link DirectBuffers}.<br>
+ * <br>
+ * Statements are compared by fingerprint, so two distinct statements are only confused when their
+ * 128-bit hashes collide.
+ */
+class ExactStatementDeduplicator implements StatementDeduplicator {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int SLOT_SIZE = 16;
+
+  private static final int SEGMENT_SLOT_BITS = 26;
+
+  private static final long SEGMENT_SLOTS = 1L << SEGMENT_SLOT_BITS;
+
+  private static final long INITIAL_CAPACITY = 1L << 16;
+
+  private final long memoryBudget;
+
+  private final long[] fingerprint = new long[2];
+
+  private FingerprintTable table;
+
+  private long duplicateCount;
+
+  ExactStatementDeduplicator(long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+    this.table = FingerprintTable.allocate(INITIAL_CAPACITY, memoryBudget);
+  }
+
+  @Override
+  public boolean isFirstOccurrence(Statement statement) {
+    StatementHasher.hash(statement, fingerprint);
+    var hash1 = fingerprint[0];
+    // an all-zero slot marks an empty slot
+    var hash2 = hash1 == 0 && fingerprint[1] == 0 ? 1 : fingerprint[1];
+
+    if (table.add(hash1, hash2)) {
+      if (table.size * 2 > table.capacity) {
+        grow();
+      }
+      return true;
+    }
+
+    duplicateCount++;
+    return false;
+  }
+
+  private void grow() {
+    // the current table stays live while its fingerprints are copied into the grown one
+    var grown = FingerprintTable.allocate(table.capacity * 2, memoryBudget - table.memoryBytes());
+    if (!table.isMapped() && grown.isMapped()) {
+      LOG.info("Deduplication set exceeds memory budget of {} bytes, spilling to disk.", memoryBudget);
+    }
+
+    for (long slot = 0; slot < table.capacity; slot++) {
+      var hash1 = table.getHash1(slot);
+      var hash2 = table.getHash2(slot);
+      if (hash1 != 0 || hash2 != 0) {
+        grown.add(hash1, hash2);
+      }
+    }
+
+    table.close();
+    table = grown;
+  }
+
+  boolean isSpilled() {
+    return table.isMapped();
+  }
+
+  @Override
+  public long getDuplicateCount() {
+    return duplicateCount;
+  }
+
+  @Override
+  public void close() {
+    table.close();
+  }
+
+  private static final class FingerprintTable {
+
+    private final ByteBuffer[] segments;
+
+    private final long capacity;
+
+    private final long mask;
+
+    private final FileChannel channel;
+
+    private long size;
+
+    private FingerprintTable(ByteBuffer[] segments, long capacity, FileChannel channel) {
+      this.segments = segments;
+      this.capacity = capacity;
+      this.mask = capacity - 1;
+      this.channel = channel;
+    }
+
+    static FingerprintTable allocate(long capacity, long memoryBudget) {
+      var segmentSlots = Math.min(capacity, SEGMENT_SLOTS);
+      var segmentBytes = segmentSlots * SLOT_SIZE;
+      var segments = new ByteBuffer[(int) (capacity / segmentSlots)];
+
+      if (capacity * SLOT_SIZE <= memoryBudget) {
+        for (int i = 0; i < segments.length; i++) {
+          segments[i] = ByteBuffer.allocateDirect((int) segmentBytes);
+        }
+        return new FingerprintTable(segments, capacity, null);
+      }
+
+      try {
+        var file = Files.createTempFile("carml-dedup-", ".set");
+        var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+        for (int i = 0; i < segments.length; i++) {
+          segments[i] = channel.map(MapMode.READ_WRITE, i * segmentBytes, segmentBytes);
+        }
+        return new FingerprintTable(segments, capacity, channel);
+      } catch (IOException ioException) {
+        throw new CarmlJarException("Could not create deduplication set on disk.", ioException);
+      }
+    }
+
+    boolean isMapped() {
+      return channel != null;
+    }
+
+    long memoryBytes() {
+      return isMapped() ? 0 : capacity * SLOT_SIZE;
+    }
+
+    boolean add(long hash1, long hash2) {
+      var slot = hash1 & mask;
+      while (true) {
+        var existing1 = getHash1(slot);
+        var existing2 = getHash2(slot);
+
+        if (existing1 == 0 && existing2 == 0) {
+          var segment = segments[(int) (slot >>> SEGMENT_SLOT_BITS)];
+          var offset = offset(slot);
+          segment.putLong(offset, hash1);
+          segment.putLong(offset + Long.BYTES, hash2);
+          size++;
+          return true;
+        }
+
+        if (existing1 == hash1 && existing2 == hash2) {
+          return false;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    long getHash1(long slot) {
+      return segments[(int) (slot >>> SEGMENT_SLOT_BITS)].getLong(offset(slot));
+    }
+
+    long getHash2(long slot) {
+      return segments[(int) (slot >>> SEGMENT_SLOT_BITS)].getLong(offset(slot) + Long.BYTES);
+    }
+
+    private static int offset(long slot) {
+      return (int) ((slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE);
+    }
+
+    void close() {
+      for (int i = 0; i < segments.length; i++) {
+        DirectBuffers.free(segments[i]);
+        segments[i] = null;
+      }
+
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ioException) {
+          throw new CarmlJarException("Could not remove deduplication set from disk.", ioException);
+        }
+      }
+    }
+  }
+}
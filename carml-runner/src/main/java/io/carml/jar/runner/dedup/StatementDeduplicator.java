@@ -0,0 +1,40 @@
+package io.carml.jar.runner.dedup;
+
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.Statement;
+
+public interface StatementDeduplicator extends AutoCloseable {
+
+  /**
+   * Creates a {@link StatementDeduplicator} for the given {@link DeduplicationMode} whose memory use
+   * is bounded by {@code memoryBudget}.
+   *
+   * @param mode The {@link DeduplicationMode}.
+   * @param memoryBudget The memory budget in bytes.
+   * @return the {@link StatementDeduplicator}.
+   */
+  static StatementDeduplicator create(@NonNull DeduplicationMode mode, long memoryBudget) {
+    return switch (mode) {
+      case exact -> new ExactStatementDeduplicator(memoryBudget);
+      case approximate -> new BloomFilterStatementDeduplicator(memoryBudget);
+    };
+  }
+
+  /**
+   * Registers the {@link Statement} and determines whether it is seen for the first time.
+   *
+   * @param statement The {@link Statement}.
+   * @return {@code true} if the statement was not seen before, {@code false} otherwise.
+   */
+  boolean isFirstOccurrence(Statement statement);
+
+  /**
+   * Returns the number of statements that were determined to be duplicates.
+   *
+   * @return the number of duplicates.
+   */
+  long getDuplicateCount();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,133 @@
+package io.carml.jar.runner.dedup;
+
+import java.nio.charset.StandardCharsets;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+/**
+ * Computes 128-bit MurmurHash3 (x64) fingerprints of the N-Quads representation of statements.
+ */
+public final class StatementHasher {
+
+  private static final long C1 = 0x87c37b91114253d5L;
+
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private StatementHasher() {}
+
+  /**
+   * Computes the fingerprint of the {@link Statement} into {@code fingerprint}.
+   *
+   * @param statement The {@link Statement}.
+   * @param fingerprint A {@code long[2]} to hold the 128-bit fingerprint.
+   */
+  static void hash(Statement statement, long[] fingerprint) {
+    var key = new StringBuilder(256);
+    append(statement.getSubject(), key);
+    append(statement.getPredicate(), key);
+    append(statement.getObject(), key);
+    append(statement.getContext(), key);
+
+    hash(key.toString(), fingerprint);
+  }
+
+  private static void append(Value value, StringBuilder key) {
+    if (value != null) {
+      key.append(NTriplesUtil.toNTriplesString(value));
+    }
+    key.append('\n');
+  }
+
+  /**
+   * Computes the fingerprint of the {@link String} key into {@code fingerprint}.
+   *
+   * @param key The key.
+   * @param fingerprint A {@code long[2]} to hold the 128-bit fingerprint.
+   */
+  public static void hash(String key, long[] fingerprint) {
+    murmur3(key.getBytes(StandardCharsets.UTF_8), fingerprint);
+  }
+
+  static void murmur3(byte[] data, long[] fingerprint) {
+    var length = data.length;
+    var nrOfBlocks = length / 16;
+    long h1 = 0;
+    long h2 = 0;
+
+    for (int i = 0; i < nrOfBlocks; i++) {
+      var k1 = getLongLittleEndian(data, i * 16);
+      var k2 = getLongLittleEndian(data, i * 16 + 8);
+
+      h1 ^= mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27);
+      h1 += h2;
+      h1 = h1 * 5 + 0x52dce729;
+
+      h2 ^= mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31);
+      h2 += h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    var offset = nrOfBlocks * 16;
+    var remaining = length & 15;
+    long k1 = 0;
+    long k2 = 0;
+
+    for (int i = remaining - 1; i >= 8; i--) {
+      k2 ^= (long) (data[offset + i] & 0xff) << ((i - 8) * 8);
+    }
+    if (remaining > 8) {
+      h2 ^= mixK2(k2);
+    }
+
+    for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+      k1 ^= (long) (data[offset + i] & 0xff) << (i * 8);
+    }
+    if (remaining > 0) {
+      h1 ^= mixK1(k1);
+    }
+
+    h1 ^= length;
+    h2 ^= length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix64(h1);
+    h2 = fmix64(h2);
+    h1 += h2;
+    h2 += h1;
+
+    fingerprint[0] = h1;
+    fingerprint[1] = h2;
+  }
+
+  private static long mixK1(long k1) {
+    k1 *= C1;
+    k1 = Long.rotateLeft(k1, 31);
+    return k1 * C2;
+  }
+
+  private static long mixK2(long k2) {
+    k2 *= C2;
+    k2 = Long.rotateLeft(k2, 33);
+    return k2 * C1;
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  private static long getLongLittleEndian(byte[] data, int index) {
+    long result = 0;
+    for (int i = 7; i >= 0; i--) {
+      result = (result << 8) | (data[index + i] & 0xff);
+    }
+    return result;
+  }
+}
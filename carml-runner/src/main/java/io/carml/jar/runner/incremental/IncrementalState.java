@@ -0,0 +1,606 @@
+package io.carml.jar.runner.incremental;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.input.MappingCache;
+import io.carml.jar.runner.output.ExternalStatementSorter;
+import io.carml.jar.runner.output.StatementCodec;
+import io.carml.jar.runner.output.StatementOrder;
+import io.carml.model.TriplesMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keeps track of the sources and output of the groups of triples maps between runs, so a run only
+ * re-maps the groups whose source files changed.<br>
+ * <br>
+ * A group is identified by the ids of its triples maps, and fingerprinted by a SHA-256 hash of the
+ * name and content of every source file its triples maps read. The output of each group is stored in
+ * the state directory as a partial output encoded by the {@link StatementCodec}, which is read back
+ * one statement at a time, as fast as the output consumes it. A group is reused when the mapping
+ * settings are unchanged, its fingerprint matches the one of the previous run and its partial output
+ * exists. Since triples maps joined with each other always end up in the same group, a changed source
+ * re-maps all triples maps it is joined with. Groups reading a stream, or a source that is not a file,
+ * are always re-mapped.<br>
+ * <br>
+ * In full mode, reused groups contribute their partial output, so the output is the same as that of
+ * a complete run. In delta mode, only statements added since the previous run are emitted, and the
+ * removed statements are available from {@link #removedStatements()} once mapping completed. The
+ * delta of a re-mapped group is computed once its mapping completed, by sorting its previous and new
+ * partial outputs with an {@link ExternalStatementSorter} and merging them, so the heap holds at most
+ * one sort run per group whatever the size of the output. Removed statements are written to a pending
+ * file rather than kept in memory. Note that blank nodes get new identifiers on each run, so
+ * statements with blank nodes of re-mapped groups always show up as both removed and added.<br>
+ * <br>
+ * New partial outputs are written next to the existing ones, and only moved into place, together with
+ * the new state file, by {@link #commit()}. A failed run therefore leaves the previous state intact.
+ */
+public class IncrementalState {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final String STATE_FILE = "state.properties";
+
+  static final String PARTIAL_EXTENSION = ".partial";
+
+  private static final String PENDING_EXTENSION = ".pending";
+
+  private static final String SORTED_EXTENSION = ".sorted";
+
+  private static final String REMOVED_EXTENSION = ".removed";
+
+  private static final String SETTINGS_PROPERTY = "settings";
+
+  private static final String GROUP_PROPERTY_PREFIX = "group.";
+
+  private final Path stateDirectory;
+
+  private final String settings;
+
+  private final boolean delta;
+
+  private final int sortRunSize;
+
+  private final Map<String, String> previousFingerprints = new ConcurrentHashMap<>();
+
+  private final boolean previousSettingsMatch;
+
+  private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+  private final Set<String> currentGroups = ConcurrentHashMap.newKeySet();
+
+  private final Set<String> recordedGroups = ConcurrentHashMap.newKeySet();
+
+  private final Set<String> diffedGroups = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger reusedGroups = new AtomicInteger();
+
+  private final AtomicInteger remappedGroups = new AtomicInteger();
+
+  /**
+   * Loads the state of the previous run from the given directory, if any.
+   *
+   * @param stateDirectory the state directory {@link Path}.
+   * @param settings the settings the output depends on, such as the key of the mapping and the base IRI.
+   *        All groups are re-mapped when these differ from those of the previous run.
+   * @param delta whether to emit only the statements added since the previous run.
+   * @param sortRunSize the maximum number of statements per group held in memory while computing the
+   *        delta.
+   */
+  public IncrementalState(Path stateDirectory, String settings, boolean delta, int sortRunSize) {
+    this.stateDirectory = stateDirectory;
+    this.settings = settings;
+    this.delta = delta;
+    this.sortRunSize = sortRunSize;
+
+    var previousState = readState();
+    previousState.stringPropertyNames()
+        .stream()
+        .filter(name -> name.startsWith(GROUP_PROPERTY_PREFIX))
+        .forEach(name -> previousFingerprints.put(name.substring(GROUP_PROPERTY_PREFIX.length()),
+            previousState.getProperty(name)));
+    previousSettingsMatch = settings.equals(previousState.getProperty(SETTINGS_PROPERTY));
+
+    if (!previousState.isEmpty() && !previousSettingsMatch) {
+      LOG.info("Mapping settings changed since the previous run, re-mapping all triples maps.");
+    }
+  }
+
+  private Properties readState() {
+    var properties = new Properties();
+    var stateFile = stateDirectory.resolve(STATE_FILE);
+    if (!Files.isRegularFile(stateFile)) {
+      return properties;
+    }
+
+    try (var inputStream = Files.newInputStream(stateFile)) {
+      properties.load(inputStream);
+    } catch (IOException | IllegalArgumentException exception) {
+      LOG.warn("Ignoring unreadable incremental state file {}: {}", stateFile, exception.getMessage());
+      properties.clear();
+    }
+
+    return properties;
+  }
+
+  /**
+   * Computes the key of the given group, a SHA-256 hash of the ids of its triples maps.
+   *
+   * @param group the {@link Set} of {@link TriplesMap}s.
+   * @return the hexadecimal key.
+   */
+  public static String groupKey(Set<TriplesMap> group) {
+    var digest = sha256();
+    group.stream()
+        .map(TriplesMap::getId)
+        .sorted()
+        .forEach(id -> {
+          digest.update(id.getBytes(StandardCharsets.UTF_8));
+          digest.update((byte) 0);
+        });
+
+    return HexFormat.of()
+        .formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new IllegalStateException(noSuchAlgorithmException);
+    }
+  }
+
+  /**
+   * Computes the fingerprint of the source files read by the given group.
+   *
+   * @param group the {@link Set} of {@link TriplesMap}s.
+   * @param relativeSourceLocation the {@link Path} sources are resolved against, if any.
+   * @return the hexadecimal fingerprint, or empty if the group reads a source that is not a file.
+   */
+  public static Optional<String> fingerprint(Set<TriplesMap> group, Optional<Path> relativeSourceLocation) {
+    var sourcePaths = new ArrayList<Path>();
+    for (var triplesMap : group) {
+      var logicalSource = triplesMap.getLogicalSource();
+      if (logicalSource == null || !(logicalSource.getSource() instanceof String source)) {
+        return Optional.empty();
+      }
+
+      var sourcePath = relativeSourceLocation.map(location -> location.resolve(source))
+          .orElseGet(() -> Path.of(source));
+      if (!Files.isRegularFile(sourcePath)) {
+        return Optional.empty();
+      }
+      sourcePaths.add(sourcePath.toAbsolutePath()
+          .normalize());
+    }
+
+    var orderedSourcePaths = sourcePaths.stream()
+        .distinct()
+        .sorted()
+        .toList();
+    try {
+      return Optional.of(MappingCache.key(orderedSourcePaths, null));
+    } catch (CarmlJarException carmlJarException) {
+      LOG.debug("Could not fingerprint sources {}: {}", orderedSourcePaths, carmlJarException.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Returns whether the given group can be reused from the previous run.
+   *
+   * @param groupKey the key of the group.
+   * @param fingerprint the fingerprint of the sources of the group, if any.
+   * @return {@code true} if the group is unchanged.
+   */
+  public boolean isUnchanged(String groupKey, Optional<String> fingerprint) {
+    return previousSettingsMatch && fingerprint.isPresent() && fingerprint.get()
+        .equals(previousFingerprints.get(groupKey)) && Files.isRegularFile(partialPath(groupKey));
+  }
+
+  /**
+   * Returns the output of the given unchanged group. In delta mode, an unchanged group contributes no
+   * statements.
+   *
+   * @param groupKey the key of the group.
+   * @return the {@link Flux} of {@link Statement}s.
+   */
+  public Flux<Statement> reuse(String groupKey) {
+    currentGroups.add(groupKey);
+    fingerprints.put(groupKey, previousFingerprints.get(groupKey));
+    reusedGroups.incrementAndGet();
+    LOG.debug("Reusing the partial output of unchanged group {}.", groupKey);
+
+    return delta ? Flux.empty() : readPartial(partialPath(groupKey));
+  }
+
+  /**
+   * Records the output of the given re-mapped group as its new partial output. In delta mode, only
+   * statements not in the previous partial output of the group are emitted, once the mapping of the
+   * group completed.
+   *
+   * @param groupKey the key of the group.
+   * @param fingerprint the fingerprint of the sources of the group, if any.
+   * @param statements the {@link Flux} of mapped {@link Statement}s.
+   * @return the {@link Flux} of {@link Statement}s to output.
+   */
+  public Flux<Statement> record(String groupKey, Optional<String> fingerprint, Flux<Statement> statements) {
+    currentGroups.add(groupKey);
+    remappedGroups.incrementAndGet();
+
+    var recorded = Flux.defer(() -> {
+      var partialWriter = new PartialWriter(pendingPath(groupKey));
+
+      return statements.doOnNext(partialWriter::write)
+          .doOnComplete(() -> {
+            partialWriter.close();
+            fingerprints.put(groupKey, fingerprint.orElse(""));
+            recordedGroups.add(groupKey);
+          })
+          .doFinally(signalType -> partialWriter.close());
+    });
+
+    return delta ? recorded.thenMany(Flux.defer(() -> diff(groupKey))) : recorded;
+  }
+
+  /**
+   * Merges the sorted previous and new partial outputs of the given group, emitting the statements
+   * only in the new one, and writing those only in the previous one to the removed file of the group.
+   */
+  private Flux<Statement> diff(String groupKey) {
+    var previousPath = partialPath(groupKey);
+    var previousSorted = Files.isRegularFile(previousPath) ? sort(previousPath, groupKey + "-previous") : null;
+    var currentSorted = sort(pendingPath(groupKey), groupKey + "-current");
+
+    return Flux.using(() -> new DeltaMerge(previousSorted, currentSorted, removedPath(groupKey)), merge -> Flux
+        .<Statement>generate(sink -> {
+          var added = merge.nextAdded();
+          if (added == null) {
+            diffedGroups.add(groupKey);
+            sink.complete();
+          } else {
+            sink.next(added);
+          }
+        }), DeltaMerge::close);
+  }
+
+  private Path sort(Path partialPath, String name) {
+    var sortedPath = stateDirectory.resolve(name + SORTED_EXTENSION + PENDING_EXTENSION);
+    try (var sorter = new ExternalStatementSorter(stateDirectory, name, sortRunSize);
+        var input = openPartial(partialPath);
+        var sortedWriter = new PartialWriter(sortedPath)) {
+      var codec = new StatementCodec();
+      for (var statement = codec.readStatement(input); statement != null; statement = codec.readStatement(input)) {
+        sorter.add(statement);
+      }
+      sorter.forEachSorted(sortedWriter::write);
+    } catch (IOException ioException) {
+      throw partialReadException(partialPath, ioException);
+    }
+
+    return sortedPath;
+  }
+
+  /**
+   * Reads a partial output one statement per request, so no more statements are held in memory than
+   * requested downstream, and the file is closed as soon as the read is cancelled.
+   */
+  private static Flux<Statement> readPartial(Path partialPath) {
+    return Flux.using(() -> openPartial(partialPath), input -> {
+      var codec = new StatementCodec();
+      return Flux.<Statement>generate(sink -> {
+        try {
+          var statement = codec.readStatement(input);
+          if (statement == null) {
+            sink.complete();
+          } else {
+            sink.next(statement);
+          }
+        } catch (IOException ioException) {
+          sink.error(partialReadException(partialPath, ioException));
+        }
+      });
+    }, input -> closePartial(input, partialPath));
+  }
+
+  private static DataInputStream openPartial(Path partialPath) {
+    try {
+      return new DataInputStream(new BufferedInputStream(Files.newInputStream(partialPath)));
+    } catch (IOException ioException) {
+      throw partialReadException(partialPath, ioException);
+    }
+  }
+
+  private static void closePartial(DataInputStream input, Path partialPath) {
+    try {
+      input.close();
+    } catch (IOException ioException) {
+      LOG.debug("Could not close partial output {}.", partialPath, ioException);
+    }
+  }
+
+  private static CarmlJarException partialReadException(Path partialPath, IOException ioException) {
+    return new CarmlJarException(String.format("Exception occurred while reading partial output %s", partialPath),
+        ioException);
+  }
+
+  /**
+   * Returns the statements removed since the previous run, that is, the statements of re-mapped
+   * groups that are no longer generated, and all statements of groups that no longer exist. Only
+   * available in delta mode, after the mapping completed.
+   *
+   * @return the {@link Flux} of removed {@link Statement}s.
+   */
+  public Flux<Statement> removedStatements() {
+    var removedGroups = previousFingerprints.keySet()
+        .stream()
+        .filter(groupKey -> !currentGroups.contains(groupKey))
+        .map(this::partialPath)
+        .filter(Files::isRegularFile)
+        .toList();
+
+    return Flux.concat(Flux.defer(() -> Flux.fromIterable(List.copyOf(diffedGroups)))
+        .map(this::removedPath)
+        .concatMap(IncrementalState::readPartial), Flux.fromIterable(removedGroups)
+            .concatMap(IncrementalState::readPartial));
+  }
+
+  /**
+   * Moves the new partial outputs into place, removes those of groups that no longer exist, and writes
+   * the new state file. Groups that were not mapped completely, for instance because of a limit, are
+   * left out of the state, so they are re-mapped on the next run.
+   */
+  public void commit() {
+    try {
+      Files.createDirectories(stateDirectory);
+      for (var groupKey : recordedGroups) {
+        move(pendingPath(groupKey), partialPath(groupKey));
+      }
+      for (var groupKey : previousFingerprints.keySet()) {
+        if (!currentGroups.contains(groupKey)) {
+          Files.deleteIfExists(partialPath(groupKey));
+        }
+      }
+
+      var state = new Properties();
+      state.setProperty(SETTINGS_PROPERTY, settings);
+      currentGroups.stream()
+          .filter(fingerprints::containsKey)
+          .forEach(groupKey -> state.setProperty(GROUP_PROPERTY_PREFIX + groupKey, fingerprints.get(groupKey)));
+
+      var pendingState = stateDirectory.resolve(STATE_FILE + PENDING_EXTENSION);
+      try (var outputStream = new BufferedOutputStream(Files.newOutputStream(pendingState))) {
+        state.store(outputStream, "CARML incremental mapping state");
+      }
+      move(pendingState, stateDirectory.resolve(STATE_FILE));
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Exception occurred while writing incremental state to %s",
+          stateDirectory), ioException);
+    } finally {
+      deletePending();
+    }
+
+    LOG.info("Reused {} unchanged groups of triples maps, re-mapped {} groups.", reusedGroups.get(),
+        remappedGroups.get());
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private void deletePending() {
+    if (!Files.isDirectory(stateDirectory)) {
+      return;
+    }
+
+    try (Stream<Path> files = Files.list(stateDirectory)) {
+      for (var file : files.filter(path -> path.getFileName()
+          .toString()
+          .endsWith(PENDING_EXTENSION))
+          .toList()) {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException ioException) {
+      LOG.debug("Could not remove pending files from {}.", stateDirectory, ioException);
+    }
+  }
+
+  private Path partialPath(String groupKey) {
+    return stateDirectory.resolve(groupKey + PARTIAL_EXTENSION);
+  }
+
+  private Path pendingPath(String groupKey) {
+    return stateDirectory.resolve(groupKey + PARTIAL_EXTENSION + PENDING_EXTENSION);
+  }
+
+  private Path removedPath(String groupKey) {
+    return stateDirectory.resolve(groupKey + REMOVED_EXTENSION + PENDING_EXTENSION);
+  }
+
+  /**
+   * Returns the number of groups reused from the previous run.
+   *
+   * @return the number of groups.
+   */
+  public int getReusedGroups() {
+    return reusedGroups.get();
+  }
+
+  /**
+   * Returns the number of groups re-mapped in this run.
+   *
+   * @return the number of groups.
+   */
+  public int getRemappedGroups() {
+    return remappedGroups.get();
+  }
+
+  private static final class PartialWriter implements AutoCloseable {
+
+    private final Path path;
+
+    private final StatementCodec codec = new StatementCodec();
+
+    private DataOutputStream outputStream;
+
+    PartialWriter(Path path) {
+      this.path = path;
+      try {
+        Files.createDirectories(path.getParent());
+        outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Exception occurred while writing partial output %s", path),
+            ioException);
+      }
+    }
+
+    void write(Statement statement) {
+      try {
+        codec.writeStatement(outputStream, statement);
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Exception occurred while writing partial output %s", path),
+            ioException);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (outputStream == null) {
+        return;
+      }
+
+      try {
+        outputStream.close();
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Exception occurred while writing partial output %s", path),
+            ioException);
+      } finally {
+        outputStream = null;
+      }
+    }
+  }
+
+  /**
+   * Merges two sorted partial outputs, skipping duplicate statements within each of them.
+   */
+  private static final class DeltaMerge {
+
+    private final Path previousPath;
+
+    private final Path currentPath;
+
+    private final DataInputStream previousInput;
+
+    private final DataInputStream currentInput;
+
+    private final StatementCodec previousCodec = new StatementCodec();
+
+    private final StatementCodec currentCodec = new StatementCodec();
+
+    private final PartialWriter removedWriter;
+
+    private Statement previous;
+
+    private Statement current;
+
+    DeltaMerge(Path previousPath, Path currentPath, Path removedPath) throws IOException {
+      this.previousPath = previousPath;
+      this.currentPath = currentPath;
+      previousInput = previousPath == null ? null : openPartial(previousPath);
+      currentInput = openPartial(currentPath);
+      removedWriter = new PartialWriter(removedPath);
+      previous = previousInput == null ? null : previousCodec.readStatement(previousInput);
+      current = currentCodec.readStatement(currentInput);
+    }
+
+    /**
+     * Returns the next statement only in the current partial output, or {@code null} once both are
+     * exhausted, after writing all statements only in the previous one.
+     */
+    Statement nextAdded() {
+      try {
+        while (current != null) {
+          var statement = current;
+          current = readNext(currentCodec, currentInput, statement);
+          while (previous != null && StatementOrder.INSTANCE.compare(previous, statement) < 0) {
+            writeRemoved();
+          }
+          if (previous == null || StatementOrder.INSTANCE.compare(previous, statement) > 0) {
+            return statement;
+          }
+          previous = readNext(previousCodec, previousInput, previous);
+        }
+
+        while (previous != null) {
+          writeRemoved();
+        }
+        removedWriter.close();
+
+        return null;
+      } catch (IOException ioException) {
+        throw partialReadException(currentPath, ioException);
+      }
+    }
+
+    private void writeRemoved() throws IOException {
+      removedWriter.write(previous);
+      previous = readNext(previousCodec, previousInput, previous);
+    }
+
+    private static Statement readNext(StatementCodec codec, DataInputStream input, Statement last)
+        throws IOException {
+      var statement = codec.readStatement(input);
+      while (statement != null && StatementOrder.INSTANCE.compare(statement, last) == 0) {
+        statement = codec.readStatement(input);
+      }
+
+      return statement;
+    }
+
+    void close() {
+      removedWriter.close();
+      if (previousInput != null) {
+        closePartial(previousInput, previousPath);
+        deleteSorted(previousPath);
+      }
+      closePartial(currentInput, currentPath);
+      deleteSorted(currentPath);
+    }
+
+    private static void deleteSorted(Path sortedPath) {
+      try {
+        Files.deleteIfExists(sortedPath);
+      } catch (IOException ioException) {
+        LOG.debug("Could not remove sorted partial output {}.", sortedPath, ioException);
+      }
+    }
+  }
+}
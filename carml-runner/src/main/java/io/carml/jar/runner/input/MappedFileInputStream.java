@@ -0,0 +1,152 @@
+package io.carml.jar.runner.input;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@link InputStream} over a memory-mapped file.<br>
+ * <br>
+ * The file is mapped in segments of at most {@link #DEFAULT_SEGMENT_SIZE} bytes, since a single
+ * mapping cannot exceed 2 GB. Reads are served from the page cache without system calls, and a
+ * segment is released for garbage collection once it has been read.<br>
+ * <br>
+ * Use {@link #open(Path)} to open a file. Files that cannot be mapped, such as named pipes and procfs
+ * files, are read through a {@link BufferedInputStream} with a large read-ahead buffer instead.
+ */
+public class MappedFileInputStream extends InputStream {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+
+  static final int READ_AHEAD_BUFFER_SIZE = 1 << 20;
+
+  private final FileChannel fileChannel;
+
+  private final long size;
+
+  private final long segmentSize;
+
+  private MappedByteBuffer segment;
+
+  private long segmentStart;
+
+  private long position;
+
+  MappedFileInputStream(FileChannel fileChannel, long segmentSize) throws IOException {
+    this.fileChannel = fileChannel;
+    this.size = fileChannel.size();
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Opens the file at the given {@link Path}, memory-mapped if possible.
+   *
+   * @param path The {@link Path} of the file.
+   * @return the {@link InputStream}.
+   * @throws IOException if the file cannot be opened.
+   */
+  public static InputStream open(Path path) throws IOException {
+    // procfs files report a size of 0, named pipes cannot be mapped
+    if (Files.isRegularFile(path) && Files.size(path) > 0) {
+      var fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+      try {
+        var inputStream = new MappedFileInputStream(fileChannel, DEFAULT_SEGMENT_SIZE);
+        inputStream.mapSegment(0);
+        LOG.debug("Memory-mapped input file {}.", path);
+
+        return inputStream;
+      } catch (IOException | UnsupportedOperationException exception) {
+        LOG.debug("Could not memory-map input file {}, reading it buffered: {}", path, exception.getMessage());
+        fileChannel.close();
+      }
+    }
+
+    return new BufferedInputStream(Files.newInputStream(path), READ_AHEAD_BUFFER_SIZE);
+  }
+
+  private void mapSegment(long start) throws IOException {
+    // drop the previous segment before mapping the next, so it can be unmapped
+    segment = null;
+    segment = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+    segmentStart = start;
+  }
+
+  private boolean ensureSegment() throws IOException {
+    if (position >= size) {
+      return false;
+    }
+    if (segment == null || !segment.hasRemaining()) {
+      mapSegment(position);
+    }
+
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureSegment()) {
+      return -1;
+    }
+
+    position++;
+
+    return segment.get() & 0xff;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    Objects.checkFromIndexSize(offset, length, bytes.length);
+    if (length == 0) {
+      return 0;
+    }
+    if (!ensureSegment()) {
+      return -1;
+    }
+
+    var chunk = Math.min(length, segment.remaining());
+    segment.get(bytes, offset, chunk);
+    position += chunk;
+
+    return chunk;
+  }
+
+  @Override
+  public long skip(long count) throws IOException {
+    if (count <= 0) {
+      return 0;
+    }
+
+    var target = Math.min(size, position + count);
+    if (segment != null && target < segmentStart + segment.capacity()) {
+      segment.position((int) (target - segmentStart));
+    } else {
+      // the segment holding the target is mapped by the next read
+      segment = null;
+    }
+    var skipped = target - position;
+    position = target;
+
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(Integer.MAX_VALUE, size - position);
+  }
+
+  @Override
+  public void close() throws IOException {
+    segment = null;
+    fileChannel.close();
+  }
+}
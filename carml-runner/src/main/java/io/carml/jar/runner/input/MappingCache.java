@@ -0,0 +1,199 @@
+package io.carml.jar.runner.input;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.format.RdfFormat;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+
+/**
+ * Caches loaded mapping models on disk, so repeated runs of the same mappings skip parsing the
+ * mapping files.<br>
+ * <br>
+ * An entry is keyed by a SHA-256 hash of the mapping format and the name and content of every mapping
+ * file, in load order. Changing, adding, removing or renaming a mapping file therefore leads to a
+ * different key, and the stale entry is no longer used. The model is stored in RDF4J binary RDF,
+ * which preserves its statement order and reads much faster than text formats.<br>
+ * <br>
+ * Entries are written to a temporary file that is moved into place, so concurrent runs never read a
+ * partially written entry. The modification time of an entry is updated on each hit. When the cache
+ * grows beyond its size limit, the least recently used entries are removed.
+ */
+public class MappingCache {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final String ENTRY_EXTENSION = ".brf";
+
+  private final Path directory;
+
+  private final long maxBytes;
+
+  public MappingCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns the mapping {@link Model} for the given paths from the cache, or loads it with the
+   * {@link ModelLoader} and caches it.
+   *
+   * @param paths the {@link List} of mapping file and directory {@link Path}s.
+   * @param rdfFormat the RDF format of the files, or {@code null} to determine it by file extension.
+   * @param modelLoader the {@link ModelLoader} used on a cache miss.
+   * @return the {@link Model}.
+   */
+  public Model load(List<Path> paths, RdfFormat rdfFormat, ModelLoader modelLoader) {
+    var entry = directory.resolve(key(FilePathResolver.resolveFilePaths(paths), rdfFormat) + ENTRY_EXTENSION);
+
+    if (Files.isRegularFile(entry)) {
+      try {
+        var model = read(entry);
+        touch(entry);
+        LOG.info("Loaded mapping from cache entry {}.", entry);
+        return model;
+      } catch (IOException | RDFParseException | RDFHandlerException exception) {
+        LOG.warn("Ignoring unreadable mapping cache entry {}: {}", entry, exception.getMessage());
+      }
+    }
+
+    var model = modelLoader.loadModel(paths, rdfFormat);
+    try {
+      write(entry, model);
+      evict();
+    } catch (IOException | UncheckedIOException | RDFHandlerException exception) {
+      LOG.warn("Could not write mapping cache entry {}: {}", entry, exception.getMessage());
+    }
+
+    return model;
+  }
+
+  /**
+   * Computes the key of the mapping in the given files, a SHA-256 hash of the mapping format and the
+   * name and content of every file.
+   *
+   * @param filePaths the {@link List} of mapping file {@link Path}s, in load order.
+   * @param rdfFormat the RDF format of the files, or {@code null} if determined by file extension.
+   * @return the hexadecimal key.
+   */
+  public static String key(List<Path> filePaths, RdfFormat rdfFormat) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new IllegalStateException(noSuchAlgorithmException);
+    }
+
+    update(digest, rdfFormat != null ? rdfFormat.name() : "");
+    for (var filePath : filePaths) {
+      // the file name determines the format when no format is specified
+      update(digest, filePath.getFileName()
+          .toString());
+      try (var inputStream = new DigestInputStream(Files.newInputStream(filePath), digest)) {
+        update(digest, Long.toString(Files.size(filePath)));
+        inputStream.transferTo(OutputStream.nullOutputStream());
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Exception occurred while reading %s", filePath), ioException);
+      }
+    }
+
+    return HexFormat.of()
+        .formatHex(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static Model read(Path entry) throws IOException {
+    var model = new LinkedHashModel();
+    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(entry))) {
+      var parser = Rio.createParser(RDFFormat.BINARY);
+      parser.setRDFHandler(new StatementCollector(model));
+      parser.parse(inputStream);
+    }
+
+    return model;
+  }
+
+  private static void touch(Path entry) {
+    try {
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException ioException) {
+      LOG.debug("Could not update modification time of mapping cache entry {}.", entry, ioException);
+    }
+  }
+
+  private void write(Path entry, Model model) throws IOException {
+    Files.createDirectories(directory);
+    var tmpEntry = Files.createTempFile(directory, "entry", ".tmp");
+    try {
+      try (var outputStream = new BufferedOutputStream(Files.newOutputStream(tmpEntry))) {
+        Rio.write(model, outputStream, RDFFormat.BINARY);
+      }
+      try {
+        Files.move(tmpEntry, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+        Files.move(tmpEntry, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+      LOG.debug("Wrote mapping cache entry {}.", entry);
+    } finally {
+      Files.deleteIfExists(tmpEntry);
+    }
+  }
+
+  private void evict() throws IOException {
+    List<Path> entries;
+    try (Stream<Path> files = Files.list(directory)) {
+      entries = files.filter(path -> path.getFileName()
+          .toString()
+          .endsWith(ENTRY_EXTENSION))
+          .sorted(Comparator.comparing(MappingCache::lastModified)
+              .reversed())
+          .toList();
+    }
+
+    long size = 0;
+    for (var entry : entries) {
+      size += Files.size(entry);
+      if (size > maxBytes) {
+        LOG.debug("Evicting mapping cache entry {}.", entry);
+        Files.deleteIfExists(entry);
+      }
+    }
+  }
+
+  private static FileTime lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path);
+    } catch (IOException ioException) {
+      throw new UncheckedIOException(ioException);
+    }
+  }
+}
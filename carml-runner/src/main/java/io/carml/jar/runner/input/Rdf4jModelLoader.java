@@ -4,23 +4,57 @@ import static io.carml.jar.runner.format.Rdf4JFormats.determineRdfFormat;
 
 import io.carml.jar.runner.CarmlJarException;
 import io.carml.jar.runner.format.RdfFormat;
-import io.carml.util.Models;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Statement;
-import org.eclipse.rdf4j.model.util.ModelCollector;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParseException;
 import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.ParseErrorLogger;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 import org.springframework.stereotype.Component;
 
+/**
+ * Loads mapping files with RDF4J.<br>
+ * <br>
+ * Files are parsed in parallel on a bounded pool of threads. Each parser streams its statements into a
+ * plain list, and the lists are appended to the resulting {@link Model} in the order of the files as
+ * they complete. This way no intermediate {@link Model} is built per file, and the resulting
+ * {@link Model}, including its iteration order, is the same as when parsing the files one after the
+ * other.
+ */
 @Component
 public class Rdf4jModelLoader implements ModelLoader {
 
+  private static final Logger LOG = LogManager.getLogger();
+
+  // the base IRI io.carml.util.Models#parse resolves relative IRIs against
+  static final String BASE_IRI = "http://none.com/";
+
+  private final int threads;
+
+  public Rdf4jModelLoader() {
+    this(Runtime.getRuntime()
+        .availableProcessors());
+  }
+
+  Rdf4jModelLoader(int threads) {
+    this.threads = threads;
+  }
+
   /**
    * Load {@link Model} from list paths, using all file {@link Path}s in the file tree starting from
    * given {@link Path}.
@@ -34,14 +68,60 @@ public class Rdf4jModelLoader implements ModelLoader {
   public Model loadModel(List<Path> paths, RdfFormat rdfFormat) {
     var specifiedRdfFormat = rdfFormat != null ? determineRdfFormat(rdfFormat.name()) : null;
 
-    return paths.stream()
+    var filePaths = paths.stream()
         .flatMap(path -> FilePathResolver.resolveFilePaths(List.of(path))
             .stream())
-        .flatMap(path -> parsePathToStatements(path, specifiedRdfFormat))
-        .collect(new ModelCollector());
+        .toList();
+
+    var model = new LinkedHashModel();
+    var poolSize = Math.min(threads, filePaths.size());
+    if (poolSize <= 1) {
+      filePaths.forEach(path -> model.addAll(parsePathToStatements(path, specifiedRdfFormat)));
+      return model;
+    }
+
+    LOG.debug("Parsing {} mapping files on {} threads ...", filePaths.size(), poolSize);
+    var executor = createExecutor(poolSize);
+    try {
+      var parsedFiles = filePaths.stream()
+          .map(path -> executor.submit(() -> parsePathToStatements(path, specifiedRdfFormat)))
+          .toList();
+
+      for (var parsedFile : parsedFiles) {
+        model.addAll(await(parsedFile));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return model;
   }
 
-  private Stream<Statement> parsePathToStatements(Path path, RDFFormat specifiedRdfFormat) {
+  private static ExecutorService createExecutor(int poolSize) {
+    var threadCounter = new AtomicInteger();
+    return Executors.newFixedThreadPool(poolSize, runnable -> {
+      var thread = new Thread(runnable, "carml-model-loader-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static List<Statement> await(Future<List<Statement>> parsedFile) {
+    try {
+      return parsedFile.get();
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread()
+          .interrupt();
+      throw new CarmlJarException("Interrupted while loading mapping files.", interruptedException);
+    } catch (ExecutionException executionException) {
+      if (executionException.getCause() instanceof CarmlJarException carmlJarException) {
+        throw carmlJarException;
+      }
+      throw new CarmlJarException("Exception occurred while loading mapping files.", executionException.getCause());
+    }
+  }
+
+  private List<Statement> parsePathToStatements(Path path, RDFFormat specifiedRdfFormat) {
     try (var is = Files.newInputStream(path)) {
       var fileName = path.getFileName()
           .toString();
@@ -54,9 +134,15 @@ public class Rdf4jModelLoader implements ModelLoader {
             .orElseThrow(() -> new CarmlJarException(
                 String.format("Could not determine mapping format by file extension for path '%s'", path)));
       }
-      return Models.parse(is, rdfFormat)
-          .stream();
-    } catch (IOException | RDFParseException exception) {
+
+      var statements = new ArrayList<Statement>();
+      var parser = Rio.createParser(rdfFormat);
+      parser.setParseErrorListener(new ParseErrorLogger());
+      parser.setRDFHandler(new StatementCollector(statements));
+      parser.parse(is, BASE_IRI);
+
+      return statements;
+    } catch (IOException | RDFParseException | RDFHandlerException exception) {
       throw new CarmlJarException(String.format("Exception occurred while parsing %s", path), exception);
     }
   }
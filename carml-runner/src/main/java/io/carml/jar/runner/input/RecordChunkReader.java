@@ -0,0 +1,163 @@
+package io.carml.jar.runner.input;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Splits a CSV or line-delimited JSON input into chunks of whole records, so the chunks can be mapped
+ * independently of each other.<br>
+ * <br>
+ * A CSV chunk is a single document consisting of the header followed by the records of the chunk.
+ * Records end at a line break outside a quoted field, so quoted fields may contain line breaks. A
+ * line-delimited JSON chunk consists of one document per non-blank line.
+ */
+public class RecordChunkReader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream inputStream;
+
+  private final RecordFormat recordFormat;
+
+  private final int chunkSize;
+
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  private int position;
+
+  private int limit;
+
+  private byte[] header;
+
+  RecordChunkReader(InputStream inputStream, RecordFormat recordFormat, int chunkSize) {
+    this.inputStream = inputStream;
+    this.recordFormat = recordFormat;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Reads the given {@link InputStream} in chunks of at most {@code chunkSize} records. The stream is
+   * read on demand, so only the requested chunks are held in memory.
+   *
+   * @param inputStream the {@link InputStream} to read.
+   * @param recordFormat the {@link RecordFormat} of the input.
+   * @param chunkSize the maximum number of records per chunk.
+   * @return the {@link Flux} of chunks, each a {@link List} of documents.
+   */
+  public static Flux<List<byte[]>> read(InputStream inputStream, RecordFormat recordFormat, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException(String.format("Chunk size must be positive, but was %d", chunkSize));
+    }
+
+    return Flux.generate(() -> new RecordChunkReader(inputStream, recordFormat, chunkSize), (reader, sink) -> {
+      try {
+        var chunk = reader.nextChunk();
+        if (chunk.isEmpty()) {
+          sink.complete();
+        } else {
+          sink.next(chunk);
+        }
+      } catch (IOException ioException) {
+        sink.error(new CarmlJarException("Exception occurred while reading input.", ioException));
+      }
+
+      return reader;
+    });
+  }
+
+  List<byte[]> nextChunk() throws IOException {
+    return recordFormat == RecordFormat.csv ? nextCsvChunk() : nextLineChunk();
+  }
+
+  private List<byte[]> nextCsvChunk() throws IOException {
+    var record = new ByteArrayOutputStream();
+    if (header == null) {
+      if (!readRecord(record, true)) {
+        return List.of();
+      }
+      header = record.toByteArray();
+    }
+
+    var chunk = new ByteArrayOutputStream();
+    chunk.writeBytes(header);
+    var records = 0;
+    while (records < chunkSize && readRecord(chunk, true)) {
+      records++;
+    }
+
+    return records == 0 ? List.of() : List.of(chunk.toByteArray());
+  }
+
+  private List<byte[]> nextLineChunk() throws IOException {
+    var documents = new ArrayList<byte[]>();
+    var line = new ByteArrayOutputStream();
+    while (documents.size() < chunkSize && readRecord(line, false)) {
+      var document = line.toByteArray();
+      line.reset();
+      if (!isBlank(document)) {
+        documents.add(document);
+      }
+    }
+
+    return documents;
+  }
+
+  /**
+   * Copies the next record, including its line break, to the given {@link ByteArrayOutputStream}.
+   *
+   * @return {@code false} if the input has no more records.
+   */
+  private boolean readRecord(ByteArrayOutputStream output, boolean quoted) throws IOException {
+    var inQuotes = false;
+    var read = false;
+    while (true) {
+      if (position == limit && !fill()) {
+        if (read) {
+          // the last record has no line break, add one so chunks can be concatenated
+          output.write('\n');
+        }
+        return read;
+      }
+
+      var start = position;
+      while (position < limit) {
+        var character = buffer[position++];
+        if (quoted && character == '"') {
+          // an escaped quote toggles twice
+          inQuotes = !inQuotes;
+        } else if (character == '\n' && !inQuotes) {
+          output.write(buffer, start, position - start);
+          return true;
+        }
+      }
+      output.write(buffer, start, position - start);
+      read = true;
+    }
+  }
+
+  private boolean fill() throws IOException {
+    var count = inputStream.read(buffer, 0, buffer.length);
+    if (count <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = count;
+
+    return true;
+  }
+
+  private static boolean isBlank(byte[] document) {
+    for (var character : document) {
+      if (!Character.isWhitespace(character)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,6 @@
+package io.carml.jar.runner.input;
+
+@SuppressWarnings("java:S115")
+public enum RecordFormat {
+  csv, ndjson
+}
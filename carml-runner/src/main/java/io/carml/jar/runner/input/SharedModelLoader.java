@@ -0,0 +1,50 @@
+package io.carml.jar.runner.input;
+
+import io.carml.jar.runner.format.RdfFormat;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+
+/**
+ * {@link ModelLoader} that loads identical mappings only once, for runs that load many mappings in
+ * the same JVM. Mappings are identified by {@link MappingCache#key}, so files are only shared when
+ * their names and contents are the same. Each caller receives its own copy of the loaded
+ * {@link Model}.
+ */
+public class SharedModelLoader implements ModelLoader {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ModelLoader modelLoader;
+
+  private final Map<String, Model> models = new ConcurrentHashMap<>();
+
+  public SharedModelLoader(ModelLoader modelLoader) {
+    this.modelLoader = modelLoader;
+  }
+
+  @Override
+  public Model loadModel(List<Path> paths, RdfFormat rdfFormat) {
+    var key = MappingCache.key(FilePathResolver.resolveFilePaths(paths), rdfFormat);
+    var model = models.computeIfAbsent(key, k -> {
+      LOG.debug("Loading mapping from paths {} ...", paths);
+      return modelLoader.loadModel(paths, rdfFormat);
+    });
+
+    return new LinkedHashModel(model);
+  }
+
+  /**
+   * Returns the number of distinct mappings loaded.
+   *
+   * @return the number of mappings.
+   */
+  public int size() {
+    return models.size();
+  }
+}
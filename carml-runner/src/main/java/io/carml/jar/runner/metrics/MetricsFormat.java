@@ -0,0 +1,21 @@
+package io.carml.jar.runner.metrics;
+
+import java.nio.file.Path;
+
+@SuppressWarnings("java:S115")
+public enum MetricsFormat {
+  json, prometheus;
+
+  /**
+   * Determines the {@link MetricsFormat} for a metrics file path. Paths ending in {@code .prom} are
+   * written in the Prometheus text format, all other paths as JSON.
+   *
+   * @param metricsPath The metrics file path.
+   * @return the {@link MetricsFormat}.
+   */
+  public static MetricsFormat fromPath(Path metricsPath) {
+    return metricsPath.getFileName()
+        .toString()
+        .endsWith(".prom") ? prometheus : json;
+  }
+}
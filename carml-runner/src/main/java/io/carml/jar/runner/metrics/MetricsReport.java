@@ -0,0 +1,43 @@
+package io.carml.jar.runner.metrics;
+
+import io.carml.jar.runner.output.WriterQueueStats;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metrics of a mapping run.
+ *
+ * @param status {@code success}, or {@code failure} if the run ended with an exception.
+ * @param start The start time of the run, in ISO-8601 format.
+ * @param end The end time of the run, in ISO-8601 format.
+ * @param durationSeconds The duration of the run.
+ * @param phaseSeconds The duration of each phase of the run, in order of execution.
+ * @param writerSeconds The accumulated time the writer spent handling statements, which overlaps with
+ *        the {@code mapping} phase when output is streamed.
+ * @param statements The number of statements written.
+ * @param statementsPerSecond The average number of statements written per second.
+ * @param statementRate The statement rate over time.
+ * @param graphStatements The number of statements written per graph. The default graph has key
+ *        {@code ""}.
+ * @param groupStatements The number of statements generated per group of triples maps, keyed by the
+ *        ids of the triples maps of the group. Empty unless the triples maps are mapped in groups.
+ * @param bytesWritten The number of bytes written.
+ * @param peakHeapBytes The sum of the peak usage of each heap memory pool.
+ * @param gcCount The number of garbage collections during the run.
+ * @param gcSeconds The accumulated garbage collection time during the run.
+ * @param writerQueue The writer queue statistics, or {@code null} if no writer queue was used.
+ */
+public record MetricsReport(String status, String start, String end, double durationSeconds,
+    Map<String, Double> phaseSeconds, double writerSeconds, long statements, double statementsPerSecond,
+    List<RateSample> statementRate, Map<String, Long> graphStatements, Map<String, Long> groupStatements,
+    long bytesWritten, long peakHeapBytes, long gcCount, double gcSeconds, WriterQueueStats writerQueue) {
+
+  /**
+   * The statement rate at a point in time.
+   *
+   * @param elapsedSeconds The seconds since the start of the run.
+   * @param statements The number of statements written up to this point.
+   * @param statementsPerSecond The statements written per second since the previous sample.
+   */
+  public record RateSample(double elapsedSeconds, long statements, double statementsPerSecond) {}
+}
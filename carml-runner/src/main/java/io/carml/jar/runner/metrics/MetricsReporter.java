@@ -0,0 +1,145 @@
+package io.carml.jar.runner.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.carml.jar.runner.CarmlJarException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a {@link MetricsReport} as JSON or in the Prometheus text format. The report is written to
+ * a temporary file that is then moved into place, so a Prometheus node exporter textfile collector
+ * never reads a partially written file. Lines of the Prometheus text format always end in
+ * {@code \n}, as the format requires.
+ */
+@Component
+public class MetricsReporter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ObjectMapper objectMapper;
+
+  public MetricsReporter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public void write(MetricsReport report, Path metricsPath, MetricsFormat metricsFormat) {
+    LOG.info("Writing {} metrics to {} ...", metricsFormat, metricsPath);
+    var absolutePath = metricsPath.toAbsolutePath();
+
+    try {
+      Files.createDirectories(absolutePath.getParent());
+      var tmpPath = absolutePath.resolveSibling(absolutePath.getFileName() + ".tmp");
+      try (var writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+        if (metricsFormat == MetricsFormat.prometheus) {
+          writePrometheus(report, writer);
+        } else {
+          objectMapper.writerWithDefaultPrettyPrinter()
+              .writeValue(writer, report);
+        }
+      }
+      move(tmpPath, absolutePath);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Error writing metrics to %s", metricsPath), ioException);
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  static void writePrometheus(MetricsReport report, Writer writer) throws IOException {
+    var peakRate = report.statementRate()
+        .stream()
+        .mapToDouble(MetricsReport.RateSample::statementsPerSecond)
+        .max()
+        .orElse(0.0);
+
+    gauge(writer, "carml_run_success", "Whether the last run succeeded.", report.status()
+        .equals("success") ? 1 : 0);
+    gauge(writer, "carml_run_end_timestamp_seconds", "End time of the last run.",
+        Instant.parse(report.end())
+            .toEpochMilli() / 1000.0);
+    gauge(writer, "carml_run_duration_seconds", "Duration of the last run.", report.durationSeconds());
+    labeled(writer, "carml_phase_duration_seconds", "Duration of each phase of the last run.", "gauge", "phase",
+        report.phaseSeconds());
+    counter(writer, "carml_writer_duration_seconds_total", "Time the writer spent handling statements.",
+        report.writerSeconds());
+    counter(writer, "carml_statements_total", "Statements written.", report.statements());
+    gauge(writer, "carml_statements_per_second", "Average statements written per second.",
+        report.statementsPerSecond());
+    gauge(writer, "carml_statements_per_second_peak", "Highest sampled statements written per second.", peakRate);
+    labeled(writer, "carml_graph_statements_total", "Statements written per graph.", "counter", "graph",
+        report.graphStatements());
+    labeled(writer, "carml_group_statements_total", "Statements generated per group of triples maps.", "counter",
+        "group", report.groupStatements());
+    counter(writer, "carml_bytes_written_total", "Bytes written.", report.bytesWritten());
+    gauge(writer, "carml_heap_peak_bytes", "Sum of the peak usage of each heap memory pool.",
+        report.peakHeapBytes());
+    counter(writer, "carml_gc_collections_total", "Garbage collections during the run.", report.gcCount());
+    counter(writer, "carml_gc_duration_seconds_total", "Accumulated garbage collection time during the run.",
+        report.gcSeconds());
+
+    var writerQueue = report.writerQueue();
+    if (writerQueue != null) {
+      gauge(writer, "carml_writer_queue_capacity", "Capacity of the writer queue, in batches.",
+          writerQueue.capacity());
+      gauge(writer, "carml_writer_queue_depth_max", "Highest number of batches in the writer queue.",
+          writerQueue.maxDepth());
+      gauge(writer, "carml_writer_queue_depth_average", "Average number of batches in the writer queue.",
+          writerQueue.averageDepth());
+      counter(writer, "carml_writer_queue_producer_stall_seconds_total",
+          "Time mapping waited for space in the writer queue.", writerQueue.producerStallSeconds());
+      counter(writer, "carml_writer_queue_writer_wait_seconds_total",
+          "Time the writer waited for statements in the writer queue.", writerQueue.writerWaitSeconds());
+    }
+  }
+
+  private static void gauge(Writer writer, String name, String help, double value) throws IOException {
+    header(writer, name, help, "gauge");
+    writer.write(String.format("%s %s\n", name, format(value)));
+  }
+
+  private static void counter(Writer writer, String name, String help, double value) throws IOException {
+    header(writer, name, help, "counter");
+    writer.write(String.format("%s %s\n", name, format(value)));
+  }
+
+  private static void labeled(Writer writer, String name, String help, String type, String label,
+      Map<String, ? extends Number> values) throws IOException {
+    header(writer, name, help, type);
+    for (var entry : values.entrySet()) {
+      writer.write(String.format("%s{%s=\"%s\"} %s\n", name, label, escapeLabelValue(entry.getKey()),
+          format(entry.getValue()
+              .doubleValue())));
+    }
+  }
+
+  private static void header(Writer writer, String name, String help, String type) throws IOException {
+    writer.write(String.format("# HELP %s %s\n# TYPE %s %s\n", name, help, name, type));
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value)
+        : Double.toString(value);
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\")
+        .replace("\"", "\\\"")
+        .replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,341 @@
+package io.carml.jar.runner.metrics;
+
+import io.carml.jar.runner.metrics.MetricsReport.RateSample;
+import io.carml.jar.runner.output.WriterQueueStats;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+/**
+ * Collects the metrics of a mapping run: phase durations, the time spent in the writer, statement
+ * counts per graph and per group of triples maps, the statement rate over time, bytes written, peak
+ * heap usage and garbage collection totals.<br>
+ * <br>
+ * Statements are counted with {@link LongAdder}s, which keep contention between counting threads
+ * low. The statement rate is sampled once per {@link #SAMPLE_INTERVAL_MILLIS} on a separate thread.
+ * To bound the number of samples for long runs, every other sample is dropped and the sample interval
+ * doubled once there are more than {@link #MAX_SAMPLES} samples.<br>
+ * <br>
+ * Since mapping and writing overlap when output is streamed, the time the writer spends handling
+ * statements is accumulated separately from the phases, see {@link #timeWriter(Flux)}.
+ */
+public class RunMetrics {
+
+  static final long SAMPLE_INTERVAL_MILLIS = 1000;
+
+  static final int MAX_SAMPLES = 1000;
+
+  private final Instant start = Instant.now();
+
+  private final long startNanos = System.nanoTime();
+
+  private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+  private final LongAdder statements = new LongAdder();
+
+  private final LongAdder defaultGraphStatements = new LongAdder();
+
+  private final Map<Resource, LongAdder> graphStatements = new ConcurrentHashMap<>();
+
+  private final Map<String, LongAdder> groupStatements = new ConcurrentHashMap<>();
+
+  private final LongAdder writerNanos = new LongAdder();
+
+  private final List<long[]> samples = new ArrayList<>();
+
+  private final long startGcCount;
+
+  private final long startGcMillis;
+
+  private ScheduledExecutorService sampler;
+
+  private long sampleTicks;
+
+  private int sampleStride = 1;
+
+  private String currentPhase;
+
+  private long currentPhaseStart;
+
+  private long bytesWritten;
+
+  private WriterQueueStats writerQueueStats;
+
+  public RunMetrics() {
+    ManagementFactory.getMemoryPoolMXBeans()
+        .stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .forEach(MemoryPoolMXBean::resetPeakUsage);
+    startGcCount = gcCount();
+    startGcMillis = gcMillis();
+  }
+
+  /**
+   * Ends the current phase, if any, and starts the phase with the given name.
+   *
+   * @param phase The name of the phase.
+   */
+  public synchronized void startPhase(String phase) {
+    endPhase();
+    currentPhase = phase;
+    currentPhaseStart = System.nanoTime();
+  }
+
+  private void endPhase() {
+    if (currentPhase != null) {
+      phaseNanos.merge(currentPhase, System.nanoTime() - currentPhaseStart, Long::sum);
+      currentPhase = null;
+    }
+  }
+
+  /**
+   * Starts the phase with the given name once the {@link Flux} completes.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param phase The name of the phase to start on completion.
+   * @return the {@link Flux}.
+   */
+  public Flux<Statement> startPhaseOnComplete(Flux<Statement> statementFlux, String phase) {
+    return statementFlux.doOnComplete(() -> startPhase(phase));
+  }
+
+  /**
+   * Counts the statements passing through the {@link Flux}, in total and per graph, and starts
+   * sampling the statement rate.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @return the {@link Flux}.
+   */
+  public Flux<Statement> countStatements(Flux<Statement> statementFlux) {
+    startSampling();
+    return statementFlux.doOnNext(this::count);
+  }
+
+  private void count(Statement statement) {
+    statements.increment();
+    var context = statement.getContext();
+    if (context == null) {
+      defaultGraphStatements.increment();
+    } else {
+      var counter = graphStatements.get(context);
+      if (counter == null) {
+        counter = graphStatements.computeIfAbsent(context, graph -> new LongAdder());
+      }
+      counter.increment();
+    }
+  }
+
+  /**
+   * Counts the statements of a group of triples maps passing through the {@link Flux}.
+   *
+   * @param group The key of the group, such as the ids of its triples maps.
+   * @param statementFlux The {@link Flux} of {@link Statement}s of the group.
+   * @return the {@link Flux}.
+   */
+  public Flux<Statement> countGroupStatements(String group, Flux<Statement> statementFlux) {
+    var counter = groupStatements.computeIfAbsent(group, key -> new LongAdder());
+    return statementFlux.doOnNext(statement -> counter.increment());
+  }
+
+  /**
+   * Accumulates the time the subscriber of the {@link Flux}, the writer, spends handling each
+   * statement. Where the writer serializes statements on other threads, this is the time spent handing
+   * statements over to it.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s consumed by the writer.
+   * @return the {@link Flux}.
+   */
+  public Flux<Statement> timeWriter(Flux<Statement> statementFlux) {
+    return statementFlux.transform(Operators.<Statement, Statement>lift(
+        (scannable, subscriber) -> new WriterTimingSubscriber(subscriber, writerNanos)));
+  }
+
+  private synchronized void startSampling() {
+    if (sampler != null) {
+      return;
+    }
+
+    sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "carml-metrics");
+      thread.setDaemon(true);
+      return thread;
+    });
+    sampler.scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void sample() {
+    sampleTicks++;
+    if (sampleTicks % sampleStride != 0) {
+      return;
+    }
+
+    samples.add(new long[] {System.nanoTime() - startNanos, statements.sum()});
+    if (samples.size() > MAX_SAMPLES) {
+      for (int i = samples.size() - 1; i >= 0; i -= 2) {
+        samples.remove(i);
+      }
+      sampleStride *= 2;
+    }
+  }
+
+  public void addBytesWritten(long bytes) {
+    bytesWritten += bytes;
+  }
+
+  public void setWriterQueueStats(WriterQueueStats writerQueueStats) {
+    this.writerQueueStats = writerQueueStats;
+  }
+
+  /**
+   * Ends the current phase and sampling, and reports the collected metrics.
+   *
+   * @param success Whether the run succeeded.
+   * @return the {@link MetricsReport}.
+   */
+  public synchronized MetricsReport finish(boolean success) {
+    endPhase();
+    if (sampler != null) {
+      sampler.shutdownNow();
+    }
+
+    var durationNanos = System.nanoTime() - startNanos;
+    var statementCount = statements.sum();
+    samples.add(new long[] {durationNanos, statementCount});
+
+    var phaseSeconds = new LinkedHashMap<String, Double>();
+    phaseNanos.forEach((phase, nanos) -> phaseSeconds.put(phase, seconds(nanos)));
+
+    var graphCounts = new LinkedHashMap<String, Long>();
+    if (defaultGraphStatements.sum() > 0) {
+      graphCounts.put("", defaultGraphStatements.sum());
+    }
+    graphStatements.forEach((graph, counter) -> graphCounts.put(graph.stringValue(), counter.sum()));
+
+    var groupCounts = new TreeMap<String, Long>();
+    groupStatements.forEach((group, counter) -> groupCounts.put(group, counter.sum()));
+
+    return new MetricsReport(success ? "success" : "failure", start.toString(), start.plusNanos(durationNanos)
+        .toString(), seconds(durationNanos), phaseSeconds, writerNanos.sum() / 1_000_000_000.0, statementCount,
+        statementCount / seconds(durationNanos), rateSamples(), graphCounts, groupCounts, bytesWritten,
+        peakHeapBytes(), gcCount() - startGcCount, (gcMillis() - startGcMillis) / 1000.0, writerQueueStats);
+  }
+
+  private List<RateSample> rateSamples() {
+    var rateSamples = new ArrayList<RateSample>(samples.size());
+    long previousNanos = 0;
+    long previousStatements = 0;
+    for (var sample : samples) {
+      var intervalNanos = sample[0] - previousNanos;
+      var rate = intervalNanos > 0 ? (sample[1] - previousStatements) / seconds(intervalNanos) : 0.0;
+      rateSamples.add(new RateSample(seconds(sample[0]), sample[1], rate));
+      previousNanos = sample[0];
+      previousStatements = sample[1];
+    }
+
+    return rateSamples;
+  }
+
+  private static double seconds(long nanos) {
+    return Math.max(nanos, 1) / 1_000_000_000.0;
+  }
+
+  private static long peakHeapBytes() {
+    return ManagementFactory.getMemoryPoolMXBeans()
+        .stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .mapToLong(pool -> pool.getPeakUsage()
+            .getUsed())
+        .sum();
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans()
+        .stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+        .filter(count -> count > 0)
+        .sum();
+  }
+
+  private static long gcMillis() {
+    return ManagementFactory.getGarbageCollectorMXBeans()
+        .stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+        .filter(millis -> millis > 0)
+        .sum();
+  }
+
+  /**
+   * Passes signals on to the writer, timing its handling of each statement. Since it does not pass on
+   * the upstream subscription, the writer cannot fuse with the upstream and bypass the timing.
+   */
+  private static final class WriterTimingSubscriber implements CoreSubscriber<Statement>, Subscription {
+
+    private final CoreSubscriber<? super Statement> actual;
+
+    private final LongAdder nanos;
+
+    private Subscription subscription;
+
+    WriterTimingSubscriber(CoreSubscriber<? super Statement> actual, LongAdder nanos) {
+      this.actual = actual;
+      this.nanos = nanos;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(Statement statement) {
+      var startNanos = System.nanoTime();
+      actual.onNext(statement);
+      nanos.add(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      actual.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+      return actual.currentContext();
+    }
+
+    @Override
+    public void request(long n) {
+      subscription.request(n);
+    }
+
+    @Override
+    public void cancel() {
+      subscription.cancel();
+    }
+  }
+}
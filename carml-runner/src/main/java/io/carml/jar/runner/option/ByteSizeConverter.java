@@ -0,0 +1,45 @@
+package io.carml.jar.runner.option;
+
+import java.util.Locale;
+import picocli.CommandLine;
+import picocli.CommandLine.TypeConversionException;
+
+/**
+ * Converts a byte size such as {@code 512}, {@code 64k}, {@code 256m} or {@code 2g} to a number of
+ * bytes.
+ */
+public class ByteSizeConverter implements CommandLine.ITypeConverter<Long> {
+
+  @Override
+  public Long convert(String byteSize) throws Exception {
+    var value = byteSize.trim()
+        .toLowerCase(Locale.ROOT);
+
+    if (value.endsWith("b")) {
+      value = value.substring(0, value.length() - 1);
+    }
+
+    var unit = value.isEmpty() ? ' ' : value.charAt(value.length() - 1);
+    var multiplier = switch (unit) {
+      case 'k' -> 1L << 10;
+      case 'm' -> 1L << 20;
+      case 'g' -> 1L << 30;
+      case 't' -> 1L << 40;
+      default -> 1L;
+    };
+
+    if (multiplier > 1) {
+      value = value.substring(0, value.length() - 1);
+    }
+
+    try {
+      var size = Long.parseLong(value);
+      if (size <= 0) {
+        throw new TypeConversionException(String.format("`%s` is not a positive byte size", byteSize));
+      }
+      return Math.multiplyExact(size, multiplier);
+    } catch (NumberFormatException | ArithmeticException exception) {
+      throw new TypeConversionException(String.format("`%s` is not a valid byte size", byteSize));
+    }
+  }
+}
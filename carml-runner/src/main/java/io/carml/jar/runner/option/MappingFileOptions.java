@@ -14,6 +14,18 @@ public class MappingFileOptions {
   @ArgGroup(exclusive = false, order = OptionOrder.MAPPING_ORDER, multiplicity = "1")
   private Group group;
 
+  @Option(names = {"--mapping-cache"}, order = OptionOrder.MAPPING_CACHE_ORDER,
+      description = {"Cache loaded mappings in this directory. Runs with unchanged mapping files and format load",
+          "the mapping from the cache instead of parsing the mapping files. Prefix mapping files (`-pm`) are",
+          "cached in the same way."})
+  private Optional<Path> mappingCache;
+
+  @Option(names = {"--mapping-cache-size"}, order = OptionOrder.MAPPING_CACHE_SIZE_ORDER, defaultValue = "256m",
+      converter = ByteSizeConverter.class,
+      description = {"Size limit of the mapping cache directory. When exceeded, the least recently used entries are",
+          "removed. Default: ${DEFAULT-VALUE}."})
+  private long mappingCacheSize;
+
   @Getter
   public static class Group {
     @Option(names = {"-m", "--mapping"}, order = OptionOrder.MAPPING_ORDER, required = true,
@@ -0,0 +1,27 @@
+package io.carml.jar.runner.option;
+
+import io.carml.jar.runner.metrics.MetricsFormat;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine.Option;
+
+@Getter
+@Component
+public class MetricsOptions {
+
+  @Option(names = {"--metrics"}, order = OptionOrder.METRICS_ORDER,
+      description = {"Write run metrics to this file: phase durations, statement counts and rate, bytes written,",
+          "peak heap and GC totals. Paths ending in .prom are written in the Prometheus text format, others as JSON."})
+  private Optional<Path> metricsPath;
+
+  @Option(names = {"--metrics-format"}, order = OptionOrder.METRICS_FORMAT_ORDER,
+      description = {"Format of the metrics file. Supported values are ${COMPLETION-CANDIDATES}.",
+          "If not specified, the format is determined by the metrics file extension."})
+  private Optional<MetricsFormat> metricsFormat;
+
+  public boolean isMetrics() {
+    return metricsPath.isPresent();
+  }
+}
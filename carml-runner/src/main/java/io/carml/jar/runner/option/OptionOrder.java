@@ -10,6 +10,8 @@ public final class OptionOrder {
 
   public static final int REL_SRC_LOC_ORDER = 30;
 
+  public static final int INPUT_ORDER = 35;
+
   public static final int OUT_FORMAT_ORDER = 40;
 
   public static final int OUTPUT_ORDER = 50;
@@ -24,5 +26,63 @@ public final class OptionOrder {
 
   public static final int LIMIT_ORDER = 100;
 
-  public static final int VERBOSITY_ORDER = 110;
+  public static final int WRITER_THREADS_ORDER = 110;
+
+  public static final int ORDERED_OUTPUT_ORDER = 120;
+
+  public static final int DEDUP_ORDER = 130;
+
+  public static final int DEDUP_MEMORY_ORDER = 140;
+
+  public static final int PRETTY_SPILL_ORDER = 150;
+
+  public static final int SPILL_RUN_SIZE_ORDER = 160;
+
+  public static final int SPLIT_SIZE_ORDER = 170;
+
+  public static final int SPLIT_COUNT_ORDER = 180;
+
+  public static final int COMPRESS_ORDER = 190;
+
+  public static final int COMPRESSION_THREADS_ORDER = 200;
+
+  public static final int METRICS_ORDER = 210;
+
+  public static final int METRICS_FORMAT_ORDER = 220;
+
+  public static final int WRITER_QUEUE_ORDER = 230;
+
+  public static final int WRITER_WAIT_STRATEGY_ORDER = 240;
+
+  public static final int MAPPING_CACHE_ORDER = 250;
+
+  public static final int MAPPING_CACHE_SIZE_ORDER = 260;
+
+  public static final int PARALLELISM_ORDER = 270;
+
+  public static final int CHUNK_SIZE_ORDER = 280;
+
+  public static final int HOST_ORDER = 290;
+
+  public static final int PORT_ORDER = 300;
+
+  public static final int MAX_CONCURRENT_REQUESTS_ORDER = 310;
+
+  public static final int MAPPER_CACHE_SIZE_ORDER = 320;
+
+  public static final int CONCURRENCY_ORDER = 330;
+
+  public static final int SUMMARY_ORDER = 340;
+
+  public static final int INCREMENTAL_ORDER = 350;
+
+  public static final int DELTA_REMOVED_ORDER = 360;
+
+  public static final int WATCH_ORDER = 370;
+
+  public static final int AUTO_PREFIXES_ORDER = 380;
+
+  public static final int AUTO_PREFIXES_SAMPLE_ORDER = 390;
+
+  public static final int VERBOSITY_ORDER = 1000;
 }
@@ -1,5 +1,7 @@
 package io.carml.jar.runner.option;
 
+import io.carml.jar.runner.output.CompressionFormat;
+import io.carml.jar.runner.output.WaitStrategy;
 import java.nio.file.Path;
 import java.util.Optional;
 import lombok.Getter;
@@ -34,4 +36,59 @@ public class OutputOptions {
   @Option(names = {"-l", "--limit"}, order = OptionOrder.LIMIT_ORDER,
       description = "Limit the number of statements generated by the amount provided.")
   private Optional<Long> limit;
+
+  @Option(names = {"--writer-threads"}, order = OptionOrder.WRITER_THREADS_ORDER, defaultValue = "1",
+      description = {"Number of threads used to serialize line-based output formats (nt, nq).",
+          "Default: ${DEFAULT-VALUE}."})
+  private int writerThreads;
+
+  @Option(names = {"--ordered-output"}, order = OptionOrder.ORDERED_OUTPUT_ORDER,
+      description = {"Preserve the generated statement order when serializing with multiple writer threads, or when",
+          "mapping a stream source in chunks."})
+  private boolean orderedOutput;
+
+  @Option(names = {"--pretty-spill"}, order = OptionOrder.PRETTY_SPILL_ORDER,
+      description = {"When serializing pretty printed Turtle or TriG, sort statements on disk instead of collecting",
+          "them in memory. Use together with --pretty."})
+  private boolean prettySpill;
+
+  @Option(names = {"--spill-run-size"}, order = OptionOrder.SPILL_RUN_SIZE_ORDER, defaultValue = "1000000",
+      description = {"Maximum number of statements held in memory per sorted run when using --pretty-spill.",
+          "Default: ${DEFAULT-VALUE}."})
+  private int spillRunSize;
+
+  @Option(names = {"--split-size"}, order = OptionOrder.SPLIT_SIZE_ORDER, converter = ByteSizeConverter.class,
+      description = {"Roll output over to a new part file once a part reaches this size, for example 512m or 2g.",
+          "Requires an output path and a streamable output format."})
+  private Optional<Long> splitSize;
+
+  @Option(names = {"--split-count"}, order = OptionOrder.SPLIT_COUNT_ORDER,
+      description = {"Roll output over to a new part file once a part contains this number of statements.",
+          "Requires an output path and a streamable output format."})
+  private Optional<Long> splitCount;
+
+  public boolean isSplit() {
+    return splitSize.isPresent() || splitCount.isPresent();
+  }
+
+  @Option(names = {"--compress"}, order = OptionOrder.COMPRESS_ORDER,
+      description = {"Compress output written to an output path. Supported values are ${COMPLETION-CANDIDATES}.",
+          "If not specified, output paths ending in .gz, .zst or .bz2 are compressed accordingly."})
+  private Optional<CompressionFormat> compression;
+
+  @Option(names = {"--compression-threads"}, order = OptionOrder.COMPRESSION_THREADS_ORDER,
+      description = {"Number of threads used to compress output.",
+          "If not specified, one thread per available processor is used."})
+  private Optional<Integer> compressionThreads;
+
+  @Option(names = {"--writer-queue"}, order = OptionOrder.WRITER_QUEUE_ORDER, arity = "0..1", paramLabel = "capacity",
+      fallbackValue = "1024",
+      description = {"Serialize streamable output on a dedicated writer thread, fed through a queue holding the given",
+          "number of batches of statements. Default capacity: ${FALLBACK-VALUE}."})
+  private Optional<Integer> writerQueue;
+
+  @Option(names = {"--writer-wait-strategy"}, order = OptionOrder.WRITER_WAIT_STRATEGY_ORDER, defaultValue = "sleeping",
+      description = {"How the mapping and writer threads wait on a full or empty writer queue.",
+          "Supported values are ${COMPLETION-CANDIDATES}. Default: ${DEFAULT-VALUE}."})
+  private WaitStrategy writerWaitStrategy;
 }
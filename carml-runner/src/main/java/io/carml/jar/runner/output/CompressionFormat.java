@@ -0,0 +1,81 @@
+package io.carml.jar.runner.output;
+
+import com.github.luben.zstd.Zstd;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+
+/**
+ * Compression formats for output. Each format compresses a block of data into a self-contained
+ * member, which can be concatenated with other members into a stream that standard tools decompress
+ * as a whole.
+ */
+@SuppressWarnings("java:S115")
+public enum CompressionFormat {
+
+  gzip(".gz") {
+    @Override
+    byte[] compressBlock(byte[] block, int length) throws IOException {
+      var bytes = new ByteArrayOutputStream(length / 2);
+      try (var gzipOutputStream = new GZIPOutputStream(bytes)) {
+        gzipOutputStream.write(block, 0, length);
+      }
+      return bytes.toByteArray();
+    }
+  },
+
+  zstd(".zst") {
+    @Override
+    byte[] compressBlock(byte[] block, int length) {
+      return Zstd.compress(length == block.length ? block : Arrays.copyOf(block, length), ZSTD_LEVEL);
+    }
+  },
+
+  bzip2(".bz2") {
+    @Override
+    byte[] compressBlock(byte[] block, int length) throws IOException {
+      var bytes = new ByteArrayOutputStream(length / 2);
+      try (var bzip2OutputStream = new BZip2CompressorOutputStream(bytes)) {
+        bzip2OutputStream.write(block, 0, length);
+      }
+      return bytes.toByteArray();
+    }
+  };
+
+  private static final int ZSTD_LEVEL = 3;
+
+  private final String extension;
+
+  CompressionFormat(String extension) {
+    this.extension = extension;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * Compresses the first {@code length} bytes of {@code block} into a self-contained gzip member,
+   * zstd frame or bzip2 stream.
+   */
+  abstract byte[] compressBlock(byte[] block, int length) throws IOException;
+
+  /**
+   * Determines the {@link CompressionFormat} from the file extension of a path.
+   *
+   * @param path The path.
+   * @return the {@link CompressionFormat} matching the file extension, if any.
+   */
+  public static Optional<CompressionFormat> fromPath(Path path) {
+    var fileName = path.getFileName()
+        .toString();
+
+    return Arrays.stream(values())
+        .filter(format -> fileName.endsWith(format.extension))
+        .findFirst();
+  }
+}
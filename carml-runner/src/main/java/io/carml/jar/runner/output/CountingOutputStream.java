@@ -0,0 +1,36 @@
+package io.carml.jar.runner.output;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} that counts the bytes written through it.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+
+  private long count;
+
+  public CountingOutputStream(OutputStream outputStream) {
+    super(outputStream);
+  }
+
+  @Override
+  public void write(int value) throws IOException {
+    out.write(value);
+    count++;
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    out.write(bytes, offset, length);
+    count += length;
+  }
+
+  /**
+   * @return the number of bytes written so far.
+   */
+  public long getCount() {
+    return count;
+  }
+}
@@ -0,0 +1,64 @@
+package io.carml.jar.runner.output;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of the encoded bytes of RDF terms. Once full, the least recently used term is
+ * evicted. Not thread-safe, a cache belongs to a single writer.
+ *
+ * @param <T> The term type.
+ */
+public final class EncodedTermCache<T> {
+
+  public static final int DEFAULT_SIZE = 4096;
+
+  private final Map<T, byte[]> cache;
+
+  private long hits;
+
+  private long misses;
+
+  public EncodedTermCache() {
+    this(DEFAULT_SIZE);
+  }
+
+  public EncodedTermCache(int maxSize) {
+    this.cache = new LinkedHashMap<>(Math.min(maxSize, DEFAULT_SIZE) * 2, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<T, byte[]> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the encoded bytes of {@code term}, encoding and caching them on a miss.
+   *
+   * @param term The term.
+   * @param encoder Encodes the term.
+   * @return the encoded bytes. The array is shared and must not be modified.
+   */
+  public byte[] get(T term, Function<T, byte[]> encoder) {
+    var encoded = cache.get(term);
+    if (encoded != null) {
+      hits++;
+      return encoded;
+    }
+
+    misses++;
+    encoded = encoder.apply(term);
+    cache.put(term, encoded);
+
+    return encoded;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+}
@@ -0,0 +1,182 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Sorts statements in {@link StatementOrder} using a bounded amount of heap.<br>
+ * <br>
+ * Statements are collected in runs of at most {@code runSize} statements. Each full run is sorted and
+ * spilled to a file in {@code directory}. The sorted statements are produced by a k-way merge of the
+ * spilled runs. When all statements fit in a single run nothing is written to disk.
+ */
+public final class ExternalStatementSorter implements AutoCloseable {
+
+  private static final int MAX_FAN_IN = 128;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Path directory;
+
+  private final String name;
+
+  private final int runSize;
+
+  private final List<Statement> buffer = new ArrayList<>();
+
+  private final List<Path> runs = new ArrayList<>();
+
+  private int runCounter;
+
+  public ExternalStatementSorter(Path directory, String name, int runSize) {
+    this.directory = directory;
+    this.name = name;
+    this.runSize = runSize;
+  }
+
+  public void add(Statement statement) {
+    buffer.add(statement);
+    if (buffer.size() >= runSize) {
+      spill();
+    }
+  }
+
+  public int getSpilledRunCount() {
+    return runCounter;
+  }
+
+  /**
+   * Passes all added statements to {@code consumer} in {@link StatementOrder}. Can only be called once.
+   */
+  public void forEachSorted(Consumer<Statement> consumer) {
+    if (runs.isEmpty()) {
+      buffer.sort(StatementOrder.INSTANCE);
+      buffer.forEach(consumer);
+      buffer.clear();
+      return;
+    }
+
+    if (!buffer.isEmpty()) {
+      spill();
+    }
+
+    while (runs.size() > MAX_FAN_IN) {
+      var toMerge = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+      runs.subList(0, MAX_FAN_IN)
+          .clear();
+      runs.add(mergeToRun(toMerge));
+    }
+
+    merge(new ArrayList<>(runs), consumer);
+    runs.clear();
+  }
+
+  private void spill() {
+    buffer.sort(StatementOrder.INSTANCE);
+    runs.add(writeRun(buffer::forEach));
+    buffer.clear();
+  }
+
+  private Path mergeToRun(List<Path> toMerge) {
+    return writeRun(consumer -> merge(toMerge, consumer));
+  }
+
+  private Path writeRun(Consumer<Consumer<Statement>> source) {
+    var run = directory.resolve(String.format("%s-%05d.run", name, runCounter++));
+    var codec = new StatementCodec();
+    try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+      source.accept(statement -> {
+        try {
+          codec.writeStatement(output, statement);
+        } catch (IOException ioException) {
+          throw new UncheckedIOException(ioException);
+        }
+      });
+    } catch (IOException | UncheckedIOException exception) {
+      throw new CarmlJarException("Exception occurred while spilling statements to disk.", exception);
+    }
+    return run;
+  }
+
+  private static void merge(List<Path> toMerge, Consumer<Statement> consumer) {
+    var readers = new ArrayList<RunReader>(toMerge.size());
+    try {
+      var queue = new PriorityQueue<RunReader>(toMerge.size(),
+          (reader, other) -> StatementOrder.INSTANCE.compare(reader.current, other.current));
+      for (var run : toMerge) {
+        var reader = new RunReader(run);
+        readers.add(reader);
+        if (reader.advance()) {
+          queue.add(reader);
+        }
+      }
+
+      while (!queue.isEmpty()) {
+        var reader = queue.poll();
+        consumer.accept(reader.current);
+        if (reader.advance()) {
+          queue.add(reader);
+        }
+      }
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while reading spilled statements.", ioException);
+    } finally {
+      readers.forEach(RunReader::close);
+    }
+
+    toMerge.forEach(ExternalStatementSorter::delete);
+  }
+
+  private static void delete(Path run) {
+    try {
+      Files.deleteIfExists(run);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Could not remove spill file %s", run), ioException);
+    }
+  }
+
+  @Override
+  public void close() {
+    buffer.clear();
+    runs.forEach(ExternalStatementSorter::delete);
+    runs.clear();
+  }
+
+  private static final class RunReader {
+
+    private final DataInputStream input;
+
+    private final StatementCodec codec = new StatementCodec();
+
+    private Statement current;
+
+    RunReader(Path run) throws IOException {
+      this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+    }
+
+    boolean advance() throws IOException {
+      current = codec.readStatement(input);
+      return current != null;
+    }
+
+    void close() {
+      try {
+        input.close();
+      } catch (IOException ioException) {
+        throw new CarmlJarException("Could not close spill file.", ioException);
+      }
+    }
+  }
+}
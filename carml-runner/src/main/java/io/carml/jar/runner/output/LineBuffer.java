@@ -0,0 +1,137 @@
+package io.carml.jar.runner.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Reusable byte buffer for writing line-based RDF to an {@link OutputStream}. Encoded terms are
+ * written straight into the buffer, which is passed on to the {@link OutputStream} once it is filled
+ * past a threshold at the end of a line.<br>
+ * <br>
+ * {@link #writeAscii(String, boolean[])} is the allocation-free fast path: it copies the characters of
+ * a string as single bytes, provided they are all ASCII characters that need no escaping. If not, it
+ * writes nothing, and the caller falls back to a full encoder.
+ */
+public final class LineBuffer {
+
+  static final int DEFAULT_SIZE = 1 << 16;
+
+  private final OutputStream outputStream;
+
+  private final int flushThreshold;
+
+  private byte[] bytes;
+
+  private int position;
+
+  public LineBuffer(OutputStream outputStream) {
+    this(outputStream, DEFAULT_SIZE);
+  }
+
+  LineBuffer(OutputStream outputStream, int size) {
+    this.outputStream = outputStream;
+    this.bytes = new byte[size];
+    this.flushThreshold = size / 2;
+  }
+
+  /**
+   * Creates a lookup table of the ASCII characters that {@link #writeAscii(String, boolean[])} may copy
+   * as is.
+   *
+   * @param allowed Whether a character may be copied as is.
+   * @return the lookup table.
+   */
+  public static boolean[] asciiTable(IntPredicate allowed) {
+    var table = new boolean[128];
+    for (int character = 0; character < table.length; character++) {
+      table[character] = allowed.test(character);
+    }
+
+    return table;
+  }
+
+  public void write(int value) {
+    ensureCapacity(1);
+    bytes[position++] = (byte) value;
+  }
+
+  public void write(byte[] value) {
+    ensureCapacity(value.length);
+    System.arraycopy(value, 0, bytes, position, value.length);
+    position += value.length;
+  }
+
+  public void writeUtf8(String value) {
+    write(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes the characters of {@code value} as single bytes, if all of them are allowed by
+   * {@code allowed}.
+   *
+   * @param value The string to write.
+   * @param allowed The lookup table of allowed ASCII characters, see {@link #asciiTable(IntPredicate)}.
+   * @return whether {@code value} was written. If not, the buffer is left unchanged.
+   */
+  public boolean writeAscii(String value, boolean[] allowed) {
+    var length = value.length();
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      var character = value.charAt(i);
+      if (character >= allowed.length || !allowed[character]) {
+        return false;
+      }
+      bytes[position + i] = (byte) character;
+    }
+    position += length;
+
+    return true;
+  }
+
+  /**
+   * @return the current position, to {@link #reset(int)} to when a fast path fails halfway.
+   */
+  public int position() {
+    return position;
+  }
+
+  public void reset(int mark) {
+    position = mark;
+  }
+
+  /**
+   * Marks the end of a line, passing the buffer on to the {@link OutputStream} if it is filled past the
+   * threshold.
+   *
+   * @throws IOException if writing to the {@link OutputStream} fails.
+   */
+  public void endLine() throws IOException {
+    if (position >= flushThreshold) {
+      writeOut();
+    }
+  }
+
+  /**
+   * Passes the buffer on to the {@link OutputStream} and flushes it.
+   *
+   * @throws IOException if writing to the {@link OutputStream} fails.
+   */
+  public void flush() throws IOException {
+    writeOut();
+    outputStream.flush();
+  }
+
+  private void writeOut() throws IOException {
+    outputStream.write(bytes, 0, position);
+    position = 0;
+  }
+
+  private void ensureCapacity(int length) {
+    if (position + length > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + length));
+    }
+  }
+}
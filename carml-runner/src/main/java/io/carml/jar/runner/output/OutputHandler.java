@@ -1,5 +1,10 @@
 package io.carml.jar.runner.output;
 
+import static io.carml.jar.runner.format.RdfFormat.trig;
+import static io.carml.jar.runner.format.RdfFormat.ttl;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.output.pretty.SpillingPrettyWriter;
 import java.io.OutputStream;
 import java.util.Map;
 import lombok.NonNull;
@@ -46,4 +51,122 @@ public interface OutputHandler {
    * @return {@code boolean} value indicating streamability.
    */
   boolean isFormatStreamable(@NonNull String rdfFormat, boolean pretty);
+
+  /**
+   * Open a {@link StatementWriter} that writes statements to the provided {@link OutputStream} as RDF
+   * in the referenced RDF format in a streaming fashion. The RDF format must be streamable.<br>
+   * <br>
+   * Implementations that do not support statement writers throw a {@link CarmlJarException}, see
+   * {@link #isStreamingWriterSupported(String, boolean)}.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @return the {@link StatementWriter}.
+   */
+  default StatementWriter openStreamingWriter(@NonNull String rdfFormat, @NonNull Map<String, String> namespaces,
+      @NonNull OutputStream outputStream) {
+    throw new CarmlJarException(
+        String.format("Output handler %s does not support writing format `%s` statement by statement.", getClass()
+            .getName(), rdfFormat));
+  }
+
+  /**
+   * Determines whether {@link #openStreamingWriter(String, Map, OutputStream)} can open a
+   * {@link StatementWriter} for the RDF format reference, taking into account the value of
+   * {@code pretty}. Split and queued output need such a writer.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @param pretty The {@code boolean} value.
+   * @return {@code boolean} value indicating support for statement writers.
+   */
+  default boolean isStreamingWriterSupported(@NonNull String rdfFormat, boolean pretty) {
+    return false;
+  }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
+   * referenced RDF format in a streaming fashion, serializing on the dedicated writer thread of the
+   * provided {@link WriterQueue}. The RDF format must be streamable.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param rdfFormat The RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @param writerQueue The {@link WriterQueue}.
+   * @return the number of statements written.
+   */
+  default long outputQueued(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+      @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream, @NonNull WriterQueue writerQueue) {
+    try (var statementWriter = openStreamingWriter(rdfFormat, namespaces, outputStream)) {
+      return writerQueue.write(statementFlux, statementWriter);
+    }
+  }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
+   * referenced RDF format, serializing on {@code writerThreads} threads.<br>
+   * <br>
+   * Implementations that do not support parallel serialization fall back to
+   * {@link #outputStreaming(Flux, String, Map, OutputStream)}.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param rdfFormat The RDF format reference.
+   * @param outputStream The {@link OutputStream}.
+   * @param writerThreads The number of serialization threads.
+   * @param ordered Whether the statement order must be preserved in the output.
+   * @return the number of statements written.
+   */
+  default long outputParallel(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+      @NonNull OutputStream outputStream, int writerThreads, boolean ordered) {
+    return outputStreaming(statementFlux, rdfFormat, Map.of(), outputStream);
+  }
+
+  /**
+   * Determines whether the RDF format reference can be serialized in parallel.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @return {@code boolean} value indicating parallelizability.
+   */
+  default boolean isFormatParallelizable(@NonNull String rdfFormat) {
+    return false;
+  }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as RDF in the
+   * referenced RDF format in a pretty fashion, spilling to disk instead of collecting all statements
+   * in memory.<br>
+   * <br>
+   * Turtle and TriG are written by the {@link SpillingPrettyWriter}. Other formats fall back to
+   * {@link #outputPretty(Flux, String, Map, OutputStream)}.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param rdfFormat The RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @param runSize The maximum number of statements sorted in memory at once.
+   * @return the number of statements written.
+   */
+  default long outputPrettySpilling(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+      @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream, int runSize) {
+    if (!isFormatSpillable(rdfFormat)) {
+      return outputPretty(statementFlux, rdfFormat, namespaces, outputStream);
+    }
+
+    return SpillingPrettyWriter.write(statementFlux, namespaces, outputStream, trig.name()
+        .equals(rdfFormat), runSize);
+  }
+
+  /**
+   * Determines whether the RDF format reference can be pretty printed while spilling to disk.
+   *
+   * @param rdfFormat The RDF format reference.
+   * @return {@code boolean} value indicating whether pretty output can spill to disk.
+   */
+  default boolean isFormatSpillable(@NonNull String rdfFormat) {
+    return ttl.name()
+        .equals(rdfFormat)
+        || trig.name()
+            .equals(rdfFormat);
+  }
 }
@@ -0,0 +1,26 @@
+package io.carml.jar.runner.output;
+
+import java.util.Set;
+
+/**
+ * Provides the {@link OutputHandler} and the supported RDF output formats of an output module to the
+ * {@link io.carml.jar.runner.CarmlLauncher}, which looks it up through a {@link java.util.ServiceLoader}
+ * instead of a Spring context. An output module registers its implementation in
+ * {@code META-INF/services/io.carml.jar.runner.output.OutputProvider}.
+ */
+public interface OutputProvider {
+
+  /**
+   * Returns the {@link OutputHandler} writing the output.
+   *
+   * @return the {@link OutputHandler}.
+   */
+  OutputHandler getOutputHandler();
+
+  /**
+   * Returns the default file extensions of the RDF formats the {@link OutputHandler} can write.
+   *
+   * @return the {@link Set} of RDF formats.
+   */
+  Set<String> getRdfFormats();
+}
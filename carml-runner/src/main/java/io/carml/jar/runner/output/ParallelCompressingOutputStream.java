@@ -0,0 +1,176 @@
+package io.carml.jar.runner.output;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link OutputStream} that compresses its data in independent blocks on a pool of compression
+ * threads, in the style of pigz.<br>
+ * <br>
+ * Written data is collected in blocks of {@code blockSize} bytes. Each full block is handed to a
+ * compression thread, which compresses it into a self-contained gzip member, zstd frame or bzip2
+ * stream. Compressed blocks are written to the underlying {@link OutputStream} in order, so the
+ * result is a concatenation of members that standard tools decompress as a single stream. At most
+ * twice as many blocks as threads are in flight; beyond that, writing waits for the oldest block to be
+ * compressed.<br>
+ * <br>
+ * {@link #flush()} only flushes blocks that have been compressed already, to avoid producing many
+ * small members. Remaining data is compressed and written on {@link #close()}.
+ */
+public class ParallelCompressingOutputStream extends OutputStream {
+
+  public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+  private final OutputStream outputStream;
+
+  private final CompressionFormat compressionFormat;
+
+  private final ExecutorService executor;
+
+  private final int blockSize;
+
+  private final int maxPendingBlocks;
+
+  private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+  private final long startNanos = System.nanoTime();
+
+  private byte[] block;
+
+  private int blockLength;
+
+  private long blockCount;
+
+  private long uncompressedBytes;
+
+  private long compressedBytes;
+
+  private Duration duration;
+
+  public ParallelCompressingOutputStream(OutputStream outputStream, CompressionFormat compressionFormat,
+      int threads) {
+    this(outputStream, compressionFormat, threads, DEFAULT_BLOCK_SIZE);
+  }
+
+  ParallelCompressingOutputStream(OutputStream outputStream, CompressionFormat compressionFormat, int threads,
+      int blockSize) {
+    this.outputStream = outputStream;
+    this.compressionFormat = compressionFormat;
+    this.blockSize = blockSize;
+    this.maxPendingBlocks = threads * 2;
+    this.block = new byte[blockSize];
+
+    var threadCounter = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      var thread = new Thread(runnable, "carml-compress-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public void write(int value) throws IOException {
+    block[blockLength++] = (byte) value;
+    if (blockLength == blockSize) {
+      submitBlock();
+    }
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    while (length > 0) {
+      var chunk = Math.min(length, blockSize - blockLength);
+      System.arraycopy(bytes, offset, block, blockLength, chunk);
+      blockLength += chunk;
+      offset += chunk;
+      length -= chunk;
+
+      if (blockLength == blockSize) {
+        submitBlock();
+      }
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    var toCompress = block;
+    var length = blockLength;
+    pendingBlocks.add(executor.submit(() -> compressionFormat.compressBlock(toCompress, length)));
+    uncompressedBytes += length;
+    blockCount++;
+
+    block = new byte[blockSize];
+    blockLength = 0;
+
+    while (pendingBlocks.size() > maxPendingBlocks) {
+      writeBlock(pendingBlocks.poll());
+    }
+  }
+
+  private void writeBlock(Future<byte[]> pendingBlock) throws IOException {
+    try {
+      var compressed = pendingBlock.get();
+      outputStream.write(compressed);
+      compressedBytes += compressed.length;
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread()
+          .interrupt();
+      throw new InterruptedIOException("Interrupted while compressing output.");
+    } catch (ExecutionException executionException) {
+      throw new IOException("Exception occurred while compressing output.", executionException.getCause());
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    while (!pendingBlocks.isEmpty() && pendingBlocks.peek()
+        .isDone()) {
+      writeBlock(pendingBlocks.poll());
+    }
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (duration != null) {
+      return;
+    }
+
+    try {
+      // an empty stream still needs one member to be a valid compressed file
+      if (blockLength > 0 || blockCount == 0) {
+        submitBlock();
+      }
+      while (!pendingBlocks.isEmpty()) {
+        writeBlock(pendingBlocks.poll());
+      }
+    } finally {
+      executor.shutdownNow();
+      duration = Duration.ofNanos(System.nanoTime() - startNanos);
+      outputStream.close();
+    }
+  }
+
+  public long getUncompressedBytes() {
+    return uncompressedBytes;
+  }
+
+  public long getCompressedBytes() {
+    return compressedBytes;
+  }
+
+  /**
+   * @return the time from opening to closing the stream, or {@code null} if the stream is still open.
+   */
+  public Duration getDuration() {
+    return duration;
+  }
+}
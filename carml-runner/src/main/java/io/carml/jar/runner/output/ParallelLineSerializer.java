@@ -0,0 +1,97 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serializes line-based RDF formats (N-Triples, N-Quads) using multiple threads.<br>
+ * <br>
+ * Statements are buffered into batches which are encoded into byte chunks on a pool of worker
+ * threads. A single sink thread appends the finished chunks to the {@link OutputStream}. By default
+ * chunks are appended in order of completion. In ordered mode chunks are appended in the order in
+ * which their statements were received.
+ */
+public final class ParallelLineSerializer {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  private ParallelLineSerializer() {}
+
+  /**
+   * Serialize a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} using
+   * {@code writerThreads} encoding threads.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param batchEncoder The {@link StatementBatchEncoder} used to encode batches of statements.
+   * @param outputStream The {@link OutputStream}.
+   * @param writerThreads The number of encoding threads.
+   * @param ordered Whether the statement order must be preserved in the output.
+   * @return the number of statements written.
+   */
+  public static long serialize(@NonNull Flux<Statement> statementFlux, @NonNull StatementBatchEncoder batchEncoder,
+      @NonNull OutputStream outputStream, int writerThreads, boolean ordered) {
+    return serialize(statementFlux, batchEncoder, outputStream, writerThreads, ordered, DEFAULT_BATCH_SIZE);
+  }
+
+  static long serialize(Flux<Statement> statementFlux, StatementBatchEncoder batchEncoder, OutputStream outputStream,
+      int writerThreads, boolean ordered, int batchSize) {
+    LOG.debug("Serializing output with {} writer threads ({}) ...", () -> writerThreads,
+        () -> ordered ? "ordered" : "unordered");
+
+    var encoderScheduler = Schedulers.newParallel("carml-writer", writerThreads);
+    var sinkScheduler = Schedulers.newSingle("carml-writer-sink");
+    var counter = new AtomicLong();
+
+    // allow some chunks to queue up so encoders don't wait on the sink
+    var concurrency = writerThreads * 2;
+
+    Function<List<Statement>, Mono<EncodedBatch>> encode =
+        batch -> Mono.fromCallable(() -> new EncodedBatch(batch.size(), batchEncoder.encode(batch)))
+            .subscribeOn(encoderScheduler);
+
+    var batches = statementFlux.buffer(batchSize);
+    var encodedBatches =
+        ordered ? batches.flatMapSequential(encode, concurrency) : batches.flatMap(encode, concurrency);
+
+    try {
+      encodedBatches.publishOn(sinkScheduler)
+          .doOnNext(encodedBatch -> {
+            write(encodedBatch.bytes(), outputStream);
+            counter.getAndAdd(encodedBatch.size());
+          })
+          .blockLast();
+
+      outputStream.flush();
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while writing output.", ioException);
+    } finally {
+      encoderScheduler.dispose();
+      sinkScheduler.dispose();
+    }
+
+    return counter.get();
+  }
+
+  private static void write(byte[] bytes, OutputStream outputStream) {
+    try {
+      outputStream.write(bytes);
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while writing output.", ioException);
+    }
+  }
+
+  private record EncodedBatch(int size, byte[] bytes) {}
+}
@@ -0,0 +1,288 @@
+package io.carml.jar.runner.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.carml.jar.runner.CarmlJarException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Writes statements to numbered part files, rolling over to the next part once a part reaches a
+ * maximum number of statements or bytes. Each part is a complete document in a streamable RDF format.
+ * <br>
+ * <br>
+ * Statements are distributed over {@code writers} writer threads, each writing its own sequence of
+ * parts, so the order of statements over parts is not preserved when writing with more than one
+ * writer. Along with the parts a JSON manifest is written, listing the statement count and byte size
+ * of each part.
+ */
+@Component
+public class SplitOutputWriter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final OutputHandler outputHandler;
+
+  private final ObjectMapper objectMapper;
+
+  public SplitOutputWriter(OutputHandler outputHandler, ObjectMapper objectMapper) {
+    this.outputHandler = outputHandler;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to part files in {@code directory}, named
+   * {@code <baseName>-<number>.<extension>}, and a manifest named {@code manifestName}.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param rdfFormat The streamable RDF format reference.
+   * @param namespaces The namespaces to apply.
+   * @param target The target directory and file names.
+   * @param maxStatements The maximum number of statements per part.
+   * @param maxBytes The size in bytes after which a part is rolled over. Since serializers buffer their
+   *        output, a part can exceed this size by a serializer buffer.
+   * @param writers The number of parts written concurrently.
+   * @return the {@link SplitResult}.
+   */
+  public SplitResult write(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+      @NonNull Map<String, String> namespaces, @NonNull SplitTarget target, long maxStatements, long maxBytes,
+      int writers) {
+    var partCounter = new AtomicInteger();
+    var parts = new ConcurrentLinkedQueue<Part>();
+    var scheduler = Schedulers.newParallel("carml-split-writer", writers);
+
+    try {
+      statementFlux.parallel(writers)
+          .runOn(scheduler)
+          .groups()
+          .flatMap(rail -> {
+            var partWriter = new RollingPartWriter(rdfFormat, namespaces, target, maxStatements, maxBytes, partCounter,
+                parts);
+            // the last part is closed before the rail completes, so every part is listed once blockLast returns
+            return rail.doOnNext(partWriter::write)
+                .then(Mono.fromRunnable(partWriter::close))
+                .doOnError(error -> partWriter.abort())
+                .doOnCancel(partWriter::abort);
+          }, writers)
+          .blockLast();
+    } finally {
+      scheduler.dispose();
+    }
+
+    var sortedParts = parts.stream()
+        .sorted(Comparator.comparing(Part::file, Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder())))
+        .toList();
+    var manifest = new Manifest(rdfFormat, sortedParts.stream()
+        .mapToLong(Part::statements)
+        .sum(),
+        sortedParts.stream()
+            .mapToLong(Part::bytes)
+            .sum(),
+        sortedParts);
+    writeManifest(target, manifest);
+
+    return new SplitResult(manifest.statements(), manifest.bytes(), sortedParts.size());
+  }
+
+  private void writeManifest(SplitTarget target, Manifest manifest) {
+    var manifestPath = target.directory()
+        .resolve(target.manifestName());
+
+    LOG.info("Wrote {} parts, writing manifest to {} ...", manifest.parts()
+        .size(), manifestPath);
+    try {
+      objectMapper.writerWithDefaultPrettyPrinter()
+          .writeValue(manifestPath.toFile(), manifest);
+    } catch (IOException ioException) {
+      throw new CarmlJarException(String.format("Error writing manifest %s", manifestPath), ioException);
+    }
+  }
+
+  /**
+   * The location of the parts of split output.
+   *
+   * @param directory The directory to write the parts and manifest to.
+   * @param baseName The file name of the parts, before the part number.
+   * @param extension The file extension of the parts.
+   * @param manifestName The file name of the manifest.
+   */
+  public record SplitTarget(Path directory, String baseName, String extension, String manifestName) {
+
+    /**
+     * Determines the {@link SplitTarget} for an output path. For a directory the parts are named
+     * {@code output-<number>.<rdfFormat>}. For a file path such as {@code data.nq} the parts are named
+     * {@code data-<number>.nq} in the same directory.
+     *
+     * @param outputPath The output path.
+     * @param rdfFormat The RDF format reference.
+     * @return the {@link SplitTarget}.
+     */
+    public static SplitTarget forOutputPath(Path outputPath, String rdfFormat) {
+      if (Files.isDirectory(outputPath)) {
+        return new SplitTarget(outputPath, "output", rdfFormat, "manifest.json");
+      }
+
+      var fileName = outputPath.getFileName()
+          .toString();
+      var extensionIndex = fileName.lastIndexOf('.');
+      var baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+      var extension = extensionIndex > 0 ? fileName.substring(extensionIndex + 1) : rdfFormat;
+      var directory = outputPath.toAbsolutePath()
+          .getParent();
+
+      return new SplitTarget(directory, baseName, extension, baseName + "-manifest.json");
+    }
+
+    /**
+     * Returns whether the given path is a part or the manifest of this target.
+     *
+     * @param path The {@link Path} to check.
+     * @return {@code true} if the path is written by split output to this target.
+     */
+    public boolean isOutputFile(Path path) {
+      var absolutePath = path.toAbsolutePath()
+          .normalize();
+      if (absolutePath.getFileName() == null || !directory.toAbsolutePath()
+          .normalize()
+          .equals(absolutePath.getParent())) {
+        return false;
+      }
+
+      var fileName = absolutePath.getFileName()
+          .toString();
+      return fileName.equals(manifestName) || Pattern
+          .matches(String.format("%s-\\d{5,}\\.%s", Pattern.quote(baseName), Pattern.quote(extension)), fileName);
+    }
+  }
+
+  /**
+   * The totals of written split output.
+   *
+   * @param statements The number of statements written.
+   * @param bytes The number of bytes written.
+   * @param parts The number of parts written.
+   */
+  public record SplitResult(long statements, long bytes, int parts) {}
+
+  record Part(String file, long statements, long bytes) {}
+
+  record Manifest(String format, long statements, long bytes, List<Part> parts) {}
+
+  private final class RollingPartWriter {
+
+    private final String rdfFormat;
+
+    private final Map<String, String> namespaces;
+
+    private final SplitTarget target;
+
+    private final long maxStatements;
+
+    private final long maxBytes;
+
+    private final AtomicInteger partCounter;
+
+    private final ConcurrentLinkedQueue<Part> parts;
+
+    private String fileName;
+
+    private OutputStream fileOutputStream;
+
+    private CountingOutputStream countingOutputStream;
+
+    private StatementWriter statementWriter;
+
+    private long statementCount;
+
+    RollingPartWriter(String rdfFormat, Map<String, String> namespaces, SplitTarget target, long maxStatements,
+        long maxBytes, AtomicInteger partCounter, ConcurrentLinkedQueue<Part> parts) {
+      this.rdfFormat = rdfFormat;
+      this.namespaces = namespaces;
+      this.target = target;
+      this.maxStatements = maxStatements;
+      this.maxBytes = maxBytes;
+      this.partCounter = partCounter;
+      this.parts = parts;
+    }
+
+    void write(Statement statement) {
+      if (statementWriter == null) {
+        open();
+      }
+
+      statementWriter.write(statement);
+      statementCount++;
+
+      if (statementCount >= maxStatements || countingOutputStream.getCount() >= maxBytes) {
+        close();
+      }
+    }
+
+    private void open() {
+      fileName = String.format("%s-%05d.%s", target.baseName(), partCounter.getAndIncrement(), target.extension());
+      var partPath = target.directory()
+          .resolve(fileName);
+      LOG.debug("Writing part {} ...", partPath);
+
+      try {
+        fileOutputStream = new BufferedOutputStream(Files.newOutputStream(partPath));
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Error writing to output path %s", partPath), ioException);
+      }
+      countingOutputStream = new CountingOutputStream(fileOutputStream);
+      statementWriter = outputHandler.openStreamingWriter(rdfFormat, namespaces, countingOutputStream);
+      statementCount = 0;
+    }
+
+    void close() {
+      if (statementWriter == null) {
+        return;
+      }
+
+      try (var outputStream = fileOutputStream) {
+        statementWriter.close();
+        countingOutputStream.flush();
+      } catch (IOException ioException) {
+        throw new CarmlJarException(String.format("Error closing part %s", fileName), ioException);
+      } finally {
+        statementWriter = null;
+      }
+
+      parts.add(new Part(fileName, statementCount, countingOutputStream.getCount()));
+    }
+
+    /**
+     * Closes the file of an incomplete part without completing its document or listing it, after the
+     * statements failed or the write was cancelled.
+     */
+    void abort() {
+      if (statementWriter == null) {
+        return;
+      }
+
+      statementWriter = null;
+      try {
+        fileOutputStream.close();
+      } catch (IOException ioException) {
+        LOG.warn("Error closing incomplete part {}", fileName, ioException);
+      }
+    }
+  }
+}
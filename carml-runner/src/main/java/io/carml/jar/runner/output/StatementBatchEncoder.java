@@ -0,0 +1,17 @@
+package io.carml.jar.runner.output;
+
+import java.util.List;
+import org.eclipse.rdf4j.model.Statement;
+
+@FunctionalInterface
+public interface StatementBatchEncoder {
+
+  /**
+   * Encodes a batch of {@link Statement}s into a self-contained chunk of serialized RDF, such that
+   * chunks can be concatenated in any order to form a valid document.
+   *
+   * @param statements The batch of {@link Statement}s.
+   * @return the encoded bytes.
+   */
+  byte[] encode(List<Statement> statements);
+}
@@ -0,0 +1,183 @@
+package io.carml.jar.runner.output;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Statements;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * Compact binary encoding of statements for files that are written and read back by CARML, such as
+ * spilled runs and partial outputs. The statements are read one at a time, so a file can be streamed
+ * at the pace of its consumer.<br>
+ * <br>
+ * Every value is written as a type tag followed by length-prefixed UTF-8 strings. Consecutive
+ * statements often share their graph, subject and predicate, certainly in sorted runs; these are
+ * written as a single tag referring back to the previous statement. A codec instance keeps that
+ * state, so a file must be written and read with its own instance.
+ */
+public final class StatementCodec {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final int NONE = 0;
+
+  private static final int IRI_VALUE = 1;
+
+  private static final int BNODE_VALUE = 2;
+
+  private static final int STRING_LITERAL = 3;
+
+  private static final int LANGUAGE_LITERAL = 4;
+
+  private static final int TYPED_LITERAL = 5;
+
+  private static final int TRIPLE_VALUE = 6;
+
+  private static final int PREVIOUS = 7;
+
+  private Value previousGraph;
+
+  private Value previousSubject;
+
+  private Value previousPredicate;
+
+  public void writeStatement(DataOutput output, Statement statement) throws IOException {
+    writeValue(output, statement.getContext(), previousGraph);
+    writeValue(output, statement.getSubject(), previousSubject);
+    writeValue(output, statement.getPredicate(), previousPredicate);
+    writeValue(output, statement.getObject());
+
+    previousGraph = statement.getContext();
+    previousSubject = statement.getSubject();
+    previousPredicate = statement.getPredicate();
+  }
+
+  /**
+   * Reads the next statement.
+   *
+   * @return the statement, or {@code null} at the end of the input.
+   */
+  public Statement readStatement(DataInputStream input) throws IOException {
+    var tag = input.read();
+    if (tag < 0) {
+      return null;
+    }
+
+    var graph = (Resource) readValue(input, tag, previousGraph);
+    var subject = (Resource) readValue(input, input.readUnsignedByte(), previousSubject);
+    var predicate = (IRI) readValue(input, input.readUnsignedByte(), previousPredicate);
+    var object = readValue(input);
+
+    previousGraph = graph;
+    previousSubject = subject;
+    previousPredicate = predicate;
+
+    return Statements.statement(subject, predicate, object, graph);
+  }
+
+  private static void writeValue(DataOutput output, Value value, Value previous) throws IOException {
+    if (value != null && value.equals(previous)) {
+      output.writeByte(PREVIOUS);
+    } else {
+      writeValue(output, value);
+    }
+  }
+
+  public static void writeValue(DataOutput output, Value value) throws IOException {
+    if (value == null) {
+      output.writeByte(NONE);
+    } else if (value.isIRI()) {
+      output.writeByte(IRI_VALUE);
+      writeString(output, value.stringValue());
+    } else if (value.isBNode()) {
+      output.writeByte(BNODE_VALUE);
+      writeString(output, ((BNode) value).getID());
+    } else if (value.isLiteral()) {
+      writeLiteral(output, (Literal) value);
+    } else if (value.isTriple()) {
+      var triple = (Triple) value;
+      output.writeByte(TRIPLE_VALUE);
+      writeValue(output, triple.getSubject());
+      writeValue(output, triple.getPredicate());
+      writeValue(output, triple.getObject());
+    } else {
+      throw new IllegalArgumentException(String.format("Unsupported value type %s", value.getClass()));
+    }
+  }
+
+  private static void writeLiteral(DataOutput output, Literal literal) throws IOException {
+    var language = literal.getLanguage();
+    if (language.isPresent()) {
+      output.writeByte(LANGUAGE_LITERAL);
+      writeString(output, literal.getLabel());
+      writeString(output, language.get());
+    } else if (XSD.STRING.equals(literal.getDatatype())) {
+      output.writeByte(STRING_LITERAL);
+      writeString(output, literal.getLabel());
+    } else {
+      output.writeByte(TYPED_LITERAL);
+      writeString(output, literal.getLabel());
+      writeString(output, literal.getDatatype()
+          .stringValue());
+    }
+  }
+
+  private static Value readValue(DataInputStream input, int tag, Value previous) throws IOException {
+    return tag == PREVIOUS ? previous : readValue(input, tag);
+  }
+
+  public static Value readValue(DataInputStream input) throws IOException {
+    return readValue(input, input.readUnsignedByte());
+  }
+
+  private static Value readValue(DataInputStream input, int tag) throws IOException {
+    return switch (tag) {
+      case NONE -> null;
+      case IRI_VALUE -> VALUE_FACTORY.createIRI(readString(input));
+      case BNODE_VALUE -> VALUE_FACTORY.createBNode(readString(input));
+      case STRING_LITERAL -> VALUE_FACTORY.createLiteral(readString(input));
+      case LANGUAGE_LITERAL -> VALUE_FACTORY.createLiteral(readString(input), readString(input));
+      case TYPED_LITERAL -> VALUE_FACTORY.createLiteral(readString(input), VALUE_FACTORY.createIRI(readString(input)));
+      case TRIPLE_VALUE -> VALUE_FACTORY.createTriple((Resource) readValue(input), (IRI) readValue(input),
+          readValue(input));
+      default -> throw new IOException(String.format("Corrupt statement file, unknown value tag %s", tag));
+    };
+  }
+
+  private static void writeString(DataOutput output, String string) throws IOException {
+    var bytes = string.getBytes(StandardCharsets.UTF_8);
+    var length = bytes.length;
+    while ((length & ~0x7F) != 0) {
+      output.writeByte((length & 0x7F) | 0x80);
+      length >>>= 7;
+    }
+    output.writeByte(length);
+    output.write(bytes);
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    var length = 0;
+    var shift = 0;
+    int next;
+    do {
+      next = input.readUnsignedByte();
+      length |= (next & 0x7F) << shift;
+      shift += 7;
+    } while ((next & 0x80) != 0);
+
+    var bytes = new byte[length];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
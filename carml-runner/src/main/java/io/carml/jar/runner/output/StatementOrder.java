@@ -0,0 +1,102 @@
+package io.carml.jar.runner.output;
+
+import java.util.Comparator;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Orders statements by graph, subject, predicate and object, so that all statements of a subject
+ * within a graph are adjacent, as are all objects of a predicate. Statements in the default graph come
+ * first, and within a graph IRI subjects come before blank node subjects.
+ */
+public final class StatementOrder implements Comparator<Statement> {
+
+  public static final StatementOrder INSTANCE = new StatementOrder();
+
+  private StatementOrder() {}
+
+  @Override
+  public int compare(Statement statement, Statement other) {
+    var result = compareValues(statement.getContext(), other.getContext());
+    if (result != 0) {
+      return result;
+    }
+    result = compareValues(statement.getSubject(), other.getSubject());
+    if (result != 0) {
+      return result;
+    }
+    result = compareValues(statement.getPredicate(), other.getPredicate());
+    if (result != 0) {
+      return result;
+    }
+    return compareValues(statement.getObject(), other.getObject());
+  }
+
+  static int compareValues(Value value, Value other) {
+    if (value == other) {
+      return 0;
+    }
+    if (value == null) {
+      return -1;
+    }
+    if (other == null) {
+      return 1;
+    }
+
+    var result = Integer.compare(rank(value), rank(other));
+    if (result != 0) {
+      return result;
+    }
+
+    if (value.isTriple()) {
+      return compareTriples((Triple) value, (Triple) other);
+    }
+
+    result = value.stringValue()
+        .compareTo(other.stringValue());
+    if (result != 0 || !value.isLiteral()) {
+      return result;
+    }
+
+    var literal = (Literal) value;
+    var otherLiteral = (Literal) other;
+    result = literal.getDatatype()
+        .stringValue()
+        .compareTo(otherLiteral.getDatatype()
+            .stringValue());
+    if (result != 0) {
+      return result;
+    }
+    return literal.getLanguage()
+        .orElse("")
+        .compareTo(otherLiteral.getLanguage()
+            .orElse(""));
+  }
+
+  private static int compareTriples(Triple triple, Triple other) {
+    var result = compareValues(triple.getSubject(), other.getSubject());
+    if (result != 0) {
+      return result;
+    }
+    result = compareValues(triple.getPredicate(), other.getPredicate());
+    if (result != 0) {
+      return result;
+    }
+    return compareValues(triple.getObject(), other.getObject());
+  }
+
+  private static int rank(Value value) {
+    if (value.isIRI()) {
+      return 0;
+    }
+    if (value.isBNode()) {
+      return 1;
+    }
+    if (value.isLiteral()) {
+      return 2;
+    }
+    return 3;
+  }
+}
@@ -0,0 +1,24 @@
+package io.carml.jar.runner.output;
+
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Writes {@link Statement}s one at a time to an RDF document. Closing the writer completes the
+ * document, but leaves the underlying output open.
+ */
+public interface StatementWriter extends AutoCloseable {
+
+  /**
+   * Write a {@link Statement} to the document.
+   *
+   * @param statement The {@link Statement}.
+   */
+  void write(@NonNull Statement statement);
+
+  /**
+   * Complete the document.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,89 @@
+package io.carml.jar.runner.output;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a side of a {@link WriterQueue} waits for the other side: the writer for statements to arrive,
+ * the producer for space to free up.
+ */
+@SuppressWarnings("java:S115")
+public enum WaitStrategy {
+
+  /**
+   * Spins on the CPU. Lowest latency, but occupies a core while waiting.
+   */
+  busy_spin {
+    @Override
+    void idle(int attempt) {
+      Thread.onSpinWait();
+    }
+  },
+
+  /**
+   * Spins briefly, then yields the CPU to other threads.
+   */
+  yielding {
+    @Override
+    void idle(int attempt) {
+      if (attempt < SPIN_ATTEMPTS) {
+        Thread.onSpinWait();
+      } else {
+        Thread.yield();
+      }
+    }
+  },
+
+  /**
+   * Spins briefly, yields, then sleeps in short intervals. A balance between latency and CPU usage.
+   */
+  sleeping {
+    @Override
+    void idle(int attempt) {
+      if (attempt < SPIN_ATTEMPTS) {
+        Thread.onSpinWait();
+      } else if (attempt < SPIN_ATTEMPTS * 2) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(SLEEP_NANOS);
+      }
+    }
+  },
+
+  /**
+   * Parks until woken by the other side. Uses no CPU while waiting, at the cost of a wake-up on each
+   * hand-off after a wait.
+   */
+  blocking {
+    @Override
+    void idle(int attempt) {
+      LockSupport.parkNanos(BLOCK_TIMEOUT_NANOS);
+    }
+
+    @Override
+    boolean isBlocking() {
+      return true;
+    }
+  };
+
+  private static final int SPIN_ATTEMPTS = 100;
+
+  private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  // guards against a missed wake-up, the other side normally unparks the waiting thread
+  private static final long BLOCK_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * Waits once.
+   *
+   * @param attempt The number of times waited before for the current condition.
+   */
+  abstract void idle(int attempt);
+
+  /**
+   * @return whether the waiting thread needs to be woken by the other side.
+   */
+  boolean isBlocking() {
+    return false;
+  }
+}
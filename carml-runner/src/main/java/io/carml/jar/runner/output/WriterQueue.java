@@ -0,0 +1,279 @@
+package io.carml.jar.runner.output;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decouples mapping from serialization with a dedicated writer thread, fed through a preallocated,
+ * lock-free ring buffer of statement batches.<br>
+ * <br>
+ * The ring buffer has a single producer, the thread emitting the {@link Flux}, and a single consumer,
+ * the writer thread. Each slot holds a preallocated array of up to {@code batchSize} statements. The
+ * producer fills the slot at its sequence and publishes it by advancing that sequence, the writer
+ * writes the statements of each published slot and releases it by advancing its own sequence. The
+ * sequences are the only state the two threads share, so no locks are taken. When the buffer is full
+ * the producer waits, when it is empty the writer waits, both according to the {@link WaitStrategy}.
+ * <br>
+ * <br>
+ * The time spent waiting on each side and the queue depth are reported as {@link WriterQueueStats},
+ * showing whether a run is bound by mapping or by serialization.
+ */
+public class WriterQueue {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  public static final int DEFAULT_BATCH_SIZE = 256;
+
+  private final int capacity;
+
+  private final int batchSize;
+
+  private final int mask;
+
+  private final WaitStrategy waitStrategy;
+
+  private final Statement[][] slots;
+
+  private final int[] slotSizes;
+
+  // sequence of the next slot the producer publishes
+  private final AtomicLong producerSequence = new AtomicLong();
+
+  // sequence of the next slot the writer writes
+  private final AtomicLong writerSequence = new AtomicLong();
+
+  private volatile boolean producerDone;
+
+  private volatile Throwable writerFailure;
+
+  private volatile Thread waitingProducer;
+
+  private volatile Thread waitingWriter;
+
+  private Thread writerThread;
+
+  private Statement[] currentBatch;
+
+  private int currentSize;
+
+  private long maxDepth;
+
+  private long depthSum;
+
+  private long producerStallNanos;
+
+  private long writerWaitNanos;
+
+  private long written;
+
+  public WriterQueue(int capacity, WaitStrategy waitStrategy) {
+    this(capacity, DEFAULT_BATCH_SIZE, waitStrategy);
+  }
+
+  /**
+   * @param capacity The number of batches the queue holds, rounded up to a power of two.
+   * @param batchSize The maximum number of statements per batch.
+   * @param waitStrategy The {@link WaitStrategy}.
+   */
+  public WriterQueue(int capacity, int batchSize, @NonNull WaitStrategy waitStrategy) {
+    if (capacity < 1 || batchSize < 1) {
+      throw new IllegalArgumentException("Writer queue capacity and batch size must be positive.");
+    }
+
+    this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.batchSize = batchSize;
+    this.mask = this.capacity - 1;
+    this.waitStrategy = waitStrategy;
+    this.slots = new Statement[this.capacity][batchSize];
+    this.slotSizes = new int[this.capacity];
+  }
+
+  /**
+   * Writes the statements of the {@link Flux} with the {@link StatementWriter} on a dedicated writer
+   * thread. The {@link Flux} is consumed on the calling thread, and this method returns once all
+   * statements are written. The {@link StatementWriter} is not closed. A queue can be used for a
+   * single {@link Flux} only.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param statementWriter The {@link StatementWriter}.
+   * @return the number of statements written.
+   */
+  public long write(@NonNull Flux<Statement> statementFlux, @NonNull StatementWriter statementWriter) {
+    if (writerThread != null) {
+      throw new IllegalStateException("Writer queue has been used already.");
+    }
+
+    writerThread = new Thread(() -> runWriter(statementWriter), "carml-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+
+    try {
+      statementFlux.doOnNext(this::offer)
+          .blockLast();
+      publish();
+    } finally {
+      producerDone = true;
+      LockSupport.unpark(writerThread);
+      awaitWriter();
+    }
+
+    if (writerFailure != null) {
+      throw writerException();
+    }
+
+    LOG.debug("Writer queue statistics: {}", this::getStats);
+
+    return written;
+  }
+
+  private void offer(Statement statement) {
+    if (currentSize == 0) {
+      currentBatch = claim();
+    }
+
+    currentBatch[currentSize++] = statement;
+    if (currentSize == batchSize) {
+      publish();
+    }
+  }
+
+  private Statement[] claim() {
+    if (writerFailure != null) {
+      throw writerException();
+    }
+
+    var sequence = producerSequence.get();
+    if (sequence - writerSequence.get() < capacity) {
+      return slots[(int) sequence & mask];
+    }
+
+    var stallStart = System.nanoTime();
+    var attempt = 0;
+    if (waitStrategy.isBlocking()) {
+      waitingProducer = Thread.currentThread();
+    }
+    try {
+      while (sequence - writerSequence.get() >= capacity) {
+        if (writerFailure != null) {
+          throw writerException();
+        }
+        waitStrategy.idle(attempt++);
+      }
+    } finally {
+      waitingProducer = null;
+      producerStallNanos += System.nanoTime() - stallStart;
+    }
+
+    return slots[(int) sequence & mask];
+  }
+
+  private void publish() {
+    if (currentSize == 0) {
+      return;
+    }
+
+    var sequence = producerSequence.get();
+    slotSizes[(int) sequence & mask] = currentSize;
+    currentSize = 0;
+    producerSequence.set(sequence + 1);
+
+    var depth = sequence + 1 - writerSequence.get();
+    maxDepth = Math.max(maxDepth, depth);
+    depthSum += depth;
+
+    var writer = waitingWriter;
+    if (writer != null) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  private void runWriter(StatementWriter statementWriter) {
+    try {
+      var sequence = 0L;
+      while (awaitBatch(sequence)) {
+        var index = (int) sequence & mask;
+        var batch = slots[index];
+        var size = slotSizes[index];
+        for (int i = 0; i < size; i++) {
+          statementWriter.write(batch[i]);
+          // drop the reference, so written statements can be collected
+          batch[i] = null;
+        }
+        written += size;
+        writerSequence.set(++sequence);
+
+        var producer = waitingProducer;
+        if (producer != null) {
+          LockSupport.unpark(producer);
+        }
+      }
+    } catch (Throwable throwable) { // NOSONAR the failure is rethrown on the producer thread
+      writerFailure = throwable;
+      var producer = waitingProducer;
+      if (producer != null) {
+        LockSupport.unpark(producer);
+      }
+    }
+  }
+
+  private boolean awaitBatch(long sequence) {
+    if (sequence < producerSequence.get()) {
+      return true;
+    }
+
+    var waitStart = System.nanoTime();
+    var attempt = 0;
+    if (waitStrategy.isBlocking()) {
+      waitingWriter = Thread.currentThread();
+    }
+    try {
+      while (sequence >= producerSequence.get()) {
+        if (producerDone) {
+          // the producer may have published its last batch right before finishing
+          return sequence < producerSequence.get();
+        }
+        waitStrategy.idle(attempt++);
+      }
+      return true;
+    } finally {
+      waitingWriter = null;
+      writerWaitNanos += System.nanoTime() - waitStart;
+    }
+  }
+
+  private void awaitWriter() {
+    try {
+      writerThread.join();
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread()
+          .interrupt();
+      throw new CarmlJarException("Interrupted while waiting for the writer thread.", interruptedException);
+    }
+  }
+
+  private RuntimeException writerException() {
+    if (writerFailure instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+
+    return new CarmlJarException("Exception occurred while writing output.", writerFailure);
+  }
+
+  /**
+   * @return the {@link WriterQueueStats}, complete once {@link #write(Flux, StatementWriter)} returned.
+   */
+  public WriterQueueStats getStats() {
+    var batches = producerSequence.get();
+    var averageDepth = batches == 0 ? 0.0 : (double) depthSum / batches;
+    return new WriterQueueStats(capacity, batchSize, batches, maxDepth, averageDepth,
+        producerStallNanos / 1_000_000_000.0, writerWaitNanos / 1_000_000_000.0);
+  }
+}
@@ -0,0 +1,15 @@
+package io.carml.jar.runner.output;
+
+/**
+ * Statistics of a {@link WriterQueue} run.
+ *
+ * @param capacity The capacity of the queue, in batches.
+ * @param batchSize The maximum number of statements per batch.
+ * @param batches The number of batches passed through the queue.
+ * @param maxDepth The highest number of batches in the queue.
+ * @param averageDepth The average number of batches in the queue when a batch was added.
+ * @param producerStallSeconds The time the producer waited for space in a full queue.
+ * @param writerWaitSeconds The time the writer waited for batches in an empty queue.
+ */
+public record WriterQueueStats(int capacity, int batchSize, long batches, long maxDepth, double averageDepth,
+    double producerStallSeconds, double writerWaitSeconds) {}
@@ -0,0 +1,236 @@
+package io.carml.jar.runner.output.pretty;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.output.ExternalStatementSorter;
+import io.carml.jar.runner.output.StatementCodec;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.util.Statements;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+/**
+ * Disk-backed store of the statements describing blank nodes, keyed by graph and blank node, along
+ * with the bookkeeping needed to decide which blank nodes can be nested.<br>
+ * <br>
+ * A blank node can be written nested in square brackets when it is referenced exactly once as an
+ * object, it is not used as a graph name or in a quoted triple, and its description lives in the same
+ * graph as its reference.
+ */
+final class BlankNodeDescriptions implements AutoCloseable {
+
+  // reference count of any blank node that can never be nested
+  private static final long NOT_NESTABLE = 2;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Path file;
+
+  private final FingerprintCounter references;
+
+  private final FingerprintCounter describingGraphs;
+
+  private final FingerprintCounter offsets;
+
+  private final FingerprintCounter written;
+
+  private FileChannel channel;
+
+  private long size;
+
+  BlankNodeDescriptions(Path directory, long memoryBudget) {
+    this.file = directory.resolve("blank-nodes.store");
+    this.references = new FingerprintCounter(directory, "references", memoryBudget);
+    this.describingGraphs = new FingerprintCounter(directory, "graphs", memoryBudget);
+    this.offsets = new FingerprintCounter(directory, "offsets", memoryBudget);
+    this.written = new FingerprintCounter(directory, "written", memoryBudget);
+  }
+
+  void registerReferences(Statement statement) {
+    var object = statement.getObject();
+    if (object.isBNode()) {
+      references.add(key((BNode) object), 1);
+    } else if (object.isTriple()) {
+      registerQuoted((Triple) object);
+    }
+
+    if (statement.getSubject()
+        .isTriple()) {
+      registerQuoted((Triple) statement.getSubject());
+    }
+
+    var graph = statement.getContext();
+    if (graph != null && graph.isBNode()) {
+      references.add(key((BNode) graph), NOT_NESTABLE);
+    }
+  }
+
+  private void registerQuoted(Triple triple) {
+    for (var value : List.of(triple.getSubject(), triple.getObject())) {
+      if (value.isBNode()) {
+        references.add(key((BNode) value), NOT_NESTABLE);
+      } else if (value.isTriple()) {
+        registerQuoted((Triple) value);
+      }
+    }
+  }
+
+  /**
+   * Writes the sorted statements of {@code sorter} to the store.
+   *
+   * @return the number of distinct statements stored.
+   */
+  long store(ExternalStatementSorter sorter) {
+    try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+      var blocks = new SubjectBlocks((graph, subject, statements) -> {
+        var blankNode = (BNode) subject;
+        offsets.put(key(graph, blankNode), size + 1);
+        describingGraphs.add(key(blankNode), 1);
+        size += writeBlock(output, graph, blankNode, statements);
+      });
+      sorter.forEachSorted(blocks);
+      var statementCount = blocks.finish();
+      output.flush();
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      return statementCount;
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while spilling blank nodes to disk.", ioException);
+    }
+  }
+
+  private static long writeBlock(DataOutputStream output, Resource graph, BNode blankNode, List<Statement> statements)
+      throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    var block = new DataOutputStream(bytes);
+    StatementCodec.writeValue(block, graph);
+    StatementCodec.writeValue(block, blankNode);
+    block.writeInt(statements.size());
+    for (var statement : statements) {
+      StatementCodec.writeValue(block, statement.getPredicate());
+      StatementCodec.writeValue(block, statement.getObject());
+    }
+
+    output.writeInt(bytes.size());
+    bytes.writeTo(output);
+    return Integer.BYTES + (long) bytes.size();
+  }
+
+  boolean isNestable(Resource graph, BNode blankNode) {
+    if (references.get(key(blankNode)) != 1 || written.get(key(graph, blankNode)) != 0) {
+      return false;
+    }
+    var graphCount = describingGraphs.get(key(blankNode));
+    return graphCount == 0 || (graphCount == 1 && offsets.get(key(graph, blankNode)) != 0);
+  }
+
+  /**
+   * Reads the description of a blank node and marks it as written.
+   *
+   * @return the statements describing the blank node in the graph, which may be none.
+   */
+  List<Statement> take(Resource graph, BNode blankNode) {
+    var graphKey = key(graph, blankNode);
+    written.put(graphKey, 1);
+    var offset = offsets.get(graphKey);
+    return offset == 0 ? List.of() : readBlock(offset - 1).statements();
+  }
+
+  /**
+   * Passes the descriptions of all blank nodes that have not been written yet to {@code consumer},
+   * marking them as written. Blank nodes that will be nested in another description are passed only
+   * when nothing nested them, which happens when they are part of a cycle.
+   */
+  void forEachRemaining(SubjectBlocks.BlockConsumer consumer) {
+    forEachBlock(block -> !isNestable(block.graph(), block.blankNode()), consumer);
+    forEachBlock(block -> true, consumer);
+  }
+
+  private void forEachBlock(Predicate<Block> filter, SubjectBlocks.BlockConsumer consumer) {
+    long position = 0;
+    while (position < size) {
+      var block = readBlock(position);
+      position = block.next();
+      var graphKey = key(block.graph(), block.blankNode());
+      if (written.get(graphKey) == 0 && filter.test(block)) {
+        written.put(graphKey, 1);
+        consumer.accept(block.graph(), block.blankNode(), block.statements());
+      }
+    }
+  }
+
+  private Block readBlock(long position) {
+    try {
+      var header = ByteBuffer.allocate(Integer.BYTES);
+      readFully(header, position);
+      var payload = ByteBuffer.allocate(header.getInt(0));
+      readFully(payload, position + Integer.BYTES);
+
+      var input = new DataInputStream(new ByteArrayInputStream(payload.array()));
+      var graph = (Resource) StatementCodec.readValue(input);
+      var blankNode = (BNode) StatementCodec.readValue(input);
+      var count = input.readInt();
+      var statements = new ArrayList<Statement>(count);
+      for (int i = 0; i < count; i++) {
+        var predicate = (IRI) StatementCodec.readValue(input);
+        var object = StatementCodec.readValue(input);
+        statements.add(Statements.statement(blankNode, predicate, object, graph));
+      }
+
+      return new Block(graph, blankNode, statements, position + Integer.BYTES + payload.capacity());
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Exception occurred while reading spilled blank nodes.", ioException);
+    }
+  }
+
+  private void readFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException(String.format("Unexpected end of %s", file));
+      }
+    }
+  }
+
+  private static String key(BNode blankNode) {
+    return blankNode.getID();
+  }
+
+  private static String key(Value graph, BNode blankNode) {
+    return graph == null ? " " + blankNode.getID() : NTriplesUtil.toNTriplesString(graph) + " " + blankNode.getID();
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+      Files.deleteIfExists(file);
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Could not remove spilled blank nodes from disk.", ioException);
+    } finally {
+      references.close();
+      describingGraphs.close();
+      offsets.close();
+      written.close();
+    }
+  }
+
+  private record Block(Resource graph, BNode blankNode, List<Statement> statements, long next) {}
+}
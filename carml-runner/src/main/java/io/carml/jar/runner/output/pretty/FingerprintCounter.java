@@ -0,0 +1,221 @@
+package io.carml.jar.runner.output.pretty;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.dedup.DirectBuffers;
+import io.carml.jar.runner.dedup.StatementHasher;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Off-heap map from 128-bit key fingerprints to {@code long} values, used to keep per blank node
+ * bookkeeping without holding blank nodes on the heap.<br>
+ * <br>
+ * Open addressing table held in direct buffers while it fits the memory budget, and in a
+ * memory-mapped file in the spill directory once it outgrows it. While the table grows, both the old
+ * and the grown table are allocated, so the grown table only stays in memory if both fit the budget.
+ */
+final class FingerprintCounter implements AutoCloseable {
+
+  static final int SLOT_SIZE = 24;
+
+  private static final int SEGMENT_SLOT_BITS = 24;
+
+  private static final long SEGMENT_SLOTS = 1L << SEGMENT_SLOT_BITS;
+
+  private static final long INITIAL_CAPACITY = 1L << 12;
+
+  private final Path directory;
+
+  private final String name;
+
+  private final long memoryBudget;
+
+  private final long[] fingerprint = new long[2];
+
+  private Table table;
+
+  FingerprintCounter(Path directory, String name, long memoryBudget) {
+    this.directory = directory;
+    this.name = name;
+    this.memoryBudget = memoryBudget;
+    this.table = allocate(INITIAL_CAPACITY, memoryBudget);
+  }
+
+  long get(String key) {
+    var slot = findSlot(key);
+    return slot < 0 ? 0 : table.getValue(slot);
+  }
+
+  void put(String key, long value) {
+    var slot = findOrInsertSlot(key);
+    table.setValue(slot, value);
+  }
+
+  void add(String key, long delta) {
+    var slot = findOrInsertSlot(key);
+    table.setValue(slot, table.getValue(slot) + delta);
+  }
+
+  private long findSlot(String key) {
+    hash(key);
+    var slot = fingerprint[0] & table.mask;
+    while (true) {
+      var hash1 = table.getHash1(slot);
+      var hash2 = table.getHash2(slot);
+      if (hash1 == 0 && hash2 == 0) {
+        return -1;
+      }
+      if (hash1 == fingerprint[0] && hash2 == fingerprint[1]) {
+        return slot;
+      }
+      slot = (slot + 1) & table.mask;
+    }
+  }
+
+  private long findOrInsertSlot(String key) {
+    var slot = findSlot(key);
+    if (slot >= 0) {
+      return slot;
+    }
+
+    if ((table.size + 1) * 2 > table.capacity) {
+      grow();
+    }
+    return table.insert(fingerprint[0], fingerprint[1], 0);
+  }
+
+  private void hash(String key) {
+    StatementHasher.hash(key, fingerprint);
+    // an all-zero slot marks an empty slot
+    if (fingerprint[0] == 0 && fingerprint[1] == 0) {
+      fingerprint[1] = 1;
+    }
+  }
+
+  private void grow() {
+    var grown = allocate(table.capacity * 2, memoryBudget - table.memoryBytes());
+    for (long slot = 0; slot < table.capacity; slot++) {
+      var hash1 = table.getHash1(slot);
+      var hash2 = table.getHash2(slot);
+      if (hash1 != 0 || hash2 != 0) {
+        grown.insert(hash1, hash2, table.getValue(slot));
+      }
+    }
+
+    table.close();
+    table = grown;
+  }
+
+  private Table allocate(long capacity, long memoryBudget) {
+    var segmentSlots = Math.min(capacity, SEGMENT_SLOTS);
+    var segmentBytes = segmentSlots * SLOT_SIZE;
+    var segments = new ByteBuffer[(int) (capacity / segmentSlots)];
+
+    if (capacity * SLOT_SIZE <= memoryBudget) {
+      for (int i = 0; i < segments.length; i++) {
+        segments[i] = ByteBuffer.allocateDirect((int) segmentBytes);
+      }
+      return new Table(segments, capacity, null);
+    }
+
+    try {
+      var file = Files.createTempFile(directory, name, ".table");
+      var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE);
+      for (int i = 0; i < segments.length; i++) {
+        segments[i] = channel.map(MapMode.READ_WRITE, i * segmentBytes, segmentBytes);
+      }
+      return new Table(segments, capacity, channel);
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Could not create blank node table on disk.", ioException);
+    }
+  }
+
+  @Override
+  public void close() {
+    table.close();
+  }
+
+  private static final class Table {
+
+    private final ByteBuffer[] segments;
+
+    private final long capacity;
+
+    private final long mask;
+
+    private final FileChannel channel;
+
+    private long size;
+
+    private Table(ByteBuffer[] segments, long capacity, FileChannel channel) {
+      this.segments = segments;
+      this.capacity = capacity;
+      this.mask = capacity - 1;
+      this.channel = channel;
+    }
+
+    long insert(long hash1, long hash2, long value) {
+      var slot = hash1 & mask;
+      while (getHash1(slot) != 0 || getHash2(slot) != 0) {
+        slot = (slot + 1) & mask;
+      }
+
+      var segment = segment(slot);
+      var offset = offset(slot);
+      segment.putLong(offset, hash1);
+      segment.putLong(offset + Long.BYTES, hash2);
+      segment.putLong(offset + 2 * Long.BYTES, value);
+      size++;
+      return slot;
+    }
+
+    long getHash1(long slot) {
+      return segment(slot).getLong(offset(slot));
+    }
+
+    long getHash2(long slot) {
+      return segment(slot).getLong(offset(slot) + Long.BYTES);
+    }
+
+    long getValue(long slot) {
+      return segment(slot).getLong(offset(slot) + 2 * Long.BYTES);
+    }
+
+    void setValue(long slot, long value) {
+      segment(slot).putLong(offset(slot) + 2 * Long.BYTES, value);
+    }
+
+    long memoryBytes() {
+      return channel != null ? 0 : capacity * SLOT_SIZE;
+    }
+
+    private ByteBuffer segment(long slot) {
+      return segments[(int) (slot >>> SEGMENT_SLOT_BITS)];
+    }
+
+    private static int offset(long slot) {
+      return (int) ((slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE);
+    }
+
+    void close() {
+      for (int i = 0; i < segments.length; i++) {
+        DirectBuffers.free(segments[i]);
+        segments[i] = null;
+      }
+
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ioException) {
+          throw new CarmlJarException("Could not remove blank node table from disk.", ioException);
+        }
+      }
+    }
+  }
+}
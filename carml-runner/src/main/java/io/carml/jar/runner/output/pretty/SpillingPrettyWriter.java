@@ -0,0 +1,122 @@
+package io.carml.jar.runner.output.pretty;
+
+import io.carml.jar.runner.CarmlJarException;
+import io.carml.jar.runner.output.ExternalStatementSorter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.model.Statement;
+import reactor.core.publisher.Flux;
+
+/**
+ * Writes pretty Turtle or TriG without collecting all statements in memory.<br>
+ * <br>
+ * Statements are sorted by graph and subject using an external sort that spills sorted runs to a
+ * temporary directory, and are then written subject block by subject block. Statements describing
+ * blank nodes are kept in a separate on-disk store, so blank nodes that are referenced once can still
+ * be nested under the statement referencing them. Heap use is bounded by the run size rather than by
+ * the number of statements.<br>
+ * <br>
+ * The bookkeeping per blank node is kept in off-heap tables, each held in memory up to as many entries
+ * as a sorted run holds statements, and memory-mapped from the spill directory beyond that.<br>
+ * <br>
+ * Like pretty output collected in memory, duplicate statements are written once.
+ */
+public final class SpillingPrettyWriter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_RUN_SIZE = 1_000_000;
+
+  private SpillingPrettyWriter() {}
+
+  /**
+   * Write a {@link Flux} of {@link Statement}s to the provided {@link OutputStream} as pretty Turtle,
+   * or as pretty TriG when {@code writeGraphs} is set.
+   *
+   * @param statementFlux The {@link Flux} of {@link Statement}s.
+   * @param namespaces The namespaces to apply.
+   * @param outputStream The {@link OutputStream}.
+   * @param writeGraphs Whether to write TriG graph blocks.
+   * @param runSize The maximum number of statements sorted in memory at once.
+   * @return the number of distinct statements written.
+   */
+  public static long write(@NonNull Flux<Statement> statementFlux, @NonNull Map<String, String> namespaces,
+      @NonNull OutputStream outputStream, boolean writeGraphs, int runSize) {
+    var directory = createSpillDirectory();
+    var tableMemoryBudget = (long) runSize * FingerprintCounter.SLOT_SIZE;
+
+    try (var subjects = new ExternalStatementSorter(directory, "subjects", runSize);
+        var blankNodeStatements = new ExternalStatementSorter(directory, "blank-nodes", runSize);
+        var blankNodes = new BlankNodeDescriptions(directory, tableMemoryBudget)) {
+      statementFlux.doOnNext(statement -> {
+        blankNodes.registerReferences(statement);
+        if (statement.getSubject()
+            .isBNode()) {
+          blankNodeStatements.add(statement);
+        } else {
+          subjects.add(statement);
+        }
+      })
+          .blockLast();
+
+      LOG.debug("Spilled {} sorted runs of at most {} statements.",
+          subjects.getSpilledRunCount() + blankNodeStatements.getSpilledRunCount(), runSize);
+
+      var blankNodeStatementCount = blankNodes.store(blankNodeStatements);
+
+      var writer = new TurtleBlockWriter(
+          new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)), namespaces,
+          writeGraphs, blankNodes);
+      SubjectBlocks.BlockConsumer blockWriter = (graph, subject, statements) -> {
+        try {
+          writer.writeBlock(graph, subject, statements);
+        } catch (IOException ioException) {
+          throw new UncheckedIOException(ioException);
+        }
+      };
+
+      writer.start();
+      var blocks = new SubjectBlocks(blockWriter);
+      subjects.forEachSorted(blocks);
+      var subjectStatementCount = blocks.finish();
+      blankNodes.forEachRemaining(blockWriter);
+      writer.end();
+
+      return subjectStatementCount + blankNodeStatementCount;
+    } catch (IOException | UncheckedIOException exception) {
+      throw new CarmlJarException("Exception occurred while writing output.", exception);
+    } finally {
+      deleteSpillDirectory(directory);
+    }
+  }
+
+  private static Path createSpillDirectory() {
+    try {
+      return Files.createTempDirectory("carml-pretty-");
+    } catch (IOException ioException) {
+      throw new CarmlJarException("Could not create spill directory.", ioException);
+    }
+  }
+
+  private static void deleteSpillDirectory(Path directory) {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder())
+          .forEach(path -> path.toFile()
+              .delete());
+    } catch (IOException ioException) {
+      LOG.warn("Could not remove spill directory {}", directory);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.carml.jar.runner.output.pretty;
+
+import io.carml.jar.runner.output.StatementOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Groups statements arriving in {@link StatementOrder} into blocks of statements sharing graph and
+ * subject, dropping duplicate statements along the way.
+ */
+final class SubjectBlocks implements Consumer<Statement> {
+
+  @FunctionalInterface
+  interface BlockConsumer {
+    void accept(Resource graph, Resource subject, List<Statement> statements);
+  }
+
+  private final BlockConsumer blockConsumer;
+
+  private List<Statement> block = new ArrayList<>();
+
+  private long statementCount;
+
+  SubjectBlocks(BlockConsumer blockConsumer) {
+    this.blockConsumer = blockConsumer;
+  }
+
+  @Override
+  public void accept(Statement statement) {
+    if (!block.isEmpty()) {
+      var previous = block.get(block.size() - 1);
+      if (previous.equals(statement)) {
+        return;
+      }
+      if (!Objects.equals(previous.getContext(), statement.getContext())
+          || !previous.getSubject()
+              .equals(statement.getSubject())) {
+        flush();
+      }
+    }
+
+    block.add(statement);
+    statementCount++;
+  }
+
+  /**
+   * Passes on the last block.
+   *
+   * @return the number of distinct statements seen.
+   */
+  long finish() {
+    if (!block.isEmpty()) {
+      flush();
+    }
+    return statementCount;
+  }
+
+  private void flush() {
+    var first = block.get(0);
+    blockConsumer.accept(first.getContext(), first.getSubject(), block);
+    block = new ArrayList<>();
+  }
+}
@@ -0,0 +1,172 @@
+package io.carml.jar.runner.output.pretty;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+/**
+ * Writes subject blocks as Turtle, or TriG when graphs are written. Predicates of a subject are
+ * grouped with {@code ;}, objects of a predicate with {@code ,}, and blank nodes that can be nested are
+ * written inline in square brackets, with their description taken from {@link BlankNodeDescriptions}.
+ */
+final class TurtleBlockWriter {
+
+  private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+  private static final Pattern LOCAL_NAME = Pattern.compile("([A-Za-z0-9_]([A-Za-z0-9_.-]*[A-Za-z0-9_-])?)?");
+
+  private final Writer writer;
+
+  private final Map<String, String> prefixes;
+
+  private final Map<String, String> prefixByNamespace = new HashMap<>();
+
+  private final boolean writeGraphs;
+
+  private final BlankNodeDescriptions blankNodes;
+
+  private final Deque<BNode> nesting = new ArrayDeque<>();
+
+  private boolean inGraph;
+
+  private Resource currentGraph;
+
+  TurtleBlockWriter(Writer writer, Map<String, String> namespaces, boolean writeGraphs,
+      BlankNodeDescriptions blankNodes) {
+    this.writer = writer;
+    this.prefixes = new TreeMap<>(namespaces);
+    this.writeGraphs = writeGraphs;
+    this.blankNodes = blankNodes;
+    prefixes.forEach((prefix, namespace) -> prefixByNamespace.putIfAbsent(namespace, prefix));
+  }
+
+  void start() throws IOException {
+    for (var prefix : prefixes.entrySet()) {
+      var namespace = NTriplesUtil.toNTriplesString(VALUE_FACTORY.createIRI(prefix.getValue()));
+      writer.write(String.format("@prefix %s: %s .%n", prefix.getKey(), namespace));
+    }
+    if (!prefixes.isEmpty()) {
+      writer.write(System.lineSeparator());
+    }
+  }
+
+  void writeBlock(Resource graph, Resource subject, List<Statement> statements) throws IOException {
+    switchGraph(graph);
+    indent(inGraph ? 1 : 0);
+    writer.write(term(subject));
+    writer.write(' ');
+    if (subject.isBNode()) {
+      nesting.push((BNode) subject);
+    }
+    writePredicateObjects(graph, statements, inGraph ? 2 : 1);
+    if (subject.isBNode()) {
+      nesting.pop();
+    }
+    writer.write(" .");
+    writer.write(System.lineSeparator());
+    writer.write(System.lineSeparator());
+  }
+
+  void end() throws IOException {
+    if (inGraph) {
+      writer.write("}");
+      writer.write(System.lineSeparator());
+    }
+    writer.flush();
+  }
+
+  private void switchGraph(Resource graph) throws IOException {
+    if (!writeGraphs || Objects.equals(graph, currentGraph)) {
+      return;
+    }
+
+    if (inGraph) {
+      writer.write("}");
+      writer.write(System.lineSeparator());
+      writer.write(System.lineSeparator());
+      inGraph = false;
+    }
+
+    currentGraph = graph;
+    if (graph != null) {
+      writer.write(term(graph));
+      writer.write(" {");
+      writer.write(System.lineSeparator());
+      inGraph = true;
+    }
+  }
+
+  private void writePredicateObjects(Resource graph, List<Statement> statements, int depth) throws IOException {
+    IRI previousPredicate = null;
+    for (var statement : statements) {
+      var predicate = statement.getPredicate();
+      if (predicate.equals(previousPredicate)) {
+        writer.write(", ");
+      } else {
+        if (previousPredicate != null) {
+          writer.write(" ;");
+          writer.write(System.lineSeparator());
+          indent(depth);
+        }
+        writer.write(RDF.TYPE.equals(predicate) ? "a" : term(predicate));
+        writer.write(' ');
+        previousPredicate = predicate;
+      }
+      writeObject(graph, statement.getObject(), depth);
+    }
+  }
+
+  private void writeObject(Resource graph, Value object, int depth) throws IOException {
+    if (!object.isBNode() || nesting.contains(object) || !blankNodes.isNestable(graph, (BNode) object)) {
+      writer.write(term(object));
+      return;
+    }
+
+    var blankNode = (BNode) object;
+    var description = blankNodes.take(graph, blankNode);
+    if (description.isEmpty()) {
+      writer.write("[]");
+      return;
+    }
+
+    writer.write("[ ");
+    nesting.push(blankNode);
+    writePredicateObjects(graph, description, depth + 1);
+    nesting.pop();
+    writer.write(" ]");
+  }
+
+  private String term(Value value) {
+    if (value.isIRI()) {
+      var iri = (IRI) value;
+      var prefix = prefixByNamespace.get(iri.getNamespace());
+      if (prefix != null && LOCAL_NAME.matcher(iri.getLocalName())
+          .matches()) {
+        return prefix + ":" + iri.getLocalName();
+      }
+    }
+    return NTriplesUtil.toNTriplesString(value);
+  }
+
+  private void indent(int depth) throws IOException {
+    for (int i = 0; i < depth; i++) {
+      writer.write('\t');
+    }
+  }
+}
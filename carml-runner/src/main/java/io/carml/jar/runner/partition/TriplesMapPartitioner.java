@@ -0,0 +1,168 @@
+package io.carml.jar.runner.partition;
+
+import io.carml.model.NameableStream;
+import io.carml.model.RefObjectMap;
+import io.carml.model.TriplesMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.eclipse.rdf4j.model.IRI;
+
+/**
+ * Partitions triples maps into groups that can be mapped independently of each other.<br>
+ * <br>
+ * Two triples maps end up in the same group when one refers to the other as parent triples map,
+ * directly or through other triples maps, since the mapper needs both to resolve the join. All triples
+ * maps that read from a stream end up in the same group as well, since the stream can only be read
+ * once.<br>
+ * <br>
+ * Triples maps with an equivalent logical source, that is, the same source, iterator and reference
+ * formulation, also end up in the same group. The mapper reads and parses each logical source once and
+ * hands every record to all triples maps using it, so this way each logical source is parsed only
+ * once, regardless of the number of groups.
+ */
+public final class TriplesMapPartitioner {
+
+  private TriplesMapPartitioner() {}
+
+  /**
+   * Partitions the given triples maps into independent groups.
+   *
+   * @param triplesMaps the {@link Set} of {@link TriplesMap}s.
+   * @return the {@link List} of groups, in the order of the first triples map of each group.
+   */
+  public static List<Set<TriplesMap>> partition(Set<TriplesMap> triplesMaps) {
+    return partition(triplesMaps, true);
+  }
+
+  private static List<Set<TriplesMap>> partition(Set<TriplesMap> triplesMaps, boolean groupSharedLogicalSources) {
+    var parents = new LinkedHashMap<TriplesMap, TriplesMap>();
+    triplesMaps.forEach(triplesMap -> parents.put(triplesMap, triplesMap));
+
+    TriplesMap streamTriplesMap = null;
+    var logicalSourceTriplesMaps = new HashMap<LogicalSourceKey, TriplesMap>();
+    for (var triplesMap : triplesMaps) {
+      parentTriplesMaps(triplesMap)
+          .filter(parents::containsKey)
+          .forEach(parentTriplesMap -> union(parents, triplesMap, parentTriplesMap));
+
+      if (readsStream(triplesMap)) {
+        if (streamTriplesMap == null) {
+          streamTriplesMap = triplesMap;
+        } else {
+          union(parents, streamTriplesMap, triplesMap);
+        }
+      }
+
+      if (groupSharedLogicalSources) {
+        logicalSourceKey(triplesMap)
+            .map(key -> logicalSourceTriplesMaps.putIfAbsent(key, triplesMap))
+            .ifPresent(sharingTriplesMap -> union(parents, sharingTriplesMap, triplesMap));
+      }
+    }
+
+    var groups = new LinkedHashMap<TriplesMap, Set<TriplesMap>>();
+    for (var triplesMap : triplesMaps) {
+      groups.computeIfAbsent(find(parents, triplesMap), root -> new LinkedHashSet<>())
+          .add(triplesMap);
+    }
+
+    return new ArrayList<>(groups.values());
+  }
+
+  /**
+   * Returns whether the given triples map reads from a stream, such as stdin.
+   *
+   * @param triplesMap the {@link TriplesMap}.
+   * @return {@code true} if the logical source of the triples map is a stream.
+   */
+  public static boolean readsStream(TriplesMap triplesMap) {
+    var logicalSource = triplesMap.getLogicalSource();
+    return logicalSource != null && logicalSource.getSource() instanceof NameableStream;
+  }
+
+  /**
+   * Returns whether the given triples map refers to a parent triples map, that is, whether it needs
+   * to join with another triples map.
+   *
+   * @param triplesMap the {@link TriplesMap}.
+   * @return {@code true} if the triples map has a parent triples map.
+   */
+  public static boolean hasParentTriplesMap(TriplesMap triplesMap) {
+    return parentTriplesMaps(triplesMap).findAny()
+        .isPresent();
+  }
+
+  /**
+   * Counts the source passes saved by placing triples maps with an equivalent logical source in the
+   * same group. Without that, a logical source is parsed once for every group, formed by joins and
+   * streams alone, that has a triples map using it.
+   *
+   * @param triplesMaps the {@link Set} of {@link TriplesMap}s.
+   * @return the number of source passes saved.
+   */
+  public static long countSavedSourcePasses(Set<TriplesMap> triplesMaps) {
+    var groupsPerLogicalSource = new HashMap<LogicalSourceKey, Long>();
+    for (var group : partition(triplesMaps, false)) {
+      group.stream()
+          .map(TriplesMapPartitioner::logicalSourceKey)
+          .flatMap(Optional::stream)
+          .distinct()
+          .forEach(key -> groupsPerLogicalSource.merge(key, 1L, Long::sum));
+    }
+
+    return groupsPerLogicalSource.values()
+        .stream()
+        .mapToLong(groups -> groups - 1)
+        .sum();
+  }
+
+  private static Optional<LogicalSourceKey> logicalSourceKey(TriplesMap triplesMap) {
+    return Optional.ofNullable(triplesMap.getLogicalSource())
+        .map(logicalSource -> new LogicalSourceKey(logicalSource.getSource(), logicalSource.getIterator(),
+            logicalSource.getReferenceFormulation()));
+  }
+
+  private static Stream<TriplesMap> parentTriplesMaps(TriplesMap triplesMap) {
+    return triplesMap.getPredicateObjectMaps()
+        .stream()
+        .flatMap(predicateObjectMap -> predicateObjectMap.getObjectMaps()
+            .stream())
+        .filter(RefObjectMap.class::isInstance)
+        .map(RefObjectMap.class::cast)
+        .map(RefObjectMap::getParentTriplesMap);
+  }
+
+  private static TriplesMap find(Map<TriplesMap, TriplesMap> parents, TriplesMap triplesMap) {
+    var root = triplesMap;
+    while (parents.get(root) != root) {
+      root = parents.get(root);
+    }
+
+    // compress the path, so later lookups are direct
+    var current = triplesMap;
+    while (current != root) {
+      var next = parents.get(current);
+      parents.put(current, root);
+      current = next;
+    }
+
+    return root;
+  }
+
+  private record LogicalSourceKey(Object source, String iterator, IRI referenceFormulation) {}
+
+  private static void union(Map<TriplesMap, TriplesMap> parents, TriplesMap first, TriplesMap second) {
+    var firstRoot = find(parents, first);
+    var secondRoot = find(parents, second);
+    if (firstRoot != secondRoot) {
+      parents.put(secondRoot, firstRoot);
+    }
+  }
+}
@@ -4,13 +4,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import io.carml.jar.runner.input.FilePathResolver;
+import io.carml.jar.runner.input.MappingCache;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.apache.commons.io.FilenameUtils;
@@ -18,6 +21,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
+/**
+ * Resolves prefix references against {@link PrefixIndex}es instead of parsed prefix mapping files.
+ * The bundled <a href="https://prefix.cc">prefix.cc</a> mapping is compiled into an index at build
+ * time, and read once on the first reference to it. User prefix mapping files are compiled into an
+ * index keyed by a hash of their names and content. That index is kept for following runs with the
+ * same files and, when an index directory is provided, stored there, so later processes memory-map
+ * it instead of parsing the files.
+ */
 @Component
 public class DefaultNamespacePrefixMapper implements NamespacePrefixMapper {
 
@@ -27,18 +38,23 @@ public class DefaultNamespacePrefixMapper implements NamespacePrefixMapper {
     JSON, YAML
   }
 
-  private static final String PREFIX_CC_MAPPING_FILE = "/prefix/prefix.cc.context.json";
+  private static final String PREFIX_CC_INDEX = "/prefix/prefix.cc.index";
+
+  private static final String PREFIX_CC_NAMESPACE_INDEX = "/prefix/prefix.cc.namespaces.index";
+
+  static final String INDEX_EXTENSION = ".idx";
+
+  private record KeyedPrefixIndex(String key, PrefixIndex prefixIndex) {}
 
   private final ObjectMapper objectMapper;
 
   private final YAMLMapper yamlMapper;
 
-  private Map<String, String> storedPrefixMappings;
+  private volatile KeyedPrefixIndex lastPrefixIndex;
 
   public DefaultNamespacePrefixMapper(ObjectMapper objectMapper, YAMLMapper yamlMapper) {
     this.objectMapper = objectMapper;
     this.yamlMapper = yamlMapper;
-    this.storedPrefixMappings = null;
   }
 
   /**
@@ -64,19 +80,40 @@ public class DefaultNamespacePrefixMapper implements NamespacePrefixMapper {
   @Override
   public Map<String, String> getNamespacePrefixes(@NonNull List<String> prefixDeclarations,
       @NonNull List<Path> prefixMappings) throws PrefixMappingException {
+    return getNamespacePrefixes(prefixDeclarations, prefixMappings, Optional.empty());
+  }
+
+  /**
+   * Maps {@code prefixDeclaration}s like {@link #getNamespacePrefixes(List, List)}, storing the index
+   * of the provided {@code prefixMappings} in the {@code indexDirectory}, if present, for later runs.
+   *
+   * @param prefixDeclarations - The prefixes declarations to use.
+   * @param prefixMappings - The {@link List} of {@link Path}s that are or contain prefix mapping
+   *        files.
+   * @param indexDirectory - The optional directory {@link Path} to store prefix mapping indexes in.
+   * @return the {@link Map} of {@link String} prefix keys and {@link String} name (IRI) values.
+   * @throws PrefixMappingException when a prefix mapping cannot be made due to erroneous input.
+   */
+  @Override
+  public Map<String, String> getNamespacePrefixes(@NonNull List<String> prefixDeclarations,
+      @NonNull List<Path> prefixMappings, @NonNull Optional<Path> indexDirectory) throws PrefixMappingException {
     if (prefixDeclarations.isEmpty()) {
       return Map.of();
     }
 
+    var hasPrefixReference = prefixDeclarations.stream()
+        .anyMatch(prefixDeclaration -> !Prefixes.isInlinePrefixMapping(prefixDeclaration));
+    var prefixIndex = hasPrefixReference ? getPrefixIndex(prefixMappings, indexDirectory) : null;
+
     return prefixDeclarations.stream()
-        .map(prefixDeclaration -> handlePrefixDeclaration(prefixDeclaration, prefixMappings))
+        .map(prefixDeclaration -> handlePrefixDeclaration(prefixDeclaration, prefixIndex))
         .filter(Objects::nonNull)
         .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
   }
 
-  private Entry<String, String> handlePrefixDeclaration(String prefixDeclaration, List<Path> prefixMappings) {
+  private Entry<String, String> handlePrefixDeclaration(String prefixDeclaration, PrefixIndex prefixIndex) {
     return Prefixes.isInlinePrefixMapping(prefixDeclaration) ? handleInlinePrefixMapping(prefixDeclaration)
-        : handlePrefixReference(prefixDeclaration, prefixMappings);
+        : handlePrefixReference(prefixDeclaration, prefixIndex);
   }
 
   private Entry<String, String> handleInlinePrefixMapping(String inlinePrefixMapping) {
@@ -85,43 +122,76 @@ public class DefaultNamespacePrefixMapper implements NamespacePrefixMapper {
     return Map.entry(split[0], split[1]);
   }
 
-  private Entry<String, String> handlePrefixReference(String prefixReference, List<Path> prefixMappings) {
-    if (storedPrefixMappings == null) {
-      initializeStoredPrefixMapping(prefixMappings);
-    }
-
-    if (storedPrefixMappings.containsKey(prefixReference)) {
-      return Map.entry(prefixReference, storedPrefixMappings.get(prefixReference));
+  private Entry<String, String> handlePrefixReference(String prefixReference, PrefixIndex prefixIndex) {
+    var namespace = prefixIndex.get(prefixReference);
+    if (namespace.isPresent()) {
+      return Map.entry(prefixReference, namespace.get());
     } else {
       LOG.warn("Prefix reference `{}` could not be resolved.", prefixReference);
       return null;
     }
   }
 
-  private void initializeStoredPrefixMapping(List<Path> prefixMappings) {
+  private PrefixIndex getPrefixIndex(List<Path> prefixMappings, Optional<Path> indexDirectory) {
     if (prefixMappings.isEmpty()) {
-      try (var input = DefaultNamespacePrefixMapper.class.getResourceAsStream(PREFIX_CC_MAPPING_FILE)) {
-        storedPrefixMappings = objectMapper.readValue(input, new TypeReference<>() {});
-        return;
-      } catch (IOException ioException) {
-        throw new IllegalStateException("Could not process internally stored prefix.cc file.", ioException);
+      return BundledPrefixIndex.INSTANCE;
+    }
+
+    var filePaths = FilePathResolver.resolveFilePaths(prefixMappings);
+    filePaths.forEach(this::determinePrefixMappingFormat);
+    var key = MappingCache.key(filePaths, null);
+
+    var keyedPrefixIndex = lastPrefixIndex;
+    if (keyedPrefixIndex == null || !keyedPrefixIndex.key()
+        .equals(key)) {
+      keyedPrefixIndex = new KeyedPrefixIndex(key, loadPrefixIndex(key, filePaths, indexDirectory));
+      lastPrefixIndex = keyedPrefixIndex;
+    }
+
+    return keyedPrefixIndex.prefixIndex();
+  }
+
+  private PrefixIndex loadPrefixIndex(String key, List<Path> filePaths, Optional<Path> indexDirectory) {
+    if (indexDirectory.isEmpty()) {
+      return PrefixIndex.of(parsePrefixMappings(filePaths));
+    }
+
+    var indexPath = indexDirectory.get()
+        .resolve(key + INDEX_EXTENSION);
+    if (Files.isRegularFile(indexPath)) {
+      try {
+        var prefixIndex = PrefixIndex.open(indexPath);
+        LOG.debug("Loaded prefix mapping from index {}.", indexPath);
+        return prefixIndex;
+      } catch (IOException | PrefixMappingException exception) {
+        LOG.warn("Ignoring unreadable prefix index {}: {}", indexPath, exception.getMessage());
       }
     }
 
-    storedPrefixMappings = new HashMap<>();
-    FilePathResolver.resolveFilePaths(prefixMappings)
-        .forEach(this::storePrefixMapping);
+    var prefixMapping = parsePrefixMappings(filePaths);
+    try {
+      PrefixIndex.write(prefixMapping, indexPath);
+      LOG.debug("Wrote prefix index {}.", indexPath);
+    } catch (IOException ioException) {
+      LOG.warn("Could not write prefix index {}: {}", indexPath, ioException.getMessage());
+    }
+
+    return PrefixIndex.of(prefixMapping);
   }
 
-  private void storePrefixMapping(Path path) {
+  private Map<String, String> parsePrefixMappings(List<Path> filePaths) {
+    var prefixMapping = new HashMap<String, String>();
+    filePaths.forEach(path -> prefixMapping.putAll(parsePrefixMapping(path)));
+
+    return prefixMapping;
+  }
+
+  private Map<String, String> parsePrefixMapping(Path path) {
     var format = determinePrefixMappingFormat(path);
 
     try {
-      if (format == PrefixMappingFormat.JSON) {
-        storedPrefixMappings.putAll(objectMapper.readValue(path.toFile(), new TypeReference<>() {}));
-      } else if (format == PrefixMappingFormat.YAML) {
-        storedPrefixMappings.putAll(yamlMapper.readValue(path.toFile(), new TypeReference<>() {}));
-      }
+      return format == PrefixMappingFormat.JSON ? objectMapper.readValue(path.toFile(), new TypeReference<>() {})
+          : yamlMapper.readValue(path.toFile(), new TypeReference<>() {});
     } catch (IOException ioException) {
       throw new PrefixMappingException(String.format("Could not parse prefix mapping file [%s].", path), ioException);
     }
@@ -139,4 +209,46 @@ public class DefaultNamespacePrefixMapper implements NamespacePrefixMapper {
           path));
     };
   }
+
+  /**
+   * Returns the prefix of the given namespace in the bundled <a href="https://prefix.cc">prefix.cc</a>
+   * mapping. When several prefixes map to the namespace, the shortest one is returned.
+   *
+   * @param namespace - The namespace.
+   * @return an {@link Optional} of the prefix, empty if the namespace is not in the mapping.
+   */
+  @Override
+  public Optional<String> findPrefix(@NonNull String namespace) {
+    return BundledNamespaceIndex.INSTANCE.get(namespace);
+  }
+
+  private static PrefixIndex loadBundledIndex(String resource) {
+    try (var input = DefaultNamespacePrefixMapper.class.getResourceAsStream(resource)) {
+      if (input == null) {
+        throw new IllegalStateException(
+            String.format("Could not find internally stored prefix.cc index %s.", resource));
+      }
+      return PrefixIndex.read(input);
+    } catch (IOException ioException) {
+      throw new IllegalStateException(
+          String.format("Could not process internally stored prefix.cc index %s.", resource), ioException);
+    }
+  }
+
+  /**
+   * Holds the bundled prefix.cc index, read when the class is initialized on the first reference to
+   * it and shared by all mappers.
+   */
+  private static final class BundledPrefixIndex {
+
+    private static final PrefixIndex INSTANCE = loadBundledIndex(PREFIX_CC_INDEX);
+  }
+
+  /**
+   * Holds the bundled index of prefix.cc namespaces to prefixes, read on the first reverse lookup.
+   */
+  private static final class BundledNamespaceIndex {
+
+    private static final PrefixIndex INSTANCE = loadBundledIndex(PREFIX_CC_NAMESPACE_INDEX);
+  }
 }
@@ -3,6 +3,7 @@ package io.carml.jar.runner.prefix;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.NonNull;
 
 public interface NamespacePrefixMapper {
@@ -28,4 +29,32 @@ public interface NamespacePrefixMapper {
    */
   Map<String, String> getNamespacePrefixes(@NonNull List<String> prefixDeclarations, @NonNull List<Path> prefixMappings)
       throws PrefixMappingException;
+
+  /**
+   * Maps {@code prefixDeclaration}s like {@link #getNamespacePrefixes(List, List)}. Implementations
+   * may store a processed form of the {@code prefixMappings} in the {@code indexDirectory}, to speed
+   * up later calls with the same prefix mapping files.
+   *
+   * @param prefixDeclarations - The prefixes declarations to use.
+   * @param prefixMappings - The {@link List} of {@link Path}s that are or contain prefix mapping
+   *        files.
+   * @param indexDirectory - The optional directory {@link Path} to store prefix mapping indexes in.
+   * @return the {@link Map} of {@link String} prefix keys and {@link String} name (IRI) values.
+   * @throws PrefixMappingException when a prefix mapping cannot be made due to erroneous input.
+   */
+  default Map<String, String> getNamespacePrefixes(@NonNull List<String> prefixDeclarations,
+      @NonNull List<Path> prefixMappings, @NonNull Optional<Path> indexDirectory) throws PrefixMappingException {
+    return getNamespacePrefixes(prefixDeclarations, prefixMappings);
+  }
+
+  /**
+   * Returns a well-known prefix for the given namespace, used to name prefixes that are inferred from
+   * the output.
+   *
+   * @param namespace - The namespace.
+   * @return an {@link Optional} of the prefix, empty if no well-known prefix exists.
+   */
+  default Optional<String> findPrefix(@NonNull String namespace) {
+    return Optional.empty();
+  }
 }
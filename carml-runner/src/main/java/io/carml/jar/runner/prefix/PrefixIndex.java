@@ -0,0 +1,219 @@
+package io.carml.jar.runner.prefix;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A read-only prefix mapping in a compact binary form that is looked up in place, without parsing it
+ * into a {@link Map} first.<br>
+ * <br>
+ * The index starts with a header of a magic number, a format version and the number of entries,
+ * followed by a table with the offset of every entry. Each entry holds the UTF-8 bytes of its prefix
+ * and namespace, both preceded by their length as an unsigned short. The entries are sorted by the
+ * unsigned bytes of their prefix, so a lookup is a binary search over the offset table that compares
+ * bytes in the buffer, and only decodes the namespace it finds. An index file is memory-mapped, so
+ * opening it costs no more than mapping the file.
+ */
+public final class PrefixIndex {
+
+  static final int MAGIC = 0x43504958;
+
+  static final int VERSION = 1;
+
+  private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+  private static final int MAX_LENGTH = 0xFFFF;
+
+  private final ByteBuffer buffer;
+
+  private final int size;
+
+  private PrefixIndex(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.size = buffer.getInt(2 * Integer.BYTES);
+  }
+
+  /**
+   * Wraps a {@link ByteBuffer} holding an index.
+   *
+   * @param buffer The {@link ByteBuffer}.
+   * @return the {@link PrefixIndex}.
+   * @throws PrefixMappingException when the buffer does not hold an index of the supported version.
+   */
+  public static PrefixIndex of(ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+      throw new PrefixMappingException("Not a prefix index of a supported version.");
+    }
+
+    return new PrefixIndex(buffer);
+  }
+
+  /**
+   * Memory-maps the index in the given file.
+   *
+   * @param path The {@link Path} of the index file.
+   * @return the {@link PrefixIndex}.
+   * @throws IOException when the file cannot be read.
+   */
+  public static PrefixIndex open(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads the index from an {@link InputStream}, for an index that is not a file of its own, like a
+   * class path resource in a jar.
+   *
+   * @param inputStream The {@link InputStream}.
+   * @return the {@link PrefixIndex}.
+   * @throws IOException when the stream cannot be read.
+   */
+  public static PrefixIndex read(InputStream inputStream) throws IOException {
+    return of(ByteBuffer.wrap(inputStream.readAllBytes()));
+  }
+
+  /**
+   * Builds an in-memory index of the given prefix mapping.
+   *
+   * @param prefixMapping The {@link Map} of prefixes to namespaces.
+   * @return the {@link PrefixIndex}.
+   */
+  public static PrefixIndex of(Map<String, String> prefixMapping) {
+    return of(ByteBuffer.wrap(toBytes(prefixMapping)));
+  }
+
+  /**
+   * Writes an index of the given prefix mapping to a file. The index is written to a temporary file
+   * that is moved into place, so concurrent readers never see a partially written index.
+   *
+   * @param prefixMapping The {@link Map} of prefixes to namespaces.
+   * @param path The {@link Path} of the index file.
+   * @throws IOException when the file cannot be written.
+   */
+  public static void write(Map<String, String> prefixMapping, Path path) throws IOException {
+    var directory = path.toAbsolutePath()
+        .getParent();
+    Files.createDirectories(directory);
+    var tmpPath = Files.createTempFile(directory, "index", ".tmp");
+    try {
+      Files.write(tmpPath, toBytes(prefixMapping));
+      try {
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tmpPath);
+    }
+  }
+
+  static byte[] toBytes(Map<String, String> prefixMapping) {
+    var entries = prefixMapping.entrySet()
+        .stream()
+        .map(entry -> new byte[][] {encode(entry.getKey()), encode(entry.getValue())})
+        .sorted((entry1, entry2) -> Arrays.compareUnsigned(entry1[0], entry2[0]))
+        .toList();
+
+    var dataBytes = entries.stream()
+        .mapToInt(entry -> 2 * Short.BYTES + entry[0].length + entry[1].length)
+        .sum();
+    var buffer = ByteBuffer.allocate(HEADER_BYTES + entries.size() * Integer.BYTES + dataBytes);
+    buffer.putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(entries.size());
+
+    var offset = HEADER_BYTES + entries.size() * Integer.BYTES;
+    for (var entry : entries) {
+      buffer.putInt(offset);
+      offset += 2 * Short.BYTES + entry[0].length + entry[1].length;
+    }
+    for (var entry : entries) {
+      buffer.putShort((short) entry[0].length)
+          .put(entry[0])
+          .putShort((short) entry[1].length)
+          .put(entry[1]);
+    }
+
+    return buffer.array();
+  }
+
+  private static byte[] encode(String value) {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_LENGTH) {
+      throw new PrefixMappingException(String.format("Prefix mapping value exceeds %d bytes: %.64s...", MAX_LENGTH,
+          value));
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Returns the namespace mapped to the given prefix.
+   *
+   * @param prefix The prefix.
+   * @return an {@link Optional} of the namespace, empty if the prefix is not in the index.
+   */
+  public Optional<String> get(String prefix) {
+    var key = prefix.getBytes(StandardCharsets.UTF_8);
+
+    var low = 0;
+    var high = size - 1;
+    while (low <= high) {
+      var middle = (low + high) >>> 1;
+      var offset = buffer.getInt(HEADER_BYTES + middle * Integer.BYTES);
+      var comparison = compareKey(offset, key);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return Optional.of(readValue(offset));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the number of entries in the index.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  private int compareKey(int offset, byte[] key) {
+    var length = Short.toUnsignedInt(buffer.getShort(offset));
+    var start = offset + Short.BYTES;
+    var common = Math.min(length, key.length);
+    for (var i = 0; i < common; i++) {
+      var comparison = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+
+    return Integer.compare(length, key.length);
+  }
+
+  private String readValue(int offset) {
+    var valueOffset = offset + Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset));
+    var value = new byte[Short.toUnsignedInt(buffer.getShort(valueOffset))];
+    buffer.get(valueOffset + Short.BYTES, value);
+
+    return new String(value, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,58 @@
+package io.carml.jar.runner.prefix;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a JSON prefix mapping file into a {@link PrefixIndex} file of its prefixes, and one of its
+ * namespaces for reverse lookups. The build runs it to package the bundled
+ * <a href="https://prefix.cc">prefix.cc</a> mapping as indexes, so it is never parsed at runtime.
+ */
+public final class PrefixIndexCompiler {
+
+  private static final Comparator<String> PREFERRED_PREFIX = Comparator.comparingInt(String::length)
+      .thenComparing(Comparator.naturalOrder());
+
+  private PrefixIndexCompiler() {}
+
+  /**
+   * Compiles the JSON prefix mapping file in the first argument into the prefix index file in the
+   * second, and the namespace index file in the third.
+   *
+   * @param args The JSON prefix mapping file path, the prefix index file path and the namespace index
+   *        file path.
+   * @throws IOException when a file cannot be read or written.
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length != 3) {
+      throw new IllegalArgumentException(
+          "Usage: PrefixIndexCompiler <prefix mapping json> <prefix index> <namespace index>");
+    }
+
+    Map<String, String> prefixMapping = new ObjectMapper().readValue(Path.of(args[0])
+        .toFile(), new TypeReference<>() {});
+    PrefixIndex.write(prefixMapping, Path.of(args[1]));
+    PrefixIndex.write(invert(prefixMapping), Path.of(args[2]));
+  }
+
+  /**
+   * Inverts a prefix mapping into a mapping of namespaces to prefixes. When several prefixes map to
+   * the same namespace, the shortest prefix is kept, and of prefixes of equal length the first in
+   * alphabetical order.
+   *
+   * @param prefixMapping The {@link Map} of prefixes to namespaces.
+   * @return the {@link Map} of namespaces to prefixes.
+   */
+  static Map<String, String> invert(Map<String, String> prefixMapping) {
+    return prefixMapping.entrySet()
+        .stream()
+        .collect(Collectors.toMap(Entry::getValue, Entry::getKey, (prefix1, prefix2) -> PREFERRED_PREFIX
+            .compare(prefix1, prefix2) <= 0 ? prefix1 : prefix2));
+  }
+}
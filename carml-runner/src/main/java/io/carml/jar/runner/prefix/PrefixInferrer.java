@@ -0,0 +1,136 @@
+package io.carml.jar.runner.prefix;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * Infers namespace prefixes for the output from a sample of its statements.<br>
+ * <br>
+ * The namespaces of the IRIs in every position of a counted statement, and of the datatypes of its
+ * literals, are counted. The namespaces that occur most often, and at least twice, get a prefix. A
+ * namespace that is in the bundled <a href="https://prefix.cc">prefix.cc</a> mapping gets its
+ * well-known prefix there. Other namespaces are named after their last path segment, for example
+ * {@code person} for {@code http://example.com/person/}, falling back to {@code ns}. Declared
+ * prefixes are kept, and a name already in use gets a number appended.
+ */
+public class PrefixInferrer {
+
+  static final int MIN_OCCURRENCES = 2;
+
+  static final String FALLBACK_PREFIX = "ns";
+
+  private static final Pattern SCHEME_ONLY = Pattern.compile("[A-Za-z][A-Za-z0-9+.-]*:/*");
+
+  private static final Pattern NAME = Pattern.compile("[a-z][a-z0-9_-]*");
+
+  private static final Comparator<Entry<String, Integer>> MOST_FREQUENT =
+      Entry.<String, Integer>comparingByValue()
+          .reversed()
+          .thenComparing(Entry.comparingByKey());
+
+  private final NamespacePrefixMapper namespacePrefixMapper;
+
+  private final int maxPrefixes;
+
+  private final Map<String, Integer> namespaceCounts = new HashMap<>();
+
+  public PrefixInferrer(NamespacePrefixMapper namespacePrefixMapper, int maxPrefixes) {
+    this.namespacePrefixMapper = namespacePrefixMapper;
+    this.maxPrefixes = maxPrefixes;
+  }
+
+  /**
+   * Counts the namespaces used in the given {@link Statement}.
+   *
+   * @param statement The {@link Statement}.
+   */
+  public void count(Statement statement) {
+    count(statement.getSubject());
+    count(statement.getPredicate());
+    count(statement.getObject());
+    if (statement.getContext() != null) {
+      count(statement.getContext());
+    }
+  }
+
+  private void count(Value value) {
+    if (value.isIRI()) {
+      count((IRI) value);
+    } else if (value.isLiteral()) {
+      var datatype = ((Literal) value).getDatatype();
+      if (!datatype.equals(XSD.STRING) && !datatype.equals(RDF.LANGSTRING)) {
+        count(datatype);
+      }
+    }
+  }
+
+  private void count(IRI iri) {
+    var namespace = iri.getNamespace();
+    if (!SCHEME_ONLY.matcher(namespace)
+        .matches()) {
+      namespaceCounts.merge(namespace, 1, Integer::sum);
+    }
+  }
+
+  /**
+   * Adds prefixes for the most frequent namespaces counted so far to the declared prefixes.
+   * Namespaces that already have a declared prefix are skipped.
+   *
+   * @param declaredPrefixes The {@link Map} of declared prefixes to namespaces.
+   * @return the {@link Map} of the declared and inferred prefixes to namespaces.
+   */
+  public Map<String, String> inferPrefixes(Map<String, String> declaredPrefixes) {
+    var prefixes = new LinkedHashMap<>(declaredPrefixes);
+    var declaredNamespaces = new HashSet<>(declaredPrefixes.values());
+
+    namespaceCounts.entrySet()
+        .stream()
+        .filter(entry -> entry.getValue() >= MIN_OCCURRENCES)
+        .filter(entry -> !declaredNamespaces.contains(entry.getKey()))
+        .sorted(MOST_FREQUENT)
+        .limit(maxPrefixes)
+        .map(Entry::getKey)
+        .forEach(namespace -> prefixes.put(choosePrefix(namespace, prefixes), namespace));
+
+    return prefixes;
+  }
+
+  private String choosePrefix(String namespace, Map<String, String> prefixes) {
+    var wellKnownPrefix = namespacePrefixMapper.findPrefix(namespace)
+        .filter(prefix -> !prefixes.containsKey(prefix));
+    if (wellKnownPrefix.isPresent()) {
+      return wellKnownPrefix.get();
+    }
+
+    var name = deriveName(namespace);
+    var prefix = name;
+    for (var i = 1; prefixes.containsKey(prefix); i++) {
+      prefix = name + i;
+    }
+
+    return prefix;
+  }
+
+  static String deriveName(String namespace) {
+    var path = namespace.replaceAll("[/#:]+$", "");
+    var start = Math.max(path.lastIndexOf('/'), Math.max(path.lastIndexOf('#'), path.lastIndexOf(':'))) + 1;
+    var name = path.substring(start)
+        .toLowerCase(Locale.ROOT)
+        .replaceAll("[^a-z0-9_-]", "");
+
+    return NAME.matcher(name)
+        .matches() ? name : FALLBACK_PREFIX;
+  }
+}
@@ -0,0 +1,319 @@
+package io.carml.jar.runner.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.carml.engine.rdf.RdfRmlMapper;
+import io.carml.jar.runner.RmlMapperConfigurer;
+import io.carml.jar.runner.input.MappingCache;
+import io.carml.jar.runner.input.ModelLoader;
+import io.carml.jar.runner.output.OutputHandler;
+import io.carml.logicalsourceresolver.CsvResolver;
+import io.carml.logicalsourceresolver.JsonPathResolver;
+import io.carml.logicalsourceresolver.XPathResolver;
+import io.carml.util.RmlMappingLoader;
+import io.carml.vocab.Rdf;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.rdf4j.rio.RDFWriterRegistry;
+
+/**
+ * HTTP server that maps request bodies with mappings from a mapping directory, keeping the JVM and the
+ * built mappers warm between requests.<br>
+ * <br>
+ * {@code POST /map/<mapping id>} maps the request body as the stream source of the mapping file at
+ * {@code <mapping id>}, relative to the mapping directory, and streams the result back in the format
+ * given by the {@code format} query parameter, or the default output format. {@code GET /health}
+ * reports whether the server is up.<br>
+ * <br>
+ * Built mappers are kept in a bounded LRU cache, keyed by the path and a hash of the mapping file, so
+ * a changed mapping file is picked up by the next request. A mapper is built outside the lock of the
+ * cache, so requests for other mappings are not held up by it, while concurrent requests for the same
+ * mapping wait for the one build. Requests are handled concurrently by a fixed number of threads,
+ * further requests wait for a thread to become available.
+ */
+public class MappingServer implements Closeable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final String MAP_PATH = "/map/";
+
+  static final String HEALTH_PATH = "/health";
+
+  private final ModelLoader modelLoader;
+
+  private final OutputHandler outputHandler;
+
+  private final List<RmlMapperConfigurer> rmlMapperConfigurers;
+
+  private final Set<String> rdfFormats;
+
+  private final ServerSettings settings;
+
+  private final Map<MapperKey, CompletableFuture<RdfRmlMapper>> mappers;
+
+  private final AtomicLong mapperBuilds = new AtomicLong();
+
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private HttpServer httpServer;
+
+  private ExecutorService executor;
+
+  public MappingServer(ModelLoader modelLoader, OutputHandler outputHandler,
+      List<RmlMapperConfigurer> rmlMapperConfigurers, Set<String> rdfFormats, ServerSettings settings) {
+    this.modelLoader = modelLoader;
+    this.outputHandler = outputHandler;
+    this.rmlMapperConfigurers = rmlMapperConfigurers;
+    this.rdfFormats = rdfFormats;
+    this.settings = settings;
+    this.mappers = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<MapperKey, CompletableFuture<RdfRmlMapper>> eldest) {
+        return size() > settings.mapperCacheSize();
+      }
+    };
+  }
+
+  /**
+   * Starts accepting requests.
+   *
+   * @throws IOException if the server cannot bind to its address.
+   */
+  public void start() throws IOException {
+    var threadCounter = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(settings.maxConcurrentRequests(), runnable -> {
+      var thread = new Thread(runnable, "carml-server-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    httpServer = HttpServer.create(new InetSocketAddress(settings.host(), settings.port()), 0);
+    httpServer.setExecutor(executor);
+    httpServer.createContext(MAP_PATH, this::handleMap);
+    httpServer.createContext(HEALTH_PATH, this::handleHealth);
+    httpServer.start();
+
+    LOG.info("Serving mappings from {} on http://{}:{}{} ...", settings.mappingDirectory(), settings.host(), getPort(),
+        MAP_PATH);
+  }
+
+  /**
+   * Returns the port the server listens on, which is useful when started on port 0.
+   *
+   * @return the port.
+   */
+  public int getPort() {
+    return httpServer.getAddress()
+        .getPort();
+  }
+
+  /**
+   * Blocks until the server is closed.
+   *
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public void awaitClose() throws InterruptedException {
+    stopped.await();
+  }
+
+  @Override
+  public void close() {
+    if (httpServer != null) {
+      httpServer.stop(0);
+      executor.shutdownNow();
+    }
+    stopped.countDown();
+  }
+
+  long getMapperBuilds() {
+    return mapperBuilds.get();
+  }
+
+  private void handleHealth(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      sendText(exchange, 200, "OK");
+    }
+  }
+
+  private void handleMap(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders()
+            .set("Allow", "POST");
+        sendText(exchange, 405, "Method not allowed, use POST.");
+        return;
+      }
+
+      var mappingId = exchange.getRequestURI()
+          .getPath()
+          .substring(MAP_PATH.length());
+      var mappingPath = resolveMapping(mappingId);
+      if (mappingPath.isEmpty()) {
+        sendText(exchange, 404, String.format("Unknown mapping %s.", mappingId));
+        return;
+      }
+
+      var rdfFormat = queryParameter(exchange, "format").orElse(settings.outputRdfFormat());
+      if (!rdfFormats.contains(rdfFormat)) {
+        sendText(exchange, 400, String.format("Unsupported output format %s.", rdfFormat));
+        return;
+      }
+
+      RdfRmlMapper rmlMapper;
+      try {
+        rmlMapper = getMapper(mappingPath.get());
+      } catch (RuntimeException exception) {
+        LOG.error("Could not load mapping {}: {}", mappingId, exception.getMessage(), exception);
+        sendText(exchange, 500, String.format("Could not load mapping %s: %s", mappingId, exception.getMessage()));
+        return;
+      }
+
+      map(exchange, rmlMapper, rdfFormat);
+    }
+  }
+
+  private void map(HttpExchange exchange, RdfRmlMapper rmlMapper, String rdfFormat) throws IOException {
+    exchange.getResponseHeaders()
+        .set("Content-Type", contentType(rdfFormat));
+    // chunked, since the size is unknown until mapping completes
+    exchange.sendResponseHeaders(200, 0);
+
+    try (var requestBody = exchange.getRequestBody();
+        var responseBody = new BufferedOutputStream(exchange.getResponseBody())) {
+      var statements = rmlMapper.map(requestBody);
+      var nrOfStatements = outputHandler.isFormatStreamable(rdfFormat, false)
+          ? outputHandler.outputStreaming(statements, rdfFormat, settings.namespaces(), responseBody)
+          : outputHandler.outputPretty(statements, rdfFormat, settings.namespaces(), responseBody);
+      LOG.debug("Mapped request {} to {} statements.", exchange.getRequestURI(), nrOfStatements);
+    } catch (RuntimeException exception) {
+      // the status has been sent, the truncated response signals the failure
+      LOG.error("Exception occurred while mapping request {}: {}", exchange.getRequestURI(), exception.getMessage(),
+          exception);
+    }
+  }
+
+  private Optional<Path> resolveMapping(String mappingId) {
+    var mappingDirectory = settings.mappingDirectory()
+        .toAbsolutePath()
+        .normalize();
+    var mappingPath = mappingDirectory.resolve(mappingId)
+        .normalize();
+
+    return mappingPath.startsWith(mappingDirectory) && Files.isRegularFile(mappingPath) ? Optional.of(mappingPath)
+        : Optional.empty();
+  }
+
+  private RdfRmlMapper getMapper(Path mappingPath) {
+    // the mapper resolves sources relative to the mapping file, so equal files in other directories differ
+    var key = new MapperKey(mappingPath, MappingCache.key(List.of(mappingPath), null));
+    var mapperFuture = new CompletableFuture<RdfRmlMapper>();
+    CompletableFuture<RdfRmlMapper> cachedMapperFuture;
+    synchronized (mappers) {
+      cachedMapperFuture = mappers.putIfAbsent(key, mapperFuture);
+    }
+
+    if (cachedMapperFuture != null) {
+      try {
+        return cachedMapperFuture.join();
+      } catch (CompletionException completionException) {
+        if (completionException.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw completionException;
+      }
+    }
+
+    try {
+      var rmlMapper = buildMapper(mappingPath);
+      mapperFuture.complete(rmlMapper);
+
+      return rmlMapper;
+    } catch (RuntimeException | Error exception) {
+      // a failed build is not cached, so the next request builds the mapper again
+      synchronized (mappers) {
+        mappers.remove(key, mapperFuture);
+      }
+      mapperFuture.completeExceptionally(exception);
+      throw exception;
+    }
+  }
+
+  private RdfRmlMapper buildMapper(Path mappingPath) {
+    LOG.debug("Building mapper for {} ...", mappingPath);
+    mapperBuilds.incrementAndGet();
+
+    var mappingModel = modelLoader.loadModel(List.of(mappingPath), null);
+    var mapperBuilder = RdfRmlMapper.builder()
+        .setLogicalSourceResolver(Rdf.Ql.Csv, CsvResolver::getInstance)
+        .setLogicalSourceResolver(Rdf.Ql.JsonPath, JsonPathResolver::getInstance)
+        .setLogicalSourceResolver(Rdf.Ql.XPath, XPathResolver::getInstance)
+        .triplesMaps(RmlMappingLoader.build()
+            .load(mappingModel))
+        .fileResolver(mappingPath.getParent());
+
+    rmlMapperConfigurers.forEach(rmlMapperConfigurer -> rmlMapperConfigurer.configureMapper(mapperBuilder));
+
+    return mapperBuilder.build();
+  }
+
+  private record MapperKey(Path mappingPath, String contentKey) {}
+
+  private static Optional<String> queryParameter(HttpExchange exchange, String name) {
+    var query = exchange.getRequestURI()
+        .getRawQuery();
+    if (query == null) {
+      return Optional.empty();
+    }
+
+    for (var parameter : query.split("&")) {
+      var separator = parameter.indexOf('=');
+      if (separator > 0 && URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8)
+          .equals(name)) {
+        return Optional.of(URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  private static String contentType(String rdfFormat) {
+    return RDFWriterRegistry.getInstance()
+        .getKeys()
+        .stream()
+        .filter(format -> format.getDefaultFileExtension()
+            .equals(rdfFormat))
+        .findFirst()
+        .map(format -> format.getDefaultMIMEType() + (format.hasCharset() ? "; charset=UTF-8" : ""))
+        .orElse("application/octet-stream");
+  }
+
+  private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+    var body = text.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders()
+        .set("Content-Type", "text/plain; charset=UTF-8");
+    exchange.sendResponseHeaders(status, body.length);
+    try (var responseBody = exchange.getResponseBody()) {
+      responseBody.write(body);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package io.carml.jar.runner.server;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Settings of a {@link MappingServer}.
+ *
+ * @param host The host name or address to listen on.
+ * @param port The port to listen on, or 0 for any free port.
+ * @param mappingDirectory The directory mapping ids are resolved against.
+ * @param maxConcurrentRequests The maximum number of requests handled at the same time.
+ * @param mapperCacheSize The maximum number of built mappers kept.
+ * @param outputRdfFormat The output format used when a request does not specify one.
+ * @param namespaces The namespaces applied to the output.
+ */
+public record ServerSettings(String host, int port, Path mappingDirectory, int maxConcurrentRequests,
+    int mapperCacheSize, String outputRdfFormat, Map<String, String> namespaces) {
+}
@@ -0,0 +1,193 @@
+package io.carml.jar.runner.watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches files and directory trees for changes with a {@link WatchService}.<br>
+ * <br>
+ * A watched file is watched through its parent directory, ignoring changes to other files in it. A
+ * watched directory is watched through itself and all its subdirectories, including directories
+ * created later on. Since editors and copy tools often touch a file several times in a row,
+ * {@link #awaitChanges()} waits until no further changes arrive for the debounce duration, and
+ * reports the whole burst at once. Changes to ignored paths, such as the output of the mapping, and
+ * to files matching the ignored files predicate, such as the parts of split output, are dropped.
+ */
+public class ChangeWatcher implements Closeable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final WatchService watchService;
+
+  private final List<Path> ignoredPaths;
+
+  private final Predicate<Path> ignoredFiles;
+
+  private final Duration debounce;
+
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+  private final Set<Path> watchedTrees = new HashSet<>();
+
+  private final Set<Path> watchedFiles = new HashSet<>();
+
+  /**
+   * @param watchedPaths the {@link List} of file and directory {@link Path}s to watch.
+   * @param ignoredPaths the {@link List} of file and directory {@link Path}s whose changes are ignored.
+   * @param debounce the {@link Duration} without changes that ends a burst of changes.
+   * @throws IOException if the paths cannot be watched.
+   */
+  public ChangeWatcher(List<Path> watchedPaths, List<Path> ignoredPaths, Duration debounce) throws IOException {
+    this(watchedPaths, ignoredPaths, path -> false, debounce);
+  }
+
+  /**
+   * @param watchedPaths the {@link List} of file and directory {@link Path}s to watch.
+   * @param ignoredPaths the {@link List} of file and directory {@link Path}s whose changes are ignored.
+   * @param ignoredFiles the {@link Predicate} matching further {@link Path}s whose changes are ignored.
+   * @param debounce the {@link Duration} without changes that ends a burst of changes.
+   * @throws IOException if the paths cannot be watched.
+   */
+  public ChangeWatcher(List<Path> watchedPaths, List<Path> ignoredPaths, Predicate<Path> ignoredFiles,
+      Duration debounce) throws IOException {
+    this.watchService = FileSystems.getDefault()
+        .newWatchService();
+    this.ignoredPaths = ignoredPaths.stream()
+        .map(ChangeWatcher::normalize)
+        .toList();
+    this.ignoredFiles = ignoredFiles;
+    this.debounce = debounce;
+
+    for (var watchedPath : watchedPaths) {
+      var path = normalize(watchedPath);
+      if (Files.isDirectory(path)) {
+        watchedTrees.add(path);
+        registerTree(path);
+      } else if (path.getParent() != null) {
+        watchedFiles.add(path);
+        register(path.getParent());
+      }
+    }
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath()
+        .normalize();
+  }
+
+  private void registerTree(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (var subdirectory : paths.filter(Files::isDirectory)
+          .filter(path -> !isIgnored(path))
+          .toList()) {
+        register(subdirectory);
+      }
+    }
+  }
+
+  private void register(Path directory) throws IOException {
+    if (watchedDirectories.containsValue(directory)) {
+      return;
+    }
+
+    var watchKey = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    watchedDirectories.put(watchKey, directory);
+    LOG.debug("Watching directory {} for changes.", directory);
+  }
+
+  /**
+   * Returns the watched directories.
+   *
+   * @return the {@link Set} of directory {@link Path}s.
+   */
+  public Set<Path> getWatchedDirectories() {
+    return Set.copyOf(watchedDirectories.values());
+  }
+
+  /**
+   * Blocks until a burst of changes to the watched paths ended.
+   *
+   * @return the {@link Set} of changed {@link Path}s.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public Set<Path> awaitChanges() throws InterruptedException {
+    var changes = new LinkedHashSet<Path>();
+    while (changes.isEmpty()) {
+      collect(watchService.take(), changes);
+
+      WatchKey watchKey;
+      while ((watchKey = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+        collect(watchKey, changes);
+      }
+    }
+
+    return changes;
+  }
+
+  private void collect(WatchKey watchKey, Set<Path> changes) {
+    var directory = watchedDirectories.get(watchKey);
+    var events = new ArrayList<>(watchKey.pollEvents());
+    if (!watchKey.reset()) {
+      watchedDirectories.remove(watchKey);
+    }
+    if (directory == null) {
+      return;
+    }
+
+    for (var event : events) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        changes.add(directory);
+        continue;
+      }
+
+      var changed = directory.resolve((Path) event.context());
+      if (!isWatched(changed) || isIgnored(changed)) {
+        continue;
+      }
+      changes.add(changed);
+
+      if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+        try {
+          registerTree(changed);
+        } catch (IOException ioException) {
+          LOG.warn("Could not watch new directory {}: {}", changed, ioException.getMessage());
+        }
+      }
+    }
+  }
+
+  private boolean isWatched(Path path) {
+    return watchedFiles.contains(path) || watchedTrees.stream()
+        .anyMatch(path::startsWith);
+  }
+
+  private boolean isIgnored(Path path) {
+    return ignoredFiles.test(path) || ignoredPaths.stream()
+        .anyMatch(path::startsWith);
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+}
@@ -0,0 +1,104 @@
+package io.carml.jar.runner;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static picocli.CommandLine.ExitCode.OK;
+import static picocli.CommandLine.ExitCode.SOFTWARE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+@SpringBootTest(classes = {TestApplication.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CarmlBatchCommandTest {
+
+  private static final Path TEST_PATH = getTestSourcePath(Paths.get("carml-map-command"))
+      .toAbsolutePath();
+
+  @Autowired
+  private CarmlRunner carmlRunner;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @TempDir
+  private Path tmpDir;
+
+  @Test
+  void givenYamlManifest_whenBatchCommandRun_thenRunAllJobsAndWriteSummary() throws IOException {
+    // Given
+    var manifest = Files.writeString(tmpDir.resolve("jobs.yaml"), String.format("""
+        concurrency: 2
+        jobs:
+          - name: first
+            mapping: [%1$s]
+            relativeSourceLocation: %2$s
+            output: out/first.nq
+          - name: second
+            mapping: [%1$s]
+            relativeSourceLocation: %2$s
+            output: out/second.nq
+            options: [--writer-threads, "1"]
+        """, TEST_PATH.resolve(Paths.get("mapping", "mapping.rml.ttl")), TEST_PATH.resolve("source")));
+    var summary = tmpDir.resolve("summary.json");
+    var args = new String[] {"batch", manifest.toString(), "--summary", summary.toString()};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    assertThat(carmlRunner.getExitCode(), is(OK));
+    assertThat(Files.exists(tmpDir.resolve(Paths.get("out", "first.nq"))), is(true));
+    assertThat(Files.exists(tmpDir.resolve(Paths.get("out", "second.nq"))), is(true));
+    var results = objectMapper.readTree(summary.toFile());
+    assertThat(results.size(), is(2));
+    assertThat(results.get(0)
+        .get("name")
+        .asText(), is("first"));
+    assertThat(results.get(1)
+        .get("exitCode")
+        .asInt(), is(OK));
+    // the test output handler reports 2 statements per streamed output
+    assertThat(results.get(1)
+        .get("statements")
+        .asLong(), is(2L));
+  }
+
+  @Test
+  void givenJsonManifestWithFailingJob_whenBatchCommandRun_thenReturnSoftwareExitCode() throws IOException {
+    // Given
+    var manifest = Files.writeString(tmpDir.resolve("jobs.json"), String.format("""
+        {"jobs": [
+          {"mapping": ["%s"], "relativeSourceLocation": "%s", "output": "first.nq"},
+          {"mapping": ["missing.rml.ttl"], "output": "second.nq"}
+        ]}
+        """, TEST_PATH.resolve(Paths.get("mapping", "mapping.rml.ttl")), TEST_PATH.resolve("source")));
+    var summary = tmpDir.resolve("summary.json");
+    var args = new String[] {"batch", manifest.toString(), "--summary", summary.toString()};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    assertThat(carmlRunner.getExitCode(), is(SOFTWARE));
+    var results = objectMapper.readTree(summary.toFile());
+    assertThat(results.get(0)
+        .get("name")
+        .asText(), is("job-1"));
+    assertThat(results.get(0)
+        .get("exitCode")
+        .asInt(), is(OK));
+    assertThat(results.get(1)
+        .get("exitCode")
+        .asInt(), is(SOFTWARE));
+  }
+}
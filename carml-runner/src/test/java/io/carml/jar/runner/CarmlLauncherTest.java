@@ -0,0 +1,98 @@
+package io.carml.jar.runner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.text.IsEqualCompressingWhiteSpace.equalToCompressingWhiteSpace;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CarmlLauncherTest {
+
+  private ByteArrayOutputStream outContent;
+
+  private final PrintStream originalOut = System.out;
+
+  @BeforeEach
+  public void beforeEach() {
+    outContent = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outContent));
+  }
+
+  @AfterEach
+  public void afterEach() {
+    System.setOut(originalOut);
+  }
+
+  @Test
+  void givenArgHelp_whenRun_thenReturnSameHelpMessageAsSpringApplication() {
+    // Given
+    var args = new String[] {"-h"};
+
+    // When
+    CarmlLauncher.run(args);
+
+    // Then
+    assertThat(outContent.toString(), equalToCompressingWhiteSpace("Usage:  [-hVv] [COMMAND] " //
+        + "  -h, --help      Show this help message and exit. " //
+        + "  -V, --version   Print version information and exit. " //
+        + "  -v, --verbose   Specify multiple -v or --verbose options to increase verbosity. " //
+        + "                  For example `-v -v`, or `-vv` or `--verbose --verbose` " //
+        + "Commands: " //
+        + "  map "));
+  }
+
+  static Stream<Arguments> exitCodeTestArguments() {
+    return Stream.of(//
+        Arguments.of(List.of("-h"), 0), //
+        Arguments.of(List.of("map", "-m", "some/non/existent/path"), 1), //
+        Arguments.of(List.of("foo"), 2));
+  }
+
+  @ParameterizedTest
+  @MethodSource("exitCodeTestArguments")
+  void givenArgs_whenRun_thenExitCodeIsSameAsSpringApplication(List<String> argList, int expectedExitCode) {
+    // Given
+    var args = argList.toArray(String[]::new);
+
+    // When
+    var exitCode = CarmlLauncher.run(args);
+
+    // Then
+    assertThat(exitCode, is(expectedExitCode));
+  }
+
+  @Test
+  void givenServiceRegistration_whenLoadOutputProvider_thenReturnRegisteredProvider() {
+    // Given
+    // TestOutputProvider registered in META-INF/services
+
+    // When
+    var outputProvider = CarmlLauncher.loadOutputProvider();
+
+    // Then
+    assertThat(outputProvider, instanceOf(TestOutputProvider.class));
+  }
+
+  @Test
+  void givenLauncher_whenCreateObjectMapper_thenIgnoreUnknownPropertiesLikeSpringBoot() {
+    // Given
+    // Spring Boot's auto-configured ObjectMapper ignores unknown properties
+
+    // When
+    var objectMapper = CarmlLauncher.createObjectMapper();
+
+    // Then
+    assertThat(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), is(false));
+  }
+}
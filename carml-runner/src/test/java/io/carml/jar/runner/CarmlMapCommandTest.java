@@ -6,17 +6,26 @@ import static io.carml.jar.runner.TestApplication.getTestSourcePath;
 import static io.carml.jar.runner.format.RdfFormat.nq;
 import static io.carml.jar.runner.format.RdfFormat.ttl;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static picocli.CommandLine.ExitCode.USAGE;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.carml.jar.runner.output.CountingOutputStream;
 import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.ParallelCompressingOutputStream;
+import io.carml.jar.runner.output.WriterQueue;
 import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
@@ -24,6 +33,7 @@ import org.apache.commons.io.IOUtils;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.util.ModelCollector;
 import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
@@ -49,6 +59,9 @@ class CarmlMapCommandTest {
   @Captor
   private ArgumentCaptor<Flux<Statement>> statementsCaptor;
 
+  @Captor
+  private ArgumentCaptor<Map<String, String>> namespacesCaptor;
+
   @TempDir
   private Path tmpOutputDir;
 
@@ -91,6 +104,62 @@ class CarmlMapCommandTest {
     assertThat(model.size(), is(2));
   }
 
+  @Test
+  void givenMappingAndInputArg_whenMapCommandRun_thenReturnStreamingNqOutputFromFile() throws IOException {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.inputstream.rml.ttl");
+    var inputPath =
+        Files.writeString(tmpOutputDir.resolve("input.csv"), String.format("id,make%n1,Toyota%n2,Mercedes"));
+    var args = new String[] {"map", "-m", mapping, "-i", inputPath.toString()};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(nq.name()), eq(Map.of()), eq(System.out));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(2));
+  }
+
+  @Test
+  void givenMappingAndInputAndChunkSizeArgs_whenMapCommandRun_thenReturnStatementsOfAllChunks() throws IOException {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.inputstream.rml.ttl");
+    var inputPath = Files.writeString(tmpOutputDir.resolve("input.csv"),
+        String.format("id,make%n1,Toyota%n2,Mercedes%n3,\"Alfa%nRomeo\""));
+    var args = new String[] {"map", "-m", mapping, "-i", inputPath.toString(), "--chunk-size", "1"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(nq.name()), eq(Map.of()), eq(System.out));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(3));
+  }
+
+  @Test
+  void givenMappingAndParallelismArg_whenMapCommandRun_thenReturnStatementsOfAllGroups() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.parallel.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--parallelism", "2"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(nq.name()), eq(Map.of()), eq(System.out));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(10));
+  }
+
   @Test
   void givenMappingAndMappingFormatArgs_whenMapCommandRun_thenReturnStreamingNqOutput() {
     // Given
@@ -173,6 +242,67 @@ class CarmlMapCommandTest {
     assertThat(model.size(), is(2));
   }
 
+  @Test
+  void givenCompressedOutputPathArgs_whenMapCommandRun_thenOutputsNqViaCompressingOutputStream() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var outputPath = tmpOutputDir.resolve("out.nq.gz")
+        .toString();
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "-o", outputPath};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(nq.name()), eq(Map.of()),
+        isA(ParallelCompressingOutputStream.class));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(2));
+  }
+
+  @Test
+  void givenMetricsArg_whenMapCommandRun_thenWritesJsonMetrics() throws IOException {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var metricsPath = tmpOutputDir.resolve("metrics.json");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--metrics", metricsPath.toString()};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    var metrics = new ObjectMapper().readTree(metricsPath.toFile());
+    assertThat(metrics.get("status")
+        .asText(), is("success"));
+    var phaseSeconds = metrics.get("phaseSeconds");
+    assertThat(phaseSeconds.has("prefix_resolution"), is(true));
+    assertThat(phaseSeconds.has("mapping_load"), is(true));
+    assertThat(phaseSeconds.has("mapper_build"), is(true));
+    assertThat(phaseSeconds.has("mapping"), is(true));
+    assertThat(metrics.has("writerSeconds"), is(true));
+  }
+
+  @Test
+  void givenPromMetricsPath_whenMapCommandRun_thenWritesPrometheusMetrics() throws IOException {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var metricsPath = tmpOutputDir.resolve("carml.prom");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--metrics", metricsPath.toString()};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    var metrics = Files.readString(metricsPath);
+    assertThat(metrics, containsString("carml_run_success 1\n"));
+    assertThat(metrics, containsString("carml_phase_duration_seconds{phase=\"mapping_load\"}"));
+  }
+
   @Test
   void givenIncorrectPrefixMapping_whenMapCommandRun_thenExitWithUsageCode() throws Exception {
     // Given
@@ -191,6 +321,29 @@ class CarmlMapCommandTest {
     assertThat(exitCode, is(USAGE));
   }
 
+  @Test
+  void givenSplitAndCompressedOutputPath_whenMapCommandRun_thenExitWithUsageCode() throws Exception {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "-o",
+        tmpOutputDir.resolve("out.nq.gz")
+            .toString(),
+        "--split-count", "1"};
+
+    // When
+    var exitCode = catchSystemExit(() -> {
+      carmlRunner.run(args);
+      System.exit(carmlRunner.getExitCode());
+    });
+
+    // Then
+    assertThat(exitCode, is(USAGE));
+    try (var files = Files.list(tmpOutputDir)) {
+      assertThat(files.count(), is(0L));
+    }
+  }
+
   @Test
   void givenLimitArg_whenMapCommandRun_thenReturnLimitedOutput() {
     // Given
@@ -210,6 +363,82 @@ class CarmlMapCommandTest {
     assertThat(model.size(), is(1));
   }
 
+  @Test
+  void givenWriterThreadsArg_whenMapCommandRun_thenReturnParallelOutput() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--writer-threads", "4",
+        "--ordered-output"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputParallel(statementsCaptor.capture(), eq(nq.name()), eq(System.out), eq(4), eq(true));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(2));
+  }
+
+  @Test
+  void givenWriterQueueArg_whenMapCommandRun_thenReturnQueuedOutput() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--writer-queue", "16",
+        "--writer-wait-strategy", "blocking"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputQueued(isA(Flux.class), eq(nq.name()), eq(Map.of()), eq(System.out),
+        isA(WriterQueue.class));
+    verify(outputHandler).openStreamingWriter(eq(nq.name()), eq(Map.of()), eq(System.out));
+  }
+
+  @Test
+  void givenDedupArg_whenMapCommandRun_thenReturnDeduplicatedOutput() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args =
+        new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "--dedup", "--dedup-memory", "1m"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(nq.name()), eq(Map.of()), eq(System.out));
+    var statements = statementsCaptor.getValue()
+        .collectList()
+        .block();
+    assertThat(statements.size(), is(2));
+  }
+
+  @Test
+  void givenSplitCountArg_whenMapCommandRun_thenOutputsPartsAndManifest() throws IOException {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "-o", tmpOutputDir.toString(),
+        "--split-count", "1"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler, times(2)).openStreamingWriter(eq(nq.name()), eq(Map.of()), isA(CountingOutputStream.class));
+    var manifest = new ObjectMapper().readTree(tmpOutputDir.resolve("manifest.json")
+        .toFile());
+    assertThat(manifest.get("statements")
+        .asLong(), is(2L));
+    assertThat(manifest.get("parts")
+        .size(), is(2));
+  }
+
   @Test
   void givenBaseIriArg_whenMapCommandRun_thenReturnOutputWithBaseIri() {
     // Given
@@ -231,4 +460,50 @@ class CarmlMapCommandTest {
         .ifPresentOrElse(subject -> assertThat(subject.stringValue(), startsWith(baseIri)),
             () -> fail("Expected subject but non found."));
   }
+
+  @Test
+  void givenAutoPrefixesArgWithSmallSample_whenMapCommandRun_thenReplaySampleAndRemainingStatements() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "-of", "ttl", "-p",
+        "schema=https://schema.org/", "--auto-prefixes", "--auto-prefixes-sample", "1"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(ttl.name()), namespacesCaptor.capture(),
+        eq(System.out));
+    assertThat(namespacesCaptor.getValue(), hasEntry("schema", "https://schema.org/"));
+    assertThat(namespacesCaptor.getValue()
+        .size(), is(1));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(2));
+  }
+
+  @Test
+  void givenAutoPrefixesArg_whenMapCommandRun_thenOutputWithPrefixCcPrefixesOfFrequentNamespaces() {
+    // Given
+    var mapping = getStringForPath(TEST_PATH, "mapping", "mapping.rml.ttl");
+    var relativeSourceLocation = getStringForPath(TEST_PATH, "source");
+    var args = new String[] {"map", "-m", mapping, "-rsl", relativeSourceLocation, "-of", "ttl", "-p",
+        "schema=https://schema.org/", "--auto-prefixes"};
+
+    // When
+    carmlRunner.run(args);
+
+    // Then
+    verify(outputHandler).outputStreaming(statementsCaptor.capture(), eq(ttl.name()), namespacesCaptor.capture(),
+        eq(System.out));
+    assertThat(namespacesCaptor.getValue(), hasEntry("schema", "https://schema.org/"));
+    assertThat(namespacesCaptor.getValue(), hasEntry("rdf", RDF.NAMESPACE));
+    assertThat(namespacesCaptor.getValue(), hasEntry("ex", "http://example.org/"));
+    var model = statementsCaptor.getValue()
+        .collect(new ModelCollector())
+        .block();
+    assertThat(model.size(), is(2));
+  }
 }
@@ -0,0 +1,72 @@
+package io.carml.jar.runner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.carml.jar.runner.option.MappingFileOptions;
+import io.carml.jar.runner.option.OutputOptions;
+import io.carml.logicalsourceresolver.XPathResolver;
+import org.eclipse.rdf4j.rio.nquads.NQuadsWriterFactory;
+import org.eclipse.rdf4j.rio.turtle.TurtleParserFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class CarmlRuntimeHintsTest {
+
+  private RuntimeHints hints;
+
+  @BeforeEach
+  void beforeEach() {
+    hints = new RuntimeHints();
+  }
+
+  @Test
+  void givenRegistrar_whenRegisterHints_thenRegisterPicocliOptionFields() {
+    // Given
+    var registrar = new CarmlRuntimeHints();
+
+    // When
+    registrar.registerHints(hints, getClass().getClassLoader());
+
+    // Then
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(OutputOptions.class)
+        .withMemberCategory(MemberCategory.DECLARED_FIELDS)
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(MappingFileOptions.Group.class)
+        .withMemberCategory(MemberCategory.DECLARED_FIELDS)
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(XPathResolver.class)
+        .test(hints), is(true));
+  }
+
+  @Test
+  void givenRegistrar_whenRegisterHints_thenRegisterRioServicesModelClassesAndResources() {
+    // Given
+    var registrar = new CarmlRuntimeHints();
+
+    // When
+    registrar.registerHints(hints, getClass().getClassLoader());
+
+    // Then
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(TurtleParserFactory.class)
+        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(NQuadsWriterFactory.class)
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.reflection()
+        .onType(TypeReference.of("io.carml.model.impl.CarmlTriplesMap"))
+        .test(hints), is(true));
+    assertThat(RuntimeHintsPredicates.resource()
+        .forResource("prefix/prefix.cc.index")
+        .test(hints), is(true));
+  }
+}
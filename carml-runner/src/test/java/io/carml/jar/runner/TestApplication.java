@@ -1,6 +1,7 @@
 package io.carml.jar.runner;
 
 import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.StatementWriter;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -73,6 +74,38 @@ public class TestApplication {
       public boolean isFormatStreamable(@NonNull String rdfFormat, boolean pretty) {
         return !pretty;
       }
+
+      @Override
+      public boolean isStreamingWriterSupported(@NonNull String rdfFormat, boolean pretty) {
+        return !pretty;
+      }
+
+      @Override
+      public StatementWriter openStreamingWriter(@NonNull String rdfFormat, @NonNull Map<String, String> namespaces,
+          @NonNull OutputStream outputStream) {
+        return new StatementWriter() {
+          @Override
+          public void write(@NonNull Statement statement) {
+            // no-op
+          }
+
+          @Override
+          public void close() {
+            // no-op
+          }
+        };
+      }
+
+      @Override
+      public long outputParallel(Flux<Statement> statementFlux, String rdfFormat, OutputStream outputStream,
+          int writerThreads, boolean ordered) {
+        return 3;
+      }
+
+      @Override
+      public boolean isFormatParallelizable(@NonNull String rdfFormat) {
+        return "nq".equals(rdfFormat);
+      }
     };
   }
 }
@@ -0,0 +1,20 @@
+package io.carml.jar.runner;
+
+import io.carml.jar.runner.output.OutputHandler;
+import io.carml.jar.runner.output.OutputProvider;
+import java.util.Set;
+
+public class TestOutputProvider implements OutputProvider {
+
+  private final TestApplication testApplication = new TestApplication();
+
+  @Override
+  public OutputHandler getOutputHandler() {
+    return testApplication.outputHandler();
+  }
+
+  @Override
+  public Set<String> getRdfFormats() {
+    return testApplication.rdfFormats();
+  }
+}
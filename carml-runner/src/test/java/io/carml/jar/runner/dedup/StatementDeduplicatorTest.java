@@ -0,0 +1,116 @@
+package io.carml.jar.runner.dedup;
+
+import static io.carml.jar.runner.dedup.DeduplicationMode.approximate;
+import static io.carml.jar.runner.dedup.DeduplicationMode.exact;
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class StatementDeduplicatorTest {
+
+  @ParameterizedTest
+  @EnumSource(DeduplicationMode.class)
+  void givenDuplicateStatements_whenIsFirstOccurrence_thenOnlyFirstOccurrencesPass(DeduplicationMode mode) {
+    // Given
+    var statements = generateStatements(100);
+
+    // When
+    try (var deduplicator = StatementDeduplicator.create(mode, 1 << 20)) {
+      var firstPass = statements.stream()
+          .filter(deduplicator::isFirstOccurrence)
+          .count();
+      var secondPass = statements.stream()
+          .filter(deduplicator::isFirstOccurrence)
+          .count();
+
+      // Then
+      assertThat(firstPass, is(100L));
+      assertThat(secondPass, is(0L));
+      assertThat(deduplicator.getDuplicateCount(), is(100L));
+    }
+  }
+
+  @Test
+  void givenStatementsWithDifferentContexts_whenIsFirstOccurrence_thenStatementsAreDistinct() {
+    // Given
+    var statement = statement(iri("http://example.com/s"), RDFS.LABEL, literal("s"), null);
+    var statementInGraph =
+        statement(iri("http://example.com/s"), RDFS.LABEL, literal("s"), iri("http://example.com/g"));
+
+    // When
+    try (var deduplicator = StatementDeduplicator.create(exact, 1 << 20)) {
+      // Then
+      assertThat(deduplicator.isFirstOccurrence(statement), is(true));
+      assertThat(deduplicator.isFirstOccurrence(statementInGraph), is(true));
+      assertThat(deduplicator.isFirstOccurrence(statementInGraph), is(false));
+    }
+  }
+
+  @Test
+  void givenBudgetFittingOnlyGrownSet_whenExactDeduplicationGrows_thenSpillToDisk() {
+    // Given
+    // the initial set takes 1 MiB, the grown set 2 MiB, and both are held while growing
+    var statements = generateStatements(40_000);
+
+    // When
+    try (var deduplicator = new ExactStatementDeduplicator(2 << 20)) {
+      statements.forEach(deduplicator::isFirstOccurrence);
+
+      // Then
+      assertThat(deduplicator.isSpilled(), is(true));
+    }
+  }
+
+  @Test
+  void givenSmallMemoryBudget_whenExactDeduplication_thenSpillToDiskAndStayExact() {
+    // Given
+    var statements = generateStatements(200_000);
+
+    // When
+    try (var deduplicator = StatementDeduplicator.create(exact, 1 << 20)) {
+      var unique = statements.stream()
+          .filter(deduplicator::isFirstOccurrence)
+          .count();
+      var duplicates = statements.stream()
+          .filter(deduplicator::isFirstOccurrence)
+          .count();
+
+      // Then
+      assertThat(unique, is(200_000L));
+      assertThat(duplicates, is(0L));
+    }
+  }
+
+  @Test
+  void givenBudgetWithinCapacity_whenApproximateDeduplication_thenDropFewUniqueStatements() {
+    // Given
+    var statements = generateStatements(50_000);
+
+    // When
+    try (var deduplicator = StatementDeduplicator.create(approximate, 1 << 16)) {
+      var unique = statements.stream()
+          .filter(deduplicator::isFirstOccurrence)
+          .count();
+
+      // Then
+      assertThat(unique, greaterThanOrEqualTo(49_500L));
+    }
+  }
+
+  private static List<Statement> generateStatements(int amount) {
+    return IntStream.range(0, amount)
+        .mapToObj(i -> statement(iri("http://example.com/" + i), RDFS.LABEL, literal("label-" + i), null))
+        .toList();
+  }
+}
@@ -0,0 +1,260 @@
+package io.carml.jar.runner.incremental;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static io.carml.jar.runner.format.RdfFormat.ttl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.jar.runner.partition.TriplesMapPartitioner;
+import io.carml.model.TriplesMap;
+import io.carml.util.RmlMappingLoader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+class IncrementalStateTest {
+
+  private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+  private static final String EX = "http://example.org/";
+
+  private static final String SETTINGS = "settings";
+
+  // small enough to spill sort runs to disk while computing a delta
+  private static final int RUN_SIZE = 2;
+
+  @TempDir
+  private Path tmpDir;
+
+  private Path stateDirectory;
+
+  private Path sourceDirectory;
+
+  private Set<TriplesMap> transportGroup;
+
+  private Set<TriplesMap> operatorGroup;
+
+  private Set<TriplesMap> streamGroup;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    var mappingModel = new Rdf4jModelLoader()
+        .loadModel(List.of(getTestSourcePath(Paths.get("partition", "mapping.rml.ttl"))), ttl);
+    var groups = TriplesMapPartitioner.partition(RmlMappingLoader.build()
+        .load(mappingModel));
+
+    transportGroup = groupOf(groups, EX + "BusTriplesMap");
+    operatorGroup = groupOf(groups, EX + "OperatorTriplesMap");
+    streamGroup = groupOf(groups, EX + "StdinCarTriplesMap");
+
+    stateDirectory = tmpDir.resolve("state");
+    sourceDirectory = Files.createDirectories(tmpDir.resolve("source"));
+    Files.writeString(sourceDirectory.resolve("transport.xml"), "<transport><bus id=\"1\"/></transport>");
+    Files.writeString(sourceDirectory.resolve("operators.csv"), String.format("id,name%n1,GVB%n"));
+  }
+
+  private static Set<TriplesMap> groupOf(List<Set<TriplesMap>> groups, String triplesMapId) {
+    return groups.stream()
+        .filter(group -> group.stream()
+            .anyMatch(triplesMap -> triplesMap.getId()
+                .equals(triplesMapId)))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static Statement statement(String subject) {
+    return VF.createStatement(VF.createIRI(EX, subject), VF.createIRI(EX, "p"), VF.createLiteral(subject));
+  }
+
+  private Optional<String> fingerprint(Set<TriplesMap> group) {
+    return IncrementalState.fingerprint(group, Optional.of(sourceDirectory));
+  }
+
+  private void record(IncrementalState state, Set<TriplesMap> group, Statement... statements) {
+    state.record(IncrementalState.groupKey(group), fingerprint(group), Flux.just(statements))
+        .blockLast();
+  }
+
+  @Test
+  void givenCommittedRun_whenSourcesUnchanged_thenReuseGroupOutput() {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    record(previous, transportGroup, statement("bus"));
+    previous.commit();
+
+    // When
+    var state = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    var groupKey = IncrementalState.groupKey(transportGroup);
+
+    // Then
+    assertThat(state.isUnchanged(groupKey, fingerprint(transportGroup)), is(true));
+    assertThat(state.reuse(groupKey)
+        .collectList()
+        .block(), contains(statement("bus")));
+  }
+
+  @Test
+  void givenLargePartialOutput_whenReuseLimited_thenReadOnlyRequestedStatements() {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    var statements = IntStream.range(0, 10_000)
+        .mapToObj(i -> statement("bus" + i))
+        .toArray(Statement[]::new);
+    record(previous, transportGroup, statements);
+    previous.commit();
+    var state = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    var read = new AtomicInteger();
+
+    // When
+    var reused = state.reuse(IncrementalState.groupKey(transportGroup))
+        .doOnNext(statement -> read.incrementAndGet())
+        .take(3, true)
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(reused, contains(statements[0], statements[1], statements[2]));
+    assertThat(read.get(), is(3));
+  }
+
+  @Test
+  void givenCommittedRun_whenSourceChanged_thenOnlyReMapGroupReadingIt() throws IOException {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    record(previous, transportGroup, statement("bus"));
+    record(previous, operatorGroup, statement("operator"));
+    previous.commit();
+
+    // When
+    Files.writeString(sourceDirectory.resolve("operators.csv"), String.format("id,name%n1,RET%n"));
+    var state = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+
+    // Then
+    assertThat(state.isUnchanged(IncrementalState.groupKey(transportGroup), fingerprint(transportGroup)), is(true));
+    assertThat(state.isUnchanged(IncrementalState.groupKey(operatorGroup), fingerprint(operatorGroup)), is(false));
+  }
+
+  @Test
+  void givenCommittedRun_whenSettingsChanged_thenReMapAllGroups() {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    record(previous, transportGroup, statement("bus"));
+    previous.commit();
+
+    // When
+    var state = new IncrementalState(stateDirectory, "other settings", false, RUN_SIZE);
+
+    // Then
+    assertThat(state.isUnchanged(IncrementalState.groupKey(transportGroup), fingerprint(transportGroup)), is(false));
+  }
+
+  @Test
+  void givenUncommittedRun_whenNextRun_thenUsePreviousState() {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    record(previous, transportGroup, statement("bus"));
+    previous.commit();
+    var failed = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+    record(failed, transportGroup, statement("other bus"));
+
+    // When
+    var state = new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE);
+
+    // Then
+    assertThat(state.reuse(IncrementalState.groupKey(transportGroup))
+        .collectList()
+        .block(), contains(statement("bus")));
+  }
+
+  @Test
+  void givenStreamGroup_whenFingerprint_thenReturnEmpty() {
+    // Given
+    // When
+    var fingerprint = fingerprint(streamGroup);
+
+    // Then
+    assertThat(fingerprint.isPresent(), is(false));
+    assertThat(fingerprint(transportGroup), not(fingerprint(operatorGroup)));
+  }
+
+  @Test
+  void givenDeltaMode_whenReMapped_thenEmitAddedAndReportRemovedStatements() {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, true, RUN_SIZE);
+    record(previous, transportGroup, statement("kept"), statement("dropped"));
+    record(previous, operatorGroup, statement("operator"));
+    previous.commit();
+    var state = new IncrementalState(stateDirectory, SETTINGS, true, RUN_SIZE);
+
+    // When
+    var added = state.record(IncrementalState.groupKey(transportGroup), fingerprint(transportGroup),
+        Flux.just(statement("kept"), statement("new"), statement("new")))
+        .collectList()
+        .block();
+    var removed = state.removedStatements()
+        .collectList()
+        .block();
+    state.commit();
+
+    // Then
+    assertThat(added, contains(statement("new")));
+    assertThat(removed, containsInAnyOrder(statement("dropped"), statement("operator")));
+    assertThat(new IncrementalState(stateDirectory, SETTINGS, false, RUN_SIZE)
+        .reuse(IncrementalState.groupKey(transportGroup))
+        .collectList()
+        .block(), containsInAnyOrder(statement("kept"), statement("new"), statement("new")));
+  }
+
+  @Test
+  void givenDeltaMode_whenLargeGroupReMapped_thenEmitAddedAndReportRemovedStatements() throws IOException {
+    // Given
+    var previous = new IncrementalState(stateDirectory, SETTINGS, true, RUN_SIZE);
+    record(previous, transportGroup, IntStream.range(0, 100)
+        .mapToObj(i -> statement("bus" + i))
+        .toArray(Statement[]::new));
+    previous.commit();
+    var state = new IncrementalState(stateDirectory, SETTINGS, true, RUN_SIZE);
+
+    // When
+    var added = state.record(IncrementalState.groupKey(transportGroup), fingerprint(transportGroup),
+        Flux.range(50, 100)
+            .map(i -> statement("bus" + i)))
+        .collectList()
+        .block();
+    var removed = state.removedStatements()
+        .collectList()
+        .block();
+    state.commit();
+
+    // Then
+    assertThat(added, containsInAnyOrder(IntStream.range(100, 150)
+        .mapToObj(i -> statement("bus" + i))
+        .toArray()));
+    assertThat(removed, containsInAnyOrder(IntStream.range(0, 50)
+        .mapToObj(i -> statement("bus" + i))
+        .toArray()));
+    try (var files = Files.list(stateDirectory)) {
+      assertThat(files.map(file -> file.getFileName()
+          .toString())
+          .filter(name -> !name.endsWith(IncrementalState.PARTIAL_EXTENSION))
+          .toList(), contains(IncrementalState.STATE_FILE));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package io.carml.jar.runner.input;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileInputStreamTest {
+
+  @TempDir
+  private Path tmpDir;
+
+  private Path inputFile;
+
+  private byte[] content;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    content = new byte[10_000];
+    for (var i = 0; i < content.length; i++) {
+      content[i] = (byte) (i * 31);
+    }
+    inputFile = Files.write(tmpDir.resolve("input.csv"), content);
+  }
+
+  @Test
+  void givenSmallSegmentSize_whenReadInBulk_thenReturnContentAcrossSegments() throws IOException {
+    // Given
+    var output = new ByteArrayOutputStream();
+
+    // When
+    try (var inputStream = new MappedFileInputStream(FileChannel.open(inputFile, StandardOpenOption.READ), 4096)) {
+      var buffer = new byte[3000];
+      int read;
+      while ((read = inputStream.read(buffer, 0, buffer.length)) != -1) {
+        output.write(buffer, 0, read);
+      }
+    }
+
+    // Then
+    assertThat(Arrays.equals(output.toByteArray(), content), is(true));
+  }
+
+  @Test
+  void givenSmallSegmentSize_whenReadByByte_thenReturnContentAcrossSegments() throws IOException {
+    // Given
+    var output = new ByteArrayOutputStream();
+
+    // When
+    try (var inputStream = new MappedFileInputStream(FileChannel.open(inputFile, StandardOpenOption.READ), 4096)) {
+      int read;
+      while ((read = inputStream.read()) != -1) {
+        output.write(read);
+      }
+    }
+
+    // Then
+    assertThat(Arrays.equals(output.toByteArray(), content), is(true));
+  }
+
+  @Test
+  void givenSmallSegmentSize_whenSkipAcrossSegments_thenContinueAtTarget() throws IOException {
+    // Given
+    try (var inputStream = new MappedFileInputStream(FileChannel.open(inputFile, StandardOpenOption.READ), 4096)) {
+      inputStream.read();
+
+      // When
+      var skipped = inputStream.skip(5000);
+
+      // Then
+      assertThat(skipped, is(5000L));
+      assertThat(inputStream.read(), is(content[5001] & 0xff));
+      assertThat(inputStream.available(), is(content.length - 5002));
+      assertThat(inputStream.skip(10_000), is((long) content.length - 5002));
+      assertThat(inputStream.read(), is(-1));
+    }
+  }
+
+  @Test
+  void givenSkipToEnd_whenRead_thenReturnEndOfStream() throws IOException {
+    // Given
+    try (var inputStream = new MappedFileInputStream(FileChannel.open(inputFile, StandardOpenOption.READ), 4096)) {
+      inputStream.read();
+
+      // When
+      var skipped = inputStream.skip(content.length);
+
+      // Then
+      assertThat(skipped, is((long) content.length - 1));
+      assertThat(inputStream.available(), is(0));
+      assertThat(inputStream.read(), is(-1));
+      assertThat(inputStream.read(new byte[10], 0, 10), is(-1));
+      assertThat(inputStream.skip(1), is(0L));
+    }
+  }
+
+  @Test
+  void givenRegularFile_whenOpen_thenReturnMappedStream() throws IOException {
+    // Given
+    // When
+    try (var inputStream = MappedFileInputStream.open(inputFile)) {
+      // Then
+      assertThat(inputStream, instanceOf(MappedFileInputStream.class));
+      assertThat(Arrays.equals(inputStream.readAllBytes(), content), is(true));
+    }
+  }
+
+  @Test
+  void givenEmptyFile_whenOpen_thenReturnBufferedStream() throws IOException {
+    // Given
+    var emptyFile = Files.createFile(tmpDir.resolve("empty.csv"));
+
+    // When
+    try (var inputStream = MappedFileInputStream.open(emptyFile)) {
+      // Then
+      assertThat(inputStream, instanceOf(BufferedInputStream.class));
+      assertThat(inputStream.read(), is(-1));
+    }
+  }
+}
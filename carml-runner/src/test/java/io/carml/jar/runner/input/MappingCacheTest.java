@@ -0,0 +1,119 @@
+package io.carml.jar.runner.input;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static io.carml.jar.runner.format.RdfFormat.ttl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import io.carml.jar.runner.format.RdfFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.util.Models;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappingCacheTest {
+
+  private static final Path TEST_FILE =
+      getTestSourcePath(Paths.get("input", "rdf4j-model-resolver", "rml", "ttl", "test-1.rml.ttl"));
+
+  @TempDir
+  private Path tmpDir;
+
+  private Path cacheDir;
+
+  private Path mappingFile;
+
+  private CountingModelLoader modelLoader;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    cacheDir = tmpDir.resolve("cache");
+    mappingFile = tmpDir.resolve("mapping.rml.ttl");
+    Files.copy(TEST_FILE, mappingFile);
+    modelLoader = new CountingModelLoader();
+  }
+
+  @Test
+  void givenCachedMapping_whenLoad_thenReturnCachedModelWithoutParsing() {
+    // Given
+    var mappingCache = new MappingCache(cacheDir, 1L << 20);
+    var paths = List.of(mappingFile);
+    var loadedModel = mappingCache.load(paths, ttl, modelLoader);
+
+    // When
+    var cachedModel = mappingCache.load(paths, ttl, modelLoader);
+
+    // Then
+    assertThat(modelLoader.loads.get(), is(1));
+    assertThat(cachedModel.size(), is(8));
+    assertThat(Models.isomorphic(cachedModel, loadedModel), is(true));
+  }
+
+  @Test
+  void givenChangedMappingFile_whenLoad_thenParseAgain() throws IOException {
+    // Given
+    var mappingCache = new MappingCache(cacheDir, 1L << 20);
+    var paths = List.of(mappingFile);
+    mappingCache.load(paths, ttl, modelLoader);
+    Files.writeString(mappingFile, "\n<http://example.com/a> <http://example.com/b> <http://example.com/c> .",
+        StandardOpenOption.APPEND);
+
+    // When
+    var model = mappingCache.load(paths, ttl, modelLoader);
+
+    // Then
+    assertThat(modelLoader.loads.get(), is(2));
+    assertThat(model.size(), is(9));
+  }
+
+  @Test
+  void givenOtherFormat_whenKey_thenReturnOtherKey() {
+    // Given
+    var filePaths = List.of(mappingFile);
+
+    // When
+    var key = MappingCache.key(filePaths, ttl);
+
+    // Then
+    assertThat(key, is(MappingCache.key(filePaths, ttl)));
+    assertThat(key, not(MappingCache.key(filePaths, null)));
+    assertThat(key, not(MappingCache.key(filePaths, RdfFormat.nt)));
+  }
+
+  @Test
+  void givenCacheExceedingSizeLimit_whenLoad_thenEvictEntries() throws IOException {
+    // Given
+    var mappingCache = new MappingCache(cacheDir, 0);
+
+    // When
+    mappingCache.load(List.of(mappingFile), ttl, modelLoader);
+
+    // Then
+    try (Stream<Path> entries = Files.list(cacheDir)) {
+      assertThat(entries.count(), is(0L));
+    }
+  }
+
+  private static class CountingModelLoader implements ModelLoader {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Rdf4jModelLoader rdf4jModelLoader = new Rdf4jModelLoader();
+
+    @Override
+    public Model loadModel(List<Path> paths, RdfFormat rdfFormat) {
+      loads.incrementAndGet();
+      return rdf4jModelLoader.loadModel(paths, rdfFormat);
+    }
+  }
+}
@@ -12,6 +12,7 @@ import io.carml.jar.runner.CarmlJarException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import org.eclipse.rdf4j.model.util.Models;
 import org.junit.jupiter.api.Test;
 
 class Rdf4jModelResolverTest {
@@ -105,4 +106,32 @@ class Rdf4jModelResolverTest {
     // Then
     assertThat(carmlJarException.getMessage(), startsWith("Exception occurred while parsing"));
   }
+
+  @Test
+  void givenDirectoryWithFilesOfMixedSupportedFormats_whenLoadModelInParallel_thenReturnSameModelAsSequential() {
+    // Given
+    var paths = List.of(TEST_PATH.resolve(Paths.get("rml")));
+    var sequentialModel = new Rdf4jModelLoader(1).loadModel(paths, null);
+
+    // When
+    var parallelModel = new Rdf4jModelLoader(4).loadModel(paths, null);
+
+    // Then
+    assertThat(parallelModel.size(), is(sequentialModel.size()));
+    assertThat(Models.isomorphic(parallelModel, sequentialModel), is(true));
+  }
+
+  @Test
+  void givenDirectoryWithFilesOfSupportedFormats_whenLoadModelInParallelWithOtherFormat_thenReportFailingPath() {
+    // Given
+    var path = TEST_PATH.resolve(Paths.get("rml", "ttl"));
+    var paths = List.of(path);
+
+    // When
+    var carmlJarException =
+        assertThrows(CarmlJarException.class, () -> new Rdf4jModelLoader(4).loadModel(paths, nq));
+
+    // Then
+    assertThat(carmlJarException.getMessage(), startsWith(String.format("Exception occurred while parsing %s", path)));
+  }
 }
@@ -0,0 +1,82 @@
+package io.carml.jar.runner.input;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecordChunkReaderTest {
+
+  @Test
+  void givenCsvWithQuotedLineBreaks_whenRead_thenReturnChunksWithHeader() {
+    // Given
+    var csv = "id,name\n1,\"multi\nline\"\n2,\"quote \"\" and\nbreak\"\n3,plain";
+
+    // When
+    var chunks = RecordChunkReader.read(toInputStream(csv), RecordFormat.csv, 2)
+        .map(RecordChunkReaderTest::toStrings)
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(chunks, contains(List.of("id,name\n1,\"multi\nline\"\n2,\"quote \"\" and\nbreak\"\n"),
+        List.of("id,name\n3,plain\n")));
+  }
+
+  @Test
+  void givenCsvWithOnlyHeader_whenRead_thenReturnNoChunks() {
+    // Given
+    var csv = "id,name\n";
+
+    // When
+    var chunks = RecordChunkReader.read(toInputStream(csv), RecordFormat.csv, 2)
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(chunks.size(), is(0));
+  }
+
+  @Test
+  void givenNdjson_whenRead_thenReturnChunksOfLinesSkippingBlankLines() {
+    // Given
+    var ndjson = "{\"id\":1}\n\n{\"id\":2}\r\n  \n{\"id\":3}\n";
+
+    // When
+    var chunks = RecordChunkReader.read(toInputStream(ndjson), RecordFormat.ndjson, 2)
+        .map(RecordChunkReaderTest::toStrings)
+        .collectList()
+        .block();
+
+    // Then
+    assertThat(chunks, contains(List.of("{\"id\":1}\n", "{\"id\":2}\r\n"), List.of("{\"id\":3}\n")));
+  }
+
+  @Test
+  void givenNonPositiveChunkSize_whenRead_thenThrowException() {
+    // Given
+    var inputStream = toInputStream("id\n1\n");
+
+    // When
+    var exception =
+        assertThrows(IllegalArgumentException.class, () -> RecordChunkReader.read(inputStream, RecordFormat.csv, 0));
+
+    // Then
+    assertThat(exception.getMessage(), is("Chunk size must be positive, but was 0"));
+  }
+
+  private static ByteArrayInputStream toInputStream(String input) {
+    return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> toStrings(List<byte[]> documents) {
+    return documents.stream()
+        .map(document -> new String(document, StandardCharsets.UTF_8))
+        .toList();
+  }
+}
@@ -0,0 +1,66 @@
+package io.carml.jar.runner.input;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static io.carml.jar.runner.format.RdfFormat.ttl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.carml.jar.runner.format.RdfFormat;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.util.Models;
+import org.junit.jupiter.api.Test;
+
+class SharedModelLoaderTest {
+
+  private static final Path TEST_PATH = getTestSourcePath(Paths.get("input", "rdf4j-model-resolver", "rml", "ttl"));
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private final ModelLoader countingModelLoader = new ModelLoader() {
+
+    private final Rdf4jModelLoader rdf4jModelLoader = new Rdf4jModelLoader();
+
+    @Override
+    public Model loadModel(List<Path> paths, RdfFormat rdfFormat) {
+      loads.incrementAndGet();
+      return rdf4jModelLoader.loadModel(paths, rdfFormat);
+    }
+  };
+
+  @Test
+  void givenSameMappingTwice_whenLoadModel_thenLoadOnceAndReturnCopies() {
+    // Given
+    var sharedModelLoader = new SharedModelLoader(countingModelLoader);
+    var paths = List.of(TEST_PATH.resolve("test-1.rml.ttl"));
+
+    // When
+    var first = sharedModelLoader.loadModel(paths, ttl);
+    var second = sharedModelLoader.loadModel(paths, ttl);
+
+    // Then
+    assertThat(loads.get(), is(1));
+    assertThat(sharedModelLoader.size(), is(1));
+    assertThat(first, not(sameInstance(second)));
+    assertThat(Models.isomorphic(first, second), is(true));
+  }
+
+  @Test
+  void givenDifferentMappings_whenLoadModel_thenLoadEach() {
+    // Given
+    var sharedModelLoader = new SharedModelLoader(countingModelLoader);
+
+    // When
+    sharedModelLoader.loadModel(List.of(TEST_PATH.resolve("test-1.rml.ttl")), ttl);
+    sharedModelLoader.loadModel(List.of(TEST_PATH.resolve("test-2.rml.ttl")), ttl);
+
+    // Then
+    assertThat(loads.get(), is(2));
+    assertThat(sharedModelLoader.size(), is(2));
+  }
+}
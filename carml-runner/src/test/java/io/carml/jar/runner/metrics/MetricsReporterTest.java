@@ -0,0 +1,98 @@
+package io.carml.jar.runner.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.carml.jar.runner.metrics.MetricsReport.RateSample;
+import io.carml.jar.runner.output.WriterQueueStats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MetricsReporterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @TempDir
+  private Path tmpDir;
+
+  private final MetricsReporter metricsReporter = new MetricsReporter(OBJECT_MAPPER);
+
+  @Test
+  void givenReport_whenWriteJson_thenJsonContainsMetrics() throws IOException {
+    // Given
+    var metricsPath = tmpDir.resolve("metrics.json");
+
+    // When
+    metricsReporter.write(createReport(), metricsPath, MetricsFormat.json);
+
+    // Then
+    var metrics = OBJECT_MAPPER.readTree(metricsPath.toFile());
+    assertThat(metrics.get("statements")
+        .asLong(), is(1000L));
+    assertThat(metrics.get("phaseSeconds")
+        .get("mapping")
+        .asDouble(), is(1.5));
+    assertThat(metrics.get("writerSeconds")
+        .asDouble(), is(0.75));
+    assertThat(metrics.get("statementRate")
+        .size(), is(2));
+    assertThat(metrics.get("writerQueue")
+        .get("maxDepth")
+        .asLong(), is(2L));
+    assertThat(Files.exists(tmpDir.resolve("metrics.json.tmp")), is(false));
+  }
+
+  @Test
+  void givenReport_whenWritePrometheus_thenTextFormatContainsMetrics() throws IOException {
+    // Given
+    var metricsPath = tmpDir.resolve("carml.prom");
+
+    // When
+    metricsReporter.write(createReport(), metricsPath, MetricsFormat.fromPath(metricsPath));
+
+    // Then
+    var metrics = Files.readString(metricsPath);
+    assertThat(metrics, containsString("# TYPE carml_statements_total counter\ncarml_statements_total 1000\n"));
+    assertThat(metrics, containsString("carml_phase_duration_seconds{phase=\"mapping\"} 1.5\n"));
+    assertThat(metrics, containsString("carml_graph_statements_total{graph=\"\"} 400\n"));
+    assertThat(metrics, containsString("carml_graph_statements_total{graph=\"http://example.com/\\\"g\\\"\"} 600\n"));
+    assertThat(metrics, containsString("carml_writer_duration_seconds_total 0.75\n"));
+    assertThat(metrics, containsString(
+        "carml_group_statements_total{group=\"http://example.com/A http://example.com/B\"} 1000\n"));
+    assertThat(metrics, containsString("carml_statements_per_second_peak 800\n"));
+    assertThat(metrics, containsString("carml_writer_queue_depth_max 2\n"));
+    assertThat(metrics, containsString("carml_writer_queue_writer_wait_seconds_total 0.25\n"));
+    assertThat(metrics, not(containsString("\r")));
+  }
+
+  @Test
+  void givenPath_whenFromPath_thenReturnMetricsFormat() {
+    assertThat(MetricsFormat.fromPath(Path.of("out", "carml.prom")), is(MetricsFormat.prometheus));
+    assertThat(MetricsFormat.fromPath(Path.of("metrics.json")), is(MetricsFormat.json));
+  }
+
+  private static MetricsReport createReport() {
+    var phaseSeconds = new LinkedHashMap<String, Double>();
+    phaseSeconds.put("mapping_load", 0.25);
+    phaseSeconds.put("mapping", 1.5);
+    var graphStatements = new LinkedHashMap<String, Long>();
+    graphStatements.put("", 400L);
+    graphStatements.put("http://example.com/\"g\"", 600L);
+    var groupStatements = new LinkedHashMap<String, Long>();
+    groupStatements.put("http://example.com/A http://example.com/B", 1000L);
+
+    return new MetricsReport("success", "2024-01-01T00:00:00Z", "2024-01-01T00:00:02Z", 2.0, phaseSeconds, 0.75, 1000,
+        500.0, List.of(new RateSample(1.0, 800, 800.0), new RateSample(2.0, 1000, 200.0)), graphStatements,
+        groupStatements, 4096,
+        1L << 20, 3, 0.05, new WriterQueueStats(1024, 256, 4, 2, 1.5, 0.0, 0.25));
+  }
+}
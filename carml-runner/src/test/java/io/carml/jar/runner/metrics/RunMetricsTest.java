@@ -0,0 +1,91 @@
+package io.carml.jar.runner.metrics;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class RunMetricsTest {
+
+  @Test
+  void givenStatementsInGraphs_whenCountStatements_thenReportCountsPerGraph() {
+    // Given
+    var statements = new ArrayList<Statement>();
+    for (int i = 0; i < 100; i++) {
+      var graph = i % 4 == 0 ? null : iri("http://example.com/graph/" + i % 2);
+      statements.add(statement(iri("http://example.com/" + i), RDFS.LABEL, literal(i), graph));
+    }
+    var runMetrics = new RunMetrics();
+
+    // When
+    runMetrics.countStatements(Flux.fromIterable(statements)
+        .parallel(4)
+        .runOn(Schedulers.parallel())
+        .sequential())
+        .blockLast();
+    var report = runMetrics.finish(true);
+
+    // Then
+    assertThat(report.status(), is("success"));
+    assertThat(report.statements(), is(100L));
+    assertThat(report.graphStatements(),
+        is(Map.of("", 25L, "http://example.com/graph/0", 25L, "http://example.com/graph/1", 50L)));
+    assertThat(report.statementRate()
+        .get(report.statementRate()
+            .size() - 1)
+        .statements(), is(100L));
+  }
+
+  @Test
+  void givenPhases_whenFinish_thenReportPhasesInOrder() {
+    // Given
+    var runMetrics = new RunMetrics();
+
+    // When
+    runMetrics.startPhase("load");
+    runMetrics.startPhase("mapping");
+    runMetrics.startPhaseOnComplete(Flux.<Statement>empty(), "serialization")
+        .blockLast();
+    runMetrics.addBytesWritten(42);
+    var report = runMetrics.finish(false);
+
+    // Then
+    assertThat(report.status(), is("failure"));
+    assertThat(report.phaseSeconds()
+        .keySet(), contains("load", "mapping", "serialization"));
+    assertThat(report.bytesWritten(), is(42L));
+  }
+
+  @Test
+  void givenGroupsAndWriter_whenFinish_thenReportGroupCountsAndWriterTime() {
+    // Given
+    var runMetrics = new RunMetrics();
+    var first = Flux.range(0, 3)
+        .map(i -> statement(iri("http://example.com/a" + i), RDFS.LABEL, literal(i), null));
+    var second = Flux.range(0, 2)
+        .map(i -> statement(iri("http://example.com/b" + i), RDFS.LABEL, literal(i), null));
+
+    // When
+    runMetrics.timeWriter(Flux.merge(runMetrics.countGroupStatements("http://example.com/A", first),
+        runMetrics.countGroupStatements("http://example.com/B", second)))
+        .doOnNext(statement -> LockSupport.parkNanos(1_000_000))
+        .blockLast();
+    var report = runMetrics.finish(true);
+
+    // Then
+    assertThat(report.groupStatements(), is(Map.of("http://example.com/A", 3L, "http://example.com/B", 2L)));
+    assertThat(report.writerSeconds(), greaterThan(0.0));
+  }
+}
@@ -0,0 +1,45 @@
+package io.carml.jar.runner.option;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ByteSizeConverterTest {
+
+  static Stream<Arguments> byteSizeArgs() {
+    return Stream.of(//
+        Arguments.of("512", 512L), //
+        Arguments.of("64k", 65_536L), //
+        Arguments.of("256M", 268_435_456L), //
+        Arguments.of("2gb", 2_147_483_648L));
+  }
+
+  @ParameterizedTest
+  @MethodSource("byteSizeArgs")
+  void givenByteSizeString_whenConvert_thenReturnBytes(String byteSize, long expectedBytes) throws Exception {
+    // Given
+    // When
+    var bytes = new ByteSizeConverter().convert(byteSize);
+
+    // Then
+    assertThat(bytes, is(expectedBytes));
+  }
+
+  @Test
+  void givenInvalidByteSizeString_whenConvert_thenThrowException() {
+    // Given
+    var byteSize = "12q";
+
+    // When
+    var exception = assertThrows(Exception.class, () -> new ByteSizeConverter().convert(byteSize));
+
+    // Then
+    assertThat(exception.getMessage(), is("`12q` is not a valid byte size"));
+  }
+}
@@ -0,0 +1,98 @@
+package io.carml.jar.runner.output;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ParallelCompressingOutputStreamTest {
+
+  private static final byte[] DATA = IntStream.range(0, 20_000)
+      .mapToObj(i -> String.format("<http://example.com/%d> <http://example.com/p> \"%d\" .%n", i, i * 7))
+      .collect(Collectors.joining())
+      .getBytes(StandardCharsets.UTF_8);
+
+  @ParameterizedTest
+  @EnumSource(CompressionFormat.class)
+  void givenDataSpanningManyBlocks_whenCompress_thenConcatenatedMembersDecompressToData(
+      CompressionFormat compressionFormat) throws IOException {
+    // Given
+    var compressed = new ByteArrayOutputStream();
+
+    // When
+    try (var outputStream = new ParallelCompressingOutputStream(compressed, compressionFormat, 4, 10_000)) {
+      outputStream.write(DATA, 0, 5);
+      outputStream.write(DATA[5]);
+      outputStream.write(DATA, 6, DATA.length - 6);
+      outputStream.flush();
+    }
+
+    // Then
+    try (var inputStream = decompress(compressionFormat, compressed.toByteArray())) {
+      assertThat(inputStream.readAllBytes(), is(DATA));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CompressionFormat.class)
+  void givenNoData_whenCompress_thenValidEmptyStream(CompressionFormat compressionFormat) throws IOException {
+    // Given
+    var compressed = new ByteArrayOutputStream();
+
+    // When
+    new ParallelCompressingOutputStream(compressed, compressionFormat, 2).close();
+
+    // Then
+    try (var inputStream = decompress(compressionFormat, compressed.toByteArray())) {
+      assertThat(inputStream.readAllBytes().length, is(0));
+    }
+  }
+
+  @Test
+  void givenData_whenCompress_thenReportsSizes() throws IOException {
+    // Given
+    var compressed = new ByteArrayOutputStream();
+    var outputStream = new ParallelCompressingOutputStream(compressed, CompressionFormat.gzip, 2, 10_000);
+
+    // When
+    outputStream.write(DATA);
+    outputStream.close();
+
+    // Then
+    assertThat(outputStream.getUncompressedBytes(), is((long) DATA.length));
+    assertThat(outputStream.getCompressedBytes(), is((long) compressed.size()));
+    assertThat(outputStream.getCompressedBytes(), lessThan(outputStream.getUncompressedBytes()));
+  }
+
+  @Test
+  void givenPathWithCompressionExtension_whenFromPath_thenReturnCompressionFormat() {
+    assertThat(CompressionFormat.fromPath(Path.of("out", "output.nq.gz")), is(Optional.of(CompressionFormat.gzip)));
+    assertThat(CompressionFormat.fromPath(Path.of("output.nq.zst")), is(Optional.of(CompressionFormat.zstd)));
+    assertThat(CompressionFormat.fromPath(Path.of("output.nq.bz2")), is(Optional.of(CompressionFormat.bzip2)));
+    assertThat(CompressionFormat.fromPath(Path.of("output.nq")), is(Optional.empty()));
+  }
+
+  private static InputStream decompress(CompressionFormat compressionFormat, byte[] compressed) throws IOException {
+    var inputStream = new ByteArrayInputStream(compressed);
+    return switch (compressionFormat) {
+      case gzip -> new GZIPInputStream(inputStream);
+      case zstd -> new ZstdInputStream(inputStream);
+      case bzip2 -> new BZip2CompressorInputStream(inputStream, true);
+    };
+  }
+}
@@ -0,0 +1,88 @@
+package io.carml.jar.runner.output;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.carml.jar.runner.CarmlJarException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class ParallelLineSerializerTest {
+
+  private static final StatementBatchEncoder LINE_ENCODER = statements -> statements.stream()
+      .map(statement -> statement.getObject()
+          .stringValue() + "\n")
+      .collect(Collectors.joining())
+      .getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void givenStatements_whenSerializeOrdered_thenOutputInOrder() {
+    // Given
+    var statements = generateStatements(1000);
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var nrOfStatements = ParallelLineSerializer.serialize(Flux.fromIterable(statements), LINE_ENCODER, outputStream,
+        4, true, 10);
+
+    // Then
+    assertThat(nrOfStatements, is(1000L));
+    assertThat(outputStream.toByteArray(), is(LINE_ENCODER.encode(statements)));
+  }
+
+  @Test
+  void givenStatements_whenSerializeUnordered_thenOutputAllStatements() {
+    // Given
+    var statements = generateStatements(1000);
+    var outputStream = new ByteArrayOutputStream();
+
+    // When
+    var nrOfStatements = ParallelLineSerializer.serialize(Flux.fromIterable(statements), LINE_ENCODER, outputStream,
+        4, false, 10);
+
+    // Then
+    assertThat(nrOfStatements, is(1000L));
+    var expectedLines = statements.stream()
+        .map(statement -> statement.getObject()
+            .stringValue())
+        .toList();
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)
+        .lines()
+        .toList(), containsInAnyOrder(expectedLines.toArray()));
+  }
+
+  @Test
+  void givenFailingEncoder_whenSerialize_thenThrowException() {
+    // Given
+    var statements = Flux.fromIterable(generateStatements(10));
+    var outputStream = new ByteArrayOutputStream();
+    StatementBatchEncoder failingEncoder = batch -> {
+      throw new CarmlJarException("foo");
+    };
+
+    // When
+    var carmlJarException = assertThrows(CarmlJarException.class,
+        () -> ParallelLineSerializer.serialize(statements, failingEncoder, outputStream, 2, false));
+
+    // Then
+    assertThat(carmlJarException.getMessage(), is("foo"));
+  }
+
+  private static List<Statement> generateStatements(int amount) {
+    return IntStream.range(0, amount)
+        .mapToObj(i -> statement(iri("http://example.com/" + i), RDFS.LABEL, literal("label-" + i), null))
+        .toList();
+  }
+}
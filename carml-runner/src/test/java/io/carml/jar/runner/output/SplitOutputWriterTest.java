@@ -0,0 +1,209 @@
+package io.carml.jar.runner.output;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.carml.jar.runner.output.SplitOutputWriter.SplitTarget;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+class SplitOutputWriterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @TempDir
+  private Path tmpOutputDir;
+
+  @Test
+  void givenFileSplitTarget_whenIsOutputFile_thenMatchOnlyPartsAndManifest() {
+    // Given
+    var target = SplitTarget.forOutputPath(tmpOutputDir.resolve("out.nq"), "nq");
+
+    // When
+    // Then
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("out-00000.nq")), is(true));
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("out-123456.nq")), is(true));
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("out-manifest.json")), is(true));
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("out-data.nq")), is(false));
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("out-00000.ttl")), is(false));
+    assertThat(target.isOutputFile(tmpOutputDir.resolve("source")
+        .resolve("out-00000.nq")), is(false));
+  }
+
+  @Test
+  void givenSplitCount_whenWrite_thenPartsHoldAtMostSplitCountStatements() throws IOException {
+    // Given
+    var statements = generateStatements(100);
+    var splitOutputWriter = new SplitOutputWriter(new LineOutputHandler(), OBJECT_MAPPER);
+    var target = SplitTarget.forOutputPath(tmpOutputDir, "nt");
+
+    // When
+    var splitResult = splitOutputWriter.write(Flux.fromIterable(statements), "nt", Map.of(), target, 30,
+        Long.MAX_VALUE, 2);
+
+    // Then
+    assertThat(splitResult.statements(), is(100L));
+    var manifest = OBJECT_MAPPER.readTree(tmpOutputDir.resolve("manifest.json")
+        .toFile());
+    assertThat(manifest.get("statements")
+        .asLong(), is(100L));
+    assertThat(manifest.get("bytes")
+        .asLong(), is(splitResult.bytes()));
+    var parts = manifest.get("parts");
+    assertThat(splitResult.parts(), is(parts.size()));
+    assertThat(partStatementCounts(parts), everyItem(lessThanOrEqualTo(30L)));
+    for (var part : parts) {
+      var partPath = tmpOutputDir.resolve(part.get("file")
+          .asText());
+      assertThat(Files.size(partPath), is(part.get("bytes")
+          .asLong()));
+      assertThat((long) Files.readAllLines(partPath)
+          .size(), is(part.get("statements")
+              .asLong()));
+    }
+  }
+
+  @Test
+  void givenSplitSizeAndSingleWriter_whenWrite_thenPartsRolledBySize() throws IOException {
+    // Given
+    var statements = generateStatements(10);
+    var lineLength = LineOutputHandler.line(statements.get(0)).length;
+    var splitOutputWriter = new SplitOutputWriter(new LineOutputHandler(), OBJECT_MAPPER);
+    var target = SplitTarget.forOutputPath(tmpOutputDir.resolve("data.nt"), "nq");
+
+    // When
+    splitOutputWriter.write(Flux.fromIterable(statements), "nt", Map.of(), target, Long.MAX_VALUE, 3L * lineLength, 1);
+
+    // Then
+    var manifest = OBJECT_MAPPER.readTree(tmpOutputDir.resolve("data-manifest.json")
+        .toFile());
+    var files = StreamSupport.stream(manifest.get("parts")
+        .spliterator(), false)
+        .map(part -> part.get("file")
+            .asText())
+        .toList();
+    assertThat(files, containsInAnyOrder("data-00000.nt", "data-00001.nt", "data-00002.nt", "data-00003.nt"));
+    assertThat(partStatementCounts(manifest.get("parts")), is(List.of(3L, 3L, 3L, 1L)));
+  }
+
+  @Test
+  void givenManyWriters_whenWrite_thenManifestListsEveryPart() throws IOException {
+    // Given
+    var statements = generateStatements(10_000);
+    var splitOutputWriter = new SplitOutputWriter(new LineOutputHandler(), OBJECT_MAPPER);
+    var target = SplitTarget.forOutputPath(tmpOutputDir, "nt");
+
+    // When
+    var splitResult = splitOutputWriter.write(Flux.fromIterable(statements), "nt", Map.of(), target, 7,
+        Long.MAX_VALUE, 16);
+
+    // Then
+    var manifest = OBJECT_MAPPER.readTree(tmpOutputDir.resolve("manifest.json")
+        .toFile());
+    assertThat(manifest.get("statements")
+        .asLong(), is(10_000L));
+    assertThat(splitResult.statements(), is(10_000L));
+    var parts = manifest.get("parts");
+    assertThat(partStatementCounts(parts).stream()
+        .mapToLong(Long::longValue)
+        .sum(), is(10_000L));
+    try (var partPaths = Files.list(tmpOutputDir)) {
+      assertThat(partPaths.filter(path -> path.toString()
+          .endsWith(".nt"))
+          .count(), is((long) parts.size()));
+    }
+    var partBytes = 0L;
+    for (var part : parts) {
+      partBytes += Files.size(tmpOutputDir.resolve(part.get("file")
+          .asText()));
+    }
+    assertThat(manifest.get("bytes")
+        .asLong(), is(partBytes));
+    assertThat(splitResult.bytes(), is(partBytes));
+  }
+
+  private static List<Long> partStatementCounts(JsonNode parts) {
+    return StreamSupport.stream(parts.spliterator(), false)
+        .map(part -> part.get("statements")
+            .asLong())
+        .toList();
+  }
+
+  private static List<Statement> generateStatements(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> statement(iri("http://example.com/" + i), RDFS.LABEL, literal(String.format("%05d", i)), null))
+        .toList();
+  }
+
+  private static class LineOutputHandler implements OutputHandler {
+
+    static byte[] line(Statement statement) {
+      return String.format("%s %s %s .%n", statement.getSubject(), statement.getPredicate(), statement.getObject())
+          .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long outputPretty(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+        @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long outputStreaming(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+        @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isFormatStreamable(@NonNull String rdfFormat, boolean pretty) {
+      return true;
+    }
+
+    @Override
+    public boolean isStreamingWriterSupported(@NonNull String rdfFormat, boolean pretty) {
+      return true;
+    }
+
+    @Override
+    public StatementWriter openStreamingWriter(@NonNull String rdfFormat, @NonNull Map<String, String> namespaces,
+        @NonNull OutputStream outputStream) {
+      return new StatementWriter() {
+        @Override
+        public void write(@NonNull Statement statement) {
+          try {
+            outputStream.write(line(statement));
+          } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+          }
+        }
+
+        @Override
+        public void close() {
+          // nothing to complete
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package io.carml.jar.runner.output;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class WriterQueueTest {
+
+  private static final List<Statement> STATEMENTS = IntStream.range(0, 10_000)
+      .mapToObj(i -> statement(iri("http://example.com/", "s" + i), RDFS.LABEL, literal(i), null))
+      .collect(Collectors.toList());
+
+  @ParameterizedTest
+  @EnumSource(WaitStrategy.class)
+  void givenStatements_whenWrite_thenAllStatementsWrittenInOrder(WaitStrategy waitStrategy) {
+    // Given
+    var writerQueue = new WriterQueue(4, 16, waitStrategy);
+    var statementWriter = new CollectingStatementWriter();
+
+    // When
+    var nrOfStatements = writerQueue.write(Flux.fromIterable(STATEMENTS)
+        .publishOn(Schedulers.boundedElastic()), statementWriter);
+
+    // Then
+    assertThat(nrOfStatements, is((long) STATEMENTS.size()));
+    assertThat(statementWriter.statements, is(STATEMENTS));
+    assertThat(statementWriter.threadName, is("carml-writer"));
+    assertThat(statementWriter.closed, is(false));
+  }
+
+  @Test
+  void givenStatements_whenWrite_thenReportStats() {
+    // Given
+    var writerQueue = new WriterQueue(3, 100, WaitStrategy.sleeping);
+
+    // When
+    writerQueue.write(Flux.fromIterable(STATEMENTS), new CollectingStatementWriter());
+
+    // Then
+    var stats = writerQueue.getStats();
+    assertThat(stats.capacity(), is(4));
+    assertThat(stats.batchSize(), is(100));
+    assertThat(stats.batches(), is(100L));
+    assertThat(stats.maxDepth(), lessThanOrEqualTo(4L));
+    assertThat(stats.averageDepth(), lessThanOrEqualTo(4.0));
+  }
+
+  @Test
+  void givenNoStatements_whenWrite_thenWriteNothing() {
+    // Given
+    var writerQueue = new WriterQueue(WriterQueue.DEFAULT_CAPACITY, WaitStrategy.blocking);
+    var statementWriter = new CollectingStatementWriter();
+
+    // When
+    var nrOfStatements = writerQueue.write(Flux.empty(), statementWriter);
+
+    // Then
+    assertThat(nrOfStatements, is(0L));
+    assertThat(writerQueue.getStats()
+        .batches(), is(0L));
+  }
+
+  @ParameterizedTest
+  @EnumSource(WaitStrategy.class)
+  void givenFailingWriter_whenWrite_thenThrowWriterException(WaitStrategy waitStrategy) {
+    // Given
+    var writerQueue = new WriterQueue(2, 8, waitStrategy);
+    var statementWriter = new CollectingStatementWriter() {
+      @Override
+      public void write(@NonNull Statement statement) {
+        throw new IllegalStateException("foo");
+      }
+    };
+    var statementFlux = Flux.fromIterable(STATEMENTS);
+
+    // When
+    var exception = assertThrows(IllegalStateException.class, () -> writerQueue.write(statementFlux, statementWriter));
+
+    // Then
+    assertThat(exception.getMessage(), is("foo"));
+  }
+
+  @Test
+  void givenFailingFlux_whenWrite_thenThrowFluxException() {
+    // Given
+    var writerQueue = new WriterQueue(2, 8, WaitStrategy.blocking);
+    var statementFlux = Flux.fromIterable(STATEMENTS)
+        .concatWith(Flux.error(new IllegalArgumentException("bar")));
+    var statementWriter = new CollectingStatementWriter();
+
+    // When
+    var exception =
+        assertThrows(IllegalArgumentException.class, () -> writerQueue.write(statementFlux, statementWriter));
+
+    // Then
+    assertThat(exception.getMessage(), is("bar"));
+  }
+
+  private static class CollectingStatementWriter implements StatementWriter {
+
+    private final List<Statement> statements = new ArrayList<>();
+
+    private String threadName;
+
+    private boolean closed;
+
+    @Override
+    public void write(@NonNull Statement statement) {
+      threadName = Thread.currentThread()
+          .getName();
+      statements.add(statement);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package io.carml.jar.runner.output.pretty;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class SpillingPrettyWriterTest {
+
+  private static final String EX = "http://example.com/";
+
+  private static final Map<String, String> NAMESPACES = Map.of("ex", EX, "rdfs", RDFS.NAMESPACE);
+
+  @Test
+  void givenStatementsExceedingRunSize_whenWriteTurtle_thenOutputIsomorphic() throws IOException {
+    // Given
+    var statements = generateStatements(500);
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    var nrOfStatements = SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, false, 7);
+
+    // Then
+    var result = parse(outputStream, RDFFormat.TURTLE);
+    assertThat(Models.isomorphic(result, statements), is(true));
+    assertThat(nrOfStatements, is((long) result.size()));
+  }
+
+  @Test
+  void givenBlankNodeReferencedOnce_whenWriteTurtle_thenBlankNodeNested() throws IOException {
+    // Given
+    var address = bnode("address");
+    var statements = List.of( //
+        statement(iri(EX, "alice"), iri(EX, "address"), address, null),
+        statement(address, iri(EX, "city"), literal("Amsterdam"), null),
+        statement(iri(EX, "alice"), RDF.TYPE, iri(EX, "Person"), null));
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, false, 1);
+
+    // Then
+    var output = outputStream.toString(StandardCharsets.UTF_8);
+    assertThat(output, containsString("ex:address [ ex:city \"Amsterdam\" ]"));
+    assertThat(output, containsString("ex:alice ex:address"));
+    assertThat(output, not(containsString("_:")));
+    assertThat(Models.isomorphic(parse(outputStream, RDFFormat.TURTLE), statements), is(true));
+  }
+
+  @Test
+  void givenBlankNodeReferencedTwice_whenWriteTurtle_thenBlankNodeLabeled() throws IOException {
+    // Given
+    var shared = bnode("shared");
+    var statements = List.of( //
+        statement(iri(EX, "alice"), iri(EX, "knows"), shared, null),
+        statement(iri(EX, "bob"), iri(EX, "knows"), shared, null),
+        statement(shared, RDFS.LABEL, literal("shared"), null));
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, false, 1);
+
+    // Then
+    assertThat(outputStream.toString(StandardCharsets.UTF_8), containsString("_:shared rdfs:label \"shared\""));
+    assertThat(Models.isomorphic(parse(outputStream, RDFFormat.TURTLE), statements), is(true));
+  }
+
+  @Test
+  void givenBlankNodeCycle_whenWriteTurtle_thenOutputIsomorphic() throws IOException {
+    // Given
+    var first = bnode("first");
+    var second = bnode("second");
+    var statements = List.of( //
+        statement(first, iri(EX, "next"), second, null), //
+        statement(second, iri(EX, "next"), first, null));
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    var nrOfStatements = SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, false, 1);
+
+    // Then
+    assertThat(nrOfStatements, is(2L));
+    assertThat(Models.isomorphic(parse(outputStream, RDFFormat.TURTLE), statements), is(true));
+  }
+
+  @Test
+  void givenDuplicateStatements_whenWriteTurtle_thenWrittenOnce() {
+    // Given
+    var statement = statement(iri(EX, "alice"), RDFS.LABEL, literal("Alice"), null);
+    var statements = List.of(statement, statement, statement);
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    var nrOfStatements = SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, false, 2);
+
+    // Then
+    assertThat(nrOfStatements, is(1L));
+  }
+
+  @Test
+  void givenNamespaceWithIllegalIriCharacter_whenWriteTurtle_thenPrefixEscaped() {
+    // Given
+    var statements = List.of(statement(iri(EX, "alice"), RDFS.LABEL, literal("Alice"), null));
+    var namespaces = Map.of("odd", "http://example.com/a>b/");
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    SpillingPrettyWriter.write(Flux.fromIterable(statements), namespaces, outputStream, false, 2);
+
+    // Then
+    var output = outputStream.toString(StandardCharsets.UTF_8);
+    assertThat(output, containsString("@prefix odd: <http://example.com/a\\u"));
+    assertThat(output, not(containsString("a>b")));
+  }
+
+  @Test
+  void givenStatementsInGraphs_whenWriteTrig_thenOutputIsomorphic() throws IOException {
+    // Given
+    var statements = new ArrayList<Statement>();
+    for (int i = 0; i < 50; i++) {
+      var graph = i % 3 == 0 ? null : iri(EX, "graph" + i % 3);
+      var node = bnode("node" + i);
+      statements.add(statement(iri(EX, "subject" + i % 5), iri(EX, "value"), node, graph));
+      statements.add(statement(node, RDF.VALUE, literal(i), graph));
+    }
+
+    // When
+    var outputStream = new ByteArrayOutputStream();
+    SpillingPrettyWriter.write(Flux.fromIterable(statements), NAMESPACES, outputStream, true, 10);
+
+    // Then
+    var output = outputStream.toString(StandardCharsets.UTF_8);
+    assertThat(output, containsString("ex:graph1 {"));
+    assertThat(output, not(containsString("_:")));
+    assertThat(Models.isomorphic(parse(outputStream, RDFFormat.TRIG), statements), is(true));
+  }
+
+  private static List<Statement> generateStatements(int count) {
+    var statements = new ArrayList<Statement>();
+    for (int i = 0; i < count; i++) {
+      var subject = iri(EX, "subject" + i % 37);
+      var node = bnode("node" + i);
+      statements.add(statement(subject, RDFS.LABEL, literal("label " + i, "en"), null));
+      statements.add(statement(subject, iri(EX, "part"), node, null));
+      statements.add(statement(node, RDF.VALUE, literal(i), null));
+      statements.add(statement(node, iri(EX, "part."), literal("\"quoted\"\n"), null));
+    }
+    return statements;
+  }
+
+  private static Model parse(ByteArrayOutputStream outputStream, RDFFormat format) throws IOException {
+    return Rio.parse(new ByteArrayInputStream(outputStream.toByteArray()), "", format);
+  }
+}
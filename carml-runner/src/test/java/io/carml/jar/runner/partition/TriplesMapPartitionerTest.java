@@ -0,0 +1,105 @@
+package io.carml.jar.runner.partition;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static io.carml.jar.runner.format.RdfFormat.ttl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.model.TriplesMap;
+import io.carml.util.RmlMappingLoader;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TriplesMapPartitionerTest {
+
+  private static final String EX = "http://example.org/";
+
+  private Set<TriplesMap> mapping;
+
+  @BeforeEach
+  void beforeEach() {
+    var mappingModel = new Rdf4jModelLoader()
+        .loadModel(List.of(getTestSourcePath(Paths.get("partition", "mapping.rml.ttl"))), ttl);
+    mapping = RmlMappingLoader.build()
+        .load(mappingModel);
+  }
+
+  @Test
+  void givenMapping_whenPartition_thenGroupJoinedStreamAndSourceSharingTriplesMaps() {
+    // Given
+    // When
+    var groups = TriplesMapPartitioner.partition(mapping);
+
+    // Then
+    var groupIds = groups.stream()
+        .map(group -> group.stream()
+            .map(TriplesMap::getId)
+            .collect(Collectors.toSet()))
+        .toList();
+    assertThat(groupIds,
+        containsInAnyOrder(Set.of(EX + "BusTriplesMap", EX + "RouteTriplesMap", EX + "StopTriplesMap"),
+            Set.of(EX + "OperatorTriplesMap", EX + "OperatorNameTriplesMap"),
+            Set.of(EX + "StdinCarTriplesMap", EX + "StdinMakeTriplesMap")));
+  }
+
+  @Test
+  void givenMappingWithoutJoinedTriplesMaps_whenPartition_thenReturnGroupPerTriplesMap() {
+    // Given
+    var ids = Set.of(EX + "OperatorTriplesMap", EX + "StopTriplesMap");
+    var independent = mapping.stream()
+        .filter(triplesMap -> ids.contains(triplesMap.getId()))
+        .collect(Collectors.toSet());
+
+    // When
+    var groups = TriplesMapPartitioner.partition(independent);
+
+    // Then
+    assertThat(groups.size(), is(2));
+  }
+
+  @Test
+  void givenMapping_whenCountSavedSourcePasses_thenCountSharedSourcesSplitAcrossGroups() {
+    // Given
+    // OperatorTriplesMap and OperatorNameTriplesMap share a logical source, but no join
+
+    // When
+    var savedSourcePasses = TriplesMapPartitioner.countSavedSourcePasses(mapping);
+
+    // Then
+    assertThat(savedSourcePasses, is(1L));
+  }
+
+  @Test
+  void givenTriplesMapsWithoutSharedLogicalSource_whenCountSavedSourcePasses_thenReturnZero() {
+    // Given
+    var ids = Set.of(EX + "OperatorTriplesMap", EX + "StopTriplesMap");
+    var triplesMaps = mapping.stream()
+        .filter(triplesMap -> ids.contains(triplesMap.getId()))
+        .collect(Collectors.toSet());
+
+    // When
+    var savedSourcePasses = TriplesMapPartitioner.countSavedSourcePasses(triplesMaps);
+
+    // Then
+    assertThat(savedSourcePasses, is(0L));
+  }
+
+  @Test
+  void givenStreamTriplesMap_whenReadsStream_thenReturnTrue() {
+    // Given
+    // When
+    var streamTriplesMaps = mapping.stream()
+        .filter(TriplesMapPartitioner::readsStream)
+        .map(TriplesMap::getId)
+        .toList();
+
+    // Then
+    assertThat(streamTriplesMaps, containsInAnyOrder(EX + "StdinCarTriplesMap", EX + "StdinMakeTriplesMap"));
+  }
+}
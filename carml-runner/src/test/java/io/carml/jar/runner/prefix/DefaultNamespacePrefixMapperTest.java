@@ -9,11 +9,17 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.carml.jar.runner.input.MappingCache;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class DefaultNamespacePrefixMapperTest {
 
@@ -21,6 +27,9 @@ class DefaultNamespacePrefixMapperTest {
 
   private NamespacePrefixMapper namespacePrefixMapper;
 
+  @TempDir
+  private Path tmpDir;
+
   @BeforeEach
   void beforeEach() {
     var objectMapper = new ObjectMapper();
@@ -147,4 +156,55 @@ class DefaultNamespacePrefixMapperTest {
     // Then
     assertThat(prefixMappingException.getMessage(), startsWith("Could not parse prefix mapping file"));
   }
+
+  @Test
+  void givenIndexDirectory_whenGetNamespacePrefixes_thenStoreIndexOfPrefixMapping() {
+    // Given
+    var prefixDeclarations = List.of("foo");
+    var prefixMappings = List.of(TEST_PATH.resolve("mappings")
+        .resolve("prefixes.json"));
+    var indexDirectory = tmpDir.resolve("index");
+
+    // When
+    var namespaces =
+        namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, prefixMappings, Optional.of(indexDirectory));
+
+    // Then
+    assertThat(namespaces, is(Map.of("foo", "http://foo.org/")));
+    assertThat(Files.isRegularFile(indexDirectory.resolve(MappingCache.key(prefixMappings, null)
+        + DefaultNamespacePrefixMapper.INDEX_EXTENSION)), is(true));
+  }
+
+  @Test
+  void givenStoredIndex_whenGetNamespacePrefixes_thenResolveFromIndex() throws IOException {
+    // Given
+    var prefixDeclarations = List.of("foo");
+    var prefixMappings = List.of(TEST_PATH.resolve("mappings")
+        .resolve("prefixes.json"));
+    var indexDirectory = tmpDir.resolve("index");
+    PrefixIndex.write(Map.of("foo", "http://indexed.org/"), indexDirectory
+        .resolve(MappingCache.key(prefixMappings, null) + DefaultNamespacePrefixMapper.INDEX_EXTENSION));
+
+    // When
+    var namespaces =
+        namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, prefixMappings, Optional.of(indexDirectory));
+
+    // Then
+    assertThat(namespaces, is(Map.of("foo", "http://indexed.org/")));
+  }
+
+  @Test
+  void givenChangedPrefixMappingFile_whenGetNamespacePrefixesAgain_thenReturnChangedNamespace() throws IOException {
+    // Given
+    var prefixDeclarations = List.of("foo");
+    var prefixMapping = Files.writeString(tmpDir.resolve("prefixes.json"), "{\"foo\": \"http://foo.org/\"}");
+    namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, List.of(prefixMapping));
+    Files.writeString(prefixMapping, "{\"foo\": \"http://foo.org/changed/\"}");
+
+    // When
+    var namespaces = namespacePrefixMapper.getNamespacePrefixes(prefixDeclarations, List.of(prefixMapping));
+
+    // Then
+    assertThat(namespaces, is(Map.of("foo", "http://foo.org/changed/")));
+  }
 }
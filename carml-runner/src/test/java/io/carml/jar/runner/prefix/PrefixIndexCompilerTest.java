@@ -0,0 +1,23 @@
+package io.carml.jar.runner.prefix;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexCompilerTest {
+
+  @Test
+  void givenPrefixesSharingNamespace_whenInvert_thenKeepShortestPrefix() {
+    // Given
+    var prefixMapping = Map.of("alice", "http://example.org/", "ex", "http://example.org/", "eg",
+        "http://example.org/", "foaf", "http://xmlns.com/foaf/0.1/");
+
+    // When
+    var namespaceMapping = PrefixIndexCompiler.invert(prefixMapping);
+
+    // Then
+    assertThat(namespaceMapping, is(Map.of("http://example.org/", "eg", "http://xmlns.com/foaf/0.1/", "foaf")));
+  }
+}
@@ -0,0 +1,94 @@
+package io.carml.jar.runner.prefix;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PrefixIndexTest {
+
+  private static final Map<String, String> PREFIX_MAPPING = Map.of("foaf", "http://xmlns.com/foaf/0.1/", "ex",
+      "http://example.com/", "\u00e9\u00e9", "http://example.com/accent#", "exa", "http://example.com/a/");
+
+  @TempDir
+  private Path tmpDir;
+
+  @Test
+  void givenPrefixMapping_whenGet_thenReturnNamespaceOfEveryPrefix() {
+    // Given
+    var prefixIndex = PrefixIndex.of(PREFIX_MAPPING);
+
+    // When
+    var namespaces = new HashMap<String, String>();
+    PREFIX_MAPPING.keySet()
+        .forEach(prefix -> namespaces.put(prefix, prefixIndex.get(prefix)
+            .orElseThrow()));
+
+    // Then
+    assertThat(namespaces, is(PREFIX_MAPPING));
+    assertThat(prefixIndex.size(), is(4));
+  }
+
+  @Test
+  void givenPrefixMapping_whenGetUnknownPrefix_thenReturnEmpty() {
+    // Given
+    var prefixIndex = PrefixIndex.of(PREFIX_MAPPING);
+
+    // When
+    var prefixes = new String[] {"e", "exb", "", "zzz"};
+
+    // Then
+    for (var prefix : prefixes) {
+      assertThat(prefixIndex.get(prefix), is(Optional.empty()));
+    }
+  }
+
+  @Test
+  void givenIndexFile_whenOpen_thenReturnMemoryMappedIndex() throws IOException {
+    // Given
+    var indexPath = tmpDir.resolve("prefixes.idx");
+    PrefixIndex.write(PREFIX_MAPPING, indexPath);
+
+    // When
+    var prefixIndex = PrefixIndex.open(indexPath);
+
+    // Then
+    assertThat(prefixIndex.get("foaf"), is(Optional.of("http://xmlns.com/foaf/0.1/")));
+    assertThat(prefixIndex.get("\u00e9\u00e9"), is(Optional.of("http://example.com/accent#")));
+  }
+
+  @Test
+  void givenIndexBytes_whenRead_thenReturnIndex() throws IOException {
+    // Given
+    var inputStream = new ByteArrayInputStream(PrefixIndex.toBytes(PREFIX_MAPPING));
+
+    // When
+    var prefixIndex = PrefixIndex.read(inputStream);
+
+    // Then
+    assertThat(prefixIndex.get("ex"), is(Optional.of("http://example.com/")));
+  }
+
+  @Test
+  void givenNoIndex_whenOf_thenThrowException() throws IOException {
+    // Given
+    var notAnIndex = Files.writeString(tmpDir.resolve("prefixes.json"), "{\"ex\": \"http://example.com/\"}");
+    var buffer = ByteBuffer.wrap(Files.readAllBytes(notAnIndex));
+
+    // When
+    var prefixMappingException = assertThrows(PrefixMappingException.class, () -> PrefixIndex.of(buffer));
+
+    // Then
+    assertThat(prefixMappingException.getMessage(), is("Not a prefix index of a supported version."));
+  }
+}
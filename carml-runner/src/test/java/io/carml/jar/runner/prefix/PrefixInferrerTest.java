@@ -0,0 +1,104 @@
+package io.carml.jar.runner.prefix;
+
+import static org.eclipse.rdf4j.model.util.Statements.statement;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.junit.jupiter.api.Test;
+
+class PrefixInferrerTest {
+
+  private static final String EX = "http://example.com/";
+
+  private static final NamespacePrefixMapper NAMESPACE_PREFIX_MAPPER = new NamespacePrefixMapper() {
+    @Override
+    public Map<String, String> getNamespacePrefixes(@NonNull List<String> prefixDeclarations,
+        @NonNull List<Path> prefixMappings) {
+      return Map.of();
+    }
+
+    @Override
+    public Optional<String> findPrefix(@NonNull String namespace) {
+      return Map.of(RDF.NAMESPACE, "rdf", XSD.NAMESPACE, "xsd", EX + "person/", "ex")
+          .entrySet()
+          .stream()
+          .filter(entry -> entry.getKey()
+              .equals(namespace))
+          .map(Map.Entry::getValue)
+          .findFirst();
+    }
+  };
+
+  @Test
+  void givenCountedStatements_whenInferPrefixes_thenReturnWellKnownAndDerivedPrefixes() {
+    // Given
+    var prefixInferrer = new PrefixInferrer(NAMESPACE_PREFIX_MAPPER, 10);
+    for (var i = 0; i < 3; i++) {
+      var person = iri(EX + "person/", Integer.toString(i));
+      prefixInferrer.count(statement(person, RDF.TYPE, iri(EX + "vocab#", "Person"), null));
+      prefixInferrer.count(statement(person, iri(EX + "vocab#", "age"), literal(i), null));
+    }
+
+    // When
+    var prefixes = prefixInferrer.inferPrefixes(Map.of());
+
+    // Then
+    assertThat(prefixes, is(Map.of("ex", EX + "person/", "rdf", RDF.NAMESPACE, "vocab", EX + "vocab#", "xsd",
+        XSD.NAMESPACE)));
+  }
+
+  @Test
+  void givenDeclaredPrefixes_whenInferPrefixes_thenKeepDeclaredPrefixesAndRenameClashes() {
+    // Given
+    var prefixInferrer = new PrefixInferrer(NAMESPACE_PREFIX_MAPPER, 10);
+    for (var i = 0; i < 2; i++) {
+      prefixInferrer.count(statement(iri(EX + "person/", Integer.toString(i)), RDF.TYPE,
+          iri("http://other.org/vocab/", "Person"), null));
+    }
+
+    // When
+    var prefixes = prefixInferrer.inferPrefixes(Map.of("ex", "http://example.org/", "rdf", RDF.NAMESPACE));
+
+    // Then
+    assertThat(prefixes, is(Map.of("ex", "http://example.org/", "rdf", RDF.NAMESPACE, "person", EX + "person/",
+        "vocab", "http://other.org/vocab/")));
+  }
+
+  @Test
+  void givenCountedStatements_whenInferPrefixesWithLimit_thenReturnMostFrequentNamespacesOnly() {
+    // Given
+    var prefixInferrer = new PrefixInferrer(NAMESPACE_PREFIX_MAPPER, 1);
+    prefixInferrer.count(statement(iri(EX + "a/", "1"), iri(EX + "b/", "p"), iri(EX + "b/", "2"), null));
+    prefixInferrer.count(statement(iri(EX + "a/", "1"), iri(EX + "b/", "p"), iri(EX + "b/", "3"), null));
+
+    // When
+    var prefixes = prefixInferrer.inferPrefixes(Map.of());
+
+    // Then
+    assertThat(prefixes, is(Map.of("b", EX + "b/")));
+  }
+
+  @Test
+  void givenNamespaces_whenDeriveName_thenReturnLastPathSegmentOrFallback() {
+    // Given
+    var namespaces = List.of("http://example.com/Car-Make/", "http://example.com/ns#", "urn:isbn:",
+        "http://xmlns.com/foaf/0.1/");
+
+    // When
+    var names = namespaces.stream()
+        .map(PrefixInferrer::deriveName)
+        .toList();
+
+    // Then
+    assertThat(names, is(List.of("car-make", "ns", "isbn", PrefixInferrer.FALLBACK_PREFIX)));
+  }
+}
@@ -0,0 +1,221 @@
+package io.carml.jar.runner.server;
+
+import static io.carml.jar.runner.TestApplication.getTestSourcePath;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import io.carml.jar.runner.input.Rdf4jModelLoader;
+import io.carml.jar.runner.output.OutputHandler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+class MappingServerTest {
+
+  private static final Path MAPPING_DIRECTORY = getTestSourcePath(Paths.get("server"));
+
+  private static final String CARS = "id,make\n1,Toyota\n2,Mercedes\n";
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  private MappingServer mappingServer;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    var settings = new ServerSettings("127.0.0.1", 0, MAPPING_DIRECTORY, 4, 2, "nq", Map.of());
+    mappingServer = new MappingServer(new Rdf4jModelLoader(), new NQuadsOutputHandler(), List.of(), Set.of("nq"),
+        settings);
+    mappingServer.start();
+  }
+
+  @AfterEach
+  void afterEach() {
+    mappingServer.close();
+  }
+
+  @Test
+  void givenMappingIdAndBody_whenPostMap_thenStreamMappedStatements() throws Exception {
+    // Given
+    var request = post("/map/cars.rml.ttl", CARS);
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+    // Then
+    assertThat(response.statusCode(), is(200));
+    assertThat(response.headers()
+        .firstValue("Content-Type")
+        .orElseThrow(), startsWith("application/n-quads"));
+    var model = Rio.parse(new ByteArrayInputStream(response.body()), RDFFormat.NQUADS);
+    assertThat(model.size(), is(2));
+  }
+
+  @Test
+  void givenConcurrentRequests_whenPostMap_thenMapAllAndBuildMapperOnce() {
+    // Given
+    var request = post("/map/cars.rml.ttl", CARS);
+
+    // When
+    var responses = IntStream.range(0, 16)
+        .mapToObj(i -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+        .toList();
+    CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+        .join();
+
+    // Then
+    responses.forEach(response -> {
+      assertThat(response.join()
+          .statusCode(), is(200));
+      var model = Rio.parse(new ByteArrayInputStream(response.join()
+          .body()), RDFFormat.NQUADS);
+      assertThat(model.size(), is(2));
+    });
+    assertThat(mappingServer.getMapperBuilds(), is(1L));
+  }
+
+  @Test
+  void givenEqualMappingsInOtherDirectories_whenPostMap_thenBuildMapperPerDirectory(@TempDir Path mappingDirectory)
+      throws Exception {
+    // Given
+    for (var directory : List.of("a", "b")) {
+      Files.createDirectories(mappingDirectory.resolve(directory));
+      Files.copy(MAPPING_DIRECTORY.resolve("cars.rml.ttl"), mappingDirectory.resolve(directory)
+          .resolve("cars.rml.ttl"));
+    }
+    mappingServer.close();
+    var settings = new ServerSettings("127.0.0.1", 0, mappingDirectory, 4, 2, "nq", Map.of());
+    mappingServer = new MappingServer(new Rdf4jModelLoader(), new NQuadsOutputHandler(), List.of(), Set.of("nq"),
+        settings);
+    mappingServer.start();
+
+    // When
+    var responseA = httpClient.send(post("/map/a/cars.rml.ttl", CARS), HttpResponse.BodyHandlers.ofByteArray());
+    var responseB = httpClient.send(post("/map/b/cars.rml.ttl", CARS), HttpResponse.BodyHandlers.ofByteArray());
+
+    // Then
+    assertThat(responseA.statusCode(), is(200));
+    assertThat(responseB.statusCode(), is(200));
+    assertThat(mappingServer.getMapperBuilds(), is(2L));
+  }
+
+  @Test
+  void givenUnknownMappingId_whenPostMap_thenReturnNotFound() throws Exception {
+    // Given
+    var request = post("/map/unknown.rml.ttl", CARS);
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+    // Then
+    assertThat(response.statusCode(), is(404));
+  }
+
+  @Test
+  void givenMappingIdOutsideMappingDirectory_whenPostMap_thenReturnNotFound() throws Exception {
+    // Given
+    var request = post("/map/%2E%2E%2Fcarml-map-command%2Fmapping%2Fmapping.inputstream.rml.ttl", CARS);
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+    // Then
+    assertThat(response.statusCode(), is(404));
+  }
+
+  @Test
+  void givenUnsupportedFormat_whenPostMap_thenReturnBadRequest() throws Exception {
+    // Given
+    var request = post("/map/cars.rml.ttl?format=ttl", CARS);
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+    // Then
+    assertThat(response.statusCode(), is(400));
+    assertThat(response.body(), is("Unsupported output format ttl."));
+  }
+
+  @Test
+  void givenGetRequest_whenMap_thenReturnMethodNotAllowed() throws Exception {
+    // Given
+    var request = HttpRequest.newBuilder(uri("/map/cars.rml.ttl"))
+        .GET()
+        .build();
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+    // Then
+    assertThat(response.statusCode(), is(405));
+  }
+
+  @Test
+  void givenRunningServer_whenGetHealth_thenReturnOk() throws Exception {
+    // Given
+    var request = HttpRequest.newBuilder(uri("/health"))
+        .GET()
+        .build();
+
+    // When
+    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+    // Then
+    assertThat(response.statusCode(), is(200));
+    assertThat(response.body(), is("OK"));
+  }
+
+  private HttpRequest post(String path, String body) {
+    return HttpRequest.newBuilder(uri(path))
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private URI uri(String path) {
+    return URI.create(String.format("http://127.0.0.1:%d%s", mappingServer.getPort(), path));
+  }
+
+  private static class NQuadsOutputHandler implements OutputHandler {
+
+    @Override
+    public long outputPretty(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+        @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
+      return outputStreaming(statementFlux, rdfFormat, namespaces, outputStream);
+    }
+
+    @Override
+    public long outputStreaming(@NonNull Flux<Statement> statementFlux, @NonNull String rdfFormat,
+        @NonNull Map<String, String> namespaces, @NonNull OutputStream outputStream) {
+      var statements = statementFlux.collectList()
+          .block();
+      Rio.write(statements, outputStream, RDFFormat.NQUADS);
+      return statements.size();
+    }
+
+    @Override
+    public boolean isFormatStreamable(@NonNull String rdfFormat, boolean pretty) {
+      return true;
+    }
+  }
+}
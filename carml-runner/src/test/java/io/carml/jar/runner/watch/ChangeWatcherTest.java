@@ -0,0 +1,99 @@
+package io.carml.jar.runner.watch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChangeWatcherTest {
+
+  private static final Duration DEBOUNCE = Duration.ofMillis(50);
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @TempDir
+  private Path tmpDir;
+
+  @Test
+  void givenWatchedDirectory_whenFilesChangedInBurst_thenReportAllChangesAtOnce() throws IOException {
+    // Given
+    try (var changeWatcher = new ChangeWatcher(List.of(tmpDir), List.of(), DEBOUNCE)) {
+      Files.writeString(tmpDir.resolve("a.csv"), "id");
+      Files.writeString(tmpDir.resolve("b.csv"), "id");
+
+      // When
+      var changes = assertTimeoutPreemptively(TIMEOUT, changeWatcher::awaitChanges);
+
+      // Then
+      assertThat(changes, is(Set.of(tmpDir.resolve("a.csv"), tmpDir.resolve("b.csv"))));
+    }
+  }
+
+  @Test
+  void givenWatchedDirectory_whenFileChangedInNewSubdirectory_thenReportChange() throws IOException {
+    // Given
+    try (var changeWatcher = new ChangeWatcher(List.of(tmpDir), List.of(), DEBOUNCE)) {
+      var subdirectory = Files.createDirectory(tmpDir.resolve("sub"));
+      assertTimeoutPreemptively(TIMEOUT, changeWatcher::awaitChanges);
+      Files.writeString(subdirectory.resolve("a.csv"), "id");
+
+      // When
+      var changes = assertTimeoutPreemptively(TIMEOUT, changeWatcher::awaitChanges);
+
+      // Then
+      assertThat(changes, is(Set.of(subdirectory.resolve("a.csv"))));
+    }
+  }
+
+  @Test
+  void givenWatchedFileAndIgnoredPath_whenSiblingsChanged_thenReportOnlyWatchedChanges() throws IOException {
+    // Given
+    var mappingFile = Files.writeString(tmpDir.resolve("mapping.rml.ttl"), "");
+    var sourceDirectory = Files.createDirectory(tmpDir.resolve("source"));
+    var outputFile = sourceDirectory.resolve("out.nq");
+
+    try (var changeWatcher =
+        new ChangeWatcher(List.of(mappingFile, sourceDirectory), List.of(outputFile), DEBOUNCE)) {
+      Files.writeString(tmpDir.resolve("notes.txt"), "notes");
+      Files.writeString(outputFile, "output");
+      Files.writeString(mappingFile, "# changed");
+
+      // When
+      var changes = assertTimeoutPreemptively(TIMEOUT, changeWatcher::awaitChanges);
+
+      // Then
+      assertThat(changes, is(Set.of(mappingFile)));
+    }
+  }
+
+  @Test
+  void givenIgnoredFilesPredicate_whenMatchingFilesChanged_thenReportOnlyOtherChanges() throws IOException {
+    // Given
+    var sourceDirectory = Files.createDirectory(tmpDir.resolve("source"));
+    var sourceFile = sourceDirectory.resolve("a.csv");
+
+    try (var changeWatcher = new ChangeWatcher(List.of(sourceDirectory), List.of(sourceDirectory.resolve("out.nq")),
+        path -> path.getFileName()
+            .toString()
+            .startsWith("out-"),
+        DEBOUNCE)) {
+      Files.writeString(sourceDirectory.resolve("out-00000.nq"), "output");
+      Files.writeString(sourceDirectory.resolve("out-manifest.json"), "{}");
+      Files.writeString(sourceFile, "id");
+
+      // When
+      var changes = assertTimeoutPreemptively(TIMEOUT, changeWatcher::awaitChanges);
+
+      // Then
+      assertThat(changes, is(Set.of(sourceFile)));
+    }
+  }
+}